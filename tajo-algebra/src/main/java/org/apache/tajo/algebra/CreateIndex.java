@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.algebra;
+
+import com.google.common.base.Objects;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+import org.apache.tajo.algebra.Sort.SortSpec;
+import org.apache.tajo.util.TUtil;
+
+import java.util.Map;
+
+/**
+ * CREATE [UNIQUE] INDEX index_name ON table_name [USING method] (sort_specifier_list) [WITH (params)]
+ *
+ * Its child is the relation to be indexed.
+ */
+public class CreateIndex extends UnaryOperator {
+  @Expose @SerializedName("IsUnique")
+  private boolean unique = false;
+  @Expose @SerializedName("IndexName")
+  private String indexName;
+  @Expose @SerializedName("SortSpecs")
+  private SortSpec[] sortSpecs;
+  @Expose @SerializedName("IndexMethod")
+  private String methodName;
+  @Expose @SerializedName("Params")
+  private Map<String, String> params;
+
+  public CreateIndex(final String indexName, final SortSpec[] sortSpecs) {
+    super(OpType.CreateIndex);
+    this.indexName = indexName;
+    this.sortSpecs = sortSpecs;
+  }
+
+  public void setUnique(boolean unique) {
+    this.unique = unique;
+  }
+
+  public boolean isUnique() {
+    return unique;
+  }
+
+  public String getIndexName() {
+    return indexName;
+  }
+
+  public SortSpec[] getSortSpecs() {
+    return sortSpecs;
+  }
+
+  public boolean hasMethodName() {
+    return methodName != null;
+  }
+
+  public void setMethodName(String methodName) {
+    this.methodName = methodName;
+  }
+
+  public String getMethodName() {
+    return methodName;
+  }
+
+  public boolean hasParams() {
+    return params != null;
+  }
+
+  public void setParams(Map<String, String> params) {
+    this.params = params;
+  }
+
+  public Map<String, String> getParams() {
+    return params;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(unique, indexName, Objects.hashCode(sortSpecs), methodName, params, getChild());
+  }
+
+  @Override
+  boolean equalsTo(Expr expr) {
+    CreateIndex another = (CreateIndex) expr;
+    return unique == another.unique &&
+        TUtil.checkEquals(indexName, another.indexName) &&
+        TUtil.checkEquals(sortSpecs, another.sortSpecs) &&
+        TUtil.checkEquals(methodName, another.methodName) &&
+        TUtil.checkEquals(params, another.params);
+  }
+
+  @Override
+  public Object clone() throws CloneNotSupportedException {
+    CreateIndex createIndex = (CreateIndex) super.clone();
+    createIndex.unique = unique;
+    createIndex.indexName = indexName;
+    createIndex.sortSpecs = new SortSpec[sortSpecs.length];
+    for (int i = 0; i < sortSpecs.length; i++) {
+      createIndex.sortSpecs[i] = (SortSpec) sortSpecs[i].clone();
+    }
+    createIndex.methodName = methodName;
+    createIndex.params = params != null ? TUtil.newHashMap(params) : null;
+    return createIndex;
+  }
+}
@@ -19,14 +19,24 @@
 package org.apache.tajo.algebra;
 
 import com.google.common.base.Objects;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
 
 public class Explain extends UnaryOperator {
 
+  @Expose @SerializedName("IsGlobal")
   private boolean isGlobal;
+  @Expose @SerializedName("IsAnalyze")
+  private boolean isAnalyze;
 
   public Explain(Expr operand, boolean isGlobal) {
+    this(operand, isGlobal, false);
+  }
+
+  public Explain(Expr operand, boolean isGlobal, boolean isAnalyze) {
     super(OpType.Explain);
     this.isGlobal = isGlobal;
+    this.isAnalyze = isAnalyze;
     setChild(operand);
   }
 
@@ -34,12 +44,20 @@ public class Explain extends UnaryOperator {
     return isGlobal;
   }
 
+  /**
+   * @return True if the statement is executed and explained with its runtime statistics.
+   */
+  public boolean isAnalyze() {
+    return isAnalyze;
+  }
+
   public int hashCode() {
-    return Objects.hashCode(getChild());
+    return Objects.hashCode(isGlobal, isAnalyze, getChild());
   }
 
   @Override
   boolean equalsTo(Expr expr) {
-    return true;
+    Explain another = (Explain) expr;
+    return isGlobal == another.isGlobal && isAnalyze == another.isAnalyze;
   }
 }
@@ -54,6 +54,7 @@ public enum OpType {
   AlterTablespace(AlterTablespace.class),
   AlterTable(AlterTable.class),
   TruncateTable(TruncateTable.class),
+  CreateIndex(CreateIndex.class),
 
   // Insert or Update
   Insert(Insert.class),
@@ -112,7 +113,10 @@ public enum OpType {
   TimeLiteral(TimeLiteral.class),
   DateLiteral(DateLiteral.class),
   TimestampLiteral(TimestampLiteral.class),
-  IntervalLiteral(IntervalLiteral.class);
+  IntervalLiteral(IntervalLiteral.class),
+
+  // Dynamic Parameter of Prepared Statements
+  Parameter(ParameterExpr.class);
 
   private Class baseClass;
 
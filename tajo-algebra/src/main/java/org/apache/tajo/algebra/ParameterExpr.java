@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.algebra;
+
+import com.google.common.base.Objects;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * A dynamic parameter (i.e., '?') of a prepared statement. The index is 1-based and follows the order in which
+ * parameters appear in the statement. It must be replaced by a bound value before planning.
+ */
+public class ParameterExpr extends Expr {
+  @Expose @SerializedName("Index")
+  private int index;
+
+  public ParameterExpr(int index) {
+    super(OpType.Parameter);
+    this.index = index;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(opType, index);
+  }
+
+  @Override
+  boolean equalsTo(Expr expr) {
+    ParameterExpr another = (ParameterExpr) expr;
+    return index == another.index;
+  }
+
+  @Override
+  public String toString() {
+    return "?" + index;
+  }
+
+  @Override
+  public Object clone() throws CloneNotSupportedException {
+    ParameterExpr parameter = (ParameterExpr) super.clone();
+    parameter.index = index;
+    return parameter;
+  }
+}
@@ -22,6 +22,7 @@ import org.junit.Test;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
 import static org.apache.tajo.algebra.LiteralValue.LiteralType;
 
 public class TestExpr {
@@ -185,4 +186,21 @@ public class TestExpr {
     Expr fromJson = JsonHelper.fromJson(json, Expr.class);
     assertEquals(sort, fromJson);
   }
+
+  @Test
+  public void testExplainJson() {
+    Expr analyze = new Explain(new Relation("employee"), false, true);
+    Expr fromJson = JsonHelper.fromJson(analyze.toJson(), Expr.class);
+    assertEquals(analyze, fromJson);
+    assertTrue(((Explain) fromJson).isAnalyze());
+    assertFalse(((Explain) fromJson).isGlobal());
+
+    Expr global = new Explain(new Relation("employee"), true);
+    fromJson = JsonHelper.fromJson(global.toJson(), Expr.class);
+    assertEquals(global, fromJson);
+    assertTrue(((Explain) fromJson).isGlobal());
+    assertFalse(((Explain) fromJson).isAnalyze());
+
+    assertFalse(analyze.equals(global));
+  }
 }
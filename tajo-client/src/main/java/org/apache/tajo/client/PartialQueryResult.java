@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.client;
+
+import org.apache.tajo.QueryId;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.ipc.ClientProtos.PartialQueryResultProto;
+import org.apache.tajo.ipc.ClientProtos.SerializedResultSet;
+import org.apache.tajo.jdbc.TajoMemoryResultSet;
+
+import java.sql.ResultSet;
+import java.util.Map;
+
+/**
+ * A running result of an aggregation query, which is merged from the leaf tasks completed so far.
+ * The values of each group cover only the input of the merged tasks, and operators above the aggregation,
+ * such as HAVING, ORDER BY and LIMIT, are not applied.
+ */
+public class PartialQueryResult {
+  private final int numMergedTasks;
+  private final int numTotalTasks;
+  private final boolean truncated;
+  private final ResultSet resultSet;
+
+  public PartialQueryResult(QueryId queryId, PartialQueryResultProto proto, Map<String, String> clientSideSessionVars) {
+    numMergedTasks = proto.getNumMergedTasks();
+    numTotalTasks = proto.getNumTotalTasks();
+    truncated = proto.getTruncated();
+
+    SerializedResultSet serializedResultSet = proto.getResultSet();
+    resultSet = new TajoMemoryResultSet(queryId,
+        new Schema(serializedResultSet.getSchema()),
+        serializedResultSet.getSerializedTuplesList(),
+        serializedResultSet.getSerializedTuplesCount(),
+        clientSideSessionVars);
+  }
+
+  public int getNumMergedTasks() {
+    return numMergedTasks;
+  }
+
+  public int getNumTotalTasks() {
+    return numTotalTasks;
+  }
+
+  /**
+   * @return The fraction of the leaf tasks whose outputs are merged into this result
+   */
+  public float getProgress() {
+    return numTotalTasks == 0 ? 0.0f : (float) numMergedTasks / numTotalTasks;
+  }
+
+  /**
+   * @return True if some groups are missing because a task or this result had too many groups
+   */
+  public boolean isTruncated() {
+    return truncated;
+  }
+
+  public ResultSet getResultSet() {
+    return resultSet;
+  }
+}
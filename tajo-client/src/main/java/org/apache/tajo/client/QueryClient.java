@@ -98,6 +98,19 @@ public interface QueryClient extends Closeable {
 
   public ResultSet executeJsonQueryAndGetResult(final String json) throws ServiceException, IOException;
 
+  /**
+   * It prepares a statement, which may contain dynamic parameters (i.e., '?'), in the current session.
+   * The statement is parsed only once, and it can be executed many times with different parameter values
+   * through {@link #executePreparedStatementAndGetResult(int, java.util.List)}.
+   */
+  public ClientProtos.PrepareStatementResponse prepareStatement(final String sql) throws ServiceException;
+
+  public ResultSet executePreparedStatementAndGetResult(final int statementId,
+                                                       final List<ClientProtos.ParameterValueProto> parameters)
+      throws ServiceException, IOException;
+
+  public void closePreparedStatement(final int statementId);
+
   public QueryStatus getQueryStatus(QueryId queryId) throws ServiceException;
 
   public ResultSet getQueryResult(QueryId queryId) throws ServiceException, IOException;
@@ -108,6 +121,21 @@ public interface QueryClient extends Closeable {
 
   public TajoMemoryResultSet fetchNextQueryResult(final QueryId queryId, final int fetchRowNum) throws ServiceException;
 
+  /**
+   * Get the fragments of the result of a finished query and the workers which serve them.
+   */
+  public ClientProtos.GetQueryResultFragmentsResponse getQueryResultFragments(QueryId queryId)
+      throws ServiceException;
+
+  /**
+   * Fetch rows of a result fragment directly from the worker which serves it.
+   *
+   * @param offset The number of rows which are already fetched from the fragment
+   */
+  public TajoMemoryResultSet fetchResultFragment(QueryId queryId, TableDesc tableDesc,
+                                                 ClientProtos.ResultFragmentProto fragment, long offset,
+                                                 int fetchRowNum) throws ServiceException;
+
   public boolean updateQuery(final String sql) throws ServiceException;
 
   public boolean updateQueryWithJson(final String json) throws ServiceException;
@@ -123,4 +151,12 @@ public interface QueryClient extends Closeable {
   public QueryInfoProto getQueryInfo(final QueryId queryId) throws ServiceException;
 
   public QueryHistoryProto getQueryHistory(final QueryId queryId) throws ServiceException;
+
+  /**
+   * Get a running result of an aggregation query, which is merged from its completed leaf tasks.
+   * It is available only if the query is submitted with partial results enabled.
+   *
+   * @return The running result, or null if it is not available for the query
+   */
+  public PartialQueryResult getPartialQueryResult(final QueryId queryId) throws ServiceException;
 }
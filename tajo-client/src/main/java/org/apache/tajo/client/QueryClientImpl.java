@@ -30,6 +30,7 @@ import org.apache.tajo.catalog.TableDesc;
 import org.apache.tajo.ipc.ClientProtos;
 import org.apache.tajo.ipc.QueryMasterClientProtocol;
 import org.apache.tajo.ipc.TajoMasterClientProtocol;
+import org.apache.tajo.jdbc.DirectFetchResultSet;
 import org.apache.tajo.jdbc.FetchResultSet;
 import org.apache.tajo.jdbc.TajoMemoryResultSet;
 import org.apache.tajo.rpc.NettyClientBase;
@@ -51,6 +52,8 @@ public class QueryClientImpl implements QueryClient {
   private static final Log LOG = LogFactory.getLog(QueryClientImpl.class);
   private final SessionConnection connection;
   private final int defaultFetchRows;
+  private final boolean directFetchEnabled;
+  private final int directFetchThreads;
 //maxRows number is limit value of resultSet. The value must be >= 0, and 0 means there is not limit.
   private int maxRows;
 
@@ -58,6 +61,12 @@ public class QueryClientImpl implements QueryClient {
     this.connection = connection;
     this.defaultFetchRows = this.connection.getProperties().getInt(SessionVars.FETCH_ROWNUM.getConfVars().keyname(),
         SessionVars.FETCH_ROWNUM.getConfVars().defaultIntVal);
+    this.directFetchEnabled = this.connection.getProperties().getBool(
+        SessionVars.DIRECT_FETCH_ENABLED.getConfVars().keyname(),
+        SessionVars.DIRECT_FETCH_ENABLED.getConfVars().defaultBoolVal);
+    this.directFetchThreads = this.connection.getProperties().getInt(
+        SessionVars.DIRECT_FETCH_THREADS.getConfVars().keyname(),
+        SessionVars.DIRECT_FETCH_THREADS.getConfVars().defaultIntVal);
     this.maxRows = 0;
   }
 
@@ -205,8 +214,79 @@ public class QueryClientImpl implements QueryClient {
 
   @Override
   public ResultSet executeQueryAndGetResult(String sql) throws ServiceException, IOException {
+    return getResultSet(executeQuery(sql));
+  }
+
+  @Override
+  public ClientProtos.PrepareStatementResponse prepareStatement(final String sql) throws ServiceException {
+
+    return new ServerCallable<ClientProtos.PrepareStatementResponse>(connection.connPool,
+        connection.getTajoMasterAddr(), TajoMasterClientProtocol.class, false, true) {
+
+      public ClientProtos.PrepareStatementResponse call(NettyClientBase client) throws ServiceException {
+
+        connection.checkSessionAndGet(client);
+
+        final QueryRequest.Builder builder = QueryRequest.newBuilder();
+        builder.setSessionId(connection.sessionId);
+        builder.setQuery(sql);
+        builder.setIsJson(false);
+        TajoMasterClientProtocolService.BlockingInterface tajoMasterService = client.getStub();
+
+        return tajoMasterService.prepareStatement(null, builder.build());
+      }
+    }.withRetries();
+  }
+
+  @Override
+  public ResultSet executePreparedStatementAndGetResult(final int statementId,
+                                                       final List<ParameterValueProto> parameters)
+      throws ServiceException, IOException {
+
+    ClientProtos.SubmitQueryResponse response = new ServerCallable<ClientProtos.SubmitQueryResponse>(
+        connection.connPool, connection.getTajoMasterAddr(), TajoMasterClientProtocol.class, false, true) {
+
+      public ClientProtos.SubmitQueryResponse call(NettyClientBase client) throws ServiceException {
+
+        connection.checkSessionAndGet(client);
+
+        final ExecutePreparedStatementRequest.Builder builder = ExecutePreparedStatementRequest.newBuilder();
+        builder.setSessionId(connection.sessionId);
+        builder.setStatementId(statementId);
+        builder.addAllParameters(parameters);
+        TajoMasterClientProtocolService.BlockingInterface tajoMasterService = client.getStub();
+
+        SubmitQueryResponse response = tajoMasterService.executePreparedStatement(null, builder.build());
+        if (response.getResultCode() == ResultCode.OK) {
+          connection.updateSessionVarsCache(ProtoUtil.convertToMap(response.getSessionVars()));
+        }
+        return response;
+      }
+    }.withRetries();
 
-    ClientProtos.SubmitQueryResponse response = executeQuery(sql);
+    return getResultSet(response);
+  }
+
+  @Override
+  public void closePreparedStatement(int statementId) {
+    NettyClientBase tmClient = null;
+    try {
+      tmClient = connection.getTajoMasterConnection(false);
+      TajoMasterClientProtocolService.BlockingInterface tajoMaster = tmClient.getStub();
+      connection.checkSessionAndGet(tmClient);
+
+      PreparedStatementIdRequest.Builder builder = PreparedStatementIdRequest.newBuilder();
+      builder.setSessionId(getSessionId());
+      builder.setStatementId(statementId);
+      tajoMaster.closePreparedStatement(null, builder.build());
+    } catch (Exception e) {
+      LOG.warn("Fail to close a prepared statement (id=" + statementId + ", msg=" + e.getMessage() + ")", e);
+    } finally {
+      connection.connPool.releaseConnection(tmClient);
+    }
+  }
+
+  private ResultSet getResultSet(ClientProtos.SubmitQueryResponse response) throws ServiceException, IOException {
 
     if (response.getResultCode() == ClientProtos.ResultCode.ERROR) {
       if (response.hasErrorMessage()) {
@@ -334,11 +414,30 @@ public class QueryClientImpl implements QueryClient {
       return createNullResultSet(queryId);
     }
 
+    if (directFetchEnabled) {
+      GetQueryResultFragmentsResponse response = getQueryResultFragments(queryId);
+      if (response.getResultCode() == ResultCode.OK && isDirectFetchable(response)) {
+        TableDesc tableDesc = CatalogUtil.newTableDesc(response.getTableDesc());
+        return new DirectFetchResultSet(this, queryId, tableDesc, response.getFragmentsList(), defaultFetchRows,
+            directFetchThreads);
+      }
+      LOG.info("Falling back to fetch the result of " + queryId + " through Master");
+    }
+
     GetQueryResultResponse response = getResultResponse(queryId);
     TableDesc tableDesc = CatalogUtil.newTableDesc(response.getTableDesc());
     return new FetchResultSet(this, tableDesc.getLogicalSchema(), queryId, defaultFetchRows);
   }
 
+  private static boolean isDirectFetchable(GetQueryResultFragmentsResponse response) {
+    for (ResultFragmentProto fragment : response.getFragmentsList()) {
+      if (!fragment.hasHost() || fragment.getClientPort() == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @Override
   public ResultSet createNullResultSet(QueryId queryId) throws IOException {
     return TajoClientUtil.createNullResultSet(queryId);
@@ -421,6 +520,64 @@ public class QueryClientImpl implements QueryClient {
     }
   }
 
+  @Override
+  public GetQueryResultFragmentsResponse getQueryResultFragments(final QueryId queryId) throws ServiceException {
+    return new ServerCallable<GetQueryResultFragmentsResponse>(connection.connPool, connection.getTajoMasterAddr(),
+        TajoMasterClientProtocol.class, false, true) {
+
+      public GetQueryResultFragmentsResponse call(NettyClientBase client) throws ServiceException {
+        connection.checkSessionAndGet(client);
+
+        QueryIdRequest.Builder builder = QueryIdRequest.newBuilder();
+        builder.setSessionId(connection.sessionId);
+        builder.setQueryId(queryId.getProto());
+
+        TajoMasterClientProtocolService.BlockingInterface tajoMasterService = client.getStub();
+        return tajoMasterService.getQueryResultFragments(null, builder.build());
+      }
+    }.withRetries();
+  }
+
+  @Override
+  public TajoMemoryResultSet fetchResultFragment(final QueryId queryId, final TableDesc tableDesc,
+                                                 final ResultFragmentProto fragment, final long offset,
+                                                 final int fetchRowNum) throws ServiceException {
+    InetSocketAddress workerAddress = new InetSocketAddress(fragment.getHost(), fragment.getClientPort());
+
+    ClientProtos.SerializedResultSet serializedResultSet = new ServerCallable<ClientProtos.SerializedResultSet>(
+        connection.connPool, workerAddress, QueryMasterClientProtocol.class, false, true) {
+
+      public ClientProtos.SerializedResultSet call(NettyClientBase client) throws ServiceException {
+        FetchResultFragmentRequest.Builder builder = FetchResultFragmentRequest.newBuilder();
+        builder.setSessionId(connection.sessionId);
+        builder.setQueryId(queryId.getProto());
+        builder.setTableDesc(tableDesc.getProto());
+        builder.setFragment(fragment.getFragment());
+        builder.setOffset(offset);
+        builder.setFetchRowNum(fetchRowNum);
+        if (fragment.hasToken()) {
+          builder.setToken(fragment.getToken());
+          builder.setTokenExpiryTime(fragment.getTokenExpiryTime());
+        }
+
+        QueryMasterClientProtocolService.BlockingInterface workerService = client.getStub();
+        GetQueryResultDataResponse response = workerService.fetchResultFragment(null, builder.build());
+        if (response.getResultCode() == ResultCode.OK) {
+          return response.getResultSet();
+        } else {
+          abort();
+          throw new ServiceException(response.getErrorMessage());
+        }
+      }
+    }.withRetries();
+
+    return new TajoMemoryResultSet(queryId,
+        new Schema(serializedResultSet.getSchema()),
+        serializedResultSet.getSerializedTuplesList(),
+        serializedResultSet.getSerializedTuplesCount(),
+        getClientSideSessionVars());
+  }
+
   @Override
   public boolean updateQuery(final String sql) throws ServiceException {
 
@@ -641,4 +798,39 @@ public class QueryClientImpl implements QueryClient {
       }
     }.withRetries();
   }
+
+  public PartialQueryResult getPartialQueryResult(final QueryId queryId) throws ServiceException {
+    final QueryInfoProto queryInfo = getQueryInfo(queryId);
+
+    if (queryInfo.getHostNameOfQM() == null || queryInfo.getQueryMasterClientPort() == 0) {
+      return null;
+    }
+    InetSocketAddress qmAddress = new InetSocketAddress(
+        queryInfo.getHostNameOfQM(), queryInfo.getQueryMasterClientPort());
+
+    PartialQueryResultProto partialResult = new ServerCallable<PartialQueryResultProto>(connection.connPool,
+        qmAddress, QueryMasterClientProtocol.class, false, true) {
+      public PartialQueryResultProto call(NettyClientBase client) throws ServiceException {
+        connection.checkSessionAndGet(client);
+
+        QueryIdRequest.Builder builder = QueryIdRequest.newBuilder();
+        builder.setSessionId(connection.sessionId);
+        builder.setQueryId(queryId.getProto());
+
+        QueryMasterClientProtocolService.BlockingInterface queryMasterService = client.getStub();
+        GetPartialQueryResultResponse res = queryMasterService.getPartialQueryResult(null, builder.build());
+        if (res.getResultCode() == ResultCode.OK) {
+          return res.hasPartialResult() ? res.getPartialResult() : null;
+        } else {
+          abort();
+          throw new ServiceException(res.getErrorMessage());
+        }
+      }
+    }.withRetries();
+
+    if (partialResult == null) {
+      return null;
+    }
+    return new PartialQueryResult(queryId, partialResult, getClientSideSessionVars());
+  }
 }
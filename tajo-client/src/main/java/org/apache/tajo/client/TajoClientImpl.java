@@ -114,6 +114,20 @@ public class TajoClientImpl extends SessionConnection implements TajoClient, Que
     return queryClient.executeJsonQueryAndGetResult(json);
   }
 
+  public PrepareStatementResponse prepareStatement(final String sql) throws ServiceException {
+    return queryClient.prepareStatement(sql);
+  }
+
+  public ResultSet executePreparedStatementAndGetResult(final int statementId,
+                                                       final List<ParameterValueProto> parameters)
+      throws ServiceException, IOException {
+    return queryClient.executePreparedStatementAndGetResult(statementId, parameters);
+  }
+
+  public void closePreparedStatement(final int statementId) {
+    queryClient.closePreparedStatement(statementId);
+  }
+
   public QueryStatus getQueryStatus(QueryId queryId) throws ServiceException {
     return queryClient.getQueryStatus(queryId);
   }
@@ -134,6 +148,17 @@ public class TajoClientImpl extends SessionConnection implements TajoClient, Que
     return queryClient.fetchNextQueryResult(queryId, fetchRowNum);
   }
 
+  public ClientProtos.GetQueryResultFragmentsResponse getQueryResultFragments(QueryId queryId)
+      throws ServiceException {
+    return queryClient.getQueryResultFragments(queryId);
+  }
+
+  public TajoMemoryResultSet fetchResultFragment(QueryId queryId, TableDesc tableDesc,
+                                                 ClientProtos.ResultFragmentProto fragment, long offset,
+                                                 int fetchRowNum) throws ServiceException {
+    return queryClient.fetchResultFragment(queryId, tableDesc, fragment, offset, fetchRowNum);
+  }
+
   public boolean updateQuery(final String sql) throws ServiceException {
     return queryClient.updateQuery(sql);
   }
@@ -166,6 +191,10 @@ public class TajoClientImpl extends SessionConnection implements TajoClient, Que
     return queryClient.getQueryHistory(queryId);
   }
 
+  public PartialQueryResult getPartialQueryResult(final QueryId queryId) throws ServiceException {
+    return queryClient.getPartialQueryResult(queryId);
+  }
+
   public void setMaxRows(int maxRows) {
 	  queryClient.setMaxRows(maxRows);
   }
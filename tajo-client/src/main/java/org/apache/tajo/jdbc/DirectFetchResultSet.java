@@ -0,0 +1,201 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.jdbc;
+
+import org.apache.tajo.QueryId;
+import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.client.QueryClient;
+import org.apache.tajo.ipc.ClientProtos.ResultFragmentProto;
+import org.apache.tajo.storage.Tuple;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * A result set which reads the fragments of a query result directly from workers, bypassing the master.
+ *
+ * Fragments are fetched in parallel by a fixed number of threads, but rows are returned in the order of fragments,
+ * so that the order of a sorted result is kept. Each fragment buffers at most {@link #PREFETCH_PAGES} pages ahead
+ * of the reader.
+ */
+public class DirectFetchResultSet extends TajoResultSetBase {
+  static final int PREFETCH_PAGES = 2;
+
+  private final QueryClient tajoClient;
+  private final QueryId queryId;
+  private final TableDesc tableDesc;
+  private final int fetchRowNum;
+  private final List<BlockingQueue<Page>> fragmentQueues = new ArrayList<BlockingQueue<Page>>();
+  private final ExecutorService fetchExecutor;
+
+  private int currentFragment = 0;
+  private TajoMemoryResultSet currentResultSet;
+  private boolean finished = false;
+  // maxRows number is limit value of resultSet. The value must be >= 0, and 0 means there is not limit.
+  private int maxRows;
+
+  /**
+   * A page of rows of a fragment. The last page of a fragment is marked, and a failure is delivered as a page.
+   */
+  private static class Page {
+    final TajoMemoryResultSet resultSet;
+    final boolean last;
+    final Throwable error;
+
+    Page(TajoMemoryResultSet resultSet, boolean last, Throwable error) {
+      this.resultSet = resultSet;
+      this.last = last;
+      this.error = error;
+    }
+  }
+
+  public DirectFetchResultSet(QueryClient tajoClient, QueryId queryId, TableDesc tableDesc,
+                              List<ResultFragmentProto> fragments, int fetchRowNum, int numThreads) {
+    super(tajoClient.getClientSideSessionVars());
+    this.tajoClient = tajoClient;
+    this.maxRows = tajoClient.getMaxRows();
+    this.queryId = queryId;
+    this.tableDesc = tableDesc;
+    this.fetchRowNum = fetchRowNum;
+    this.totalRow = Integer.MAX_VALUE;
+    this.schema = tableDesc.getLogicalSchema();
+
+    this.fetchExecutor = Executors.newFixedThreadPool(Math.max(1, Math.min(numThreads, fragments.size())),
+        new ThreadFactory() {
+          @Override
+          public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "DirectFetch-" + DirectFetchResultSet.this.queryId);
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+    for (ResultFragmentProto fragment : fragments) {
+      BlockingQueue<Page> queue = new ArrayBlockingQueue<Page>(PREFETCH_PAGES + 1);
+      fragmentQueues.add(queue);
+      fetchExecutor.submit(new FragmentFetcher(fragment, queue));
+    }
+  }
+
+  public QueryId getQueryId() {
+    return queryId;
+  }
+
+  private class FragmentFetcher implements Runnable {
+    private final ResultFragmentProto fragment;
+    private final BlockingQueue<Page> queue;
+
+    FragmentFetcher(ResultFragmentProto fragment, BlockingQueue<Page> queue) {
+      this.fragment = fragment;
+      this.queue = queue;
+    }
+
+    @Override
+    public void run() {
+      long offset = 0;
+      try {
+        while (!Thread.currentThread().isInterrupted()) {
+          TajoMemoryResultSet resultSet;
+          try {
+            resultSet = tajoClient.fetchResultFragment(queryId, tableDesc, fragment, offset, fetchRowNum);
+          } catch (Throwable t) {
+            queue.put(new Page(null, true, t));
+            return;
+          }
+
+          int numRows = resultSet.getNumRows();
+          offset += numRows;
+          boolean last = numRows < fetchRowNum;
+          queue.put(new Page(resultSet, last, null));
+          if (last) {
+            return;
+          }
+        }
+      } catch (InterruptedException e) {
+        // the result set is closed
+      }
+    }
+  }
+
+  private TajoMemoryResultSet nextPage() throws IOException {
+    while (currentFragment < fragmentQueues.size()) {
+      Page page;
+      try {
+        page = fragmentQueues.get(currentFragment).take();
+      } catch (InterruptedException e) {
+        throw new IOException(e.getMessage(), e);
+      }
+      if (page.error != null) {
+        throw new IOException("Failed to fetch a result fragment of " + queryId + ": " + page.error.getMessage(),
+            page.error);
+      }
+      if (page.last) {
+        currentFragment++;
+      }
+      if (page.resultSet.hasResult()) {
+        return page.resultSet;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  protected Tuple nextTuple() throws IOException {
+    if (finished || (maxRows > 0 && curRow >= maxRows)) {
+      return null;
+    }
+
+    try {
+      Tuple tuple = null;
+      if (currentResultSet != null) {
+        currentResultSet.next();
+        tuple = currentResultSet.cur;
+      }
+      if (tuple == null) {
+        if (currentResultSet != null) {
+          currentResultSet.close();
+        }
+        currentResultSet = nextPage();
+        if (currentResultSet == null) {
+          finished = true;
+          return null;
+        }
+        currentResultSet.next();
+        tuple = currentResultSet.cur;
+      }
+      return tuple;
+    } catch (IOException e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new IOException(t.getMessage(), t);
+    }
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (currentResultSet != null) {
+      currentResultSet.close();
+      currentResultSet = null;
+    }
+    fetchExecutor.shutdownNow();
+    tajoClient.closeNonForwardQuery(queryId);
+  }
+}
@@ -86,4 +86,8 @@ public class TajoMemoryResultSet extends TajoResultSetBase {
   public boolean hasResult() {
     return serializedTuples.size() > 0;
   }
+
+  public int getNumRows() {
+    return serializedTuples.size();
+  }
 }
@@ -103,9 +103,20 @@ public enum SessionVars implements ConfigKey {
       Integer.class, Validators.min("1")),
   TABLE_PARTITION_PER_SHUFFLE_SIZE(ConfVars.$DIST_QUERY_TABLE_PARTITION_VOLUME,
       "shuffle output size for partition table write (mb)", DEFAULT, Long.class, Validators.min("1")),
+  JOIN_SKEW_FACTOR(ConfVars.$DIST_QUERY_JOIN_SKEW_FACTOR,
+      "a join partition larger than this factor times the average is split across tasks (0: disabled)", DEFAULT,
+      Float.class, Validators.min("0")),
 
   GROUPBY_MULTI_LEVEL_ENABLED(ConfVars.$GROUPBY_MULTI_LEVEL_ENABLED, "Multiple level groupby enabled", DEFAULT,
       Boolean.class, Validators.bool()),
+  JOIN_RUNTIME_FILTER_ENABLED(ConfVars.$DIST_QUERY_JOIN_RUNTIME_FILTER_ENABLED,
+      "runtime join filter enabled", DEFAULT, Boolean.class, Validators.bool()),
+  JOIN_RUNTIME_FILTER_BITS(ConfVars.$DIST_QUERY_JOIN_RUNTIME_FILTER_BITS,
+      "number of bits of a runtime join filter", DEFAULT, Integer.class, Validators.min("64")),
+  INDEX_ENABLED(ConfVars.$INDEX_ENABLED, "index scan enabled", DEFAULT, Boolean.class, Validators.bool()),
+  LOCAL_QUERY_MAX_INPUT_SIZE(ConfVars.$LOCAL_QUERY_MAX_INPUT_BYTES,
+      "maximum input size (bytes) of a query executed only in master (0: disabled)", DEFAULT, Long.class,
+      Validators.min("0")),
 
   // for physical Executors
   EXTSORT_BUFFER_SIZE(ConfVars.$EXECUTOR_EXTERNAL_SORT_BUFFER_SIZE, "sort buffer size for external sort (mb)", DEFAULT,
@@ -118,6 +129,16 @@ public enum SessionVars implements ConfigKey {
       DEFAULT, Long.class, Validators.min("0")),
   HASH_GROUPBY_SIZE_LIMIT(ConfVars.$EXECUTOR_GROUPBY_INMEMORY_HASH_THRESHOLD, "limited size for hash groupby (mb)",
       DEFAULT, Long.class, Validators.min("0")),
+  PARTIAL_GROUPBY_MAX_GROUPS(ConfVars.$EXECUTOR_GROUPBY_PARTIAL_MAX_GROUPS,
+      "maximum number of groups held by a partial hash aggregation (0: disabled)", DEFAULT, Integer.class,
+      Validators.min("0")),
+  PARTIAL_GROUPBY_BYPASS_RATIO(ConfVars.$EXECUTOR_GROUPBY_PARTIAL_BYPASS_RATIO,
+      "ratio of groups to input rows above which a partial aggregation passes rows through", DEFAULT, Float.class,
+      Validators.min("0")),
+  TOPN_MAX_ROWS(ConfVars.$EXECUTOR_TOPN_MAX_ROWS, "maximum limit of a top-n sort (0: disabled)", DEFAULT,
+      Integer.class, Validators.min("0")),
+  PROFILE_ENABLED(ConfVars.$EXECUTOR_PROFILE_ENABLED, "runtime statistics of physical operators enabled", DEFAULT,
+      Boolean.class, Validators.bool()),
   MAX_OUTPUT_FILE_SIZE(ConfVars.$MAX_OUTPUT_FILE_SIZE, "Maximum per-output file size (mb). 0 means infinite.", DEFAULT,
       Long.class, Validators.min("0")),
   NULL_CHAR(ConfVars.$TEXT_NULL, "null char of text file output", DEFAULT),
@@ -130,6 +151,21 @@ public enum SessionVars implements ConfigKey {
   // ResultSet ----------------------------------------------------------------
   FETCH_ROWNUM(ConfVars.$RESULT_SET_FETCH_ROWNUM, "Sets the number of rows at a time from Master", DEFAULT,
       Integer.class, Validators.min("0")),
+  DIRECT_FETCH_ENABLED(ConfVars.$RESULT_SET_DIRECT_FETCH_ENABLED,
+      "If true, results of distributed queries are read directly from workers instead of through Master", DEFAULT),
+  DIRECT_FETCH_THREADS(ConfVars.$RESULT_SET_DIRECT_FETCH_THREADS,
+      "Sets the number of threads which read results directly from workers", DEFAULT,
+      Integer.class, Validators.min("1")),
+  PARTIAL_RESULT_ENABLED(ConfVars.$RESULT_SET_PARTIAL_RESULT_ENABLED,
+      "If true, a running result of an aggregation query is merged from its completed leaf tasks", DEFAULT,
+      Boolean.class, Validators.bool()),
+  PARTIAL_RESULT_MAX_ROWS(ConfVars.$RESULT_SET_PARTIAL_RESULT_MAX_ROWS,
+      "Sets the maximum number of partial aggregates which a task or a running result keeps", DEFAULT,
+      Integer.class, Validators.min("0")),
+
+  // Query Scheduler ----------------------------------------------------------
+  QUERY_QUEUE(ConfVars.$QUERY_QUEUE, "Sets the queue of the fair query scheduler to which queries are submitted",
+      DEFAULT),
 
   //-------------------------------------------------------------------------------
   // Only for Unit Testing
@@ -190,6 +190,12 @@ public class TajoConf extends Configuration {
     RESOURCE_MANAGER_CLASS("tajo.resource.manager", "org.apache.tajo.master.rm.TajoWorkerResourceManager",
         Validators.groups(Validators.notNull(), Validators.clazz())),
 
+    // Query Scheduler
+    SCHEDULER_CLASS("tajo.master.scheduler.class", "org.apache.tajo.master.scheduler.SimpleFifoScheduler",
+        Validators.groups(Validators.notNull(), Validators.clazz())),
+    // comma-separated queue names of the fair scheduler. The 'default' queue always exists.
+    SCHEDULER_FAIR_QUEUES("tajo.master.scheduler.fair.queues", "default"),
+
     // Catalog
     CATALOG_ADDRESS("tajo.catalog.client-rpc.address", "localhost:26005", Validators.networkAddr()),
 
@@ -209,6 +215,9 @@ public class TajoConf extends Configuration {
     SHUFFLE_SSL_ENABLED_KEY("tajo.pullserver.ssl.enabled", false, Validators.bool()),
     SHUFFLE_FILE_FORMAT("tajo.shuffle.file-format", "RAW"),
     SHUFFLE_FETCHER_PARALLEL_EXECUTION_MAX_NUM("tajo.shuffle.fetcher.parallel-execution.max-num", 2),
+    // the number of fetcher threads shared by all task runners of a worker
+    SHUFFLE_FETCHER_WORKER_THREAD_NUM("tajo.shuffle.fetcher.worker-thread-num",
+        Runtime.getRuntime().availableProcessors() * 2, Validators.min("1")),
     SHUFFLE_FETCHER_CHUNK_MAX_SIZE("tajo.shuffle.fetcher.chunk.max-size",  8192),
     SHUFFLE_FETCHER_READ_TIMEOUT("tajo.shuffle.fetcher.read.timeout-sec", 120),
     SHUFFLE_FETCHER_READ_RETRY_MAX_NUM("tajo.shuffle.fetcher.read.retry.max-num", 20),
@@ -259,6 +268,19 @@ public class TajoConf extends Configuration {
     TASK_DEFAULT_MEMORY("tajo.task.memory-slot-mb.default", 512),
     TASK_DEFAULT_DISK("tajo.task.disk-slot.default", 0.5f),
     TASK_DEFAULT_SIZE("tajo.task.size-mb", 128),
+    // if true, a worker sends the status updates and completions of its tasks to QueryMaster in batches
+    TASK_STATUS_UPDATE_BATCH_ENABLED("tajo.task.status-update.batch.enabled", true),
+    // the maximum number of generated evaluator classes which a worker reuses across queries (0: no reuse)
+    WORKER_CODEGEN_CLASS_CACHE_SIZE("tajo.worker.codegen.class-cache.size", 1000, Validators.min("0")),
+
+    // Task Scheduler ---------------------------------------------------------
+    // how long a task runner waits for a local task before it takes a rack-local task, and then any task
+    QUERYMASTER_TASK_SCHEDULER_LOCALITY_DELAY("tajo.qm.task-scheduler.locality-delay", "3 sec"),
+    // the maximum number of task runners reading a known disk volume of a host at the same time (0: unlimited)
+    QUERYMASTER_TASK_SCHEDULER_VOLUME_MAX_CONCURRENCY("tajo.qm.task-scheduler.volume.max-concurrency", 4,
+        Validators.min("0")),
+    // the number of threads which dispatch the events of stages in parallel (0: a single dispatcher thread)
+    QUERYMASTER_DISPATCHER_THREAD_NUM("tajo.qm.dispatcher.thread-num", 4, Validators.min("0")),
 
     // Query and Optimization -------------------------------------------------
     // This class provides a ordered list of logical plan rewrite rule classes.
@@ -317,9 +339,22 @@ public class TajoConf extends Configuration {
     $DIST_QUERY_JOIN_PARTITION_VOLUME("tajo.dist-query.join.partition-volume-mb", 128, Validators.min("1")),
     $DIST_QUERY_GROUPBY_PARTITION_VOLUME("tajo.dist-query.groupby.partition-volume-mb", 256, Validators.min("1")),
     $DIST_QUERY_TABLE_PARTITION_VOLUME("tajo.dist-query.table-partition.task-volume-mb", 256, Validators.min("1")),
+    // A join partition whose input is larger than (skew factor * average partition volume) is split. 0 disables it.
+    $DIST_QUERY_JOIN_SKEW_FACTOR("tajo.dist-query.join.skew-factor", 4.0f),
 
     $GROUPBY_MULTI_LEVEL_ENABLED("tajo.dist-query.groupby.multi-level-aggr", true),
 
+    // The smaller side of a repartition join ships a bloom filter of its join keys to the other side's scan stage.
+    // It is disabled by default, because the filter is carried by every task request and completion report.
+    $DIST_QUERY_JOIN_RUNTIME_FILTER_ENABLED("tajo.dist-query.join.runtime-filter.enabled", false),
+    $DIST_QUERY_JOIN_RUNTIME_FILTER_BITS("tajo.dist-query.join.runtime-filter.bits", 1048576, Validators.min("64")),
+
+    // Scans with an equality predicate on an indexed column read rows through the index
+    $INDEX_ENABLED("tajo.query.index.enabled", false),
+
+    // A select query whose total input is smaller than this runs entirely in TajoMaster. 0 disables it.
+    $LOCAL_QUERY_MAX_INPUT_BYTES("tajo.query.local.max-input-bytes", 0L, Validators.min("0")),
+
     // for physical Executors
     $EXECUTOR_EXTERNAL_SORT_BUFFER_SIZE("tajo.executor.external-sort.buffer-mb", 200L),
     $EXECUTOR_HASH_JOIN_SIZE_THRESHOLD("tajo.executor.join.common.in-memory-hash-threshold-bytes",
@@ -330,6 +365,14 @@ public class TajoConf extends Configuration {
         (long)256 * 1048576),
     $EXECUTOR_GROUPBY_INMEMORY_HASH_THRESHOLD("tajo.executor.groupby.in-memory-hash-threshold-bytes",
         (long)256 * 1048576),
+    // A partial (non-final) hash aggregation flushes its groups when it holds this many groups. 0 disables it.
+    $EXECUTOR_GROUPBY_PARTIAL_MAX_GROUPS("tajo.executor.groupby.partial.max-groups", 100000, Validators.min("0")),
+    // A partial aggregation passes rows through if (groups / input rows) of a flushed table exceeds this ratio.
+    $EXECUTOR_GROUPBY_PARTIAL_BYPASS_RATIO("tajo.executor.groupby.partial.bypass-ratio", 0.9f, Validators.min("0")),
+    // ORDER BY with LIMIT up to this number of rows keeps only the first rows in memory. 0 disables it.
+    $EXECUTOR_TOPN_MAX_ROWS("tajo.executor.topn.max-rows", 100000, Validators.min("0")),
+    // Collecting the runtime statistics of each physical operator. It slightly slows down every operator.
+    $EXECUTOR_PROFILE_ENABLED("tajo.executor.profile.enabled", false, Validators.bool()),
     $MAX_OUTPUT_FILE_SIZE("tajo.query.max-outfile-size-mb", 0), // zero means infinite
     $CODEGEN("tajo.executor.codegen.enabled", false), // Runtime code generation (todo this is broken)
 
@@ -365,6 +408,14 @@ public class TajoConf extends Configuration {
 
     // ResultSet ---------------------------------------------------------
     $RESULT_SET_FETCH_ROWNUM("tajo.resultset.fetch.rownum", 200),
+    $RESULT_SET_DIRECT_FETCH_ENABLED("tajo.resultset.direct-fetch.enabled", false),
+    $RESULT_SET_DIRECT_FETCH_THREADS("tajo.resultset.direct-fetch.threads", 4),
+    // Leaf tasks of an aggregation ship up to this many partial aggregates so that a running result can be merged
+    $RESULT_SET_PARTIAL_RESULT_ENABLED("tajo.resultset.partial-result.enabled", false),
+    $RESULT_SET_PARTIAL_RESULT_MAX_ROWS("tajo.resultset.partial-result.max-rows", 10000, Validators.min("0")),
+
+    // Query Scheduler ---------------------------------------------------
+    $QUERY_QUEUE("tajo.query.queue", ""),
     ;
 
     public final String varname;
@@ -197,6 +197,7 @@ WINDOW : W I N D O W;
 AVG : A V G;
 ADD: A D D;
 ALTER : A L T E R;
+ANALYZE : A N A L Y Z E;
 
 BETWEEN : B E T W E E N;
 BY : B Y;
@@ -414,6 +415,7 @@ MODULAR : '%';
 DOT : '.';
 UNDERLINE : '_';
 VERTICAL_BAR : '|';
+QUESTION : '?';
 QUOTE : '\'';
 DOUBLE_QUOTE : '"';
 
@@ -39,7 +39,7 @@ sql
   ;
 
 explain_clause
-  : EXPLAIN (GLOBAL)?
+  : EXPLAIN (GLOBAL | ANALYZE)?
   ;
 
 statement
@@ -228,6 +228,7 @@ nonreserved_keywords
   : ADD
   | AVG
   | ALTER
+  | ANALYZE
   | BETWEEN
   | BY
   | CATALOG
@@ -554,6 +555,11 @@ nonparenthesized_value_expression_primary
   | case_expression
   | cast_specification
   | routine_invocation
+  | dynamic_parameter_specification
+  ;
+
+dynamic_parameter_specification
+  : QUESTION
   ;
 
 /*
@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.codegen;
+
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.plan.expr.EvalNode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A worker-wide cache of the classes generated by {@link EvalCodeGenerator}. A generated class embeds everything
+ * it needs, so it is keyed by the JSON forms of an input schema and an expression, and the same class is
+ * instantiated again for the same expression of later execution blocks and queries. It saves the cost of code
+ * generation, and the JIT-compiled code of the class is kept warm.
+ *
+ * All classes are defined in one class loader. When the number of classes reaches the maximum size, the cache
+ * starts over with a new class loader, so that the classes of the old one can be unloaded.
+ *
+ * Only the lookup and the insertion hold the lock, so that tasks of a worker generate classes concurrently.
+ */
+public class EvalClassCache {
+  private static final EvalClassCache instance = new EvalClassCache(1000);
+
+  private int maxSize;
+  private TajoClassLoader classLoader = new TajoClassLoader();
+  private final Map<String, Class<?>> classes = new HashMap<String, Class<?>>();
+
+  private long hits = 0;
+  private long misses = 0;
+
+  public EvalClassCache(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public static EvalClassCache getInstance() {
+    return instance;
+  }
+
+  public synchronized void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Get a new instance of the generated class of an expression. The class is generated if it is not cached yet.
+   */
+  public EvalNode compile(Schema schema, EvalNode expr) throws CompilationError {
+    String key = (schema == null ? "" : schema.toJson()) + "\n" + expr.toJson();
+
+    Class<?> clazz;
+    synchronized (this) {
+      clazz = classes.get(key);
+    }
+    if (clazz != null) {
+      try {
+        EvalNode compiled = (EvalNode) clazz.newInstance();
+        synchronized (this) {
+          hits++;
+        }
+        return compiled;
+      } catch (Throwable t) {
+        // it will be generated again
+        synchronized (this) {
+          if (classes.get(key) == clazz) {
+            classes.remove(key);
+          }
+        }
+      }
+    }
+
+    TajoClassLoader loader;
+    synchronized (this) {
+      if (classes.size() >= maxSize) {
+        classes.clear();
+        classLoader = new TajoClassLoader();
+      }
+      loader = classLoader;
+      misses++;
+    }
+
+    EvalNode compiled = new EvalCodeGenerator(loader).compile(schema, expr);
+
+    synchronized (this) {
+      // another task may have generated the same expression meanwhile, and a class of a discarded class loader
+      // is not kept so that the loader can be unloaded
+      if (loader == classLoader && !classes.containsKey(key)) {
+        classes.put(key, compiled.getClass());
+      }
+    }
+    return compiled;
+  }
+
+  public synchronized int size() {
+    return classes.size();
+  }
+
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  public synchronized long getMisses() {
+    return misses;
+  }
+}
@@ -67,10 +67,20 @@ public class EvalCodeGenerator extends SimpleEvalNodeVisitor<EvalCodeGenContext>
   };
 
   private final TajoClassLoader classLoader;
+  private final EvalClassCache classCache;
   static int classSeq = 1;
 
   public EvalCodeGenerator(TajoClassLoader classLoader) {
     this.classLoader = classLoader;
+    this.classCache = null;
+  }
+
+  /**
+   * A code generator which reuses the classes of a class cache instead of generating them every time.
+   */
+  public EvalCodeGenerator(EvalClassCache classCache) {
+    this.classLoader = null;
+    this.classCache = classCache;
   }
 
   protected synchronized static int getAndIncrementClassSeq() {
@@ -78,6 +88,9 @@ public class EvalCodeGenerator extends SimpleEvalNodeVisitor<EvalCodeGenContext>
   }
 
   public EvalNode compile(Schema schema, EvalNode expr) throws CompilationError {
+    if (classCache != null) {
+      return classCache.compile(schema, expr);
+    }
 
     ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
 
@@ -65,6 +65,11 @@ public class ExecutorPreCompiler extends BasicLogicalPlanVisitor<ExecutorPreComp
       this.compiledEval = Maps.newHashMap();
     }
 
+    public CompilationContext(EvalClassCache classCache) {
+      this.compiler = new EvalCodeGenerator(classCache);
+      this.compiledEval = Maps.newHashMap();
+    }
+
     public EvalCodeGenerator getCompiler() {
       return compiler;
     }
@@ -205,6 +210,13 @@ public class ExecutorPreCompiler extends BasicLogicalPlanVisitor<ExecutorPreComp
     return node;
   }
 
+  @Override
+  public LogicalNode visitIndexScan(CompilationContext context, LogicalPlan plan, LogicalPlan.QueryBlock block,
+                                    IndexScanNode node, Stack<LogicalNode> stack) throws PlanningException {
+    visitScan(context, plan, block, node, stack);
+    return node;
+  }
+
   @Override
   public LogicalNode visitScan(CompilationContext context, LogicalPlan plan, LogicalPlan.QueryBlock block,
                                ScanNode node, Stack<LogicalNode> stack) throws PlanningException {
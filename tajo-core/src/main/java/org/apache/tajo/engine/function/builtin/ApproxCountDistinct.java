@@ -0,0 +1,202 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.engine.function.builtin;
+
+import com.google.protobuf.ByteString;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.datum.ProtobufDatum;
+import org.apache.tajo.engine.function.annotation.Description;
+import org.apache.tajo.engine.function.annotation.ParamTypes;
+import org.apache.tajo.plan.function.AggFunction;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.util.MurmurHash;
+
+import static org.apache.tajo.InternalTypes.HyperLogLogProto;
+
+/**
+ * It estimates the number of distinct values with a HyperLogLog sketch.
+ *
+ * Unlike count(distinct expr), distinct values are not shuffled. Each first phase task builds a fixed-size sketch
+ * of 2^{@link #PRECISION} registers, and sketches are merged by taking the maximum of each register.
+ * The standard error of the estimation is about 1.6%.
+ */
+@Description(
+  functionName = "approx_count_distinct",
+  description = "The approximate number of distinct non-NULL values",
+  example = "> SELECT approx_count_distinct(expr);",
+  returnType = Type.INT8,
+  paramTypes = {@ParamTypes(paramTypes = {Type.ANY})}
+)
+public class ApproxCountDistinct extends AggFunction<Datum> {
+  static final int PRECISION = 12;
+
+  public ApproxCountDistinct() {
+    super(new Column[] {
+        new Column("expr", Type.ANY)
+    });
+  }
+
+  @Override
+  public FunctionContext newContext() {
+    return new HyperLogLogContext(PRECISION);
+  }
+
+  @Override
+  public void eval(FunctionContext ctx, Tuple params) {
+    Datum datum = params.get(0);
+    if (datum.isNotNull()) {
+      ((HyperLogLogContext) ctx).offer(hash(datum));
+    }
+  }
+
+  @Override
+  public void merge(FunctionContext ctx, Tuple part) {
+    Datum d = part.get(0);
+    if (d instanceof NullDatum) {
+      return;
+    }
+    HyperLogLogProto proto = (HyperLogLogProto) ((ProtobufDatum) d).get();
+    ((HyperLogLogContext) ctx).merge(proto);
+  }
+
+  @Override
+  public Datum getPartialResult(FunctionContext ctx) {
+    HyperLogLogContext hllCtx = (HyperLogLogContext) ctx;
+    if (hllCtx.isEmpty()) {
+      return NullDatum.get();
+    }
+    return new ProtobufDatum(hllCtx.getProto());
+  }
+
+  @Override
+  public DataType getPartialResultType() {
+    return CatalogUtil.newDataType(Type.PROTOBUF, HyperLogLogProto.class.getName());
+  }
+
+  @Override
+  public Datum terminate(FunctionContext ctx) {
+    return DatumFactory.createInt8(((HyperLogLogContext) ctx).estimate());
+  }
+
+  static long hash(Datum datum) {
+    switch (datum.type()) {
+    case INT1:
+    case INT2:
+    case INT4:
+    case INT8:
+      return mix64(datum.asInt8());
+    case FLOAT4:
+    case FLOAT8:
+      return mix64(Double.doubleToLongBits(datum.asFloat8()));
+    default:
+      byte [] bytes = datum.asTextBytes();
+      return MurmurHash.hash64(bytes, bytes.length);
+    }
+  }
+
+  /**
+   * The finalization mix of MurmurHash3, which spreads the bits of a number over the whole 64 bits.
+   */
+  private static long mix64(long k) {
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    k *= 0xc4ceb9fe1a85ec53L;
+    k ^= k >>> 33;
+    return k;
+  }
+
+  protected static class HyperLogLogContext implements FunctionContext {
+    final int precision;
+    final byte [] registers;
+    boolean empty = true;
+
+    HyperLogLogContext(int precision) {
+      this.precision = precision;
+      this.registers = new byte[1 << precision];
+    }
+
+    boolean isEmpty() {
+      return empty;
+    }
+
+    void offer(long hash) {
+      int idx = (int) (hash >>> (64 - precision));
+      // the sentinel bit bounds the rank when all remaining bits are zero
+      long w = (hash << precision) | (1L << (precision - 1));
+      byte rank = (byte) (Long.numberOfLeadingZeros(w) + 1);
+      if (registers[idx] < rank) {
+        registers[idx] = rank;
+      }
+      empty = false;
+    }
+
+    void merge(HyperLogLogProto proto) {
+      if (proto.getPrecision() != precision) {
+        throw new IllegalArgumentException("Cannot merge a HyperLogLog sketch of precision "
+            + proto.getPrecision() + " into one of precision " + precision);
+      }
+      byte [] other = proto.getRegisters().toByteArray();
+      for (int i = 0; i < registers.length; i++) {
+        if (registers[i] < other[i]) {
+          registers[i] = other[i];
+        }
+      }
+      empty = false;
+    }
+
+    HyperLogLogProto getProto() {
+      HyperLogLogProto.Builder builder = HyperLogLogProto.newBuilder();
+      builder.setPrecision(precision);
+      builder.setRegisters(ByteString.copyFrom(registers));
+      return builder.build();
+    }
+
+    long estimate() {
+      if (empty) {
+        return 0;
+      }
+
+      int m = registers.length;
+      double sum = 0;
+      int zeros = 0;
+      for (byte register : registers) {
+        sum += 1.0d / (1L << register);
+        if (register == 0) {
+          zeros++;
+        }
+      }
+
+      double alpha = 0.7213d / (1 + 1.079d / m);
+      double estimate = alpha * m * m / sum;
+
+      // linear counting gives a better estimation for small cardinalities
+      if (estimate <= 2.5d * m && zeros > 0) {
+        estimate = m * Math.log((double) m / zeros);
+      }
+      return Math.round(estimate);
+    }
+  }
+}
@@ -0,0 +1,286 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.engine.function.builtin;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.datum.ProtobufDatum;
+import org.apache.tajo.engine.function.annotation.Description;
+import org.apache.tajo.engine.function.annotation.ParamTypes;
+import org.apache.tajo.exception.InvalidOperationException;
+import org.apache.tajo.plan.function.AggFunction;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.storage.Tuple;
+
+import java.util.Arrays;
+
+import static org.apache.tajo.InternalTypes.PercentileSketchProto;
+
+/**
+ * It estimates a percentile of numbers with a merging t-digest.
+ *
+ * A t-digest keeps a sorted list of centroids, each of which is a mean and a count of nearby values. Centroids
+ * near both tails are kept small so that extreme percentiles are accurate, and the number of centroids is bounded
+ * by about {@link #COMPRESSION}. Sketches of first phase tasks are merged by merging their sorted centroids.
+ */
+@Description(
+  functionName = "approx_percentile",
+  description = "The approximate value at the given percentile (between 0 and 1) of a set of numbers",
+  example = "> SELECT approx_percentile(expr, 0.5);",
+  returnType = Type.FLOAT8,
+  paramTypes = {@ParamTypes(paramTypes = {Type.FLOAT8, Type.FLOAT8})}
+)
+public class ApproxPercentile extends AggFunction<Datum> {
+  static final double COMPRESSION = 100;
+
+  public ApproxPercentile() {
+    super(new Column[] {
+        new Column("expr", Type.FLOAT8),
+        new Column("percentile", Type.FLOAT8)
+    });
+  }
+
+  @Override
+  public FunctionContext newContext() {
+    return new TDigestContext(COMPRESSION);
+  }
+
+  @Override
+  public void eval(FunctionContext ctx, Tuple params) {
+    TDigestContext digestCtx = (TDigestContext) ctx;
+    if (Double.isNaN(digestCtx.percentile)) {
+      digestCtx.percentile = checkPercentile(params.get(1));
+    }
+    Datum datum = params.get(0);
+    if (datum.isNotNull()) {
+      digestCtx.add(datum.asFloat8());
+    }
+  }
+
+  @Override
+  public void merge(FunctionContext ctx, Tuple part) {
+    Datum d = part.get(0);
+    if (d instanceof NullDatum) {
+      return;
+    }
+    PercentileSketchProto proto = (PercentileSketchProto) ((ProtobufDatum) d).get();
+    ((TDigestContext) ctx).merge(proto);
+  }
+
+  @Override
+  public Datum getPartialResult(FunctionContext ctx) {
+    TDigestContext digestCtx = (TDigestContext) ctx;
+    if (digestCtx.isEmpty()) {
+      return NullDatum.get();
+    }
+    return new ProtobufDatum(digestCtx.getProto());
+  }
+
+  @Override
+  public DataType getPartialResultType() {
+    return CatalogUtil.newDataType(Type.PROTOBUF, PercentileSketchProto.class.getName());
+  }
+
+  @Override
+  public Datum terminate(FunctionContext ctx) {
+    TDigestContext digestCtx = (TDigestContext) ctx;
+    if (digestCtx.isEmpty()) {
+      return NullDatum.get();
+    }
+    return DatumFactory.createFloat8(digestCtx.quantile(digestCtx.percentile));
+  }
+
+  private static double checkPercentile(Datum datum) {
+    if (datum.isNull()) {
+      throw new InvalidOperationException("percentile must not be NULL.");
+    }
+    double percentile = datum.asFloat8();
+    if (!(percentile >= 0 && percentile <= 1)) {
+      throw new InvalidOperationException("percentile must be between 0 and 1, but " + percentile);
+    }
+    return percentile;
+  }
+
+  protected static class TDigestContext implements FunctionContext {
+    final double compression;
+    double percentile = Double.NaN;
+
+    double [] means = new double[0];
+    long [] counts = new long[0];
+    int size;
+    long totalCount;
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+
+    // raw values are buffered and sorted at once before they are merged into centroids
+    final double [] buffer;
+    int buffered;
+
+    TDigestContext(double compression) {
+      this.compression = compression;
+      this.buffer = new double[(int) (compression * 5)];
+    }
+
+    boolean isEmpty() {
+      return size == 0 && buffered == 0;
+    }
+
+    void add(double value) {
+      if (Double.isNaN(value)) {
+        return;
+      }
+      buffer[buffered++] = value;
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+      if (buffered == buffer.length) {
+        flush();
+      }
+    }
+
+    void merge(PercentileSketchProto proto) {
+      if (Double.isNaN(percentile)) {
+        percentile = proto.getPercentile();
+      }
+      int n = proto.getMeansCount();
+      double [] otherMeans = new double[n];
+      long [] otherCounts = new long[n];
+      for (int i = 0; i < n; i++) {
+        otherMeans[i] = proto.getMeans(i);
+        otherCounts[i] = proto.getCounts(i);
+      }
+      min = Math.min(min, proto.getMin());
+      max = Math.max(max, proto.getMax());
+
+      flush();
+      mergeSorted(otherMeans, otherCounts, n);
+    }
+
+    PercentileSketchProto getProto() {
+      flush();
+      PercentileSketchProto.Builder builder = PercentileSketchProto.newBuilder();
+      builder.setPercentile(percentile);
+      builder.setCompression(compression);
+      builder.setMin(min);
+      builder.setMax(max);
+      for (int i = 0; i < size; i++) {
+        builder.addMeans(means[i]);
+        builder.addCounts(counts[i]);
+      }
+      return builder.build();
+    }
+
+    private void flush() {
+      if (buffered == 0) {
+        return;
+      }
+      Arrays.sort(buffer, 0, buffered);
+      mergeSorted(buffer, null, buffered);
+      buffered = 0;
+    }
+
+    /**
+     * Merge sorted centroids into the current centroids. A null <code>otherCounts</code> means that every
+     * centroid has a single value.
+     */
+    private void mergeSorted(double [] otherMeans, long [] otherCounts, int otherSize) {
+      int n = size + otherSize;
+      double [] mergedMeans = new double[n];
+      long [] mergedCounts = new long[n];
+
+      int i = 0, j = 0;
+      for (int k = 0; k < n; k++) {
+        if (j >= otherSize || (i < size && means[i] <= otherMeans[j])) {
+          mergedMeans[k] = means[i];
+          mergedCounts[k] = counts[i++];
+        } else {
+          mergedMeans[k] = otherMeans[j];
+          mergedCounts[k] = otherCounts == null ? 1 : otherCounts[j];
+          j++;
+        }
+      }
+      for (int k = 0; k < otherSize; k++) {
+        totalCount += otherCounts == null ? 1 : otherCounts[k];
+      }
+
+      compress(mergedMeans, mergedCounts, n);
+    }
+
+    /**
+     * Combine adjacent centroids while the combined count is within the size limit, which is 4 * N * q * (1 - q)
+     * / compression for the quantile q of the combined centroid.
+     */
+    private void compress(double [] sortedMeans, long [] sortedCounts, int n) {
+      int last = 0;
+      long countSoFar = 0;
+      for (int k = 1; k < n; k++) {
+        long proposed = sortedCounts[last] + sortedCounts[k];
+        double q = (countSoFar + proposed / 2.0d) / totalCount;
+        double limit = 4 * totalCount * q * (1 - q) / compression;
+
+        if (proposed <= limit) {
+          sortedMeans[last] += (sortedMeans[k] - sortedMeans[last]) * sortedCounts[k] / proposed;
+          sortedCounts[last] = proposed;
+        } else {
+          countSoFar += sortedCounts[last];
+          last++;
+          sortedMeans[last] = sortedMeans[k];
+          sortedCounts[last] = sortedCounts[k];
+        }
+      }
+
+      means = sortedMeans;
+      counts = sortedCounts;
+      size = n == 0 ? 0 : last + 1;
+    }
+
+    /**
+     * It interpolates linearly between the centers of adjacent centroids.
+     */
+    double quantile(double q) {
+      flush();
+      if (size == 1 || min == max) {
+        return means[0];
+      }
+
+      double rank = q * totalCount;
+      double countSoFar = 0;
+      for (int k = 0; k < size; k++) {
+        double center = countSoFar + counts[k] / 2.0d;
+        if (rank < center) {
+          if (k == 0) {
+            return min + (means[0] - min) * (rank / center);
+          }
+          double prevCenter = countSoFar - counts[k - 1] / 2.0d;
+          return means[k - 1] + (means[k] - means[k - 1]) * (rank - prevCenter) / (center - prevCenter);
+        }
+        countSoFar += counts[k];
+      }
+
+      double lastCenter = totalCount - counts[size - 1] / 2.0d;
+      if (totalCount == lastCenter) {
+        return max;
+      }
+      return means[size - 1] + (max - means[size - 1]) * (rank - lastCenter) / (totalCount - lastCenter);
+    }
+  }
+}
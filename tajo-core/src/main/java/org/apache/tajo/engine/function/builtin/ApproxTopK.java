@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.engine.function.builtin;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.datum.ProtobufDatum;
+import org.apache.tajo.engine.function.annotation.Description;
+import org.apache.tajo.engine.function.annotation.ParamTypes;
+import org.apache.tajo.exception.InvalidOperationException;
+import org.apache.tajo.plan.function.AggFunction;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.storage.Tuple;
+
+import java.util.*;
+
+import static org.apache.tajo.InternalTypes.TopKSketchProto;
+
+/**
+ * It estimates the k most frequent values with a Space-Saving sketch.
+ *
+ * The sketch monitors at most a fixed number of values. When it is full, the least frequent values are evicted,
+ * and the threshold keeps the largest evicted count so that a newly monitored value starts from an upper bound
+ * of its possible count. Two sketches are merged by adding the counts of each value, where the threshold of the
+ * other sketch is used for a value not monitored by it.
+ *
+ * The result is a JSON array of objects, each of which has a value and its estimated count, in descending order
+ * of counts.
+ */
+@Description(
+  functionName = "approx_top_k",
+  description = "The approximate k most frequent non-NULL values and their counts as a JSON array",
+  example = "> SELECT approx_top_k(expr, 10);",
+  returnType = Type.TEXT,
+  paramTypes = {@ParamTypes(paramTypes = {Type.ANY, Type.INT4})}
+)
+public class ApproxTopK extends AggFunction<Datum> {
+  static final int MAX_K = 1000;
+  static final int CAPACITY_FACTOR = 10;
+  static final int MIN_CAPACITY = 100;
+
+  public ApproxTopK() {
+    super(new Column[] {
+        new Column("expr", Type.ANY),
+        new Column("k", Type.INT4)
+    });
+  }
+
+  @Override
+  public FunctionContext newContext() {
+    return new SpaceSavingContext();
+  }
+
+  @Override
+  public void eval(FunctionContext ctx, Tuple params) {
+    SpaceSavingContext topKCtx = (SpaceSavingContext) ctx;
+    if (topKCtx.k == 0) {
+      topKCtx.setK(checkK(params.get(1)));
+    }
+    Datum datum = params.get(0);
+    if (datum.isNotNull()) {
+      topKCtx.offer(datum.asChars());
+    }
+  }
+
+  @Override
+  public void merge(FunctionContext ctx, Tuple part) {
+    Datum d = part.get(0);
+    if (d instanceof NullDatum) {
+      return;
+    }
+    TopKSketchProto proto = (TopKSketchProto) ((ProtobufDatum) d).get();
+    ((SpaceSavingContext) ctx).merge(proto);
+  }
+
+  @Override
+  public Datum getPartialResult(FunctionContext ctx) {
+    SpaceSavingContext topKCtx = (SpaceSavingContext) ctx;
+    if (topKCtx.counters.isEmpty()) {
+      return NullDatum.get();
+    }
+    return new ProtobufDatum(topKCtx.getProto());
+  }
+
+  @Override
+  public DataType getPartialResultType() {
+    return CatalogUtil.newDataType(Type.PROTOBUF, TopKSketchProto.class.getName());
+  }
+
+  @Override
+  public Datum terminate(FunctionContext ctx) {
+    SpaceSavingContext topKCtx = (SpaceSavingContext) ctx;
+    if (topKCtx.counters.isEmpty()) {
+      return NullDatum.get();
+    }
+
+    JsonArray array = new JsonArray();
+    List<Map.Entry<String, long[]>> sorted = topKCtx.sortByCount();
+    for (int i = 0; i < Math.min(topKCtx.k, sorted.size()); i++) {
+      JsonObject item = new JsonObject();
+      item.addProperty("value", sorted.get(i).getKey());
+      item.addProperty("count", sorted.get(i).getValue()[0]);
+      array.add(item);
+    }
+    return DatumFactory.createText(array.toString());
+  }
+
+  private static int checkK(Datum datum) {
+    if (datum.isNull()) {
+      throw new InvalidOperationException("k must not be NULL.");
+    }
+    int k = datum.asInt4();
+    if (k < 1 || k > MAX_K) {
+      throw new InvalidOperationException("k must be between 1 and " + MAX_K + ", but " + k);
+    }
+    return k;
+  }
+
+  private static final Comparator<Map.Entry<String, long[]>> COUNT_DESC =
+      new Comparator<Map.Entry<String, long[]>>() {
+        @Override
+        public int compare(Map.Entry<String, long[]> o1, Map.Entry<String, long[]> o2) {
+          long c1 = o1.getValue()[0];
+          long c2 = o2.getValue()[0];
+          return c1 < c2 ? 1 : (c1 == c2 ? 0 : -1);
+        }
+      };
+
+  protected static class SpaceSavingContext implements FunctionContext {
+    int k;
+    int capacity;
+    long threshold;
+    // a single element array is used as a mutable counter
+    final Map<String, long[]> counters = new HashMap<String, long[]>();
+
+    void setK(int k) {
+      this.k = k;
+      this.capacity = Math.max(k * CAPACITY_FACTOR, MIN_CAPACITY);
+    }
+
+    void offer(String value) {
+      long[] counter = counters.get(value);
+      if (counter == null) {
+        counters.put(value, new long[] {threshold + 1});
+        // eviction is amortized by letting the counters grow twice the capacity
+        if (counters.size() > capacity * 2) {
+          prune();
+        }
+      } else {
+        counter[0]++;
+      }
+    }
+
+    void merge(TopKSketchProto proto) {
+      if (k == 0) {
+        setK(proto.getK());
+      }
+
+      Map<String, Long> other = new HashMap<String, Long>();
+      for (int i = 0; i < proto.getValuesCount(); i++) {
+        other.put(proto.getValues(i), proto.getCounts(i));
+      }
+      for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+        if (!other.containsKey(entry.getKey())) {
+          entry.getValue()[0] += proto.getThreshold();
+        }
+      }
+      for (Map.Entry<String, Long> entry : other.entrySet()) {
+        long[] counter = counters.get(entry.getKey());
+        if (counter == null) {
+          counters.put(entry.getKey(), new long[] {threshold + entry.getValue()});
+        } else {
+          counter[0] += entry.getValue();
+        }
+      }
+      threshold += proto.getThreshold();
+
+      if (counters.size() > capacity * 2) {
+        prune();
+      }
+    }
+
+    TopKSketchProto getProto() {
+      prune();
+      TopKSketchProto.Builder builder = TopKSketchProto.newBuilder();
+      builder.setK(k);
+      builder.setThreshold(threshold);
+      for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+        builder.addValues(entry.getKey());
+        builder.addCounts(entry.getValue()[0]);
+      }
+      return builder.build();
+    }
+
+    List<Map.Entry<String, long[]>> sortByCount() {
+      List<Map.Entry<String, long[]>> entries = new ArrayList<Map.Entry<String, long[]>>(counters.entrySet());
+      Collections.sort(entries, COUNT_DESC);
+      return entries;
+    }
+
+    /**
+     * Evict the least frequent values so that at most <code>capacity</code> values are monitored.
+     */
+    private void prune() {
+      if (counters.size() <= capacity) {
+        return;
+      }
+      List<Map.Entry<String, long[]>> sorted = sortByCount();
+      for (Map.Entry<String, long[]> evicted : sorted.subList(capacity, sorted.size())) {
+        threshold = Math.max(threshold, evicted.getValue()[0]);
+        counters.remove(evicted.getKey());
+      }
+    }
+  }
+}
@@ -22,7 +22,9 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.Token;
 import org.antlr.v4.runtime.misc.NotNull;
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.TerminalNode;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.algebra.*;
@@ -78,7 +80,8 @@ public class SQLAnalyzer extends SQLParserBaseVisitor<Expr> {
   public Expr visitSql(SqlContext ctx) {
     Expr statement = visit(ctx.statement());
     if (checkIfExist(ctx.explain_clause())) {
-      return new Explain(statement, checkIfExist(ctx.explain_clause().GLOBAL()));
+      return new Explain(statement, checkIfExist(ctx.explain_clause().GLOBAL()),
+          checkIfExist(ctx.explain_clause().ANALYZE()));
     } else {
       return statement;
     }
@@ -1285,6 +1288,23 @@ public class SQLAnalyzer extends SQLParserBaseVisitor<Expr> {
     return new TruncateTable(tableNames);
   }
 
+  @Override
+  public Expr visitIndex_statement(SQLParser.Index_statementContext ctx) {
+    CreateIndex createIndex = new CreateIndex(ctx.n.getText(), buildSortSpecs(ctx.s));
+    createIndex.setChild(new Relation(ctx.t.getText()));
+
+    if (checkIfExist(ctx.u)) {
+      createIndex.setUnique(true);
+    }
+    if (checkIfExist(ctx.m)) {
+      createIndex.setMethodName(ctx.m.m.getText());
+    }
+    if (checkIfExist(ctx.p)) {
+      createIndex.setParams(getParams(ctx.p));
+    }
+    return createIndex;
+  }
+
   private ColumnDefinition[] getDefinitions(SQLParser.Table_elementsContext ctx) {
     int size = ctx.field_element().size();
     ColumnDefinition[] elements = new ColumnDefinition[size];
@@ -1639,6 +1659,33 @@ public class SQLAnalyzer extends SQLParserBaseVisitor<Expr> {
     return visitChildren(ctx);
   }
 
+  /**
+   * Each dynamic parameter is numbered by its position among all '?' tokens of the statement,
+   * so the numbering does not depend on the order in which this visitor walks the parse tree.
+   */
+  @Override
+  public Expr visitDynamic_parameter_specification(SQLParser.Dynamic_parameter_specificationContext ctx) {
+    ParseTree root = ctx;
+    while (root.getParent() != null) {
+      root = root.getParent();
+    }
+    int tokenIndex = ctx.QUESTION().getSymbol().getTokenIndex();
+    return new ParameterExpr(countPrecedingParameters(root, tokenIndex) + 1);
+  }
+
+  private static int countPrecedingParameters(ParseTree tree, int tokenIndex) {
+    if (tree instanceof TerminalNode) {
+      Token symbol = ((TerminalNode) tree).getSymbol();
+      return symbol.getType() == QUESTION && symbol.getTokenIndex() < tokenIndex ? 1 : 0;
+    }
+
+    int count = 0;
+    for (int i = 0; i < tree.getChildCount(); i++) {
+      count += countPrecedingParameters(tree.getChild(i), tokenIndex);
+    }
+    return count;
+  }
+
   @Override
   public Expr visitUnsigned_literal(@NotNull SQLParser.Unsigned_literalContext ctx) {
     if (checkIfExist(ctx.unsigned_numeric_literal())) {
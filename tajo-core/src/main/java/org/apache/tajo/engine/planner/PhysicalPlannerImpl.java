@@ -27,6 +27,8 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.ObjectArrays;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.catalog.Column;
@@ -227,6 +229,9 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
 
       case LIMIT:
         LimitNode limitNode = (LimitNode) logicalNode;
+        if (limitNode.getChild().getType() == NodeType.SORT) {
+          return createTopNPlan(ctx, limitNode, stack);
+        }
         stack.push(limitNode);
         leftExec = createPlanRecursive(ctx, limitNode.getChild(), stack);
         stack.pop();
@@ -238,6 +243,10 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
         leftExec = createIndexScanExec(ctx, indexScanNode);
         return leftExec;
 
+      case CREATE_INDEX:
+        // the index builder reads the fragments of its child scan by itself
+        return createCreateIndexPlan(ctx, (CreateIndexNode) logicalNode);
+
       default:
         return null;
     }
@@ -941,6 +950,16 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
 
     Enforcer enforcer = context.getEnforcer();
     EnforceProperty property = getAlgorithmEnforceProperty(enforcer, groupbyNode);
+
+    // A partial aggregation bounds its hash table by flushing it, so it does not need a sort aggregation
+    // for a large input. An enforced sort aggregation is kept because its output order can be required.
+    if ((property == null || property.getGroupby().getAlgorithm() == GroupbyAlgorithm.HASH_AGGREGATION) &&
+        context.getQueryContext().getInt(SessionVars.PARTIAL_GROUPBY_MAX_GROUPS) > 0 &&
+        PartialHashAggregateExec.isApplicable(groupbyNode)) {
+      LOG.info("The planner chooses [Partial Hash Aggregation]");
+      return new PartialHashAggregateExec(context, groupbyNode, subOp);
+    }
+
     if (property != null) {
       GroupbyAlgorithm algorithm = property.getGroupby().getAlgorithm();
       if (algorithm == GroupbyAlgorithm.HASH_AGGREGATION) {
@@ -1162,6 +1181,31 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
     return createBestSortPlan(context, sortNode, child);
   }
 
+  /**
+   * It fuses a sort and its parent limit into a top-n sort if the limit is small enough. If the input is already
+   * sorted (i.e., a distributed merge sort), the sort is just followed by a limit which stops reading early.
+   */
+  private PhysicalExec createTopNPlan(TaskAttemptContext ctx, LimitNode limitNode, Stack<LogicalNode> stack)
+      throws IOException {
+    SortNode sortNode = limitNode.getChild();
+    stack.push(limitNode);
+    stack.push(sortNode);
+    PhysicalExec childExec = createPlanRecursive(ctx, sortNode.getChild(), stack);
+    stack.pop();
+    stack.pop();
+
+    boolean sortedInput = childExec instanceof SortExec &&
+        TUtil.checkEquals(sortNode.getSortKeys(), ((SortExec) childExec).getSortSpecs());
+    long maxRows = ctx.getQueryContext().getInt(SessionVars.TOPN_MAX_ROWS);
+    if (!sortedInput && maxRows > 0 && limitNode.getFetchFirstNum() <= maxRows) {
+      LOG.info("The planner chooses [Top-N Sort] (" + limitNode.getFetchFirstNum() + " rows)");
+      return new TopNExec(ctx, sortNode, limitNode, childExec);
+    }
+
+    PhysicalExec sortExec = createSortPlan(ctx, sortNode, childExec);
+    return new LimitExec(ctx, limitNode.getInSchema(), limitNode.getOutSchema(), sortExec, limitNode);
+  }
+
   public SortExec createBestSortPlan(TaskAttemptContext context, SortNode sortNode,
                                      PhysicalExec child) throws IOException {
     return new ExternalSortExec(context, sortNode, child);
@@ -1174,19 +1218,49 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
     Preconditions.checkNotNull(ctx.getTable(annotation.getCanonicalName()),
         "Error: There is no table matched to %s", annotation.getCanonicalName());
 
-    FragmentProto [] fragmentProtos = ctx.getTables(annotation.getTableName());
+    FragmentProto [] fragmentProtos = ctx.getTables(annotation.getCanonicalName());
     List<FileFragment> fragments =
         FragmentConvertor.convert(ctx.getConf(), fragmentProtos);
 
-    String indexName = IndexUtil.getIndexNameOfFrag(fragments.get(0), annotation.getSortKeys());
-    FileStorageManager sm = (FileStorageManager)StorageManager.getFileStorageManager(ctx.getConf());
-    Path indexPath = new Path(sm.getTablePath(annotation.getTableName()), "index");
+    // An index file is built per fragment. If this task has several fragments or the index file of the fragment
+    // is not available, the rows are read by a sequential scan and filtered by the qualification.
+    Path indexFile = null;
+    if (fragments.size() == 1 && annotation.hasIndexPath()) {
+      indexFile = new Path(new Path(annotation.getIndexPath()),
+          IndexUtil.getIndexNameOfFrag(fragments.get(0), annotation.getSortKeys()));
+      if (!isIndexFileAvailable(ctx, indexFile, fragments.get(0))) {
+        indexFile = null;
+      }
+    }
+
+    if (indexFile == null) {
+      LOG.info("No index file is available for " + annotation.getCanonicalName() + ", falling back to a scan");
+      return createScanPlan(ctx, annotation, new Stack<LogicalNode>());
+    }
 
     TupleComparator comp = new BaseTupleComparator(annotation.getKeySchema(),
         annotation.getSortKeys());
-    return new BSTIndexScanExec(ctx, annotation, fragments.get(0), new Path(indexPath, indexName),
+    return new BSTIndexScanExec(ctx, annotation, fragments.get(0), indexFile,
         annotation.getKeySchema(), comp, annotation.getDatum());
+  }
+
+  /**
+   * An index file is available if it exists and it is not older than the data file of the fragment.
+   */
+  private static boolean isIndexFileAvailable(TaskAttemptContext ctx, Path indexFile, FileFragment fragment)
+      throws IOException {
+    FileSystem fs = indexFile.getFileSystem(ctx.getConf());
+    if (!fs.exists(indexFile)) {
+      return false;
+    }
+    FileStatus dataStatus = fragment.getPath().getFileSystem(ctx.getConf()).getFileStatus(fragment.getPath());
+    return fs.getFileStatus(indexFile).getModificationTime() >= dataStatus.getModificationTime();
+  }
 
+  public PhysicalExec createCreateIndexPlan(TaskAttemptContext ctx, CreateIndexNode createIndexNode)
+      throws IOException {
+    ScanNode scanNode = (ScanNode) createIndexNode.getChild();
+    return new StoreIndexExec(ctx, createIndexNode, scanNode, ctx.getTables(scanNode.getCanonicalName()));
   }
 
   public static EnforceProperty getAlgorithmEnforceProperty(Enforcer enforcer, LogicalNode node) {
@@ -42,6 +42,9 @@ public class DataChannel {
 
   private StoreType storeType = StoreType.RAW;
 
+  // the source execution block whose output is filtered by the join keys of this channel
+  private ExecutionBlockId runtimeFilterTargetId;
+
   public DataChannel(ExecutionBlockId srcId, ExecutionBlockId targetId) {
     this.srcId = srcId;
     this.targetId = targetId;
@@ -85,6 +88,10 @@ public class DataChannel {
     if (proto.hasStoreType()) {
       this.storeType = proto.getStoreType();
     }
+
+    if (proto.hasRuntimeFilterTargetId()) {
+      this.runtimeFilterTargetId = new ExecutionBlockId(proto.getRuntimeFilterTargetId());
+    }
   }
 
   public ExecutionBlockId getSrcId() {
@@ -152,6 +159,24 @@ public class DataChannel {
     return storeType;
   }
 
+  public boolean hasRuntimeFilterTarget() {
+    return runtimeFilterTargetId != null;
+  }
+
+  /**
+   * Makes the source block of this channel build a runtime join filter from its shuffle keys. The filter is used
+   * to drop rows of the target block which cannot match any of them.
+   *
+   * @param targetId The source block of the other channel of the same join
+   */
+  public void setRuntimeFilterTarget(ExecutionBlockId targetId) {
+    this.runtimeFilterTargetId = targetId;
+  }
+
+  public ExecutionBlockId getRuntimeFilterTarget() {
+    return runtimeFilterTargetId;
+  }
+
   public DataChannelProto getProto() {
     DataChannelProto.Builder builder = DataChannelProto.newBuilder();
     builder.setSrcId(srcId.getProto());
@@ -175,6 +200,9 @@ public class DataChannel {
     if(storeType != null){
       builder.setStoreType(storeType);
     }
+    if (runtimeFilterTargetId != null) {
+      builder.setRuntimeFilterTargetId(runtimeFilterTargetId.getProto());
+    }
     return builder.build();
   }
 
@@ -196,6 +224,9 @@ public class DataChannel {
       sb.append(TUtil.arrayToString(shuffleKeys));
       sb.append(", num=").append(numOutputs);
     }
+    if (hasRuntimeFilterTarget()) {
+      sb.append(", runtime filter for ").append(runtimeFilterTargetId.getId());
+    }
     sb.append(")");
     return sb.toString();
   }
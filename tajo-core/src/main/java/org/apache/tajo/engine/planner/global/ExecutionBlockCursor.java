@@ -120,13 +120,41 @@ public class ExecutionBlockCursor {
           stack.push(item);
         }
       }
-      for (BuildOrderItem eachItem : stack) {
+      for (BuildOrderItem eachItem : runtimeFilterSourcesFirst(stack)) {
         preExecutionOrder(eachItem);
       }
     }
     executionOrderedBlocks.add(current);
   }
 
+  /**
+   * A leaf block which builds a runtime join filter is executed before its siblings,
+   * so that the other side of the join can use the filter.
+   */
+  private List<BuildOrderItem> runtimeFilterSourcesFirst(List<BuildOrderItem> items) {
+    List<BuildOrderItem> ordered = new ArrayList<BuildOrderItem>(items.size());
+    for (BuildOrderItem eachItem : items) {
+      if (isRuntimeFilterSource(eachItem.eb)) {
+        ordered.add(eachItem);
+      }
+    }
+    for (BuildOrderItem eachItem : items) {
+      if (!isRuntimeFilterSource(eachItem.eb)) {
+        ordered.add(eachItem);
+      }
+    }
+    return ordered;
+  }
+
+  private boolean isRuntimeFilterSource(ExecutionBlock block) {
+    for (DataChannel channel : masterPlan.getOutgoingChannels(block.getId())) {
+      if (channel.hasRuntimeFilterTarget()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   class BuildOrderItem {
     ExecutionBlock eb;
     ExecutionBlock parentEB;
@@ -40,6 +40,7 @@ import org.apache.tajo.engine.planner.BroadcastJoinPlanVisitor;
 import org.apache.tajo.engine.planner.global.builder.DistinctGroupbyBuilder;
 import org.apache.tajo.engine.planner.global.rewriter.GlobalPlanRewriteEngine;
 import org.apache.tajo.engine.planner.global.rewriter.GlobalPlanRewriteRuleProvider;
+import org.apache.tajo.engine.planner.physical.RuntimeJoinFilter;
 import org.apache.tajo.exception.InternalException;
 import org.apache.tajo.plan.LogicalPlan;
 import org.apache.tajo.plan.PlanningException;
@@ -217,6 +218,7 @@ public class GlobalPlanner {
     if (node instanceof RelationNode) {
       switch (node.getType()) {
       case SCAN:
+      case BST_INDEX_SCAN:
         ScanNode scanNode = (ScanNode) node;
         if (scanNode.getTableDesc().getStats() == null) {
           // TODO - this case means that data is not located in HDFS. So, we need additional
@@ -471,11 +473,66 @@ public class GlobalPlanner {
 
       masterPlan.addConnect(leftChannel);
       masterPlan.addConnect(rightChannel);
+      setRuntimeJoinFilterIfPossible(masterPlan, joinNode, leftNode, rightNode, leftChannel, rightChannel);
 
       return currentBlock;
     }
   }
 
+  /**
+   * In an inner join, the smaller side builds a filter of its join keys. If the larger side is a leaf block and is
+   * executed after the smaller side, it drops rows whose join keys are not in the filter before they are shuffled.
+   */
+  private static void setRuntimeJoinFilterIfPossible(MasterPlan masterPlan, JoinNode joinNode,
+                                                     LogicalNode leftNode, LogicalNode rightNode,
+                                                     DataChannel leftChannel, DataChannel rightChannel) {
+    if (!masterPlan.getContext().getBool(SessionVars.JOIN_RUNTIME_FILTER_ENABLED) ||
+        joinNode.getJoinType() != JoinType.INNER) {
+      return;
+    }
+
+    Column [] leftKeys = leftChannel.getShuffleKeys();
+    Column [] rightKeys = rightChannel.getShuffleKeys();
+    if (leftKeys == null || rightKeys == null || leftKeys.length == 0 || leftKeys.length != rightKeys.length) {
+      return;
+    }
+    for (int i = 0; i < leftKeys.length; i++) {
+      if (!leftKeys[i].getDataType().equals(rightKeys[i].getDataType()) ||
+          !RuntimeJoinFilter.isApplicable(leftKeys[i].getDataType().getType())) {
+        return;
+      }
+    }
+
+    long leftVolume = estimateVolume(leftNode);
+    long rightVolume = estimateVolume(rightNode);
+    DataChannel buildChannel;
+    DataChannel probeChannel;
+    if (rightVolume < leftVolume) {
+      buildChannel = rightChannel;
+      probeChannel = leftChannel;
+    } else if (leftVolume < rightVolume) {
+      buildChannel = leftChannel;
+      probeChannel = rightChannel;
+    } else {
+      return;
+    }
+
+    if (masterPlan.isLeaf(probeChannel.getSrcId())) {
+      buildChannel.setRuntimeFilterTarget(probeChannel.getSrcId());
+      LOG.info(buildChannel.getSrcId() + " builds a runtime join filter for " + probeChannel.getSrcId());
+    }
+  }
+
+  private static long estimateVolume(LogicalNode node) {
+    try {
+      return computeDescendentVolume(node);
+    } catch (PlanningException e) {
+      return Long.MAX_VALUE;
+    } catch (IllegalArgumentException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
   private void buildJoinPlanWithUnionChannel(GlobalPlanContext context, JoinNode joinNode,
                                              ExecutionBlock targetBlock,
                                              ExecutionBlock sourceBlock,
@@ -942,6 +999,7 @@ public class GlobalPlanner {
 
     GroupbyNode firstPhaseGroupBy = PlannerUtil.clone(plan, groupBy);
     GroupbyNode secondPhaseGroupBy = groupBy;
+    firstPhaseGroupBy.setFirstPhase(true);
 
     // Set first phase expressions
     if (secondPhaseGroupBy.hasAggFunctions()) {
@@ -1336,6 +1394,21 @@ public class GlobalPlanner {
       return node;
     }
 
+    @Override
+    public LogicalNode visitCreateIndex(GlobalPlanContext context, LogicalPlan plan, LogicalPlan.QueryBlock block,
+                                        CreateIndexNode node, Stack<LogicalNode> stack) throws PlanningException {
+      LogicalNode child = super.visitCreateIndex(context, plan, block, node, stack);
+
+      // Each task of the scan block builds the index files of its fragments.
+      ExecutionBlock execBlock = context.execBlockMap.remove(child.getPID());
+      node.setChild(execBlock.getPlan());
+      node.setInSchema(execBlock.getPlan().getOutSchema());
+      execBlock.setPlan(node);
+      context.execBlockMap.put(node.getPID(), execBlock);
+
+      return node;
+    }
+
     @Override
     public LogicalNode visitJoin(GlobalPlanContext context, LogicalPlan plan, LogicalPlan.QueryBlock block,
                                  JoinNode node, Stack<LogicalNode> stack) throws PlanningException {
@@ -1561,6 +1634,15 @@ public class GlobalPlanner {
       return node;
     }
 
+    @Override
+    public LogicalNode visitIndexScan(GlobalPlanContext context, LogicalPlan plan, LogicalPlan.QueryBlock block,
+                                      IndexScanNode node, Stack<LogicalNode> stack) throws PlanningException {
+      ExecutionBlock newExecBlock = context.plan.newExecutionBlock();
+      newExecBlock.setPlan(node);
+      context.execBlockMap.put(node.getPID(), newExecBlock);
+      return node;
+    }
+
     @Override
     public LogicalNode visitStoreTable(GlobalPlanContext context, LogicalPlan plan, LogicalPlan.QueryBlock queryBlock,
                                        StoreTableNode node, Stack<LogicalNode> stack) throws PlanningException {
@@ -33,6 +33,10 @@ import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
 
+/**
+ * It reads the rows whose index keys are equal to the given key. Offsets are fetched from a BST index file in the
+ * key order, and it stops as soon as a fetched row has a different key.
+ */
 public class BSTIndexScanExec extends PhysicalExec {
   private ScanNode scanNode;
   private SeekableScanner fileScanner;
@@ -43,8 +47,13 @@ public class BSTIndexScanExec extends PhysicalExec {
   private Projector projector;
   
   private Datum[] datum = null;
+  private Tuple searchKey;
+  private Tuple rowKey;
+  private int [] keyIds;
+  private TupleComparator comparator;
   
   private boolean initialize = true;
+  private boolean finished = false;
 
   private float progress;
 
@@ -55,12 +64,22 @@ public class BSTIndexScanExec extends PhysicalExec {
     this.scanNode = scanNode;
     this.qual = scanNode.getQual();
     this.datum = datum;
+    this.comparator = comparator;
 
+    // all columns are read because both the qualification and the index keys are evaluated against each row
     this.fileScanner = StorageManager.getSeekableScanner(context.getConf(),
-        scanNode.getTableDesc().getMeta(), scanNode.getInSchema(), fragment, outSchema);
+        scanNode.getTableDesc().getMeta(), scanNode.getInSchema(), fragment, inSchema);
     this.fileScanner.init();
     this.projector = new Projector(context, inSchema, outSchema, scanNode.getTargets());
 
+    this.searchKey = new VTuple(datum.length);
+    this.searchKey.put(datum);
+    this.rowKey = new VTuple(keySchema.size());
+    this.keyIds = new int[keySchema.size()];
+    for (int i = 0; i < keySchema.size(); i++) {
+      keyIds[i] = inSchema.getColumnIdByName(keySchema.getColumn(i).getSimpleName());
+    }
+
     FileSystem fs = fileName.getFileSystem(context.getConf());
     this.reader = new BSTIndex(fs.getConf()).
         getIndexReader(fileName, keySchema, comparator);
@@ -76,61 +95,55 @@ public class BSTIndexScanExec extends PhysicalExec {
     }
   }
 
-  @Override
-  public Tuple next() throws IOException {
-    if(initialize) {
-      //TODO : more complicated condition
-      Tuple key = new VTuple(datum.length);
-      key.put(datum);
-      long offset = reader.find(key);
-      if (offset == -1) {
-        reader.close();
-        fileScanner.close();
-        return null;
-      }else {
-        fileScanner.seek(offset);
-      }
+  private long nextOffset() throws IOException {
+    if (initialize) {
       initialize = false;
+      return reader.find(searchKey);
     } else {
-      if(!reader.isCurInMemory()) {
-        return null;
-      }
-      long offset = reader.next();
-      if(offset == -1 ) {
-        reader.close();
-        fileScanner.close();
-        return null;
-      } else { 
-      fileScanner.seek(offset);
-      }
+      return reader.next();
+    }
+  }
+
+  private boolean isMatchedKey(Tuple tuple) {
+    for (int i = 0; i < keyIds.length; i++) {
+      rowKey.put(i, tuple.get(keyIds[i]));
     }
+    return comparator.compare(searchKey, rowKey) == 0;
+  }
+
+  @Override
+  public Tuple next() throws IOException {
+    if (finished) {
+      return null;
+    }
+
     Tuple tuple;
     Tuple outTuple = new VTuple(this.outSchema.size());
-    if (!scanNode.hasQual()) {
-      if ((tuple = fileScanner.next()) != null) {
+    long offset;
+    while ((offset = nextOffset()) != -1) {
+      fileScanner.seek(offset);
+      if ((tuple = fileScanner.next()) == null || !isMatchedKey(tuple)) {
+        // the offsets of the following keys are not relevant to the search key
+        break;
+      }
+
+      if (qual == null || qual.eval(tuple).isTrue()) {
         projector.eval(tuple, outTuple);
         return outTuple;
-      } else {
-        return null;
       }
-    } else {
-       while(reader.isCurInMemory() && (tuple = fileScanner.next()) != null) {
-         if (qual.eval(tuple).isTrue()) {
-           projector.eval(tuple, outTuple);
-           return outTuple;
-         } else {
-           long offset = reader.next();
-           if (offset == -1) return null;
-           else fileScanner.seek(offset);
-         }
-       }
-     }
+    }
 
+    finished = true;
+    progress = 1.0f;
     return null;
   }
+
   @Override
   public void rescan() throws IOException {
     fileScanner.reset();
+    initialize = true;
+    finished = false;
+    progress = 0.0f;
   }
 
   @Override
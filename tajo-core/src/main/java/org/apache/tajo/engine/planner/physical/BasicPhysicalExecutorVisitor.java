@@ -67,6 +67,10 @@ public class BasicPhysicalExecutorVisitor<CONTEXT, RESULT> implements PhysicalEx
       return visitNLJoin(context, (NLJoinExec) exec, stack);
     } else if (exec instanceof NLLeftOuterJoinExec) {
       return visitNLLeftOuterJoin(context, (NLLeftOuterJoinExec) exec, stack);
+    } else if (exec instanceof PartialHashAggregateExec) {
+      return visitPartialHashAggregate(context, (PartialHashAggregateExec) exec, stack);
+    } else if (exec instanceof ProfilingExec) {
+      return visitProfiling(context, (ProfilingExec) exec, stack);
     } else if (exec instanceof ProjectionExec) {
       return visitProjection(context, (ProjectionExec) exec, stack);
     } else if (exec instanceof RangeShuffleFileWriteExec) {
@@ -83,6 +87,8 @@ public class BasicPhysicalExecutorVisitor<CONTEXT, RESULT> implements PhysicalEx
       return visitSortBasedColPartitionStore(context, (SortBasedColPartitionStoreExec) exec, stack);
     } else if (exec instanceof StoreTableExec) {
       return visitStoreTable(context, (StoreTableExec) exec, stack);
+    } else if (exec instanceof TopNExec) {
+      return visitTopN(context, (TopNExec) exec, stack);
     }
 
     throw new PhysicalPlanningException("Unsupported Type: " + exec.getClass().getSimpleName());
@@ -219,6 +225,21 @@ public class BasicPhysicalExecutorVisitor<CONTEXT, RESULT> implements PhysicalEx
     return visitBinaryExecutor(context, exec, stack);
   }
 
+  @Override
+  public RESULT visitPartialHashAggregate(CONTEXT context, PartialHashAggregateExec exec, Stack<PhysicalExec> stack)
+      throws PhysicalPlanningException {
+    return visitUnaryExecutor(context, exec, stack);
+  }
+
+  @Override
+  public RESULT visitProfiling(CONTEXT context, ProfilingExec exec, Stack<PhysicalExec> stack)
+      throws PhysicalPlanningException {
+    stack.push(exec);
+    RESULT r = visit(exec.getExec(), stack, context);
+    stack.pop();
+    return r;
+  }
+
   @Override
   public RESULT visitProjection(CONTEXT context, ProjectionExec exec, Stack<PhysicalExec> stack)
       throws PhysicalPlanningException {
@@ -264,4 +285,10 @@ public class BasicPhysicalExecutorVisitor<CONTEXT, RESULT> implements PhysicalEx
   public RESULT visitStoreTable(CONTEXT context, StoreTableExec exec, Stack<PhysicalExec> stack) throws PhysicalPlanningException {
     return visitUnaryExecutor(context, exec, stack);
   }
+
+  @Override
+  public RESULT visitTopN(CONTEXT context, TopNExec exec, Stack<PhysicalExec> stack)
+      throws PhysicalPlanningException {
+    return visitUnaryExecutor(context, exec, stack);
+  }
 }
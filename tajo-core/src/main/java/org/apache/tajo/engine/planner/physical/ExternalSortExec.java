@@ -28,6 +28,7 @@ import org.apache.hadoop.fs.RawLocalFileSystem;
 import org.apache.hadoop.io.IOUtils;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableMeta;
 import org.apache.tajo.catalog.proto.CatalogProtos;
@@ -40,9 +41,15 @@ import org.apache.tajo.storage.*;
 import org.apache.tajo.storage.Scanner;
 import org.apache.tajo.storage.fragment.FileFragment;
 import org.apache.tajo.storage.fragment.FragmentConvertor;
+import org.apache.tajo.tuple.offheap.OffHeapRowBlock;
+import org.apache.tajo.tuple.offheap.OffHeapRowBlockReader;
+import org.apache.tajo.tuple.offheap.OffHeapRowBlockUtils;
+import org.apache.tajo.tuple.offheap.ResizableLimitSpec;
+import org.apache.tajo.tuple.offheap.ZeroCopyTuple;
 import org.apache.tajo.unit.StorageUnit;
 import org.apache.tajo.util.FileUtil;
 import org.apache.tajo.util.TUtil;
+import org.apache.tajo.util.history.OperatorProfile;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.File;
@@ -58,7 +65,8 @@ import static org.apache.tajo.storage.RawFile.RawFileScanner;
  *
  * <ul>
  *   <li>in-memory sort if input data size fits a sort buffer</li>
- *   <li>k-way merge sort if input data size exceeds the size of sort buffer</li>
+ *   <li>chunks are buffered in an off-heap row block and sorted by reference</li>
+ *   <li>k-way merge sort with a single loser tree if input data size exceeds the size of sort buffer</li>
  *   <li>parallel merge</li>
  *   <li>final merge avoidance</li>
  *   <li>Unbalance merge if needed</li>
@@ -69,6 +77,8 @@ public class ExternalSortExec extends SortExec {
   private static final Log LOG = LogFactory.getLog(ExternalSortExec.class);
   /** The prefix of fragment name for intermediate */
   private static final String INTERMEDIATE_FILE_PREFIX = "@interFile_";
+  /** The initial size of the off-heap row block for a chunk */
+  private static final int INITIAL_ROW_BLOCK_SIZE = 4 * StorageUnit.MB;
 
   private SortNode plan;
   private final TableMeta meta;
@@ -80,7 +90,11 @@ public class ExternalSortExec extends SortExec {
   private final int allocatedCoreNum;
   /** If there are available multiple cores, it tries parallel merge. */
   private ExecutorService executorService;
-  /** used for in-memory sort of each chunk. */
+  /** If true, each chunk is buffered in an off-heap row block instead of a list of heap tuples. */
+  private final boolean offHeapBuffer;
+  /** off-heap row block which holds the tuples of the current chunk. */
+  private OffHeapRowBlock rowBlock;
+  /** used for in-memory sort of each chunk if the input schema cannot be stored in a row block. */
   private List<Tuple> inMemoryTable;
   /** temporal dir */
   private final Path sortTmpDir;
@@ -104,6 +118,10 @@ public class ExternalSortExec extends SortExec {
   private Scanner result;
   /** total bytes of input data */
   private long sortAndStoredBytes;
+  /** the maximum memory consumption of a chunk */
+  private long peakMemoryBytes;
+  /** the total bytes of sorted chunks written to local disks */
+  private long spilledBytes;
 
   private ExternalSortExec(final TaskAttemptContext context, final SortNode plan)
       throws PhysicalPlanningException {
@@ -120,7 +138,7 @@ public class ExternalSortExec extends SortExec {
     this.sortBufferBytesNum = context.getQueryContext().getLong(SessionVars.EXTSORT_BUFFER_SIZE) * StorageUnit.MB;
     this.allocatedCoreNum = context.getConf().getIntVar(ConfVars.EXECUTOR_EXTERNAL_SORT_THREAD_NUM);
     this.executorService = Executors.newFixedThreadPool(this.allocatedCoreNum);
-    this.inMemoryTable = new ArrayList<Tuple>(100000);
+    this.offHeapBuffer = isOffHeapBufferable(inSchema);
 
     this.sortTmpDir = getExecutorTmpDir();
     localDirAllocator = new LocalDirAllocator(ConfVars.WORKER_TEMPORAL_DIR.varname);
@@ -158,6 +176,91 @@ public class ExternalSortExec extends SortExec {
     return this.plan;
   }
 
+  /**
+   * Check if all columns can be stored in an off-heap row block and read back as the same values.
+   */
+  private static boolean isOffHeapBufferable(Schema schema) {
+    for (Column column : schema.getColumns()) {
+      switch (column.getDataType().getType()) {
+      case BOOLEAN:
+      case INT1:
+      case INT2:
+      case INT4:
+      case INT8:
+      case FLOAT4:
+      case FLOAT8:
+      case TEXT:
+      case CHAR:
+      case BLOB:
+      case DATE:
+      case TIME:
+      case TIMESTAMP:
+      case INET4:
+      case PROTOBUF:
+      case NULL_TYPE:
+        break;
+      default:
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Add a tuple into the current chunk.
+   *
+   * @return The increased memory consumption in bytes
+   */
+  private long addToChunk(Tuple tuple) {
+    if (offHeapBuffer) {
+      if (rowBlock == null) {
+        // a chunk is spilled as soon as it exceeds the sort buffer, so it never grows much beyond the buffer size.
+        long initSize = Math.max(StorageUnit.KB, Math.min(INITIAL_ROW_BLOCK_SIZE, sortBufferBytesNum));
+        rowBlock = new OffHeapRowBlock(inSchema, new ResizableLimitSpec(initSize));
+      }
+      long usedMem = rowBlock.usedMem();
+      OffHeapRowBlockUtils.convert(tuple, rowBlock.getWriter());
+      return rowBlock.usedMem() - usedMem;
+    } else {
+      if (inMemoryTable == null) {
+        inMemoryTable = new ArrayList<Tuple>(100000);
+      }
+      Tuple vtuple = new VTuple(tuple);
+      inMemoryTable.add(vtuple);
+      return MemoryUtil.calculateMemorySize(vtuple);
+    }
+  }
+
+  /**
+   * @return All tuples of the current chunk. Tuples of an off-heap row block only refer to the block.
+   */
+  private List<Tuple> getChunkTuples() {
+    if (offHeapBuffer) {
+      if (rowBlock == null) {
+        return Collections.emptyList();
+      }
+      Tuple[] tuples = new Tuple[rowBlock.rows()];
+      OffHeapRowBlockReader reader = rowBlock.getReader();
+      for (int i = 0; i < tuples.length; i++) {
+        ZeroCopyTuple tuple = new ZeroCopyTuple();
+        reader.next(tuple);
+        tuples[i] = tuple;
+      }
+      return Arrays.asList(tuples);
+    } else {
+      return inMemoryTable == null ? Collections.<Tuple>emptyList() : inMemoryTable;
+    }
+  }
+
+  private void clearChunk() {
+    if (rowBlock != null) {
+      rowBlock.clear();
+    }
+    if (inMemoryTable != null) {
+      inMemoryTable.clear();
+    }
+  }
+
   /**
    * Sort a tuple block and store them into a chunk file
    */
@@ -171,6 +274,7 @@ public class ExternalSortExec extends SortExec {
     long sortEnd = System.currentTimeMillis();
 
     long chunkWriteStart = System.currentTimeMillis();
+    long spillStart = System.nanoTime();
     Path outputPath = getChunkPathForWrite(0, chunkId);
     final RawFileAppender appender = new RawFileAppender(context.getConf(), null, inSchema, meta, outputPath);
     appender.init();
@@ -178,7 +282,9 @@ public class ExternalSortExec extends SortExec {
       appender.addTuple(t);
     }
     appender.close();
-    tupleBlock.clear();
+    clearChunk();
+    spilledBytes += appender.getOffset();
+    context.getEngineMetrics().recordSpill(appender.getOffset(), System.nanoTime() - spillStart);
     long chunkWriteEnd = System.currentTimeMillis();
 
 
@@ -203,9 +309,8 @@ public class ExternalSortExec extends SortExec {
     int chunkId = 0;
     long runStartTime = System.currentTimeMillis();
     while (!context.isStopped() && (tuple = child.next()) != null) { // partition sort start
-      Tuple vtuple = new VTuple(tuple);
-      inMemoryTable.add(vtuple);
-      memoryConsumption += MemoryUtil.calculateMemorySize(vtuple);
+      memoryConsumption += addToChunk(tuple);
+      peakMemoryBytes = Math.max(peakMemoryBytes, memoryConsumption);
 
       if (memoryConsumption > sortBufferBytesNum) {
         long runEndTime = System.currentTimeMillis();
@@ -215,7 +320,7 @@ public class ExternalSortExec extends SortExec {
         info(LOG, "Memory consumption exceeds " + sortBufferBytesNum + " bytes");
         memoryResident = false;
 
-        chunkPaths.add(sortAndStoreChunk(chunkId, inMemoryTable));
+        chunkPaths.add(sortAndStoreChunk(chunkId, getChunkTuples()));
 
         memoryConsumption = 0;
         chunkId++;
@@ -235,11 +340,12 @@ public class ExternalSortExec extends SortExec {
       }
     }
 
-    if (!memoryResident && !inMemoryTable.isEmpty()) { // if there are at least one or more input tuples
+    List<Tuple> lastChunk = getChunkTuples();
+    if (!memoryResident && !lastChunk.isEmpty()) { // if there are at least one or more input tuples
       // check if data exceeds a sort buffer. If so, it store the remain data into a chunk.
       long start = System.currentTimeMillis();
-      int rowNum = inMemoryTable.size();
-      chunkPaths.add(sortAndStoreChunk(chunkId, inMemoryTable));
+      int rowNum = lastChunk.size();
+      chunkPaths.add(sortAndStoreChunk(chunkId, lastChunk));
       long end = System.currentTimeMillis();
       info(LOG, "Last Chunk #" + chunkId + " " + rowNum + " rows written (" + (end - start) + " msec)");
     }
@@ -279,8 +385,9 @@ public class ExternalSortExec extends SortExec {
         info(LOG, "Chunks creation time: " + (endTimeOfChunkSplit - startTimeOfChunkSplit) + " msec");
 
         if (memoryResident) { // if all sorted data reside in a main-memory table.
-          TupleSorter sorter = getSorter(inMemoryTable);
-          result = new MemTableScanner(sorter.sort(), inMemoryTable.size(), sortAndStoredBytes);
+          List<Tuple> chunk = getChunkTuples();
+          TupleSorter sorter = getSorter(chunk);
+          result = new MemTableScanner(sorter.sort(), chunk.size(), sortAndStoredBytes);
         } else { // if input data exceeds main-memory at least once
 
           try {
@@ -515,22 +622,10 @@ public class ExternalSortExec extends SortExec {
       sources[i] = getFileScanner(inputs.get(startChunkId + i));
     }
 
-    return createKWayMergerInternal(sources, 0, num);
-  }
-
-  private Scanner createKWayMergerInternal(final Scanner [] sources, final int startIdx, final int num)
-      throws IOException {
-    if (num > 1) {
-      final int mid = (int) Math.ceil((float)num / 2);
-      Scanner left = createKWayMergerInternal(sources, startIdx, mid);
-      Scanner right = createKWayMergerInternal(sources, startIdx + mid, num - mid);
-      if (ComparableVector.isVectorizable(sortSpecs)) {
-        return new VectorComparePairWiseMerger(inSchema, left, right, comparator);
-      }
-      return new PairWiseMerger(inSchema, left, right, comparator);
-    } else {
-      return sources[startIdx];
+    if (num == 1) {
+      return sources[0];
     }
+    return new LoserTreeMerger(inSchema, sources, comparator, useNormalizedKey() ? newKeyEncoder() : null);
   }
 
   private static class MemTableScanner extends AbstractScanner {
@@ -607,55 +702,51 @@ public class ExternalSortExec extends SortExec {
     CLOSED
   }
 
-  private static class VectorComparePairWiseMerger extends PairWiseMerger {
-
-    private ComparableVector comparable;
-
-    public VectorComparePairWiseMerger(Schema schema, Scanner leftScanner, Scanner rightScanner,
-                                       BaseTupleComparator comparator) throws IOException {
-      super(schema, leftScanner, rightScanner, null);
-      comparable = new ComparableVector(2, comparator.getSortSpecs(), comparator.getSortKeyIds());
-    }
-
-    @Override
-    protected Tuple prepare(int index, Tuple tuple) {
-      if (tuple != null) {
-        comparable.set(index, tuple);
-      }
-      return tuple;
-    }
-
-    @Override
-    protected int compare() {
-      return comparable.compare(0, 1);
-    }
-  }
-
   /**
-   * Two-way merger scanner that reads two input sources and outputs one output tuples sorted in some order.
+   * K-way merger scanner that merges all sorted input sources with a single loser tree.
+   *
+   * Each internal node of the tree keeps the loser of the match played at the node, and the overall winner is kept
+   * at the root. When the winner is consumed, only the matches on the path from its source to the root are replayed,
+   * so each output tuple costs log2(k) comparisons without any intermediate merger or tuple copy. The current key
+   * of each source is kept as a normalized key if a key encoder is given, or in a {@link ComparableVector} if sort
+   * keys are vectorizable.
    */
-  private static class PairWiseMerger extends AbstractScanner {
-
-    protected final Schema schema;
-    protected final Comparator<Tuple> comparator;
-
-    protected final Scanner leftScan;
-    protected final Scanner rightScan;
-
-    private Tuple leftTuple;
-    private Tuple rightTuple;
+  private static class LoserTreeMerger extends AbstractScanner {
+
+    private final Schema schema;
+    private final Scanner [] sources;
+    private final Comparator<Tuple> comparator;
+    private final ComparableVector comparable;
+    private final NormalizedKeyEncoder keyEncoder;
+    /** the normalized key of the current tuple of each source, if a key encoder is given */
+    private final byte [][] keys;
+
+    /** the current tuple of each source. null if a source is exhausted. */
+    private final Tuple [] heads;
+    /** tree[0] is the index of the winner source, and tree[1..k-1] are losers of internal nodes. */
+    private final int [] tree;
+    /** the source whose tuple was returned last. It is advanced in the next call of next(). */
+    private int lastWinner = -1;
 
     private float mergerProgress;
     private TableStats mergerInputStats;
 
     private State state = State.NEW;
 
-    public PairWiseMerger(Schema schema, Scanner leftScanner, Scanner rightScanner, Comparator<Tuple> comparator)
-        throws IOException {
+    public LoserTreeMerger(Schema schema, Scanner [] sources, BaseTupleComparator comparator,
+                           NormalizedKeyEncoder keyEncoder) throws IOException {
       this.schema = schema;
-      this.leftScan = leftScanner;
-      this.rightScan = rightScanner;
+      this.sources = sources;
       this.comparator = comparator;
+      this.keyEncoder = keyEncoder;
+      this.heads = new Tuple[sources.length];
+      this.tree = new int[sources.length];
+      this.keys = keyEncoder != null ? new byte[sources.length][] : null;
+      if (keyEncoder == null && ComparableVector.isVectorizable(comparator.getSortSpecs())) {
+        this.comparable = new ComparableVector(sources.length, comparator.getSortSpecs(), comparator.getSortKeyIds());
+      } else {
+        this.comparable = null;
+      }
     }
 
     private void setState(State state) {
@@ -665,10 +756,11 @@ public class ExternalSortExec extends SortExec {
     @Override
     public void init() throws IOException {
       if (state == State.NEW) {
-        leftScan.init();
-        rightScan.init();
+        for (Scanner source : sources) {
+          source.init();
+        }
 
-        prepareTuplesForFirstComparison();
+        buildTree();
 
         mergerInputStats = new TableStats();
         mergerProgress = 0.0f;
@@ -679,43 +771,96 @@ public class ExternalSortExec extends SortExec {
       }
     }
 
-    private void prepareTuplesForFirstComparison() throws IOException {
-      leftTuple = prepare(0, leftScan.next());
-      rightTuple = prepare(1, rightScan.next());
+    private void fetch(int index) throws IOException {
+      Tuple tuple = sources[index].next();
+      if (tuple != null) {
+        if (keyEncoder != null) {
+          keys[index] = keyEncoder.encode(tuple);
+        } else if (comparable != null) {
+          comparable.set(index, tuple);
+        }
+      }
+      heads[index] = tuple;
     }
 
-    protected Tuple prepare(int index, Tuple tuple) {
-      return tuple == null ? null : new VTuple(tuple);
+    /**
+     * @return True if the current tuple of source <code>a</code> precedes that of source <code>b</code>.
+     * Exhausted sources lose against all others, and ties are broken by source index for a stable merge.
+     */
+    private boolean precedes(int a, int b) {
+      if (heads[a] == null) {
+        return false;
+      }
+      if (heads[b] == null) {
+        return true;
+      }
+      int cmp;
+      if (keyEncoder != null) {
+        cmp = NormalizedKeyEncoder.compare(keys[a], keys[b]);
+      } else if (comparable != null) {
+        cmp = comparable.compare(a, b);
+      } else {
+        cmp = comparator.compare(heads[a], heads[b]);
+      }
+      return cmp < 0 || (cmp == 0 && a < b);
+    }
+
+    private void buildTree() throws IOException {
+      final int k = sources.length;
+      for (int i = 0; i < k; i++) {
+        fetch(i);
+      }
+      lastWinner = -1;
+
+      // leaf i is the node (k + i), and internal nodes are 1..k-1.
+      int [] winners = new int[k * 2];
+      for (int i = 0; i < k; i++) {
+        winners[k + i] = i;
+      }
+      for (int node = k - 1; node > 0; node--) {
+        int left = winners[node * 2];
+        int right = winners[node * 2 + 1];
+        if (precedes(left, right)) {
+          winners[node] = left;
+          tree[node] = right;
+        } else {
+          winners[node] = right;
+          tree[node] = left;
+        }
+      }
+      tree[0] = winners[1];
     }
 
-    protected int compare() {
-      return comparator.compare(leftTuple, rightTuple);
+    private void replay(int index) {
+      int winner = index;
+      for (int node = (index + sources.length) >> 1; node > 0; node >>= 1) {
+        if (precedes(tree[node], winner)) {
+          int loser = winner;
+          winner = tree[node];
+          tree[node] = loser;
+        }
+      }
+      tree[0] = winner;
     }
 
+    @Override
     public Tuple next() throws IOException {
-      if (leftTuple == null && rightTuple == null) {
-        return null;
-      }
-      if (rightTuple == null || (leftTuple != null && compare() < 0)) {
-        Tuple tuple = leftTuple;
-        leftTuple = prepare(0, leftScan.next());
-        return tuple;
+      if (lastWinner >= 0) {
+        fetch(lastWinner);
+        replay(lastWinner);
       }
-      Tuple tuple = rightTuple;
-      rightTuple = prepare(1, rightScan.next());
-      return tuple;
+
+      lastWinner = tree[0];
+      return heads[lastWinner];
     }
 
     @Override
     public void reset() throws IOException {
       if (state == State.INITED) {
-        leftScan.reset();
-        rightScan.reset();
-
-        leftTuple = null;
-        rightTuple = null;
-
-        prepareTuplesForFirstComparison();
+        for (Scanner source : sources) {
+          source.reset();
+        }
+        buildTree();
       } else {
         throw new IllegalStateException("Illegal State: init() is not allowed in " + state.name());
       }
@@ -723,7 +868,7 @@ public class ExternalSortExec extends SortExec {
 
     @Override
     public void close() throws IOException {
-      IOUtils.cleanup(LOG, leftScan, rightScan);
+      IOUtils.cleanup(LOG, sources);
       getInputStats();
       mergerProgress = 1.0f;
       setState(State.CLOSED);
@@ -736,42 +881,49 @@ public class ExternalSortExec extends SortExec {
 
     @Override
     public float getProgress() {
-      if (leftScan == null) {
+      if (state != State.INITED) {
         return mergerProgress;
       }
-      return leftScan.getProgress() * 0.5f + rightScan.getProgress() * 0.5f;
+      float progress = 0.0f;
+      for (Scanner source : sources) {
+        progress += source.getProgress();
+      }
+      return progress / sources.length;
     }
 
     @Override
     public TableStats getInputStats() {
-      if (leftScan == null) {
+      if (state == State.CLOSED) {
         return mergerInputStats;
       }
-      TableStats leftInputStats = leftScan.getInputStats();
       if (mergerInputStats == null) {
         mergerInputStats = new TableStats();
       }
-      mergerInputStats.setNumBytes(0);
-      mergerInputStats.setReadBytes(0);
-      mergerInputStats.setNumRows(0);
-
-      if (leftInputStats != null) {
-        mergerInputStats.setNumBytes(leftInputStats.getNumBytes());
-        mergerInputStats.setReadBytes(leftInputStats.getReadBytes());
-        mergerInputStats.setNumRows(leftInputStats.getNumRows());
-      }
-
-      TableStats rightInputStats = rightScan.getInputStats();
-      if (rightInputStats != null) {
-        mergerInputStats.setNumBytes(mergerInputStats.getNumBytes() + rightInputStats.getNumBytes());
-        mergerInputStats.setReadBytes(mergerInputStats.getReadBytes() + rightInputStats.getReadBytes());
-        mergerInputStats.setNumRows(mergerInputStats.getNumRows() + rightInputStats.getNumRows());
+      long numBytes = 0;
+      long readBytes = 0;
+      long numRows = 0;
+      for (Scanner source : sources) {
+        TableStats sourceStats = source.getInputStats();
+        if (sourceStats != null) {
+          numBytes += sourceStats.getNumBytes();
+          readBytes += sourceStats.getReadBytes();
+          numRows += sourceStats.getNumRows();
+        }
       }
+      mergerInputStats.setNumBytes(numBytes);
+      mergerInputStats.setReadBytes(readBytes);
+      mergerInputStats.setNumRows(numRows);
 
       return mergerInputStats;
     }
   }
 
+  @Override
+  public void reportProfile(OperatorProfile profile) {
+    profile.setPeakMemoryBytes(peakMemoryBytes);
+    profile.setSpillBytes(spilledBytes);
+  }
+
   @Override
   public void close() throws IOException {
     if (result != null) {
@@ -799,6 +951,11 @@ public class ExternalSortExec extends SortExec {
       inMemoryTable = null;
     }
 
+    if (rowBlock != null) {
+      rowBlock.release();
+      rowBlock = null;
+    }
+
     if(executorService != null){
       executorService.shutdown();
       executorService = null;
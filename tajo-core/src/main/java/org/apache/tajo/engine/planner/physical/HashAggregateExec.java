@@ -22,6 +22,7 @@ import org.apache.tajo.plan.function.FunctionContext;
 import org.apache.tajo.plan.logical.GroupbyNode;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.util.history.OperatorProfile;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
@@ -115,6 +116,11 @@ public class HashAggregateExec extends AggregationExec {
     iterator = hashTable.entrySet().iterator();
   }
 
+  @Override
+  public void reportProfile(OperatorProfile profile) {
+    profile.setHashTable(hashTable.keySet());
+  }
+
   @Override
   public void close() throws IOException {
     super.close();
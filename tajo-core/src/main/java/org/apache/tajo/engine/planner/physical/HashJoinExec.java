@@ -27,6 +27,7 @@ import org.apache.tajo.plan.util.PlannerUtil;
 import org.apache.tajo.storage.FrameTuple;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.util.history.OperatorProfile;
 import org.apache.tajo.worker.ExecutionBlockSharedResource;
 import org.apache.tajo.worker.TaskAttemptContext;
 
@@ -203,6 +204,13 @@ public class HashJoinExec extends CommonJoinExec {
     shouldGetLeftTuple = true;
   }
 
+  @Override
+  public void reportProfile(OperatorProfile profile) {
+    if (tupleSlots != null) {
+      profile.setHashTable(tupleSlots.keySet());
+    }
+  }
+
   @Override
   public void close() throws IOException {
     super.close();
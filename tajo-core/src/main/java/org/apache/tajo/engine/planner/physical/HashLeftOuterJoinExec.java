@@ -36,6 +36,7 @@ import org.apache.tajo.plan.logical.JoinNode;
 import org.apache.tajo.storage.FrameTuple;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.util.history.OperatorProfile;
 import org.apache.tajo.worker.ExecutionBlockSharedResource;
 import org.apache.tajo.worker.TaskAttemptContext;
 
@@ -279,6 +280,13 @@ public class HashLeftOuterJoinExec extends BinaryPhysicalExec {
   }
 
 
+  @Override
+  public void reportProfile(OperatorProfile profile) {
+    if (tupleSlots != null) {
+      profile.setHashTable(tupleSlots.keySet());
+    }
+  }
+
   @Override
   public void close() throws IOException {
     super.close();
@@ -19,16 +19,23 @@
 package org.apache.tajo.engine.planner.physical;
 
 import com.google.common.base.Preconditions;
+import com.google.protobuf.ByteString;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.tajo.SessionVars;
 import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.TableMeta;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.engine.planner.global.DataChannel;
 import org.apache.tajo.plan.logical.ShuffleFileWriteNode;
+import org.apache.tajo.plan.util.PlannerUtil;
 import org.apache.tajo.storage.HashShuffleAppender;
 import org.apache.tajo.storage.HashShuffleAppenderManager;
+import org.apache.tajo.storage.NormalizedKeyEncoder;
+import org.apache.tajo.storage.RowStoreUtil;
+import org.apache.tajo.storage.RowStoreUtil.RowStoreEncoder;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.worker.TaskAttemptContext;
 
@@ -54,6 +61,17 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
   private HashShuffleAppenderManager hashShuffleAppenderManager;
   private int numHashShuffleBufferTuples;
 
+  // for runtime join filters
+  private NormalizedKeyEncoder joinKeyEncoder;
+  private RuntimeJoinFilter builtJoinFilter;
+  private RuntimeJoinFilter joinFilter;
+
+  // for partial query results, which are the outputs of the first phase of an aggregation
+  private RowStoreEncoder partialResultEncoder;
+  private List<ByteString> partialResultRows;
+  private int maxPartialResultRows;
+  private boolean partialResultTruncated = false;
+
   public HashShuffleFileWriteExec(TaskAttemptContext context,
                                   final ShuffleFileWriteNode plan, final PhysicalExec child) throws IOException {
     super(context, plan.getInSchema(), plan.getOutSchema(), child);
@@ -75,6 +93,24 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
     this.partitioner = new HashPartitioner(shuffleKeyIds, numShuffleOutputs);
     this.hashShuffleAppenderManager = context.getHashShuffleAppenderManager();
     this.numHashShuffleBufferTuples = context.getConf().getIntVar(ConfVars.SHUFFLE_HASH_APPENDER_BUFFER_SIZE);
+
+    // This output is one side of an inner join if it builds or probes a runtime join filter.
+    DataChannel channel = context.getDataChannel();
+    if (channel != null && channel.hasRuntimeFilterTarget()) {
+      this.builtJoinFilter = new RuntimeJoinFilter(
+          context.getQueryContext().getInt(SessionVars.JOIN_RUNTIME_FILTER_BITS));
+    }
+    this.joinFilter = context.getRuntimeJoinFilter();
+    if (builtJoinFilter != null || joinFilter != null) {
+      this.joinKeyEncoder = RuntimeJoinFilter.newKeyEncoder(inSchema, plan.getShuffleKeys());
+    }
+
+    if (context.getQueryContext().getBool(SessionVars.PARTIAL_RESULT_ENABLED)
+        && PlannerUtil.checkIfFirstPhaseAggregation(plan.getChild())) {
+      this.maxPartialResultRows = context.getQueryContext().getInt(SessionVars.PARTIAL_RESULT_MAX_ROWS);
+      this.partialResultEncoder = RowStoreUtil.createEncoder(inSchema);
+      this.partialResultRows = new ArrayList<ByteString>();
+    }
   }
 
   @Override
@@ -96,6 +132,47 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
   Map<Integer, List<Tuple>> partitionTuples = new HashMap<Integer, List<Tuple>>();
   long writtenBytes = 0L;
 
+  /**
+   * It adds the join key of a tuple to the built join filter, and checks it against the given join filter.
+   *
+   * @return False if the tuple cannot be matched in the inner join
+   */
+  private boolean acceptJoinKey(Tuple tuple) {
+    if (RuntimeJoinFilter.hasNullKey(tuple, shuffleKeyIds)) {
+      return false;
+    }
+    byte [] key = joinKeyEncoder.encode(tuple);
+    if (builtJoinFilter != null) {
+      builtJoinFilter.add(key);
+    }
+    return joinFilter == null || joinFilter.mightContain(key);
+  }
+
+  private void addPartialResultRow(Tuple tuple) {
+    if (partialResultRows.size() < maxPartialResultRows) {
+      partialResultRows.add(ByteString.copyFrom(partialResultEncoder.toBytes(tuple)));
+    } else {
+      partialResultTruncated = true;
+    }
+  }
+
+  /**
+   * It appends all buffered tuples to the appenders of their partitions.
+   */
+  private void flushPartitionTuples() throws IOException {
+    long startTime = System.nanoTime();
+    long flushedBytes = 0;
+    for (Map.Entry<Integer, List<Tuple>> entry : partitionTuples.entrySet()) {
+      int appendPartId = entry.getKey();
+      HashShuffleAppender appender = getAppender(appendPartId);
+      int appendedSize = appender.addTuples(context.getTaskId(), entry.getValue());
+      flushedBytes += appendedSize;
+      entry.getValue().clear();
+    }
+    writtenBytes += flushedBytes;
+    context.getEngineMetrics().recordShuffleWrite(flushedBytes, System.nanoTime() - startTime);
+  }
+
   @Override
   public Tuple next() throws IOException {
     try {
@@ -103,9 +180,17 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
       int partId;
       int tupleCount = 0;
       long numRows = 0;
+      long numFilteredRows = 0;
       while (!context.isStopped() && (tuple = child.next()) != null) {
+        if (joinKeyEncoder != null && !acceptJoinKey(tuple)) {
+          numFilteredRows++;
+          continue;
+        }
         tupleCount++;
         numRows++;
+        if (partialResultRows != null) {
+          addPartialResultRow(tuple);
+        }
 
         partId = partitioner.getPartition(tuple);
         List<Tuple> partitionTupleList = partitionTuples.get(partId);
@@ -118,31 +203,29 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
         } catch (CloneNotSupportedException e) {
         }
         if (tupleCount >= numHashShuffleBufferTuples) {
-          for (Map.Entry<Integer, List<Tuple>> entry : partitionTuples.entrySet()) {
-            int appendPartId = entry.getKey();
-            HashShuffleAppender appender = getAppender(appendPartId);
-            int appendedSize = appender.addTuples(context.getTaskId(), entry.getValue());
-            writtenBytes += appendedSize;
-            entry.getValue().clear();
-          }
+          flushPartitionTuples();
           tupleCount = 0;
         }
       }
 
       // processing remained tuples
-      for (Map.Entry<Integer, List<Tuple>> entry : partitionTuples.entrySet()) {
-        int appendPartId = entry.getKey();
-        HashShuffleAppender appender = getAppender(appendPartId);
-        int appendedSize = appender.addTuples(context.getTaskId(), entry.getValue());
-        writtenBytes += appendedSize;
-        entry.getValue().clear();
-      }
+      flushPartitionTuples();
 
       TableStats aggregated = (TableStats) child.getInputStats().clone();
       aggregated.setNumBytes(writtenBytes);
       aggregated.setNumRows(numRows);
       context.setResultStats(aggregated);
 
+      if (builtJoinFilter != null) {
+        context.setResultJoinFilter(builtJoinFilter);
+      }
+      if (partialResultRows != null) {
+        context.setPartialResult(partialResultRows, partialResultTruncated);
+      }
+      if (numFilteredRows > 0) {
+        LOG.info(context.getTaskId() + " filtered out " + numFilteredRows + " rows by join keys");
+      }
+
       partitionTuples.clear();
 
       return null;
@@ -170,6 +253,11 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
 
     partitioner = null;
     plan = null;
+    joinKeyEncoder = null;
+    builtJoinFilter = null;
+    joinFilter = null;
+    partialResultEncoder = null;
+    partialResultRows = null;
 
     progress = 1.0f;
   }
@@ -19,9 +19,11 @@
 package org.apache.tajo.engine.planner.physical;
 
 import com.google.common.base.Preconditions;
+import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.SortSpec;
 import org.apache.tajo.plan.logical.JoinNode;
 import org.apache.tajo.storage.FrameTuple;
+import org.apache.tajo.storage.NormalizedKeyEncoder;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.TupleComparator;
 import org.apache.tajo.storage.VTuple;
@@ -29,6 +31,7 @@ import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -49,6 +52,12 @@ public class MergeJoinExec extends CommonJoinExec {
   private JoinTupleComparator joincomparator = null;
   private TupleComparator [] tupleComparator = null;
 
+  // normalized join keys of the current outer and inner tuples. They are used if join keys can be normalized.
+  private NormalizedKeyEncoder outerKeyEncoder = null;
+  private NormalizedKeyEncoder innerKeyEncoder = null;
+  private byte [] outerKey;
+  private byte [] innerKey;
+
   private final static int INITIAL_TUPLE_SLOT = 10000;
 
   private boolean end = false;
@@ -69,6 +78,10 @@ public class MergeJoinExec extends CommonJoinExec {
         inner.getSchema(), sortSpecs);
     this.tupleComparator = PhysicalPlanUtil.getComparatorsFromJoinQual(
         plan.getJoinQual(), outer.getSchema(), inner.getSchema());
+    if (canNormalizeJoinKeys(outerSortKey, innerSortKey)) {
+      this.outerKeyEncoder = newJoinKeyEncoder(outer.getSchema(), outerSortKey);
+      this.innerKeyEncoder = newJoinKeyEncoder(inner.getSchema(), innerSortKey);
+    }
     this.outerIterator = outerTupleSlots.iterator();
     this.innerIterator = innerTupleSlots.iterator();
     
@@ -77,8 +90,65 @@ public class MergeJoinExec extends CommonJoinExec {
     outTuple = new VTuple(outSchema.size());
   }
 
+  /**
+   * Normalized keys of both sides are comparable only if each pair of join keys has the same type.
+   */
+  private static boolean canNormalizeJoinKeys(SortSpec[] outerSortKey, SortSpec[] innerSortKey) {
+    if (outerSortKey.length != innerSortKey.length || !NormalizedKeyEncoder.isEncodable(outerSortKey)) {
+      return false;
+    }
+    for (int i = 0; i < outerSortKey.length; i++) {
+      if (!outerSortKey[i].getSortKey().getDataType().equals(innerSortKey[i].getSortKey().getDataType())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Join keys are compared in ascending order with nulls last, as {@link JoinTupleComparator} does.
+   */
+  private static NormalizedKeyEncoder newJoinKeyEncoder(Schema schema, SortSpec[] sortKeys) {
+    SortSpec[] joinKeys = new SortSpec[sortKeys.length];
+    for (int i = 0; i < sortKeys.length; i++) {
+      joinKeys[i] = new SortSpec(sortKeys[i].getSortKey(), true, false);
+    }
+    return new NormalizedKeyEncoder(schema, joinKeys);
+  }
+
+  private Tuple nextOuter() throws IOException {
+    outerTuple = leftChild.next();
+    if (outerTuple != null && outerKeyEncoder != null) {
+      outerKey = outerKeyEncoder.encode(outerTuple);
+    }
+    return outerTuple;
+  }
+
+  private Tuple nextInner() throws IOException {
+    innerTuple = rightChild.next();
+    if (innerTuple != null && innerKeyEncoder != null) {
+      innerKey = innerKeyEncoder.encode(innerTuple);
+    }
+    return innerTuple;
+  }
+
+  private int compareJoinKeys() {
+    if (outerKeyEncoder != null && outerTuple != null && innerTuple != null) {
+      return NormalizedKeyEncoder.compare(outerKey, innerKey);
+    }
+    return joincomparator.compare(outerTuple, innerTuple);
+  }
+
+  private boolean hasSameJoinKey(int side, Tuple previous, byte [] previousKey, Tuple current, byte [] currentKey) {
+    if (outerKeyEncoder != null) {
+      return Arrays.equals(previousKey, currentKey);
+    }
+    return tupleComparator[side].compare(previous, current) == 0;
+  }
+
   public Tuple next() throws IOException {
     Tuple previous;
+    byte [] previousKey;
 
     while (!context.isStopped()) {
       if (!outerIterator.hasNext() && !innerIterator.hasNext()) {
@@ -87,21 +157,21 @@ public class MergeJoinExec extends CommonJoinExec {
         }
 
         if(outerTuple == null){
-          outerTuple = leftChild.next();
+          nextOuter();
         }
         if(innerTuple == null){
-          innerTuple = rightChild.next();
+          nextInner();
         }
 
         outerTupleSlots.clear();
         innerTupleSlots.clear();
 
         int cmp;
-        while ((cmp = joincomparator.compare(outerTuple, innerTuple)) != 0) {
+        while ((cmp = compareJoinKeys()) != 0) {
           if (cmp > 0) {
-            innerTuple = rightChild.next();
+            nextInner();
           } else if (cmp < 0) {
-            outerTuple = leftChild.next();
+            nextOuter();
           }
           if (innerTuple == null || outerTuple == null) {
             return null;
@@ -109,27 +179,27 @@ public class MergeJoinExec extends CommonJoinExec {
         }
 
         try {
-          previous = outerTuple.clone();
+          previous = outerKeyEncoder == null ? outerTuple.clone() : null;
+          previousKey = outerKey;
           do {
             outerTupleSlots.add(outerTuple.clone());
-            outerTuple = leftChild.next();
-            if (outerTuple == null) {
+            if (nextOuter() == null) {
               end = true;
               break;
             }
-          } while (tupleComparator[0].compare(previous, outerTuple) == 0);
+          } while (hasSameJoinKey(0, previous, previousKey, outerTuple, outerKey));
           outerIterator = outerTupleSlots.iterator();
           outerNext = outerIterator.next();
 
-          previous = innerTuple.clone();
+          previous = innerKeyEncoder == null ? innerTuple.clone() : null;
+          previousKey = innerKey;
           do {
             innerTupleSlots.add(innerTuple.clone());
-            innerTuple = rightChild.next();
-            if (innerTuple == null) {
+            if (nextInner() == null) {
               end = true;
               break;
             }
-          } while (tupleComparator[1].compare(previous, innerTuple) == 0);
+          } while (hasSameJoinKey(1, previous, previousKey, innerTuple, innerKey));
           innerIterator = innerTupleSlots.iterator();
         } catch (CloneNotSupportedException e) {
 
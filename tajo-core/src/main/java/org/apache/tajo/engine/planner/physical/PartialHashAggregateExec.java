@@ -0,0 +1,211 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.plan.expr.AggregationFunctionCallEval;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.logical.GroupbyNode;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.worker.TaskAttemptContext;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * This is the hash-based GroupBy operator for a partial aggregation, whose output is aggregated again
+ * in the next phase.
+ *
+ * Unlike {@link HashAggregateExec}, it holds a bounded number of groups. When the hash table is full, all groups
+ * are flushed to the parent operator and the table is emptied, so the same group can be emitted more than once.
+ * If a full table does not reduce the number of rows enough, the grouping key is regarded as almost unique and
+ * the remaining rows are passed through as one-row partial results.
+ */
+public class PartialHashAggregateExec extends AggregationExec {
+  private static final Log LOG = LogFactory.getLog(PartialHashAggregateExec.class);
+
+  private final int maxGroups;
+  private final float bypassRatio;
+  private final Tuple tuple;
+  private Map<Tuple, FunctionContext[]> hashTable;
+  private Iterator<Entry<Tuple, FunctionContext []>> iterator = null;
+  private FunctionContext [] bypassContexts;
+
+  private boolean finished = false;
+  private boolean bypass = false;
+  private long numInputRows = 0;
+  private long numOutputRows = 0;
+
+  public PartialHashAggregateExec(TaskAttemptContext ctx, GroupbyNode plan, PhysicalExec subOp) throws IOException {
+    super(ctx, plan, subOp);
+    this.maxGroups = ctx.getQueryContext().getInt(SessionVars.PARTIAL_GROUPBY_MAX_GROUPS);
+    this.bypassRatio = ctx.getQueryContext().getFloat(SessionVars.PARTIAL_GROUPBY_BYPASS_RATIO);
+    this.hashTable = new HashMap<Tuple, FunctionContext []>(Math.min(maxGroups, 100000));
+    this.tuple = new VTuple(plan.getOutSchema().size());
+    this.bypassContexts = new FunctionContext[aggFunctionsNum];
+  }
+
+  /**
+   * Since the same group can be emitted more than once, only the first phase of a two-phase aggregation, whose
+   * output is aggregated again in the next phase, can be executed by this operator. It is marked by the global
+   * planner because a group-by without aggregation functions looks the same in every phase.
+   *
+   * @return True if the given group-by can be executed by this operator
+   */
+  public static boolean isApplicable(GroupbyNode plan) {
+    if (!plan.isFirstPhase() || plan.isDistinct() || plan.getGroupingColumns().length == 0) {
+      return false;
+    }
+    if (plan.hasAggFunctions()) {
+      for (AggregationFunctionCallEval aggFunction : plan.getAggFunctions()) {
+        if (aggFunction.isFinalPhase()) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * It fills the hash table until it holds the maximum number of groups or the input is exhausted.
+   */
+  private void fill() throws IOException {
+    Tuple tuple;
+    Tuple keyTuple;
+    long numRows = 0;
+    while(hashTable.size() < maxGroups && !context.isStopped() && (tuple = child.next()) != null) {
+      numRows++;
+      keyTuple = new VTuple(groupingKeyIds.length);
+      // build one key tuple
+      for(int i = 0; i < groupingKeyIds.length; i++) {
+        keyTuple.put(i, tuple.get(groupingKeyIds[i]));
+      }
+
+      FunctionContext [] contexts = hashTable.get(keyTuple);
+      if(contexts != null) {
+        for(int i = 0; i < aggFunctions.length; i++) {
+          aggFunctions[i].merge(contexts[i], tuple);
+        }
+      } else { // if the key occurs firstly
+        contexts = new FunctionContext[aggFunctionsNum];
+        for(int i = 0; i < aggFunctionsNum; i++) {
+          contexts[i] = aggFunctions[i].newContext();
+          aggFunctions[i].merge(contexts[i], tuple);
+        }
+        hashTable.put(keyTuple, contexts);
+      }
+    }
+    numInputRows += numRows;
+
+    if (hashTable.size() < maxGroups) {
+      finished = true;
+    } else if (hashTable.size() > numRows * bypassRatio) {
+      bypass = true;
+      LOG.info(context.getTaskId() + " passes rows through the partial aggregation because " + hashTable.size()
+          + " groups are found in " + numRows + " rows");
+    }
+    iterator = hashTable.entrySet().iterator();
+  }
+
+  @Override
+  public Tuple next() throws IOException {
+    while (true) {
+      if (iterator != null) {
+        if (iterator.hasNext()) {
+          Entry<Tuple, FunctionContext []> entry = iterator.next();
+          Tuple keyTuple = entry.getKey();
+          FunctionContext [] contexts = entry.getValue();
+
+          int tupleIdx = 0;
+          for (; tupleIdx < groupingKeyNum; tupleIdx++) {
+            tuple.put(tupleIdx, keyTuple.get(tupleIdx));
+          }
+          for (int funcIdx = 0; funcIdx < aggFunctionsNum; funcIdx++, tupleIdx++) {
+            tuple.put(tupleIdx, aggFunctions[funcIdx].terminate(contexts[funcIdx]));
+          }
+          numOutputRows++;
+          return tuple;
+        }
+        hashTable.clear();
+        iterator = null;
+      }
+
+      if (finished || context.isStopped()) {
+        return null;
+      } else if (bypass) {
+        return passThrough();
+      } else {
+        fill();
+      }
+    }
+  }
+
+  /**
+   * It emits the partial result of a single row.
+   */
+  private Tuple passThrough() throws IOException {
+    Tuple input = child.next();
+    if (input == null) {
+      finished = true;
+      return null;
+    }
+    numInputRows++;
+
+    int tupleIdx = 0;
+    for (; tupleIdx < groupingKeyNum; tupleIdx++) {
+      tuple.put(tupleIdx, input.get(groupingKeyIds[tupleIdx]));
+    }
+    for (int funcIdx = 0; funcIdx < aggFunctionsNum; funcIdx++, tupleIdx++) {
+      bypassContexts[funcIdx] = aggFunctions[funcIdx].newContext();
+      aggFunctions[funcIdx].merge(bypassContexts[funcIdx], input);
+      tuple.put(tupleIdx, aggFunctions[funcIdx].terminate(bypassContexts[funcIdx]));
+    }
+    numOutputRows++;
+    return tuple;
+  }
+
+  @Override
+  public void rescan() throws IOException {
+    super.rescan();
+    hashTable.clear();
+    iterator = null;
+    finished = false;
+    bypass = false;
+    numInputRows = 0;
+    numOutputRows = 0;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (numInputRows > 0) {
+      LOG.info(String.format("%s partially aggregated %d rows into %d rows%s", context.getTaskId(), numInputRows,
+          numOutputRows, bypass ? " (bypassed)" : ""));
+    }
+    super.close();
+    hashTable.clear();
+    hashTable = null;
+    iterator = null;
+    bypassContexts = null;
+  }
+}
@@ -26,6 +26,7 @@ import org.apache.tajo.catalog.SchemaObject;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.engine.codegen.CompilationError;
 import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.util.history.OperatorProfile;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
@@ -86,4 +87,11 @@ public abstract class PhysicalExec implements SchemaObject {
   public TableStats getInputStats() {
     return null;
   }
+
+  /**
+   * Report operator-specific runtime statistics, such as the peak memory or the size of a hash table.
+   * It is called just before {@link #close()} only if profiling is enabled.
+   */
+  public void reportProfile(OperatorProfile profile) {
+  }
 }
@@ -82,6 +82,12 @@ public interface PhysicalExecutorVisitor<CONTEXT, RESULT> {
   RESULT visitNLLeftOuterJoin(CONTEXT context, NLLeftOuterJoinExec exec, Stack<PhysicalExec> stack)
       throws PhysicalPlanningException;
 
+  RESULT visitPartialHashAggregate(CONTEXT context, PartialHashAggregateExec exec, Stack<PhysicalExec> stack)
+      throws PhysicalPlanningException;
+
+  RESULT visitProfiling(CONTEXT context, ProfilingExec exec, Stack<PhysicalExec> stack)
+      throws PhysicalPlanningException;
+
   RESULT visitProjection(CONTEXT context, ProjectionExec exec, Stack<PhysicalExec> stack)
       throws PhysicalPlanningException;
 
@@ -104,6 +110,9 @@ public interface PhysicalExecutorVisitor<CONTEXT, RESULT> {
                                          Stack<PhysicalExec> stack)
       throws PhysicalPlanningException;
 
+  RESULT visitTopN(CONTEXT context, TopNExec exec, Stack<PhysicalExec> stack)
+      throws PhysicalPlanningException;
+
   RESULT visitStoreTable(CONTEXT context, StoreTableExec exec, Stack<PhysicalExec> stack)
       throws PhysicalPlanningException;
 }
@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.util.TUtil;
+import org.apache.tajo.util.history.OperatorProfile;
+import org.apache.tajo.worker.TaskAttemptContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * It wraps an operator in order to measure the time spent in its next() and the number of its output rows. Since
+ * the measured time includes the time of child operators, the time of children is subtracted in
+ * {@link #getProfiles()}.
+ *
+ * {@link #instrument(TaskAttemptContext, PhysicalExec)} wraps all operators of a physical plan before it is
+ * initialized. Only the children of {@link UnaryPhysicalExec} and {@link BinaryPhysicalExec} are wrapped.
+ */
+public class ProfilingExec extends PhysicalExec {
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+  private final PhysicalExec exec;
+  private final OperatorProfile profile;
+  private final List<ProfilingExec> children = TUtil.newList();
+  private final boolean cpuTimeEnabled;
+
+  private long wallTimeNanos;
+  private long cpuTimeNanos;
+  private long outputRows;
+  private long scannedRows;
+
+  private ProfilingExec(TaskAttemptContext context, PhysicalExec exec, OperatorProfile profile) {
+    super(context, exec.inSchema, exec.outSchema);
+    this.exec = exec;
+    this.profile = profile;
+    this.cpuTimeEnabled = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+  }
+
+  /**
+   * Wrap all operators of a physical plan.
+   *
+   * @param context The task attempt context
+   * @param root The root operator of a physical plan, which is not initialized yet
+   * @return The wrapper of the root operator
+   */
+  public static ProfilingExec instrument(TaskAttemptContext context, PhysicalExec root) {
+    return instrument(context, root, new int[] {0}, 0);
+  }
+
+  private static ProfilingExec instrument(TaskAttemptContext context, PhysicalExec exec, int [] nextId, int depth) {
+    ProfilingExec profiled =
+        new ProfilingExec(context, exec, new OperatorProfile(nextId[0]++, depth, exec.getClass().getSimpleName()));
+
+    if (exec instanceof UnaryPhysicalExec) {
+      UnaryPhysicalExec unary = (UnaryPhysicalExec) exec;
+      if (unary.child != null) {
+        unary.child = profiled.addChild(instrument(context, unary.child, nextId, depth + 1));
+      }
+    } else if (exec instanceof BinaryPhysicalExec) {
+      BinaryPhysicalExec binary = (BinaryPhysicalExec) exec;
+      binary.leftChild = profiled.addChild(instrument(context, binary.leftChild, nextId, depth + 1));
+      binary.rightChild = profiled.addChild(instrument(context, binary.rightChild, nextId, depth + 1));
+    }
+
+    return profiled;
+  }
+
+  private ProfilingExec addChild(ProfilingExec child) {
+    children.add(child);
+    return child;
+  }
+
+  public PhysicalExec getExec() {
+    return exec;
+  }
+
+  @Override
+  public void init() throws IOException {
+    exec.init();
+  }
+
+  @Override
+  public Tuple next() throws IOException {
+    long startCpuTime = cpuTimeEnabled ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    long startTime = System.nanoTime();
+
+    Tuple tuple = exec.next();
+
+    wallTimeNanos += System.nanoTime() - startTime;
+    if (cpuTimeEnabled) {
+      cpuTimeNanos += THREAD_MX_BEAN.getCurrentThreadCpuTime() - startCpuTime;
+    }
+    if (tuple != null) {
+      outputRows++;
+    }
+    return tuple;
+  }
+
+  @Override
+  public void rescan() throws IOException {
+    exec.rescan();
+  }
+
+  @Override
+  public void close() throws IOException {
+    // operators release their states when they are closed.
+    exec.reportProfile(profile);
+    exec.close();
+
+    TableStats inputStats = exec.getInputStats();
+    if (inputStats != null && inputStats.getNumRows() != null) {
+      scannedRows = inputStats.getNumRows();
+    }
+  }
+
+  @Override
+  public float getProgress() {
+    return exec.getProgress();
+  }
+
+  @Override
+  public TableStats getInputStats() {
+    return exec.getInputStats();
+  }
+
+  /**
+   * @return The profiles of all wrapped operators in pre-order. They are complete after this operator is closed.
+   */
+  public List<OperatorProfile> getProfiles() {
+    List<OperatorProfile> profiles = TUtil.newList();
+    collectProfiles(profiles);
+    return profiles;
+  }
+
+  private void collectProfiles(List<OperatorProfile> profiles) {
+    long childWallTimeNanos = 0;
+    long childCpuTimeNanos = 0;
+    long inputRows = 0;
+    for (ProfilingExec child : children) {
+      childWallTimeNanos += child.wallTimeNanos;
+      childCpuTimeNanos += child.cpuTimeNanos;
+      inputRows += child.outputRows;
+    }
+
+    profile.setWallTimeNanos(Math.max(0, wallTimeNanos - childWallTimeNanos));
+    profile.setCpuTimeNanos(Math.max(0, cpuTimeNanos - childCpuTimeNanos));
+    // a leaf operator reads rows from fragments or fetched data.
+    profile.setInputRows(children.isEmpty() ? scannedRows : inputRows);
+    profile.setOutputRows(outputRows);
+    profiles.add(profile);
+
+    for (ProfilingExec child : children) {
+      child.collectProfiles(profiles);
+    }
+  }
+}
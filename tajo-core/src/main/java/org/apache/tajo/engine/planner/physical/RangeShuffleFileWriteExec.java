@@ -33,6 +33,7 @@ import org.apache.tajo.storage.index.bst.BSTIndex;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * <code>RangeShuffleFileWriteExec</code> is a physical executor to store intermediate data into a number of
@@ -48,6 +49,8 @@ public class RangeShuffleFileWriteExec extends UnaryPhysicalExec {
 
   private BSTIndex.BSTIndexWriter indexWriter;
   private TupleComparator comp;
+  /** It detects the change of keys with normalized keys instead of projecting keys of all tuples. */
+  private NormalizedKeyEncoder keyEncoder;
   private FileAppender appender;
   private TableMeta meta;
 
@@ -72,6 +75,9 @@ public class RangeShuffleFileWriteExec extends UnaryPhysicalExec {
 
     BSTIndex bst = new BSTIndex(new TajoConf());
     this.comp = new BaseTupleComparator(keySchema, sortSpecs);
+    if (NormalizedKeyEncoder.isEncodable(sortSpecs)) {
+      this.keyEncoder = new NormalizedKeyEncoder(inSchema, sortSpecs);
+    }
     Path storeTablePath = new Path(context.getWorkDir(), "output");
     LOG.info("Output data directory: " + storeTablePath);
     this.meta = CatalogUtil.newTableMeta(context.getDataChannel() != null ?
@@ -93,12 +99,20 @@ public class RangeShuffleFileWriteExec extends UnaryPhysicalExec {
     Tuple tuple;
     Tuple keyTuple;
     Tuple prevKeyTuple = null;
+    byte [] prevKey = null;
     long offset;
 
 
     while(!context.isStopped() && (tuple = child.next()) != null) {
       offset = appender.getOffset();
       appender.addTuple(tuple);
+      if (keyEncoder != null) {
+        byte [] key = keyEncoder.encode(tuple);
+        if (prevKey != null && Arrays.equals(prevKey, key)) {
+          continue;
+        }
+        prevKey = key;
+      }
       keyTuple = new VTuple(keySchema.size());
       RowStoreUtil.project(tuple, keyTuple, indexKeys);
       if (prevKeyTuple == null || !prevKeyTuple.equals(keyTuple)) {
@@ -0,0 +1,219 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.engine.planner.physical;
+
+import com.google.common.base.Preconditions;
+import com.google.protobuf.ByteString;
+import org.apache.hadoop.util.hash.Hash;
+import org.apache.hadoop.util.hash.MurmurHash;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SortSpec;
+import org.apache.tajo.common.ProtoObject;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.storage.NormalizedKeyEncoder;
+import org.apache.tajo.storage.Tuple;
+
+import static org.apache.tajo.ipc.TajoWorkerProtocol.RuntimeJoinFilterProto;
+
+/**
+ * A bloom filter and the value range of the join keys produced by one side of a repartition join.
+ *
+ * Join keys are encoded by {@link NormalizedKeyEncoder}, so that keys of the same types on both sides of a join
+ * are equal if and only if their encoded keys are equal. A row of the other side whose key is not contained in
+ * this filter cannot find any matched row in an inner join, so it can be dropped before it is shuffled.
+ */
+public class RuntimeJoinFilter implements ProtoObject<RuntimeJoinFilterProto> {
+  private static final Hash HASH = MurmurHash.getInstance();
+  private static final int DEFAULT_NUM_HASHES = 3;
+
+  private final int numHashes;
+  private final long [] bits;
+  private final int numBits;
+  private byte [] minKey;
+  private byte [] maxKey;
+  private long numKeys;
+
+  public RuntimeJoinFilter(int numBits) {
+    Preconditions.checkArgument(numBits > 0, "The number of bits must be positive: %s", numBits);
+    this.numHashes = DEFAULT_NUM_HASHES;
+    this.bits = new long[(numBits + Long.SIZE - 1) / Long.SIZE];
+    this.numBits = bits.length * Long.SIZE;
+  }
+
+  public RuntimeJoinFilter(RuntimeJoinFilterProto proto) {
+    this.numHashes = proto.getNumHashes();
+    this.bits = new long[proto.getBitsCount()];
+    for (int i = 0; i < bits.length; i++) {
+      bits[i] = proto.getBits(i);
+    }
+    this.numBits = bits.length * Long.SIZE;
+    if (proto.hasMinKey()) {
+      this.minKey = proto.getMinKey().toByteArray();
+    }
+    if (proto.hasMaxKey()) {
+      this.maxKey = proto.getMaxKey().toByteArray();
+    }
+    this.numKeys = proto.getNumKeys();
+  }
+
+  /**
+   * @return True if join keys of this type can be used for a runtime join filter.
+   */
+  public static boolean isApplicable(Type type) {
+    switch (type) {
+    case BOOLEAN:
+    case INT1:
+    case INT2:
+    case INT4:
+    case INT8:
+    case DATE:
+    case TIME:
+    case TIMESTAMP:
+    case INET4:
+    case TEXT:
+      return NormalizedKeyEncoder.isEncodable(type);
+    default:
+      // floating point numbers are excluded because equal values can have different bits (e.g., 0.0 and -0.0).
+      return false;
+    }
+  }
+
+  /**
+   * @return An encoder which encodes the given join keys of tuples in the given schema
+   */
+  public static NormalizedKeyEncoder newKeyEncoder(Schema schema, Column [] joinKeys) {
+    SortSpec [] sortSpecs = new SortSpec[joinKeys.length];
+    for (int i = 0; i < joinKeys.length; i++) {
+      sortSpecs[i] = new SortSpec(joinKeys[i], true, false);
+    }
+    return new NormalizedKeyEncoder(schema, sortSpecs);
+  }
+
+  /**
+   * @return True if one of the given join keys is null. Such a key is never matched in an equi-join.
+   */
+  public static boolean hasNullKey(Tuple tuple, int [] keyIds) {
+    for (int keyId : keyIds) {
+      if (tuple.isNull(keyId)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public void add(byte [] key) {
+    numKeys++;
+    if (minKey == null || NormalizedKeyEncoder.compare(key, minKey) < 0) {
+      minKey = key;
+    }
+    if (maxKey == null || NormalizedKeyEncoder.compare(key, maxKey) > 0) {
+      maxKey = key;
+    }
+
+    int hash1 = HASH.hash(key, key.length, 0);
+    int hash2 = HASH.hash(key, key.length, hash1);
+    for (int i = 0; i < numHashes; i++) {
+      int bit = getBit(hash1, hash2, i);
+      bits[bit >>> 6] |= 1L << bit;
+    }
+  }
+
+  /**
+   * @return False if the key has never been added to this filter. True does not mean that the key has been added.
+   */
+  public boolean mightContain(byte [] key) {
+    if (numKeys == 0 || NormalizedKeyEncoder.compare(key, minKey) < 0 ||
+        NormalizedKeyEncoder.compare(key, maxKey) > 0) {
+      return false;
+    }
+
+    int hash1 = HASH.hash(key, key.length, 0);
+    int hash2 = HASH.hash(key, key.length, hash1);
+    for (int i = 0; i < numHashes; i++) {
+      int bit = getBit(hash1, hash2, i);
+      if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int getBit(int hash1, int hash2, int i) {
+    int combined = hash1 + i * hash2;
+    if (combined < 0) {
+      combined = ~combined;
+    }
+    return combined % numBits;
+  }
+
+  /**
+   * Adds all keys of another filter built with the same number of bits.
+   */
+  public void merge(RuntimeJoinFilter other) {
+    Preconditions.checkArgument(numBits == other.numBits && numHashes == other.numHashes,
+        "Runtime join filters of different sizes cannot be merged");
+    for (int i = 0; i < bits.length; i++) {
+      bits[i] |= other.bits[i];
+    }
+    if (other.numKeys > 0) {
+      if (numKeys == 0 || NormalizedKeyEncoder.compare(other.minKey, minKey) < 0) {
+        minKey = other.minKey;
+      }
+      if (numKeys == 0 || NormalizedKeyEncoder.compare(other.maxKey, maxKey) > 0) {
+        maxKey = other.maxKey;
+      }
+    }
+    numKeys += other.numKeys;
+  }
+
+  /**
+   * @return The number of added keys, including duplicated ones
+   */
+  public long getNumKeys() {
+    return numKeys;
+  }
+
+  /**
+   * @return The expected rate of keys which are not added but are reported as contained
+   */
+  public double getFalsePositiveRate() {
+    long setBits = 0;
+    for (long word : bits) {
+      setBits += Long.bitCount(word);
+    }
+    return Math.pow((double) setBits / numBits, numHashes);
+  }
+
+  @Override
+  public RuntimeJoinFilterProto getProto() {
+    RuntimeJoinFilterProto.Builder builder = RuntimeJoinFilterProto.newBuilder();
+    builder.setNumHashes(numHashes);
+    for (long word : bits) {
+      builder.addBits(word);
+    }
+    if (minKey != null) {
+      builder.setMinKey(ByteString.copyFrom(minKey));
+    }
+    if (maxKey != null) {
+      builder.setMaxKey(ByteString.copyFrom(maxKey));
+    }
+    builder.setNumKeys(numKeys);
+    return builder.build();
+  }
+}
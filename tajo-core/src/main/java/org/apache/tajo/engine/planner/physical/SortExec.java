@@ -21,6 +21,7 @@ package org.apache.tajo.engine.planner.physical;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.SortSpec;
 import org.apache.tajo.storage.BaseTupleComparator;
+import org.apache.tajo.storage.NormalizedKeyEncoder;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.worker.TaskAttemptContext;
 
@@ -41,12 +42,30 @@ public abstract class SortExec extends UnaryPhysicalExec {
   }
 
   protected TupleSorter getSorter(List<Tuple> tupleSlots) {
+    if (!tupleSlots.isEmpty() && useNormalizedKey()) {
+      return new NormalizedKeySorter(tupleSlots, newKeyEncoder());
+    }
     if (!tupleSlots.isEmpty() && ComparableVector.isVectorizable(sortSpecs)) {
       return new VectorizedSorter(tupleSlots, sortSpecs, comparator.getSortKeyIds());
     }
     return new TupleSorter.DefaultSorter(tupleSlots, comparator);
   }
 
+  /**
+   * Normalized keys are used for multiple sort keys, where a single byte comparison replaces comparisons
+   * for each key column. A single key is compared directly in a vectorized way.
+   */
+  protected boolean useNormalizedKey() {
+    return sortSpecs.length > 1 && NormalizedKeyEncoder.isEncodable(sortSpecs);
+  }
+
+  /**
+   * @return A new key encoder. An encoder is not thread-safe, so each sorter or merger uses its own one.
+   */
+  protected NormalizedKeyEncoder newKeyEncoder() {
+    return new NormalizedKeyEncoder(inSchema, sortSpecs);
+  }
+
   public SortSpec[] getSortSpecs() {
     return sortSpecs;
   }
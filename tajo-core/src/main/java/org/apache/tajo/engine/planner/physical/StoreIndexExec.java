@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SortSpec;
+import org.apache.tajo.catalog.proto.CatalogProtos.FragmentProto;
+import org.apache.tajo.plan.logical.CreateIndexNode;
+import org.apache.tajo.plan.logical.ScanNode;
+import org.apache.tajo.plan.util.PlannerUtil;
+import org.apache.tajo.storage.*;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.storage.fragment.FragmentConvertor;
+import org.apache.tajo.storage.index.bst.BSTIndex;
+import org.apache.tajo.storage.index.bst.BSTIndex.BSTIndexWriter;
+import org.apache.tajo.util.IndexUtil;
+import org.apache.tajo.worker.TaskAttemptContext;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * It builds a BST index file for each fragment assigned to this task. Each index file maps the index keys of the
+ * rows in a fragment to their offsets, and it is written into the index path of {@link CreateIndexNode}.
+ */
+public class StoreIndexExec extends PhysicalExec {
+  private static final Log LOG = LogFactory.getLog(StoreIndexExec.class);
+  private static final int LOAD_NUM = 100;
+
+  private CreateIndexNode plan;
+  private ScanNode scanNode;
+  private Schema tableSchema;
+  private Schema keySchema;
+  private SortSpec [] sortSpecs;
+  private int [] keyIds;
+  private TupleComparator comparator;
+  private FragmentProto [] fragments;
+
+  private boolean finished = false;
+  private float progress;
+
+  public StoreIndexExec(TaskAttemptContext context, CreateIndexNode plan, ScanNode scanNode,
+                        FragmentProto [] fragments) {
+    super(context, plan.getInSchema(), plan.getOutSchema());
+    this.plan = plan;
+    this.scanNode = scanNode;
+    this.fragments = fragments;
+    this.tableSchema = scanNode.getTableDesc().getSchema();
+
+    this.sortSpecs = plan.getSortSpecs();
+    this.keySchema = PlannerUtil.sortSpecsToSchema(sortSpecs);
+    this.keyIds = new int[sortSpecs.length];
+    for (int i = 0; i < sortSpecs.length; i++) {
+      keyIds[i] = tableSchema.getColumnIdByName(sortSpecs[i].getSortKey().getSimpleName());
+    }
+    this.comparator = new BaseTupleComparator(keySchema, sortSpecs);
+  }
+
+  @Override
+  public Tuple next() throws IOException {
+    if (finished) {
+      return null;
+    }
+
+    if (fragments != null) {
+      List<FileFragment> fileFragments = FragmentConvertor.convert(context.getConf(), fragments);
+      for (int i = 0; i < fileFragments.size(); i++) {
+        writeIndex(fileFragments.get(i));
+        progress = (float) (i + 1) / fileFragments.size();
+      }
+    }
+
+    finished = true;
+    progress = 1.0f;
+    return null;
+  }
+
+  private void writeIndex(FileFragment fragment) throws IOException {
+    Path indexFile = new Path(new Path(plan.getIndexPath()), IndexUtil.getIndexNameOfFrag(fragment, sortSpecs));
+
+    Scanner scanner = StorageManager.getStorageManager(context.getConf(), scanNode.getTableDesc().getMeta()
+        .getStoreType()).getScanner(scanNode.getTableDesc().getMeta(), tableSchema, fragment, tableSchema);
+    if (!(scanner instanceof SeekableScanner)) {
+      throw new IOException(scanNode.getTableDesc().getMeta().getStoreType() + " does not support indexes");
+    }
+    SeekableScanner seekableScanner = (SeekableScanner) scanner;
+
+    BSTIndexWriter writer = new BSTIndex(context.getConf()).getIndexWriter(indexFile, BSTIndex.TWO_LEVEL_INDEX,
+        keySchema, comparator);
+    writer.setLoadNum(LOAD_NUM);
+
+    try {
+      seekableScanner.init();
+      writer.open();
+
+      Tuple tuple;
+      long offset = seekableScanner.getNextOffset();
+      while ((tuple = seekableScanner.next()) != null) {
+        Tuple key = new VTuple(keyIds.length);
+        for (int i = 0; i < keyIds.length; i++) {
+          key.put(i, tuple.get(keyIds[i]));
+        }
+        writer.write(key, offset);
+        offset = seekableScanner.getNextOffset();
+      }
+    } finally {
+      IOUtils.cleanup(LOG, seekableScanner, writer);
+    }
+  }
+
+  @Override
+  public void rescan() throws IOException {
+  }
+
+  @Override
+  public void close() throws IOException {
+    plan = null;
+    scanNode = null;
+    fragments = null;
+  }
+
+  @Override
+  public float getProgress() {
+    return progress;
+  }
+}
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.tajo.plan.logical.LimitNode;
+import org.apache.tajo.plan.logical.SortNode;
+import org.apache.tajo.storage.NormalizedKeyEncoder;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.worker.TaskAttemptContext;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * This is a sort operator fused with a limit. It keeps only the first N rows in the sort order by using a bounded
+ * heap, so it needs neither a full sort nor spilling. The remaining rows are sorted when the input is exhausted.
+ */
+public class TopNExec extends SortExec {
+  private final int fetchFirstNum;
+  private NormalizedKeyEncoder keyEncoder;
+  private Comparator<Row> rowComparator;
+
+  // the root is the last row among the kept rows
+  private PriorityQueue<Row> heap;
+  private List<Tuple> sortedTuples;
+  private Iterator<Tuple> iterator;
+
+  private static class Row {
+    final Tuple tuple;
+    final byte [] key;
+
+    Row(Tuple tuple, byte [] key) {
+      this.tuple = tuple;
+      this.key = key;
+    }
+  }
+
+  public TopNExec(TaskAttemptContext context, SortNode sortNode, LimitNode limitNode, PhysicalExec child) {
+    super(context, sortNode.getInSchema(), sortNode.getOutSchema(), child, sortNode.getSortKeys());
+    this.fetchFirstNum = (int) limitNode.getFetchFirstNum();
+  }
+
+  @Override
+  public void init() throws IOException {
+    super.init();
+    if (NormalizedKeyEncoder.isEncodable(sortSpecs)) {
+      keyEncoder = newKeyEncoder();
+      rowComparator = new Comparator<Row>() {
+        @Override
+        public int compare(Row r1, Row r2) {
+          return NormalizedKeyEncoder.compare(r1.key, r2.key);
+        }
+      };
+    } else {
+      rowComparator = new Comparator<Row>() {
+        @Override
+        public int compare(Row r1, Row r2) {
+          return comparator.compare(r1.tuple, r2.tuple);
+        }
+      };
+    }
+    heap = new PriorityQueue<Row>(Math.max(1, Math.min(fetchFirstNum, 10000)), Collections.reverseOrder(rowComparator));
+  }
+
+  private void compute() throws IOException {
+    Tuple tuple;
+    while (fetchFirstNum > 0 && !context.isStopped() && (tuple = child.next()) != null) {
+      byte [] key = keyEncoder != null ? keyEncoder.encode(tuple) : null;
+      if (heap.size() < fetchFirstNum) {
+        heap.add(new Row(new VTuple(tuple), key));
+      } else if (precedes(tuple, key, heap.peek())) {
+        heap.poll();
+        heap.add(new Row(new VTuple(tuple), key));
+      }
+    }
+
+    Row [] rows = heap.toArray(new Row[heap.size()]);
+    Arrays.sort(rows, rowComparator);
+    sortedTuples = new ArrayList<Tuple>(rows.length);
+    for (Row row : rows) {
+      sortedTuples.add(row.tuple);
+    }
+    heap.clear();
+  }
+
+  private boolean precedes(Tuple tuple, byte [] key, Row row) {
+    if (keyEncoder != null) {
+      return NormalizedKeyEncoder.compare(key, row.key) < 0;
+    } else {
+      return comparator.compare(tuple, row.tuple) < 0;
+    }
+  }
+
+  @Override
+  public Tuple next() throws IOException {
+    if (iterator == null) {
+      compute();
+      iterator = sortedTuples.iterator();
+    }
+
+    if (iterator.hasNext()) {
+      return iterator.next();
+    } else {
+      return null;
+    }
+  }
+
+  @Override
+  public void rescan() throws IOException {
+    if (sortedTuples != null) {
+      iterator = sortedTuples.iterator();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    super.close();
+    if (heap != null) {
+      heap.clear();
+      heap = null;
+    }
+    sortedTuples = null;
+    iterator = null;
+  }
+}
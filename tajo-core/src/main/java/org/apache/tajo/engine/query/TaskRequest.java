@@ -49,4 +49,6 @@ public interface TaskRequest extends ProtoObject<TajoWorkerProtocol.TaskRequestP
   public QueryContext getQueryContext(TajoConf conf);
   public DataChannel getDataChannel();
   public Enforcer getEnforcer();
+  public TajoWorkerProtocol.RuntimeJoinFilterProto getRuntimeJoinFilter();
+  public void setRuntimeJoinFilter(TajoWorkerProtocol.RuntimeJoinFilterProto joinFilter);
 }
@@ -23,6 +23,7 @@ import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.engine.planner.enforce.Enforcer;
 import org.apache.tajo.engine.planner.global.DataChannel;
 import org.apache.tajo.ipc.TajoWorkerProtocol;
+import org.apache.tajo.ipc.TajoWorkerProtocol.RuntimeJoinFilterProto;
 import org.apache.tajo.ipc.TajoWorkerProtocol.TaskRequestProto;
 import org.apache.tajo.ipc.TajoWorkerProtocol.TaskRequestProtoOrBuilder;
 import org.apache.tajo.plan.serder.PlanProto;
@@ -47,6 +48,7 @@ public class TaskRequestImpl implements TaskRequest {
   private QueryContext queryContext;
   private DataChannel dataChannel;
   private Enforcer enforcer;
+  private RuntimeJoinFilterProto runtimeJoinFilter;
 	
 	private TaskRequestProto proto = TajoWorkerProtocol.TaskRequestProto.getDefaultInstance();
 	private TajoWorkerProtocol.TaskRequestProto.Builder builder = null;
@@ -236,6 +238,25 @@ public class TaskRequestImpl implements TaskRequest {
     return this.enforcer;
   }
 
+  @Override
+  public RuntimeJoinFilterProto getRuntimeJoinFilter() {
+    TaskRequestProtoOrBuilder p = viaProto ? proto : builder;
+    if (runtimeJoinFilter != null) {
+      return runtimeJoinFilter;
+    }
+    if (!p.hasRuntimeJoinFilter()) {
+      return null;
+    }
+    this.runtimeJoinFilter = p.getRuntimeJoinFilter();
+    return this.runtimeJoinFilter;
+  }
+
+  @Override
+  public void setRuntimeJoinFilter(RuntimeJoinFilterProto joinFilter) {
+    maybeInitBuilder();
+    this.runtimeJoinFilter = joinFilter;
+  }
+
   public List<FetchImpl> getFetches() {
 	  initFetches();    
 
@@ -316,6 +337,9 @@ public class TaskRequestImpl implements TaskRequest {
     }
     if (this.enforcer != null) {
       builder.setEnforcer(enforcer.getProto());
+    }
+    if (this.runtimeJoinFilter != null) {
+      builder.setRuntimeJoinFilter(runtimeJoinFilter);
     }
 	}
 
@@ -37,6 +37,7 @@ import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.ipc.ClientProtos;
 import org.apache.tajo.master.TajoMaster.MasterContext;
 import org.apache.tajo.master.exec.DDLExecutor;
+import org.apache.tajo.master.exec.PreparedQuery;
 import org.apache.tajo.master.exec.QueryExecutor;
 import org.apache.tajo.master.exec.prehook.DistributedQueryHookManager;
 import org.apache.tajo.session.Session;
@@ -44,6 +45,7 @@ import org.apache.tajo.plan.*;
 import org.apache.tajo.plan.logical.InsertNode;
 import org.apache.tajo.plan.logical.LogicalRootNode;
 import org.apache.tajo.plan.logical.NodeType;
+import org.apache.tajo.plan.rewrite.rules.IndexScanRewriter;
 import org.apache.tajo.plan.util.PlannerUtil;
 import org.apache.tajo.plan.verifier.LogicalPlanVerifier;
 import org.apache.tajo.plan.verifier.PreLogicalPlanVerifier;
@@ -54,7 +56,9 @@ import org.apache.tajo.util.CommonTestingUtil;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.List;
 
+import static org.apache.tajo.ipc.ClientProtos.PrepareStatementResponse;
 import static org.apache.tajo.ipc.ClientProtos.SubmitQueryResponse;
 
 public class GlobalEngine extends AbstractService {
@@ -91,6 +95,7 @@ public class GlobalEngine extends AbstractService {
       preVerifier = new PreLogicalPlanVerifier(context.getCatalog());
       planner = new LogicalPlanner(context.getCatalog());
       optimizer = new LogicalOptimizer(context.getConf());
+      optimizer.addRuleAfterToJoinOpt(new IndexScanRewriter(context.getCatalog()));
       annotatedPlanVerifier = new LogicalPlanVerifier(context.getConf(), context.getCatalog());
     } catch (Throwable t) {
       LOG.error(t.getMessage(), t);
@@ -158,28 +163,77 @@ public class GlobalEngine extends AbstractService {
         planningContext = buildExpressionFromSql(query);
       }
 
-      String jsonExpr = planningContext.toJson();
-      LogicalPlan plan = createLogicalPlan(queryContext, planningContext);
-      SubmitQueryResponse response = queryExecutor.execute(queryContext, session, query, jsonExpr, plan);
-      return response;
+      return executeExpr(queryContext, session, query, planningContext);
+    } catch (Throwable t) {
+      return createErrorResponse(queryContext, t);
+    }
+  }
+
+  /**
+   * Parses a statement which may contain dynamic parameters and keeps it in the session,
+   * so that later executions only have to bind parameter values. Only the parsing is reused;
+   * each execution is planned and optimized with the bound values.
+   */
+  public PrepareStatementResponse prepareStatement(Session session, String sql) {
+    LOG.info("Prepare: " + sql);
+    PrepareStatementResponse.Builder builder = PrepareStatementResponse.newBuilder();
+
+    try {
+      PreparedQuery preparedQuery = new PreparedQuery(sql, parse(sql));
+      int statementId = session.addPreparedQuery(preparedQuery);
+
+      builder.setResultCode(ClientProtos.ResultCode.OK);
+      builder.setStatementId(statementId);
+      builder.setNumParameters(preparedQuery.getParameterNum());
     } catch (Throwable t) {
-      context.getSystemMetrics().counter("Query", "errorQuery").inc();
       LOG.error("\nStack Trace:\n" + StringUtils.stringifyException(t));
-      SubmitQueryResponse.Builder responseBuilder = SubmitQueryResponse.newBuilder();
-      responseBuilder.setUserName(queryContext.get(SessionVars.USERNAME));
-      responseBuilder.setQueryId(QueryIdFactory.NULL_QUERY_ID.getProto());
-      responseBuilder.setIsForwarded(true);
-      responseBuilder.setResultCode(ClientProtos.ResultCode.ERROR);
-      String errorMessage = t.getMessage();
-      if (t.getMessage() == null) {
-        errorMessage = t.getClass().getName();
+      builder.setResultCode(ClientProtos.ResultCode.ERROR);
+      builder.setErrorMessage(t.getMessage() == null ? t.getClass().getName() : t.getMessage());
+    }
+    return builder.build();
+  }
+
+  public SubmitQueryResponse executePreparedStatement(Session session, int statementId, List<Expr> values) {
+    QueryContext queryContext = createQueryContext(session);
+
+    try {
+      PreparedQuery preparedQuery = session.getPreparedQuery(statementId);
+      if (preparedQuery == null) {
+        throw new VerifyException("No such prepared statement: " + statementId);
       }
-      responseBuilder.setErrorMessage(errorMessage);
-      responseBuilder.setErrorTrace(StringUtils.stringifyException(t));
-      return responseBuilder.build();
+      LOG.info("Prepared Query (" + statementId + "): " + preparedQuery.getSql());
+      context.getSystemMetrics().counter("Query", "totalQuery").inc();
+
+      return executeExpr(queryContext, session, preparedQuery.getSql(), preparedQuery.bind(values));
+    } catch (Throwable t) {
+      return createErrorResponse(queryContext, t);
     }
   }
 
+  private SubmitQueryResponse executeExpr(QueryContext queryContext, Session session, String query,
+                                          Expr planningContext) throws Exception {
+    String jsonExpr = planningContext.toJson();
+    LogicalPlan plan = createLogicalPlan(queryContext, planningContext);
+    return queryExecutor.execute(queryContext, session, query, jsonExpr, plan);
+  }
+
+  private SubmitQueryResponse createErrorResponse(QueryContext queryContext, Throwable t) {
+    context.getSystemMetrics().counter("Query", "errorQuery").inc();
+    LOG.error("\nStack Trace:\n" + StringUtils.stringifyException(t));
+    SubmitQueryResponse.Builder responseBuilder = SubmitQueryResponse.newBuilder();
+    responseBuilder.setUserName(queryContext.get(SessionVars.USERNAME));
+    responseBuilder.setQueryId(QueryIdFactory.NULL_QUERY_ID.getProto());
+    responseBuilder.setIsForwarded(true);
+    responseBuilder.setResultCode(ClientProtos.ResultCode.ERROR);
+    String errorMessage = t.getMessage();
+    if (t.getMessage() == null) {
+      errorMessage = t.getClass().getName();
+    }
+    responseBuilder.setErrorMessage(errorMessage);
+    responseBuilder.setErrorTrace(StringUtils.stringifyException(t));
+    return responseBuilder.build();
+  }
+
   public Expr buildExpressionFromJson(String json) {
     return JsonHelper.fromJson(json, Expr.class);
   }
@@ -187,6 +241,11 @@ public class GlobalEngine extends AbstractService {
   public Expr buildExpressionFromSql(String sql) throws InterruptedException, IOException,
       IllegalQueryStatusException {
     context.getSystemMetrics().counter("Query", "totalQuery").inc();
+    return parse(sql);
+  }
+
+  private Expr parse(String sql) {
+    context.getSystemMetrics().counter("Query", "parsedQuery").inc();
     return analyzer.parse(sql);
   }
 
@@ -200,7 +259,7 @@ public class GlobalEngine extends AbstractService {
         expr = JsonHelper.fromJson(sql, Expr.class);
       } else {
         // parse the query
-        expr = analyzer.parse(sql);
+        expr = parse(sql);
       }
 
       LogicalPlan plan = createLogicalPlan(queryContext, expr);
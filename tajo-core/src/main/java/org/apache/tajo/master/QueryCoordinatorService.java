@@ -32,6 +32,7 @@ import org.apache.tajo.master.rm.Worker;
 import org.apache.tajo.master.rm.WorkerResource;
 import org.apache.tajo.rpc.AsyncRpcServer;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos;
+import org.apache.tajo.rpc.RpcCallObserver;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.BoolProto;
 import org.apache.tajo.util.NetUtils;
 
@@ -76,6 +77,13 @@ public class QueryCoordinatorService extends AbstractService {
     super.start();
   }
 
+  /**
+   * Set the observer which is notified of the calls served by the RPC server of this service.
+   */
+  public void setCallObserver(RpcCallObserver observer) {
+    server.setCallObserver(observer);
+  }
+
   @Override
   public void stop() {
     if(server != null) {
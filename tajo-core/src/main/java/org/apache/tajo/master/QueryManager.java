@@ -32,9 +32,11 @@ import org.apache.tajo.QueryId;
 import org.apache.tajo.QueryIdFactory;
 import org.apache.tajo.TajoProtos;
 import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.ipc.QueryCoordinatorProtocol;
 import org.apache.tajo.master.cluster.WorkerConnectionInfo;
+import org.apache.tajo.master.scheduler.Scheduler;
 import org.apache.tajo.master.scheduler.SimpleFifoScheduler;
 import org.apache.tajo.plan.logical.LogicalRootNode;
 import org.apache.tajo.querymaster.QueryJobEvent;
@@ -42,6 +44,7 @@ import org.apache.tajo.session.Session;
 import org.apache.tajo.util.history.HistoryReader;
 
 import java.io.IOException;
+import java.lang.reflect.Constructor;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -60,7 +63,7 @@ public class QueryManager extends CompositeService {
 
   private AsyncDispatcher dispatcher;
 
-  private SimpleFifoScheduler scheduler;
+  private Scheduler scheduler;
 
   private final Map<QueryId, QueryInProgress> submittedQueries = Maps.newConcurrentMap();
 
@@ -85,7 +88,11 @@ public class QueryManager extends CompositeService {
 
       this.dispatcher.register(QueryJobEvent.Type.class, new QueryJobManagerEventHandler());
 
-      this.scheduler = new SimpleFifoScheduler(this);
+      Class<Scheduler> schedulerClass = (Class<Scheduler>)
+          conf.getClass(ConfVars.SCHEDULER_CLASS.varname, SimpleFifoScheduler.class);
+      Constructor<Scheduler> constructor = schedulerClass.getConstructor(QueryManager.class);
+      this.scheduler = constructor.newInstance(this);
+      LOG.info("Query scheduler: " + schedulerClass.getName());
     } catch (Exception e) {
       LOG.error("Failed to init service " + getName() + " by exception " + e, e);
     }
@@ -110,6 +117,14 @@ public class QueryManager extends CompositeService {
     super.serviceStart();
   }
 
+  public TajoMaster.MasterContext getMasterContext() {
+    return masterContext;
+  }
+
+  public Scheduler getScheduler() {
+    return scheduler;
+  }
+
   public EventHandler getEventHandler() {
     return dispatcher.getEventHandler();
   }
@@ -40,6 +40,7 @@ import org.apache.tajo.catalog.LocalCatalogWrapper;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.engine.function.FunctionLoader;
+import org.apache.tajo.master.exec.ResultFragmentToken;
 import org.apache.tajo.master.rm.TajoWorkerResourceManager;
 import org.apache.tajo.master.rm.WorkerResourceManager;
 import org.apache.tajo.metrics.CatalogMetricsGaugeSet;
@@ -56,6 +57,7 @@ import org.apache.tajo.storage.StorageManager;
 import org.apache.tajo.util.*;
 import org.apache.tajo.util.history.HistoryReader;
 import org.apache.tajo.util.history.HistoryWriter;
+import org.apache.tajo.util.metrics.RpcCallMetrics;
 import org.apache.tajo.util.metrics.TajoSystemMetrics;
 import org.apache.tajo.webapp.QueryExecutorServlet;
 import org.apache.tajo.webapp.StaticHttpServer;
@@ -213,6 +215,13 @@ public class TajoMaster extends CompositeService {
 
     systemMetrics.register("resource", new WorkerResourceMetricsGaugeSet(context));
     systemMetrics.register("catalog", new CatalogMetricsGaugeSet(context));
+
+    RpcCallMetrics rpcCallMetrics = new RpcCallMetrics(systemMetrics);
+    tajoMasterClientService.setCallObserver(rpcCallMetrics);
+    tajoMasterService.setCallObserver(rpcCallMetrics);
+    if (resourceManager instanceof TajoWorkerResourceManager) {
+      ((TajoWorkerResourceManager) resourceManager).getResourceTracker().setCallObserver(rpcCallMetrics);
+    }
   }
 
   private void initResourceManager() throws Exception {
@@ -427,6 +436,7 @@ public class TajoMaster extends CompositeService {
 
   public class MasterContext {
     private final TajoConf conf;
+    private final byte [] resultFetchSecret = ResultFragmentToken.newSecret();
 
     public MasterContext(TajoConf conf) {
       this.conf = conf;
@@ -436,6 +446,13 @@ public class TajoMaster extends CompositeService {
       return conf;
     }
 
+    /**
+     * @return The key with which result fragments for direct fetches are signed
+     */
+    public byte [] getResultFetchSecret() {
+      return resultFetchSecret;
+    }
+
     public Clock getClock() {
       return clock;
     }
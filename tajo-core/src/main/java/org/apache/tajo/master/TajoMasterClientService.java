@@ -33,6 +33,7 @@ import org.apache.tajo.QueryId;
 import org.apache.tajo.QueryIdFactory;
 import org.apache.tajo.TajoIdProtos;
 import org.apache.tajo.TajoProtos;
+import org.apache.tajo.algebra.Expr;
 import org.apache.tajo.catalog.*;
 import org.apache.tajo.catalog.exception.NoSuchDatabaseException;
 import org.apache.tajo.catalog.partition.PartitionMethodDesc;
@@ -45,21 +46,28 @@ import org.apache.tajo.ipc.ClientProtos.*;
 import org.apache.tajo.ipc.TajoMasterClientProtocol;
 import org.apache.tajo.ipc.TajoMasterClientProtocol.TajoMasterClientProtocolService;
 import org.apache.tajo.master.TajoMaster.MasterContext;
+import org.apache.tajo.master.cluster.WorkerConnectionInfo;
 import org.apache.tajo.master.exec.NonForwardQueryResultFileScanner;
 import org.apache.tajo.master.exec.NonForwardQueryResultScanner;
+import org.apache.tajo.master.exec.ResultFragmentToken;
+import org.apache.tajo.master.exec.PreparedQuery;
 import org.apache.tajo.plan.LogicalPlan;
 import org.apache.tajo.plan.logical.PartitionedTableScanNode;
 import org.apache.tajo.plan.logical.ScanNode;
 import org.apache.tajo.querymaster.QueryJobEvent;
 import org.apache.tajo.master.rm.Worker;
 import org.apache.tajo.master.rm.WorkerResource;
+import org.apache.tajo.master.rm.WorkerState;
 import org.apache.tajo.session.InvalidSessionException;
 import org.apache.tajo.session.NoSuchSessionVariableException;
 import org.apache.tajo.session.Session;
 import org.apache.tajo.rpc.BlockingRpcServer;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos;
+import org.apache.tajo.rpc.RpcCallObserver;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.BoolProto;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.StringProto;
+import org.apache.tajo.storage.StorageManager;
+import org.apache.tajo.storage.fragment.Fragment;
 import org.apache.tajo.util.KeyValueSet;
 import org.apache.tajo.util.NetUtils;
 import org.apache.tajo.util.ProtoUtil;
@@ -115,6 +123,13 @@ public class TajoMasterClientService extends AbstractService {
     super.start();
   }
 
+  /**
+   * Set the observer which is notified of the calls served by the RPC server of this service.
+   */
+  public void setCallObserver(RpcCallObserver observer) {
+    server.setCallObserver(observer);
+  }
+
   @Override
   public void stop() {
     if (server != null) {
@@ -330,6 +345,58 @@ public class TajoMasterClientService extends AbstractService {
       }
     }
 
+    @Override
+    public PrepareStatementResponse prepareStatement(RpcController controller, QueryRequest request)
+        throws ServiceException {
+      try {
+        Session session = context.getSessionManager().getSession(request.getSessionId().getId());
+        return context.getGlobalEngine().prepareStatement(session, request.getQuery());
+      } catch (Throwable t) {
+        throw new ServiceException(t);
+      }
+    }
+
+    @Override
+    public SubmitQueryResponse executePreparedStatement(RpcController controller,
+                                                        ExecutePreparedStatementRequest request)
+        throws ServiceException {
+      try {
+        Session session = context.getSessionManager().getSession(request.getSessionId().getId());
+
+        List<Expr> values = new ArrayList<Expr>(request.getParametersCount());
+        for (ParameterValueProto eachParam : request.getParametersList()) {
+          values.add(PreparedQuery.createValueExpr(eachParam.getType(),
+              eachParam.hasValue() ? eachParam.getValue() : null));
+        }
+        return context.getGlobalEngine().executePreparedStatement(session, request.getStatementId(), values);
+      } catch (Exception e) {
+        LOG.error(e.getMessage(), e);
+        SubmitQueryResponse.Builder responseBuilder = ClientProtos.SubmitQueryResponse.newBuilder();
+        responseBuilder.setQueryId(QueryIdFactory.NULL_QUERY_ID.getProto());
+        responseBuilder.setIsForwarded(true);
+        responseBuilder.setUserName(context.getConf().getVar(ConfVars.USERNAME));
+        responseBuilder.setResultCode(ResultCode.ERROR);
+        if (e.getMessage() != null) {
+          responseBuilder.setErrorMessage(ExceptionUtils.getStackTrace(e));
+        } else {
+          responseBuilder.setErrorMessage("Internal Error");
+        }
+        return responseBuilder.build();
+      }
+    }
+
+    @Override
+    public BoolProto closePreparedStatement(RpcController controller, PreparedStatementIdRequest request)
+        throws ServiceException {
+      try {
+        Session session = context.getSessionManager().getSession(request.getSessionId().getId());
+        session.removePreparedQuery(request.getStatementId());
+        return BOOL_TRUE;
+      } catch (Throwable t) {
+        throw new ServiceException(t);
+      }
+    }
+
     @Override
     public GetQueryResultResponse getQueryResult(RpcController controller,
                                                  GetQueryResultRequest request) throws ServiceException {
@@ -570,6 +637,79 @@ public class TajoMasterClientService extends AbstractService {
       return builder.build();
     }
 
+    /**
+     * It returns the fragments of the result table of a finished query and the workers which serve them, so that
+     * a client can read the result from workers in parallel instead of fetching every row through the master.
+     */
+    @Override
+    public GetQueryResultFragmentsResponse getQueryResultFragments(RpcController controller, QueryIdRequest request)
+        throws ServiceException {
+      GetQueryResultFragmentsResponse.Builder builder = GetQueryResultFragmentsResponse.newBuilder();
+
+      try {
+        context.getSessionManager().touch(request.getSessionId().getId());
+
+        QueryId queryId = new QueryId(request.getQueryId());
+        QueryInfo queryInfo = context.getQueryJobManager().getFinishedQuery(queryId);
+        Preconditions.checkNotNull(queryInfo, "QueryInfo cannot be NULL.");
+
+        TableDesc resultTableDesc = queryInfo.getResultDesc();
+        Preconditions.checkNotNull(resultTableDesc, "QueryInfo::getResultDesc results in NULL.");
+
+        StorageManager storageManager =
+            StorageManager.getStorageManager(context.getConf(), resultTableDesc.getMeta().getStoreType());
+        List<Fragment> fragments = storageManager.getNonForwardSplit(resultTableDesc, 0, Integer.MAX_VALUE);
+
+        List<WorkerConnectionInfo> workers = new ArrayList<WorkerConnectionInfo>();
+        Map<String, WorkerConnectionInfo> workersByHost = new HashMap<String, WorkerConnectionInfo>();
+        for (Worker worker : context.getResourceManager().getWorkers().values()) {
+          if (worker.getState() == WorkerState.RUNNING) {
+            workers.add(worker.getConnectionInfo());
+            workersByHost.put(worker.getConnectionInfo().getHost(), worker.getConnectionInfo());
+          }
+        }
+
+        String sessionId = request.getSessionId().getId();
+        long tokenExpiryTime = System.currentTimeMillis() + ResultFragmentToken.TOKEN_EXPIRY_MSEC;
+
+        int nextWorker = 0;
+        for (Fragment fragment : fragments) {
+          ResultFragmentProto.Builder fragmentBuilder = ResultFragmentProto.newBuilder();
+          fragmentBuilder.setFragment(fragment.getProto());
+          // workers only serve fragments signed by the master for this session
+          fragmentBuilder.setToken(ResultFragmentToken.sign(context.getResultFetchSecret(), sessionId, queryId,
+              resultTableDesc.getProto(), fragment.getProto(), tokenExpiryTime));
+          fragmentBuilder.setTokenExpiryTime(tokenExpiryTime);
+
+          // prefer a worker on a host of the fragment, otherwise assign workers in a round-robin way
+          WorkerConnectionInfo worker = null;
+          if (fragment.getHosts() != null) {
+            for (String host : fragment.getHosts()) {
+              if ((worker = workersByHost.get(host)) != null) {
+                break;
+              }
+            }
+          }
+          if (worker == null && !workers.isEmpty()) {
+            worker = workers.get(nextWorker++ % workers.size());
+          }
+          if (worker != null) {
+            fragmentBuilder.setHost(worker.getHost());
+            fragmentBuilder.setClientPort(worker.getClientPort());
+          }
+          builder.addFragments(fragmentBuilder.build());
+        }
+
+        builder.setTableDesc(resultTableDesc.getProto());
+        builder.setResultCode(ResultCode.OK);
+      } catch (Throwable t) {
+        LOG.error(t.getMessage(), t);
+        builder.setResultCode(ResultCode.ERROR);
+        builder.setErrorMessage(t.getMessage() == null ? t.getClass().getName() : t.getMessage());
+      }
+      return builder.build();
+    }
+
     @Override
     public BoolProto closeNonForwardQuery(RpcController controller, QueryIdRequest request) throws ServiceException {
       try {
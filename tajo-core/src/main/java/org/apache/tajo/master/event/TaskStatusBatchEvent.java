@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master.event;
+
+import org.apache.hadoop.yarn.event.AbstractEvent;
+import org.apache.tajo.ExecutionBlockId;
+import org.apache.tajo.ipc.TajoWorkerProtocol.TaskCompletionReport;
+import org.apache.tajo.ipc.TajoWorkerProtocol.TaskStatusProto;
+
+import java.util.List;
+
+/**
+ * Status updates and completion reports of the tasks of an execution block, which are received from a worker
+ * at once. They are applied to task attempts in a single dispatcher event.
+ */
+public class TaskStatusBatchEvent extends AbstractEvent<TaskStatusBatchEvent.EventType> {
+  public enum EventType {
+    STATUS_BATCH
+  }
+
+  private final ExecutionBlockId executionBlockId;
+  private final List<TaskStatusProto> statuses;
+  private final List<TaskCompletionReport> completions;
+
+  public TaskStatusBatchEvent(ExecutionBlockId executionBlockId, List<TaskStatusProto> statuses,
+                              List<TaskCompletionReport> completions) {
+    super(EventType.STATUS_BATCH);
+    this.executionBlockId = executionBlockId;
+    this.statuses = statuses;
+    this.completions = completions;
+  }
+
+  public ExecutionBlockId getExecutionBlockId() {
+    return executionBlockId;
+  }
+
+  public List<TaskStatusProto> getStatuses() {
+    return statuses;
+  }
+
+  public List<TaskCompletionReport> getCompletions() {
+    return completions;
+  }
+}
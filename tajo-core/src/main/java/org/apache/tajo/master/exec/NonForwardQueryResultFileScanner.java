@@ -62,6 +62,8 @@ public class NonForwardQueryResultFileScanner implements NonForwardQueryResultSc
   private ScanNode scanNode;
   
   private int currentFragmentIndex = 0;
+  // if it is given, only these fragments are scanned instead of all fragments of the table
+  private List<FragmentProto> givenFragments;
 
   public NonForwardQueryResultFileScanner(TajoConf tajoConf, String sessionId, QueryId queryId, ScanNode scanNode,
       TableDesc tableDesc, int maxRow) throws IOException {
@@ -74,6 +76,15 @@ public class NonForwardQueryResultFileScanner implements NonForwardQueryResultSc
     this.rowEncoder = RowStoreUtil.createEncoder(tableDesc.getLogicalSchema());
   }
 
+  /**
+   * It creates a scanner which reads only the given fragments of a table.
+   */
+  public NonForwardQueryResultFileScanner(TajoConf tajoConf, String sessionId, QueryId queryId, ScanNode scanNode,
+      TableDesc tableDesc, List<FragmentProto> fragments) throws IOException {
+    this(tajoConf, sessionId, queryId, scanNode, tableDesc, Integer.MAX_VALUE);
+    this.givenFragments = fragments;
+  }
+
   public void init() throws IOException {
     initSeqScanExec();
   }
@@ -104,29 +115,40 @@ public class NonForwardQueryResultFileScanner implements NonForwardQueryResultSc
   }
 
   private void initSeqScanExec() throws IOException {
+    if (givenFragments != null) {
+      if (currentFragmentIndex == 0 && !givenFragments.isEmpty()) {
+        initSeqScanExec(givenFragments.toArray(new FragmentProto[givenFragments.size()]));
+        currentFragmentIndex += givenFragments.size();
+      }
+      return;
+    }
+
     StorageManager storageManager = StorageManager.getStorageManager(tajoConf, tableDesc.getMeta().getStoreType());
     List<Fragment> fragments = null;
     setPartition(storageManager);
     fragments = storageManager.getNonForwardSplit(tableDesc, currentFragmentIndex, MAX_FRAGMENT_NUM_PER_SCAN);
 
     if (fragments != null && !fragments.isEmpty()) {
-      FragmentProto[] fragmentProtos = FragmentConvertor.toFragmentProtoArray(fragments.toArray(new Fragment[] {}));
-      this.taskContext = new TaskAttemptContext(
-          new QueryContext(tajoConf), null, 
-          new TaskAttemptId(new TaskId(new ExecutionBlockId(queryId, 1), 0), 0), 
-          fragmentProtos, null);
-      try {
-        // scanNode must be clone cause SeqScanExec change target in the case of
-        // a partitioned table.
-        scanExec = new SeqScanExec(taskContext, (ScanNode) scanNode.clone(), fragmentProtos);
-      } catch (CloneNotSupportedException e) {
-        throw new IOException(e.getMessage(), e);
-      }
-      scanExec.init();
+      initSeqScanExec(FragmentConvertor.toFragmentProtoArray(fragments.toArray(new Fragment[] {})));
       currentFragmentIndex += fragments.size();
     }
   }
 
+  private void initSeqScanExec(FragmentProto[] fragmentProtos) throws IOException {
+    this.taskContext = new TaskAttemptContext(
+        new QueryContext(tajoConf), null,
+        new TaskAttemptId(new TaskId(new ExecutionBlockId(queryId, 1), 0), 0),
+        fragmentProtos, null);
+    try {
+      // scanNode must be clone cause SeqScanExec change target in the case of
+      // a partitioned table.
+      scanExec = new SeqScanExec(taskContext, (ScanNode) scanNode.clone(), fragmentProtos);
+    } catch (CloneNotSupportedException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+    scanExec.init();
+  }
+
   public QueryId getQueryId() {
     return queryId;
   }
@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master.exec;
+
+import com.google.protobuf.ByteString;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.tajo.ExecutionBlockId;
+import org.apache.tajo.QueryId;
+import org.apache.tajo.TaskAttemptId;
+import org.apache.tajo.TaskId;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.proto.CatalogProtos.FragmentProto;
+import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.engine.planner.PhysicalPlannerImpl;
+import org.apache.tajo.engine.planner.physical.PhysicalExec;
+import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.plan.LogicalPlan;
+import org.apache.tajo.plan.logical.LogicalRootNode;
+import org.apache.tajo.plan.logical.RelationNode;
+import org.apache.tajo.plan.logical.ScanNode;
+import org.apache.tajo.storage.RowStoreUtil;
+import org.apache.tajo.storage.RowStoreUtil.RowStoreEncoder;
+import org.apache.tajo.storage.StorageManager;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.fragment.Fragment;
+import org.apache.tajo.storage.fragment.FragmentConvertor;
+import org.apache.tajo.util.KeyValueSet;
+import org.apache.tajo.worker.TaskAttemptContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * It executes the whole logical plan of a small query in TajoMaster. Unlike a distributed query, the plan is not
+ * divided into execution blocks, and all operators, including joins, aggregations and sorts, run in a single
+ * physical plan over all fragments of the input tables. Result rows are computed lazily as a client fetches them.
+ */
+public class NonForwardQueryResultLocalScanner implements NonForwardQueryResultScanner {
+  private static final Log LOG = LogFactory.getLog(NonForwardQueryResultLocalScanner.class);
+
+  private final TajoConf tajoConf;
+  private final String sessionId;
+  private final QueryId queryId;
+  private final QueryContext queryContext;
+  private final LogicalPlan plan;
+  private final int maxRow;
+
+  private TaskAttemptContext taskContext;
+  private PhysicalExec physicalExec;
+  private TableDesc tableDesc;
+  private Schema outSchema;
+  private RowStoreEncoder encoder;
+  private int currentRow;
+
+  public NonForwardQueryResultLocalScanner(TajoConf tajoConf, String sessionId, QueryId queryId,
+                                           QueryContext queryContext, LogicalPlan plan, int maxRow) {
+    this.tajoConf = tajoConf;
+    this.sessionId = sessionId;
+    this.queryId = queryId;
+    this.queryContext = queryContext;
+    this.plan = plan;
+    this.maxRow = maxRow;
+  }
+
+  @Override
+  public void init() throws IOException {
+    List<FragmentProto> fragments = new ArrayList<FragmentProto>();
+    for (LogicalPlan.QueryBlock block : plan.getQueryBlocks()) {
+      for (RelationNode relation : block.getRelations()) {
+        if (relation instanceof ScanNode) {
+          ScanNode scanNode = (ScanNode) relation;
+          TableDesc desc = scanNode.getTableDesc();
+          StorageManager storageManager = StorageManager.getStorageManager(tajoConf, desc.getMeta().getStoreType());
+          List<Fragment> splits = storageManager.getSplits(scanNode.getCanonicalName(), desc, scanNode);
+          fragments.addAll(FragmentConvertor.toFragmentProtoList(splits.toArray(new Fragment[splits.size()])));
+        }
+      }
+    }
+
+    taskContext = new TaskAttemptContext(queryContext, null,
+        new TaskAttemptId(new TaskId(new ExecutionBlockId(queryId, 1), 0), 0),
+        fragments.toArray(new FragmentProto[fragments.size()]), null);
+
+    LogicalRootNode rootNode = plan.getRootBlock().getRoot();
+    physicalExec = new PhysicalPlannerImpl(tajoConf).createPlan(taskContext, rootNode);
+
+    outSchema = rootNode.getOutSchema();
+    tableDesc = new TableDesc("table_" + System.currentTimeMillis(), outSchema,
+        new TableMeta(StoreType.CSV, new KeyValueSet()), null);
+    encoder = RowStoreUtil.createEncoder(outSchema);
+
+    try {
+      physicalExec.init();
+    } catch (IOException e) {
+      closeExec();
+      throw e;
+    }
+
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(queryId + " is executed locally with " + fragments.size() + " fragments");
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    closeExec();
+    tableDesc = null;
+    outSchema = null;
+    encoder = null;
+  }
+
+  private void closeExec() {
+    if (physicalExec != null) {
+      try {
+        physicalExec.close();
+      } catch (Exception e) {
+        LOG.warn(queryId + " cannot close the local physical plan: " + e.getMessage());
+      }
+    }
+    physicalExec = null;
+  }
+
+  @Override
+  public List<ByteString> getNextRows(int fetchRowNum) throws IOException {
+    List<ByteString> rows = new ArrayList<ByteString>();
+    if (physicalExec == null) {
+      return rows;
+    }
+
+    int endRow = currentRow + fetchRowNum;
+    while (currentRow < endRow) {
+      Tuple tuple = physicalExec.next();
+      if (tuple == null) {
+        closeExec();
+        break;
+      }
+
+      currentRow++;
+      rows.add(ByteString.copyFrom(encoder.toBytes(tuple)));
+
+      if (currentRow >= maxRow) {
+        closeExec();
+        break;
+      }
+    }
+
+    return rows;
+  }
+
+  @Override
+  public QueryId getQueryId() {
+    return queryId;
+  }
+
+  @Override
+  public String getSessionId() {
+    return sessionId;
+  }
+
+  @Override
+  public TableDesc getTableDesc() {
+    return tableDesc;
+  }
+
+  @Override
+  public Schema getLogicalSchema() {
+    return outSchema;
+  }
+
+  @Override
+  public int getCurrentRowNumber() {
+    return currentRow;
+  }
+}
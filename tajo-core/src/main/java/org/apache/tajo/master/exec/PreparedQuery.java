@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master.exec;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.tajo.algebra.*;
+import org.apache.tajo.algebra.LiteralValue.LiteralType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.plan.util.ExprFinder;
+import org.apache.tajo.plan.verifier.VerifyException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A server-side prepared statement. It keeps the algebraic expression of a parsed statement, including
+ * dynamic parameters, as a JSON tree. Each execution only substitutes bound values into a copy of the tree,
+ * so the statement is parsed just once no matter how many times it is executed.
+ */
+public class PreparedQuery {
+  private static final String OP_TYPE_KEY = "OpType";
+  private static final String INDEX_KEY = "Index";
+
+  private final String sql;
+  private final JsonElement template;
+  private final int parameterNum;
+
+  public PreparedQuery(String sql, Expr expr) {
+    this.sql = sql;
+    this.template = new JsonParser().parse(expr.toJson());
+    this.parameterNum = ExprFinder.finds(expr, OpType.Parameter).size();
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  public int getParameterNum() {
+    return parameterNum;
+  }
+
+  /**
+   * Creates a new expression where every dynamic parameter is replaced by the corresponding value.
+   *
+   * @param values Bound values, ordered by the parameter index
+   * @return A new algebraic expression ready for planning
+   */
+  public Expr bind(List<Expr> values) throws VerifyException {
+    if (values.size() != parameterNum) {
+      throw new VerifyException("The prepared statement requires " + parameterNum + " parameter(s), but "
+          + values.size() + " parameter(s) are given");
+    }
+
+    JsonElement[] boundValues = new JsonElement[values.size()];
+    for (int i = 0; i < boundValues.length; i++) {
+      boundValues[i] = JsonHelper.getInstance().toJsonTree(values.get(i), Expr.class);
+    }
+    return JsonHelper.getInstance().fromJson(bind(template, boundValues), Expr.class);
+  }
+
+  private static JsonElement bind(JsonElement element, JsonElement[] values) {
+    if (element.isJsonObject()) {
+      JsonObject object = element.getAsJsonObject();
+      JsonElement opType = object.get(OP_TYPE_KEY);
+      if (opType != null && opType.isJsonPrimitive() && OpType.Parameter.name().equals(opType.getAsString())) {
+        return values[object.get(INDEX_KEY).getAsInt() - 1];
+      }
+
+      JsonObject bound = new JsonObject();
+      for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+        bound.add(entry.getKey(), bind(entry.getValue(), values));
+      }
+      return bound;
+
+    } else if (element.isJsonArray()) {
+      JsonArray bound = new JsonArray();
+      for (JsonElement eachElement : element.getAsJsonArray()) {
+        bound.add(bind(eachElement, values));
+      }
+      return bound;
+
+    } else {
+      return element;
+    }
+  }
+
+  /**
+   * Converts a parameter value sent by a client into the same expression that the SQL parser
+   * would build for the equivalent literal.
+   *
+   * @param type The type of the value
+   * @param value The string representation of the value. NULL if the value is null.
+   */
+  public static Expr createValueExpr(Type type, String value) throws VerifyException {
+    if (value == null || type == Type.NULL_TYPE) {
+      return new NullLiteral();
+    }
+
+    switch (type) {
+    case BOOLEAN:
+      return new BooleanLiteral(Boolean.parseBoolean(value));
+    case INT1:
+    case INT2:
+    case INT4:
+      return createNumericExpr(value, LiteralType.Unsigned_Integer);
+    case INT8:
+      return createNumericExpr(value, LiteralType.Unsigned_Large_Integer);
+    case FLOAT4:
+    case FLOAT8:
+      return createNumericExpr(value, LiteralType.Unsigned_Float);
+    case CHAR:
+    case VARCHAR:
+    case TEXT:
+      return new LiteralValue(value, LiteralType.String);
+    case DATE:
+    case TIME:
+    case TIMESTAMP:
+      return new CastExpr(new LiteralValue(value, LiteralType.String), new DataTypeExpr(type.name()));
+    default:
+      throw new VerifyException("Unsupported parameter type: " + type);
+    }
+  }
+
+  private static Expr createNumericExpr(String value, LiteralType literalType) {
+    if (value.startsWith("-")) {
+      return new SignedExpr(true, new LiteralValue(value.substring(1), literalType));
+    } else {
+      return new LiteralValue(value, literalType);
+    }
+  }
+}
@@ -103,6 +103,9 @@ public class QueryExecutor {
       response.setResultCode(ClientProtos.ResultCode.OK);
 
 
+    } else if (plan.isExplainAnalyze()) { // explain query with runtime statistics
+      execExplainAnalyze(queryContext, session, plan, sql, jsonExpr, response);
+
     } else if (plan.isExplain()) { // explain query
       execExplain(plan, queryContext, plan.isExplainGlobal(), response);
 
@@ -119,6 +122,11 @@ public class QueryExecutor {
       execNonFromQuery(queryContext, session, sql, plan, response);
 
 
+      // LocalQuery indicates a select query whose input is small enough to be executed in TajoMaster
+    } else if (checkIfLocalQuery(queryContext, plan)) {
+      execLocalQuery(queryContext, session, sql, plan, response);
+
+
     } else { // it requires distributed execution. So, the query is forwarded to a query master.
       executeDistributedQuery(queryContext, session, plan, sql, jsonExpr, response);
     }
@@ -206,6 +214,25 @@ public class QueryExecutor {
     response.setQueryId(QueryIdFactory.NULL_QUERY_ID.getProto());
   }
 
+  /**
+   * It executes a query as a distributed query with profiling enabled. When the query is completed, the query master
+   * replaces the query result with the runtime statistics of the operators of each stage.
+   */
+  public void execExplainAnalyze(QueryContext queryContext, Session session, LogicalPlan plan, String sql,
+                                 String jsonExpr, SubmitQueryResponse.Builder response) throws Exception {
+    NodeType type = plan.getRootBlock().getRoot().getChild().getType();
+    if (type == NodeType.CREATE_TABLE || type == NodeType.INSERT ||
+        PlannerUtil.checkIfQueryTargetIsVirtualTable(plan)) {
+      response.setQueryId(QueryIdFactory.NULL_QUERY_ID.getProto());
+      response.setResultCode(ClientProtos.ResultCode.ERROR);
+      response.setErrorMessage("EXPLAIN ANALYZE supports only SELECT statements on tables.");
+      return;
+    }
+
+    queryContext.setBool(SessionVars.PROFILE_ENABLED, true);
+    executeDistributedQuery(queryContext, session, plan, sql, jsonExpr, response);
+  }
+
   public void execQueryOnVirtualTable(QueryContext queryContext, Session session, String query, LogicalPlan plan,
                               SubmitQueryResponse.Builder response) throws Exception {
     int maxRow = Integer.MAX_VALUE;
@@ -263,6 +290,76 @@ public class QueryExecutor {
     response.setResultCode(ClientProtos.ResultCode.OK);
   }
 
+  /**
+   * A query can be executed in TajoMaster without any shuffle if it does not store its result, all of its operators
+   * can be executed in a single physical plan, and the total volume of its input tables is known to be smaller than
+   * {@link SessionVars#LOCAL_QUERY_MAX_INPUT_SIZE}.
+   */
+  private boolean checkIfLocalQuery(QueryContext queryContext, LogicalPlan plan) {
+    long maxInputSize = queryContext.getLong(SessionVars.LOCAL_QUERY_MAX_INPUT_SIZE);
+    if (maxInputSize <= 0) {
+      return false;
+    }
+
+    NodeType rootType = plan.getRootBlock().getRoot().getChild().getType();
+    if (rootType == NodeType.INSERT || rootType == NodeType.CREATE_TABLE || rootType == NodeType.STORE) {
+      return false;
+    }
+
+    long inputSize = 0;
+    for (LogicalPlan.QueryBlock block : plan.getQueryBlocks()) {
+      // distinct aggregations and window functions are planned into multiple execution blocks,
+      // and partition pruning is resolved when a leaf stage is scheduled.
+      if (block.hasNode(NodeType.WINDOW_AGG) || block.hasNode(NodeType.PARTITIONS_SCAN)
+          || block.hasNode(NodeType.BST_INDEX_SCAN)) {
+        return false;
+      }
+      if (block.hasNode(NodeType.GROUP_BY) && ((GroupbyNode) block.getNode(NodeType.GROUP_BY)).isDistinct()) {
+        return false;
+      }
+
+      for (RelationNode relation : block.getRelations()) {
+        if (relation instanceof ScanNode) {
+          TableStats stats = ((ScanNode) relation).getTableDesc().getStats();
+          if (stats == null || stats.getNumBytes() == null || stats.getNumBytes() < 0) {
+            return false;
+          }
+          inputSize += stats.getNumBytes();
+          if (inputSize > maxInputSize) {
+            return false;
+          }
+        }
+      }
+    }
+
+    return true;
+  }
+
+  public void execLocalQuery(QueryContext queryContext, Session session, String query, LogicalPlan plan,
+                             SubmitQueryResponse.Builder response) throws Exception {
+    context.getSystemMetrics().counter("Query", "numLocalQuery").inc();
+
+    int maxRow = Integer.MAX_VALUE;
+    if (plan.getRootBlock().hasNode(NodeType.LIMIT)) {
+      LimitNode limitNode = plan.getRootBlock().getNode(NodeType.LIMIT);
+      maxRow = (int) limitNode.getFetchFirstNum();
+    }
+
+    QueryInfo queryInfo = context.getQueryJobManager().createNewSimpleQuery(queryContext, session, query,
+        (LogicalRootNode) plan.getRootBlock().getRoot());
+
+    NonForwardQueryResultScanner queryResultScanner = new NonForwardQueryResultLocalScanner(
+        context.getConf(), session.getSessionId(), queryInfo.getQueryId(), queryContext, plan, maxRow);
+
+    queryResultScanner.init();
+    session.addNonForwardQueryResultScanner(queryResultScanner);
+
+    response.setQueryId(queryInfo.getQueryId().getProto());
+    response.setMaxRowNum(maxRow);
+    response.setTableDesc(queryResultScanner.getTableDesc().getProto());
+    response.setResultCode(ClientProtos.ResultCode.OK);
+  }
+
   public void execNonFromQuery(QueryContext queryContext, Session session, String query,
                                LogicalPlan plan, SubmitQueryResponse.Builder responseBuilder) throws Exception {
     LogicalRootNode rootNode = plan.getRootBlock().getRoot();
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.master.exec;
+
+import com.google.protobuf.ByteString;
+import org.apache.tajo.QueryId;
+import org.apache.tajo.catalog.proto.CatalogProtos.FragmentProto;
+import org.apache.tajo.catalog.proto.CatalogProtos.TableDescProto;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * It signs and verifies the result fragments which TajoMaster issues to clients for fetching query results directly
+ * from workers.
+ *
+ * A token is an HMAC of the session, the query, the result table, the fragment and the expiry time of the token.
+ * The secret key is generated by TajoMaster at startup and delivered to workers in heartbeat responses, so that a
+ * worker only scans fragments which TajoMaster has issued for the result of a query to the session.
+ */
+public class ResultFragmentToken {
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final int SECRET_LENGTH = 32;
+
+  /** the time for which a client can fetch the issued fragments */
+  public static final long TOKEN_EXPIRY_MSEC = 24 * 60 * 60 * 1000;
+
+  public static byte [] newSecret() {
+    byte [] secret = new byte[SECRET_LENGTH];
+    new SecureRandom().nextBytes(secret);
+    return secret;
+  }
+
+  public static ByteString sign(byte [] secret, String sessionId, QueryId queryId, TableDescProto tableDesc,
+                                FragmentProto fragment, long expiryTime) throws IOException {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(new SecretKeySpec(secret, ALGORITHM));
+      return ByteString.copyFrom(mac.doFinal(serialize(sessionId, queryId, tableDesc, fragment, expiryTime)));
+    } catch (GeneralSecurityException e) {
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * @return True if the token is signed with the given secret for the given fragment and it is not expired yet
+   */
+  public static boolean verify(byte [] secret, String sessionId, QueryId queryId, TableDescProto tableDesc,
+                               FragmentProto fragment, long expiryTime, ByteString token) throws IOException {
+    if (secret == null || token == null || expiryTime < System.currentTimeMillis()) {
+      return false;
+    }
+    ByteString expected = sign(secret, sessionId, queryId, tableDesc, fragment, expiryTime);
+    // compare in constant time
+    return MessageDigest.isEqual(expected.toByteArray(), token.toByteArray());
+  }
+
+  private static byte [] serialize(String sessionId, QueryId queryId, TableDescProto tableDesc,
+                                   FragmentProto fragment, long expiryTime) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeUTF(sessionId);
+    out.writeUTF(queryId.toString());
+    byte [] tableDescBytes = tableDesc.toByteArray();
+    out.writeInt(tableDescBytes.length);
+    out.write(tableDescBytes);
+    byte [] fragmentBytes = fragment.toByteArray();
+    out.writeInt(fragmentBytes.length);
+    out.write(fragmentBytes);
+    out.writeLong(expiryTime);
+    out.close();
+    return bytes.toByteArray();
+  }
+}
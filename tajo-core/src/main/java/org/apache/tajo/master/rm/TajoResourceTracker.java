@@ -18,6 +18,7 @@
 
 package org.apache.tajo.master.rm;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.RpcCallback;
 import com.google.protobuf.RpcController;
 import org.apache.commons.logging.Log;
@@ -29,6 +30,7 @@ import org.apache.tajo.ipc.QueryCoordinatorProtocol.TajoHeartbeatResponse;
 import org.apache.tajo.ipc.TajoResourceTrackerProtocol;
 import org.apache.tajo.master.cluster.WorkerConnectionInfo;
 import org.apache.tajo.rpc.AsyncRpcServer;
+import org.apache.tajo.rpc.RpcCallObserver;
 import org.apache.tajo.util.NetUtils;
 import org.apache.tajo.util.ProtoUtil;
 
@@ -62,17 +64,21 @@ public class TajoResourceTracker extends AbstractService implements TajoResource
   private final TajoRMContext rmContext;
   /** Liveliness monitor which checks ping expiry times of workers */
   private final WorkerLivelinessMonitor workerLivelinessMonitor;
+  /** The key with which workers verify result fragments issued by the master */
+  private final ByteString resultFetchSecret;
 
   /** RPC server for worker resource tracker */
   private AsyncRpcServer server;
   /** The bind address of RPC server of worker resource tracker */
   private InetSocketAddress bindAddress;
 
-  public TajoResourceTracker(WorkerResourceManager manager, WorkerLivelinessMonitor workerLivelinessMonitor) {
+  public TajoResourceTracker(WorkerResourceManager manager, WorkerLivelinessMonitor workerLivelinessMonitor,
+                             byte [] resultFetchSecret) {
     super(TajoResourceTracker.class.getSimpleName());
     this.manager = manager;
     this.rmContext = manager.getRMContext();
     this.workerLivelinessMonitor = workerLivelinessMonitor;
+    this.resultFetchSecret = resultFetchSecret == null ? null : ByteString.copyFrom(resultFetchSecret);
   }
 
   @Override
@@ -101,6 +107,13 @@ public class TajoResourceTracker extends AbstractService implements TajoResource
     super.start();
   }
 
+  /**
+   * Set the observer which is notified of the calls served by the RPC server of this service.
+   */
+  public void setCallObserver(RpcCallObserver observer) {
+    server.setCallObserver(observer);
+  }
+
   @Override
   public void serviceStop() {
     // server can be null if some exception occurs before the rpc server starts up.
@@ -178,6 +191,11 @@ public class TajoResourceTracker extends AbstractService implements TajoResource
 
     } finally {
       builder.setClusterResourceSummary(manager.getClusterResourceSummary());
+      if (resultFetchSecret != null) {
+        builder.setResultFetchSecret(resultFetchSecret);
+      } else {
+        builder.clearResultFetchSecret();
+      }
       done.run(builder.build());
     }
   }
@@ -18,7 +18,6 @@
 
 package org.apache.tajo.master.rm;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
@@ -28,7 +27,6 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.classification.InterfaceAudience;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.service.CompositeService;
-import org.apache.hadoop.yarn.api.records.NodeId;
 import org.apache.hadoop.yarn.event.AsyncDispatcher;
 import org.apache.hadoop.yarn.event.EventHandler;
 import org.apache.tajo.QueryId;
@@ -116,7 +114,8 @@ public class TajoWorkerResourceManager extends CompositeService implements Worke
     // Register event handler for Workers
     rmContext.getDispatcher().register(WorkerEventType.class, new WorkerEventDispatcher(rmContext));
 
-    resourceTracker = new TajoResourceTracker(this, workerLivelinessMonitor);
+    resourceTracker = new TajoResourceTracker(this, workerLivelinessMonitor,
+        masterContext == null ? null : masterContext.getResultFetchSecret());
     addIfService(resourceTracker);
 
     super.serviceInit(systemConf);
@@ -181,8 +180,7 @@ public class TajoWorkerResourceManager extends CompositeService implements Worke
     return queryIdSeed;
   }
 
-  @VisibleForTesting
-  TajoResourceTracker getResourceTracker() {
+  public TajoResourceTracker getResourceTracker() {
     return resourceTracker;
   }
 
@@ -257,6 +255,7 @@ public class TajoWorkerResourceManager extends CompositeService implements Worke
     try {
       //TODO checking queue size
       requestQueue.put(new WorkerResourceRequest(new QueryId(request.getQueryId()), false, request, callBack));
+      wakeupAllocator();
     } catch (InterruptedException e) {
       LOG.error(e.getMessage(), e);
     }
@@ -284,89 +283,52 @@ public class TajoWorkerResourceManager extends CompositeService implements Worke
     float allocatedDiskSlots;
   }
 
-  private static final long QUEUE_POLLING_TIME = 100;
+  /**
+   * The maximum time for which the allocation thread sleeps without any event. Every event which can change
+   * the result of an allocation, such as a new request or a released container, wakes the thread up immediately.
+   */
+  private static final long ALLOCATION_WAIT_TIME = 1000;
+
+  /** Requests which are not satisfied yet. It is only accessed by the allocation thread. */
+  private final LinkedList<WorkerResourceRequest> pendingRequests = new LinkedList<WorkerResourceRequest>();
+
+  private final Object allocationMonitor = new Object();
+  /** guarded by allocationMonitor */
+  private boolean allocationRequired = false;
+
+  private void wakeupAllocator() {
+    synchronized (allocationMonitor) {
+      allocationRequired = true;
+      allocationMonitor.notifyAll();
+    }
+  }
 
   class WorkerResourceAllocationThread extends Thread {
     @Override
     public void run() {
       LOG.info("WorkerResourceAllocationThread start");
       while(!stopped.get()) {
-        BasicFuture<ClusterResourceSummary> future = summaryRequest.expire();
-        if (future != null) {
-          future.done(makeClusterResourceSummary());
-        }
         try {
-          WorkerResourceRequest resourceRequest = requestQueue.poll(
-              QUEUE_POLLING_TIME, TimeUnit.MILLISECONDS);
-          if (resourceRequest == null) {
-            continue;
+          BasicFuture<ClusterResourceSummary> future = summaryRequest.expire();
+          if (future != null) {
+            future.done(makeClusterResourceSummary());
           }
 
-          if (LOG.isDebugEnabled()) {
-            LOG.debug("allocateWorkerResources:" +
-              (new QueryId(resourceRequest.request.getQueryId())) +
-              ", requiredMemory:" + resourceRequest.request.getMinMemoryMBPerContainer() +
-              "~" + resourceRequest.request.getMaxMemoryMBPerContainer() +
-              ", requiredContainers:" + resourceRequest.request.getNumContainers() +
-              ", requiredDiskSlots:" + resourceRequest.request.getMinDiskSlotPerContainer() +
-              "~" + resourceRequest.request.getMaxDiskSlotPerContainer() +
-              ", queryMasterRequest=" + resourceRequest.queryMasterRequest +
-              ", liveWorkers=" + rmContext.getWorkers().size());
+          requestQueue.drainTo(pendingRequests);
+          if (!pendingRequests.isEmpty()) {
+            allocatePendingRequests();
           }
 
-          // TajoWorkerResourceManager can't return allocated disk slots occasionally.
-          // Because the rest resource request can remains after QueryMaster stops.
-          // Thus we need to find whether QueryId stopped or not.
-          if (!rmContext.getStoppedQueryIds().contains(resourceRequest.queryId)) {
-            List<AllocatedWorkerResource> allocatedWorkerResources = chooseWorkers(resourceRequest);
-
-            if(allocatedWorkerResources.size() > 0) {
-              List<WorkerAllocatedResource> allocatedResources =
-                new ArrayList<WorkerAllocatedResource>();
-
-              for(AllocatedWorkerResource allocatedResource: allocatedWorkerResources) {
-                NodeId nodeId = NodeId.newInstance(allocatedResource.worker.getConnectionInfo().getHost(),
-                  allocatedResource.worker.getConnectionInfo().getPeerRpcPort());
-
-                TajoWorkerContainerId containerId = new TajoWorkerContainerId();
-
-                containerId.setApplicationAttemptId(
-                  ApplicationIdUtils.createApplicationAttemptId(resourceRequest.queryId));
-                containerId.setId(containerIdSeq.incrementAndGet());
-
-                ContainerProtocol.TajoContainerIdProto containerIdProto = containerId.getProto();
-                allocatedResources.add(WorkerAllocatedResource.newBuilder()
-                  .setContainerId(containerIdProto)
-                  .setConnectionInfo(allocatedResource.worker.getConnectionInfo().getProto())
-                  .setAllocatedMemoryMB(allocatedResource.allocatedMemoryMB)
-                  .setAllocatedDiskSlots(allocatedResource.allocatedDiskSlots)
-                  .build());
-
-
-                allocatedResourceMap.putIfAbsent(containerIdProto, allocatedResource);
-              }
-
-              resourceRequest.callBack.run(WorkerResourceAllocationResponse.newBuilder()
-                  .setQueryId(resourceRequest.request.getQueryId())
-                  .addAllWorkerAllocatedResource(allocatedResources)
-                  .build()
-              );
-
-            } else {
-              if(LOG.isDebugEnabled()) {
-                LOG.debug("=========================================");
-                LOG.debug("Available Workers");
-                for(Worker worker: rmContext.getWorkers().values()) {
-                  LOG.debug(worker.toString());
-                }
-                LOG.debug("=========================================");
-              }
-              requestQueue.put(resourceRequest);
-              Thread.sleep(QUEUE_POLLING_TIME);
+          synchronized (allocationMonitor) {
+            if (!allocationRequired) {
+              allocationMonitor.wait(ALLOCATION_WAIT_TIME);
             }
+            allocationRequired = false;
           }
         } catch(InterruptedException ie) {
-          LOG.error(ie);
+          if (!stopped.get()) {
+            LOG.error(ie);
+          }
         } catch (Throwable t) {
           LOG.error(t, t);
         }
@@ -374,11 +336,102 @@ public class TajoWorkerResourceManager extends CompositeService implements Worke
     }
   }
 
+  /**
+   * Tries to satisfy all pending requests in one pass. The workers are indexed once for the pass, and
+   * requests which cannot get any container remain pending until resources are released.
+   */
+  private void allocatePendingRequests() {
+    WorkerResourceIndex memoryIndex = null;
+    WorkerResourceIndex diskIndex = null;
+
+    Iterator<WorkerResourceRequest> iterator = pendingRequests.iterator();
+    while (iterator.hasNext()) {
+      WorkerResourceRequest resourceRequest = iterator.next();
+
+      // TajoWorkerResourceManager can't return allocated disk slots occasionally.
+      // Because the rest resource request can remains after QueryMaster stops.
+      // Thus we need to find whether QueryId stopped or not.
+      if (rmContext.getStoppedQueryIds().contains(resourceRequest.queryId)) {
+        iterator.remove();
+        continue;
+      }
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("allocateWorkerResources:" +
+            (new QueryId(resourceRequest.request.getQueryId())) +
+            ", requiredMemory:" + resourceRequest.request.getMinMemoryMBPerContainer() +
+            "~" + resourceRequest.request.getMaxMemoryMBPerContainer() +
+            ", requiredContainers:" + resourceRequest.request.getNumContainers() +
+            ", requiredDiskSlots:" + resourceRequest.request.getMinDiskSlotPerContainer() +
+            "~" + resourceRequest.request.getMaxDiskSlotPerContainer() +
+            ", queryMasterRequest=" + resourceRequest.queryMasterRequest +
+            ", liveWorkers=" + rmContext.getWorkers().size());
+      }
+
+      WorkerResourceIndex index;
+      if (resourceRequest.request.getResourceRequestPriority() == ResourceRequestPriority.MEMORY) {
+        if (memoryIndex == null) {
+          memoryIndex = new WorkerResourceIndex(ResourceRequestPriority.MEMORY, rmContext.getWorkers().values());
+        }
+        index = memoryIndex;
+      } else {
+        if (diskIndex == null) {
+          diskIndex = new WorkerResourceIndex(ResourceRequestPriority.DISK, rmContext.getWorkers().values());
+        }
+        index = diskIndex;
+      }
+
+      List<AllocatedWorkerResource> allocatedWorkerResources = chooseWorkers(index, resourceRequest);
+      if (allocatedWorkerResources.size() > 0) {
+        iterator.remove();
+        resourceRequest.callBack.run(createAllocationResponse(resourceRequest, allocatedWorkerResources));
+      }
+    }
+
+    if (!pendingRequests.isEmpty() && LOG.isDebugEnabled()) {
+      LOG.debug("=========================================");
+      LOG.debug(pendingRequests.size() + " pending requests, Available Workers");
+      for(Worker worker: rmContext.getWorkers().values()) {
+        LOG.debug(worker.toString());
+      }
+      LOG.debug("=========================================");
+    }
+  }
+
+  private WorkerResourceAllocationResponse createAllocationResponse(
+      WorkerResourceRequest resourceRequest, List<AllocatedWorkerResource> allocatedWorkerResources) {
+    List<WorkerAllocatedResource> allocatedResources = new ArrayList<WorkerAllocatedResource>();
+
+    for(AllocatedWorkerResource allocatedResource: allocatedWorkerResources) {
+      TajoWorkerContainerId containerId = new TajoWorkerContainerId();
+
+      containerId.setApplicationAttemptId(
+          ApplicationIdUtils.createApplicationAttemptId(resourceRequest.queryId));
+      containerId.setId(containerIdSeq.incrementAndGet());
+
+      ContainerProtocol.TajoContainerIdProto containerIdProto = containerId.getProto();
+      allocatedResources.add(WorkerAllocatedResource.newBuilder()
+          .setContainerId(containerIdProto)
+          .setConnectionInfo(allocatedResource.worker.getConnectionInfo().getProto())
+          .setAllocatedMemoryMB(allocatedResource.allocatedMemoryMB)
+          .setAllocatedDiskSlots(allocatedResource.allocatedDiskSlots)
+          .build());
+
+      allocatedResourceMap.putIfAbsent(containerIdProto, allocatedResource);
+    }
+
+    return WorkerResourceAllocationResponse.newBuilder()
+        .setQueryId(resourceRequest.request.getQueryId())
+        .addAllWorkerAllocatedResource(allocatedResources)
+        .build();
+  }
+
   private static final long MAX_WAIT_TIME = 10000;
 
   public ClusterResourceSummary getClusterResourceSummary() {
     BasicFuture<ClusterResourceSummary> future =
         summaryRequest.check(new BasicFuture<ClusterResourceSummary>());
+    wakeupAllocator();
     try {
       return future.get(MAX_WAIT_TIME, TimeUnit.MILLISECONDS);
     } catch (Exception e) {
@@ -422,146 +475,134 @@ public class TajoWorkerResourceManager extends CompositeService implements Worke
         .build();
   }
 
-  private List<AllocatedWorkerResource> chooseWorkers(WorkerResourceRequest resourceRequest) {
+  private List<AllocatedWorkerResource> chooseWorkers(WorkerResourceIndex index,
+                                                      WorkerResourceRequest resourceRequest) {
     List<AllocatedWorkerResource> selectedWorkers = new ArrayList<AllocatedWorkerResource>();
+    WorkerResourceAllocationRequest request = resourceRequest.request;
+    int numContainers = request.getNumContainers();
+
+    if(index.getPriority() == ResourceRequestPriority.MEMORY) {
+      int minMemoryMB = request.getMinMemoryMBPerContainer();
+      int maxMemoryMB = request.getMaxMemoryMBPerContainer();
+      float diskSlot = Math.max(request.getMaxDiskSlotPerContainer(), request.getMinDiskSlotPerContainer());
+
+      // The worker with the most available memory is always taken first. So, containers get the maximum
+      // memory as long as any worker can afford it, and then they get the rest memory of each worker.
+      while (selectedWorkers.size() < numContainers) {
+        Worker worker = index.poll(minMemoryMB);
+        if (worker == null) {
+          break;
+        }
 
-    int allocatedResources = 0;
-
-    ResourceRequestPriority resourceRequestPriority
-      = resourceRequest.request.getResourceRequestPriority();
-
-    List<Worker> randomWorkers = new ArrayList<Worker>(rmContext.getWorkers().values());
-    Collections.shuffle(randomWorkers);
-
-    if(resourceRequestPriority == ResourceRequestPriority.MEMORY) {
+        WorkerResource workerResource = worker.getResource();
+        AllocatedWorkerResource allocatedWorkerResource = new AllocatedWorkerResource();
+        allocatedWorkerResource.worker = worker;
+        allocatedWorkerResource.allocatedMemoryMB = Math.min(workerResource.getAvailableMemoryMB(), maxMemoryMB);
+        allocatedWorkerResource.allocatedDiskSlots = Math.min(workerResource.getAvailableDiskSlots(), diskSlot);
 
-      int numContainers = resourceRequest.request.getNumContainers();
-      int minMemoryMB = resourceRequest.request.getMinMemoryMBPerContainer();
-      int maxMemoryMB = resourceRequest.request.getMaxMemoryMBPerContainer();
-      float diskSlot = Math.max(resourceRequest.request.getMaxDiskSlotPerContainer(),
-          resourceRequest.request.getMinDiskSlotPerContainer());
+        workerResource.allocateResource(allocatedWorkerResource.allocatedDiskSlots,
+            allocatedWorkerResource.allocatedMemoryMB);
+        selectedWorkers.add(allocatedWorkerResource);
+        index.offer(worker);
+      }
+    } else {
+      float minDiskSlots = request.getMinDiskSlotPerContainer();
+      float maxDiskSlots = request.getMaxDiskSlotPerContainer();
+      int memoryMB = Math.max(request.getMaxMemoryMBPerContainer(), request.getMinMemoryMBPerContainer());
 
-      int liveWorkerSize = randomWorkers.size();
-      Set<Integer> insufficientWorkers = new HashSet<Integer>();
-      boolean stop = false;
-      boolean checkMax = true;
-      while(!stop) {
-        if(allocatedResources >= numContainers) {
+      while (selectedWorkers.size() < numContainers) {
+        Worker worker = index.poll(minDiskSlots);
+        if (worker == null) {
           break;
         }
 
-        if(insufficientWorkers.size() >= liveWorkerSize) {
-          if(!checkMax) {
-            break;
-          }
-          insufficientWorkers.clear();
-          checkMax = false;
-        }
-        int compareAvailableMemory = checkMax ? maxMemoryMB : minMemoryMB;
+        WorkerResource workerResource = worker.getResource();
+        AllocatedWorkerResource allocatedWorkerResource = new AllocatedWorkerResource();
+        allocatedWorkerResource.worker = worker;
+        allocatedWorkerResource.allocatedDiskSlots = Math.min(workerResource.getAvailableDiskSlots(), maxDiskSlots);
+        allocatedWorkerResource.allocatedMemoryMB = Math.min(workerResource.getAvailableMemoryMB(), memoryMB);
 
-        for(Worker worker: randomWorkers) {
-          if(allocatedResources >= numContainers) {
-            stop = true;
-            break;
-          }
+        workerResource.allocateResource(allocatedWorkerResource.allocatedDiskSlots,
+            allocatedWorkerResource.allocatedMemoryMB);
+        selectedWorkers.add(allocatedWorkerResource);
+        index.offer(worker);
+      }
+    }
+    return selectedWorkers;
+  }
 
-          if(insufficientWorkers.size() >= liveWorkerSize) {
-            break;
-          }
+  /**
+   * A max-heap of workers ordered by their available memory or available disk slots.
+   *
+   * Each entry keeps the amount of resource at the time when it is inserted. If the resource of a worker
+   * has been changed since then (e.g., by an allocation with a different priority or by a release),
+   * the entry is re-inserted with the current amount when it reaches the top.
+   */
+  private static class WorkerResourceIndex {
+    private final ResourceRequestPriority priority;
+    private final PriorityQueue<IndexEntry> heap;
+
+    WorkerResourceIndex(ResourceRequestPriority priority, Collection<Worker> workers) {
+      this.priority = priority;
+      this.heap = new PriorityQueue<IndexEntry>(Math.max(1, workers.size()));
+      for (Worker worker : workers) {
+        offer(worker);
+      }
+    }
 
-          WorkerResource workerResource = worker.getResource();
-          if(workerResource.getAvailableMemoryMB() >= compareAvailableMemory) {
-            int workerMemory;
-            if(workerResource.getAvailableMemoryMB() >= maxMemoryMB) {
-              workerMemory = maxMemoryMB;
-            } else {
-              workerMemory = workerResource.getAvailableMemoryMB();
-            }
-            AllocatedWorkerResource allocatedWorkerResource = new AllocatedWorkerResource();
-            allocatedWorkerResource.worker = worker;
-            allocatedWorkerResource.allocatedMemoryMB = workerMemory;
-            if(workerResource.getAvailableDiskSlots() >= diskSlot) {
-              allocatedWorkerResource.allocatedDiskSlots = diskSlot;
-            } else {
-              allocatedWorkerResource.allocatedDiskSlots = workerResource.getAvailableDiskSlots();
-            }
+    ResourceRequestPriority getPriority() {
+      return priority;
+    }
 
-            workerResource.allocateResource(allocatedWorkerResource.allocatedDiskSlots,
-                allocatedWorkerResource.allocatedMemoryMB);
+    private float getAvailable(Worker worker) {
+      if (priority == ResourceRequestPriority.MEMORY) {
+        return worker.getResource().getAvailableMemoryMB();
+      } else {
+        return worker.getResource().getAvailableDiskSlots();
+      }
+    }
 
-            selectedWorkers.add(allocatedWorkerResource);
+    void offer(Worker worker) {
+      heap.offer(new IndexEntry(worker, getAvailable(worker)));
+    }
 
-            allocatedResources++;
-          } else {
-            insufficientWorkers.add(worker.getWorkerId());
-          }
-        }
-      }
-    } else {
-      int numContainers = resourceRequest.request.getNumContainers();
-      float minDiskSlots = resourceRequest.request.getMinDiskSlotPerContainer();
-      float maxDiskSlots = resourceRequest.request.getMaxDiskSlotPerContainer();
-      int memoryMB = Math.max(resourceRequest.request.getMaxMemoryMBPerContainer(),
-          resourceRequest.request.getMinMemoryMBPerContainer());
-
-      int liveWorkerSize = randomWorkers.size();
-      Set<Integer> insufficientWorkers = new HashSet<Integer>();
-      boolean stop = false;
-      boolean checkMax = true;
-      while(!stop) {
-        if(allocatedResources >= numContainers) {
-          break;
+    /**
+     * Removes and returns the worker which has the most available resource if it is at least the given amount.
+     * Otherwise, it returns null and no worker is removed.
+     */
+    Worker poll(float minimum) {
+      while (!heap.isEmpty()) {
+        IndexEntry top = heap.peek();
+        float available = getAvailable(top.worker);
+
+        if (available != top.available) { // outdated
+          heap.poll();
+          heap.offer(new IndexEntry(top.worker, available));
+          continue;
         }
 
-        if(insufficientWorkers.size() >= liveWorkerSize) {
-          if(!checkMax) {
-            break;
-          }
-          insufficientWorkers.clear();
-          checkMax = false;
+        if (available < minimum) {
+          return null;
         }
-        float compareAvailableDisk = checkMax ? maxDiskSlots : minDiskSlots;
-
-        for(Worker worker: randomWorkers) {
-          if(allocatedResources >= numContainers) {
-            stop = true;
-            break;
-          }
-
-          if(insufficientWorkers.size() >= liveWorkerSize) {
-            break;
-          }
+        return heap.poll().worker;
+      }
+      return null;
+    }
 
-          WorkerResource workerResource = worker.getResource();
-          if(workerResource.getAvailableDiskSlots() >= compareAvailableDisk) {
-            float workerDiskSlots;
-            if(workerResource.getAvailableDiskSlots() >= maxDiskSlots) {
-              workerDiskSlots = maxDiskSlots;
-            } else {
-              workerDiskSlots = workerResource.getAvailableDiskSlots();
-            }
-            AllocatedWorkerResource allocatedWorkerResource = new AllocatedWorkerResource();
-            allocatedWorkerResource.worker = worker;
-            allocatedWorkerResource.allocatedDiskSlots = workerDiskSlots;
-
-            if(workerResource.getAvailableMemoryMB() >= memoryMB) {
-              allocatedWorkerResource.allocatedMemoryMB = memoryMB;
-            } else {
-              allocatedWorkerResource.allocatedMemoryMB = workerResource.getAvailableMemoryMB();
-            }
-            workerResource.allocateResource(allocatedWorkerResource.allocatedDiskSlots,
-                allocatedWorkerResource.allocatedMemoryMB);
+    private static class IndexEntry implements Comparable<IndexEntry> {
+      final Worker worker;
+      final float available;
 
-            selectedWorkers.add(allocatedWorkerResource);
+      IndexEntry(Worker worker, float available) {
+        this.worker = worker;
+        this.available = available;
+      }
 
-            allocatedResources++;
-          } else {
-            insufficientWorkers.add(worker.getWorkerId());
-          }
-        }
+      @Override
+      public int compareTo(IndexEntry o) {
+        return Float.compare(o.available, available);
       }
     }
-    return selectedWorkers;
   }
 
   /**
@@ -575,6 +616,7 @@ public class TajoWorkerResourceManager extends CompositeService implements Worke
     if(allocated != null) {
       LOG.info("Release Resource: " + allocated.allocatedDiskSlots + "," + allocated.allocatedMemoryMB);
       allocated.worker.getResource().releaseResource( allocated.allocatedDiskSlots, allocated.allocatedMemoryMB);
+      wakeupAllocator();
     } else {
       LOG.warn("No AllocatedWorkerResource data for [" + containerId + "]");
       return;
@@ -0,0 +1,337 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master.scheduler;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.tajo.QueryId;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.ipc.QueryCoordinatorProtocol.ClusterResourceSummary;
+import org.apache.tajo.master.QueryInProgress;
+import org.apache.tajo.master.QueryManager;
+import org.apache.tajo.master.rm.WorkerResourceManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * FairScheduler runs queries from multiple weighted queues concurrently.
+ *
+ * A query is submitted to the queue given by the session variable QUERY_QUEUE. If it is not set, the queue
+ * named after the user is used if it exists, and otherwise the 'default' queue is used. Whenever the cluster
+ * has enough available resources for a new query, the scheduler picks the queue with the lowest ratio of
+ * running queries to its weight among queues which have pending queries and have not reached their
+ * maximum number of running queries. Queries within a queue are started in FIFO order.
+ *
+ * Each queue is configured in tajo-site.xml as follows:
+ * <ul>
+ *   <li>tajo.master.scheduler.fair.queues - comma-separated queue names</li>
+ *   <li>tajo.master.scheduler.fair.queue.[name].weight - the weight of the queue (default: 1.0)</li>
+ *   <li>tajo.master.scheduler.fair.queue.[name].max-running - the maximum number of running queries
+ *   (default: unlimited)</li>
+ * </ul>
+ */
+public class FairScheduler implements Scheduler {
+  private static final Log LOG = LogFactory.getLog(FairScheduler.class.getName());
+
+  public static final String DEFAULT_QUEUE_NAME = "default";
+  public static final String QUEUE_KEY_PREFIX = "tajo.master.scheduler.fair.queue.";
+  public static final String QUEUE_WEIGHT_KEY_SUFFIX = ".weight";
+  public static final String QUEUE_MAX_RUNNING_KEY_SUFFIX = ".max-running";
+
+  private final Map<String, QueryQueue> queues = new LinkedHashMap<String, QueryQueue>();
+  private final Map<QueryId, QueryQueue> pendingQueries = new HashMap<QueryId, QueryQueue>();
+  private final Thread queryProcessor;
+  private AtomicBoolean stopped = new AtomicBoolean();
+  private final QueryManager manager;
+  private final WorkerResourceManager resourceManager;
+
+  /** the memory required to start a new query, which consists of a query master and at least one task */
+  private final int minQueryMemoryMB;
+
+  public FairScheduler(QueryManager manager) {
+    this(manager, manager.getMasterContext().getConf(), manager.getMasterContext().getResourceManager());
+  }
+
+  @VisibleForTesting
+  FairScheduler(QueryManager manager, TajoConf conf, WorkerResourceManager resourceManager) {
+    this.manager = manager;
+    this.resourceManager = resourceManager;
+    this.minQueryMemoryMB = conf.getIntVar(ConfVars.TAJO_QUERYMASTER_MEMORY_MB) +
+        conf.getIntVar(ConfVars.TASK_DEFAULT_MEMORY);
+
+    initQueues(conf);
+
+    this.queryProcessor = new Thread(new QueryProcessor());
+    this.queryProcessor.setName("Query Processor");
+  }
+
+  private void initQueues(TajoConf conf) {
+    queues.put(DEFAULT_QUEUE_NAME, createQueue(conf, DEFAULT_QUEUE_NAME));
+
+    for (String queueName : conf.getTrimmedStrings(ConfVars.SCHEDULER_FAIR_QUEUES.varname)) {
+      if (!queues.containsKey(queueName)) {
+        queues.put(queueName, createQueue(conf, queueName));
+      }
+    }
+
+    for (QueryQueue queue : queues.values()) {
+      LOG.info("Query queue " + queue);
+    }
+  }
+
+  private static QueryQueue createQueue(TajoConf conf, String queueName) {
+    float weight = conf.getFloat(QUEUE_KEY_PREFIX + queueName + QUEUE_WEIGHT_KEY_SUFFIX, 1.0f);
+    int maxRunning = conf.getInt(QUEUE_KEY_PREFIX + queueName + QUEUE_MAX_RUNNING_KEY_SUFFIX, Integer.MAX_VALUE);
+    if (weight <= 0) {
+      throw new IllegalArgumentException("The weight of query queue '" + queueName + "' must be positive.");
+    }
+    if (maxRunning < 1) {
+      throw new IllegalArgumentException("The max-running of query queue '" + queueName + "' must be positive.");
+    }
+    return new QueryQueue(queueName, weight, maxRunning);
+  }
+
+  @Override
+  public Mode getMode() {
+    return Mode.FAIR;
+  }
+
+  @Override
+  public String getName() {
+    return manager.getName();
+  }
+
+  @Override
+  public boolean addQuery(QueryInProgress queryInProgress) {
+    QueryQueue queue = selectQueue(queryInProgress.getQueryInfo().getQueryContext());
+    QuerySchedulingInfo querySchedulingInfo = new QuerySchedulingInfo(queryInProgress.getQueryId(), 1,
+        queryInProgress.getQueryInfo().getStartTime());
+
+    synchronized (this) {
+      queue.pending.add(querySchedulingInfo);
+      pendingQueries.put(queryInProgress.getQueryId(), queue);
+    }
+
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(queryInProgress.getQueryId() + " is added to " + queue);
+    }
+    wakeupProcessor();
+    return true;
+  }
+
+  /**
+   * Finds the queue for a query from the session variable QUERY_QUEUE and the user name.
+   */
+  @VisibleForTesting
+  QueryQueue selectQueue(QueryContext queryContext) {
+    String queueName = queryContext.get(SessionVars.QUERY_QUEUE);
+    if (queueName != null && !queueName.isEmpty()) {
+      if (queues.containsKey(queueName)) {
+        return queues.get(queueName);
+      }
+      LOG.warn("No such query queue '" + queueName + "'. The query is submitted to the default queue.");
+    }
+
+    String userName = queryContext.get(SessionVars.USERNAME);
+    if (userName != null && queues.containsKey(userName)) {
+      return queues.get(userName);
+    }
+    return queues.get(DEFAULT_QUEUE_NAME);
+  }
+
+  @Override
+  public synchronized boolean removeQuery(QueryId queryId) {
+    QueryQueue queue = pendingQueries.remove(queryId);
+    if (queue == null) {
+      return false;
+    }
+
+    for (Iterator<QuerySchedulingInfo> it = queue.pending.iterator(); it.hasNext();) {
+      if (it.next().getQueryId().equals(queryId)) {
+        it.remove();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public List<QueryInProgress> getRunningQueries() {
+    return new ArrayList<QueryInProgress>(manager.getRunningQueries());
+  }
+
+  @Override
+  public void start() {
+    queryProcessor.start();
+  }
+
+  @Override
+  public void stop() {
+    if (stopped.getAndSet(true)) {
+      return;
+    }
+
+    synchronized (this) {
+      for (QueryQueue queue : queues.values()) {
+        queue.pending.clear();
+      }
+      pendingQueries.clear();
+    }
+
+    synchronized (queryProcessor) {
+      queryProcessor.interrupt();
+    }
+  }
+
+  /**
+   * Takes the next query to be started, or returns null if every queue is either empty or full.
+   * It also refreshes the running queries of each queue.
+   */
+  @VisibleForTesting
+  synchronized QuerySchedulingInfo pollScheduledQuery() {
+    Set<QueryId> runningQueryIds = new HashSet<QueryId>();
+    for (QueryInProgress eachQuery : manager.getRunningQueries()) {
+      runningQueryIds.add(eachQuery.getQueryId());
+    }
+
+    QueryQueue selected = null;
+    for (QueryQueue queue : queues.values()) {
+      queue.running.retainAll(runningQueryIds);
+
+      if (queue.pending.isEmpty() || queue.running.size() >= queue.maxRunning) {
+        continue;
+      }
+
+      if (selected == null || queue.getRunningShare() < selected.getRunningShare()) {
+        selected = queue;
+      }
+    }
+
+    if (selected == null) {
+      return null;
+    }
+
+    QuerySchedulingInfo query = selected.poll();
+    pendingQueries.remove(query.getQueryId());
+    selected.running.add(query.getQueryId());
+    return query;
+  }
+
+  private synchronized boolean hasPendingQuery() {
+    return !pendingQueries.isEmpty();
+  }
+
+  /**
+   * A new query is admitted only if the cluster can afford a query master and at least one task.
+   * If no query is running, a query is always admitted so that a small cluster cannot stall.
+   */
+  private boolean isResourceAvailable() {
+    if (manager.getRunningQueries().isEmpty()) {
+      return true;
+    }
+
+    ClusterResourceSummary summary = resourceManager.getClusterResourceSummary();
+    if (summary == null) {
+      return false;
+    }
+    return summary.getTotalAvailableMemoryMB() >= minQueryMemoryMB;
+  }
+
+  private void wakeupProcessor() {
+    synchronized (queryProcessor) {
+      queryProcessor.notifyAll();
+    }
+  }
+
+  private final class QueryProcessor implements Runnable {
+    @Override
+    public void run() {
+
+      QuerySchedulingInfo query;
+
+      while (!stopped.get() && !Thread.currentThread().isInterrupted()) {
+        query = null;
+        if (hasPendingQuery() && isResourceAvailable()) {
+          query = pollScheduledQuery();
+        }
+
+        if (query != null) {
+          try {
+            manager.startQueryJob(query.getQueryId());
+          } catch (Throwable t) {
+            LOG.fatal("Exception during query startup:", t);
+            manager.stopQuery(query.getQueryId());
+          }
+          // try to start other pending queries as long as resources are available
+          continue;
+        }
+
+        synchronized (queryProcessor) {
+          try {
+            queryProcessor.wait(500);
+          } catch (InterruptedException e) {
+            if (stopped.get()) {
+              break;
+            }
+            LOG.warn("Exception during shutdown: ", e);
+          }
+        }
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static class QueryQueue {
+    private static final Comparator<QuerySchedulingInfo> COMPARATOR = new SchedulingAlgorithms.FifoComparator();
+
+    final String name;
+    final float weight;
+    final int maxRunning;
+    final LinkedList<QuerySchedulingInfo> pending = new LinkedList<QuerySchedulingInfo>();
+    final Set<QueryId> running = new HashSet<QueryId>();
+
+    QueryQueue(String name, float weight, int maxRunning) {
+      this.name = name;
+      this.weight = weight;
+      this.maxRunning = maxRunning;
+    }
+
+    float getRunningShare() {
+      return running.size() / weight;
+    }
+
+    QuerySchedulingInfo poll() {
+      if (pending.size() > 1) {
+        Collections.sort(pending, COMPARATOR);
+      }
+      return pending.poll();
+    }
+
+    @Override
+    public String toString() {
+      return "(name=" + name + ", weight=" + weight + ", max-running=" + maxRunning + ", pending=" + pending.size()
+          + ", running=" + running.size() + ")";
+    }
+  }
+}
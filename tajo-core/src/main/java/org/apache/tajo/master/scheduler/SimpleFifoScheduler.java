@@ -84,10 +84,12 @@ public class SimpleFifoScheduler implements Scheduler {
     return new ArrayList<QueryInProgress>(manager.getRunningQueries());
   }
 
+  @Override
   public void start() {
     queryProcessor.start();
   }
 
+  @Override
   public void stop() {
     if (stopped.getAndSet(true)) {
       return;
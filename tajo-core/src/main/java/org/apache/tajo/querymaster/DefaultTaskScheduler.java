@@ -18,6 +18,7 @@
 
 package org.apache.tajo.querymaster;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.apache.commons.logging.Log;
@@ -29,6 +30,7 @@ import org.apache.hadoop.yarn.util.RackResolver;
 import org.apache.tajo.ExecutionBlockId;
 import org.apache.tajo.QueryIdFactory;
 import org.apache.tajo.TaskAttemptId;
+import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.engine.planner.global.ExecutionBlock;
 import org.apache.tajo.engine.planner.global.MasterPlan;
 import org.apache.tajo.engine.query.TaskRequest;
@@ -51,6 +53,7 @@ import org.apache.tajo.worker.FetchImpl;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -71,6 +74,11 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
   private int nextTaskId = 0;
   private int scheduledObjectNum = 0;
 
+  /** how long a task runner waits for a local task before it takes a rack-local task (in milliseconds) */
+  private long localityDelay;
+  /** the maximum number of task runners which read a known disk volume at the same time. 0 means unlimited. */
+  private int maxVolumeConcurrency;
+
   public DefaultTaskScheduler(TaskSchedulerContext context, Stage stage) {
     super(DefaultTaskScheduler.class.getName());
     this.context = context;
@@ -83,6 +91,11 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
     scheduledRequests = new ScheduledRequests();
     taskRequests  = new TaskRequests();
 
+    TajoConf tajoConf = context.getMasterContext().getConf();
+    localityDelay = tajoConf.getTimeVar(TajoConf.ConfVars.QUERYMASTER_TASK_SCHEDULER_LOCALITY_DELAY,
+        TimeUnit.MILLISECONDS);
+    maxVolumeConcurrency = tajoConf.getIntVar(TajoConf.ConfVars.QUERYMASTER_TASK_SCHEDULER_VOLUME_MAX_CONCURRENCY);
+
     super.init(conf);
   }
 
@@ -271,6 +284,43 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
     return scheduledObjectNum;
   }
 
+  /**
+   * Records how long a task attempt waited in this scheduler, from when it was queued until it is assigned to
+   * a task runner.
+   */
+  private void recordTaskQueueDelay(TaskAttempt attempt) {
+    if (attempt != null && attempt.getScheduledTime() > 0) {
+      long delay = System.currentTimeMillis() - attempt.getScheduledTime();
+      context.getMasterContext().getQueryMasterContext().getWorkerContext().getEngineMetrics()
+          .recordTaskQueueDelay(TimeUnit.MILLISECONDS.toNanos(delay));
+    }
+  }
+
+  @VisibleForTesting
+  HostVolumeMapping getHostVolumeMapping(String host) {
+    return scheduledRequests.leafTaskHostMapping.get(host);
+  }
+
+  /**
+   * Returns the widest locality level allowed for a task runner of the given host which cannot get a local task.
+   * The host becomes active as if the task runner requested a task.
+   */
+  @VisibleForTesting
+  int getAllowedLocality(String host, TajoContainerId containerId, long now) {
+    scheduledRequests.activeHosts.add(host);
+    return scheduledRequests.getAllowedLocality(containerId, now);
+  }
+
+  @VisibleForTesting
+  TaskAttemptId allocateLocalTask(String host, TajoContainerId containerId) {
+    return scheduledRequests.allocateLocalTask(host, containerId);
+  }
+
+  @VisibleForTesting
+  TaskAttemptId allocateAnyTask(String host) {
+    return scheduledRequests.allocateAnyTask(host);
+  }
+
   private class TaskRequests implements EventHandler<TaskRequestEvent> {
     private final LinkedBlockingQueue<TaskRequestEvent> taskRequestQueue =
         new LinkedBlockingQueue<TaskRequestEvent>();
@@ -334,6 +384,13 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
    * <ul>
    *   <li>HDFS-3672 (https://issues.apache.org/jira/browse/HDFS-3672).</li>
    * </ul>
+   *
+   * <h3>Volume concurrency</h3>
+   * If the number of task runners assigned to a known volume (i.e., volume id >= 0) reaches
+   * <code>tajo.qm.task-scheduler.volume.max-concurrency</code>, no more task runner is assigned to the volume.
+   * A new task runner of the host waits for a while instead of reading the busy disk, and then it may take
+   * a remote task. Busy volumes do not count as local work for the delay, and a task in a busy volume is never
+   * given to another task runner of the same host.
    */
   public class HostVolumeMapping {
     private final String host;
@@ -388,6 +445,10 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
       TaskAttemptId taskAttemptId = null;
 
       if (!lastAssignedVolumeId.containsKey(containerId)) {
+        if (isVolumeBusy(getLowestVolumeId())) {
+          // all disk volumes of this host are busy
+          return null;
+        }
         volumeId = getLowestVolumeId();
         increaseConcurrency(containerId, volumeId);
       } else {
@@ -409,6 +470,9 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
           if (taskAttemptId == null) {
             //reassign next volume
             volumeId = getLowestVolumeId();
+            if (isVolumeBusy(volumeId)) {
+              break;
+            }
             increaseConcurrency(containerId, volumeId);
             retry--;
           } else {
@@ -421,6 +485,37 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
       return taskAttemptId;
     }
 
+    /**
+     * Returns true if this host has a remaining local task in a disk volume which is not busy.
+     */
+    public synchronized boolean hasAvailableLocalTask() {
+      synchronized (unassignedTaskForEachVolume) {
+        for (Map.Entry<Integer, LinkedHashSet<TaskAttempt>> entry : unassignedTaskForEachVolume.entrySet()) {
+          if (!entry.getValue().isEmpty() && !isVolumeBusy(entry.getKey())) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Returns the remaining tasks which reside in busy disk volumes of this host.
+     */
+    public synchronized Set<TaskAttemptId> getTasksInBusyVolumes() {
+      Set<TaskAttemptId> tasks = new HashSet<TaskAttemptId>();
+      synchronized (unassignedTaskForEachVolume) {
+        for (Map.Entry<Integer, LinkedHashSet<TaskAttempt>> entry : unassignedTaskForEachVolume.entrySet()) {
+          if (isVolumeBusy(entry.getKey())) {
+            for (TaskAttempt taskAttempt : entry.getValue()) {
+              tasks.add(taskAttempt.getId());
+            }
+          }
+        }
+      }
+      return tasks;
+    }
+
     public synchronized TaskAttemptId getTaskAttemptIdByRack(String rack) {
       TaskAttemptId taskAttemptId = null;
 
@@ -545,7 +640,11 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
       for (Map.Entry<Integer, Integer> entry : diskVolumeLoads.entrySet()) {
         if(volumeEntry == null) volumeEntry = entry;
 
-        if (volumeEntry.getValue() >= entry.getValue()) {
+        // a volume which is not busy always precedes busy volumes
+        boolean busy = isVolumeBusy(entry.getKey());
+        if (busy != isVolumeBusy(volumeEntry.getKey())) {
+          if (!busy) volumeEntry = entry;
+        } else if (volumeEntry.getValue() >= entry.getValue()) {
           volumeEntry = entry;
         }
       }
@@ -557,6 +656,13 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
       }
     }
 
+    /**
+     * Returns true if the given volume is a known disk volume which already reaches the maximum concurrency.
+     */
+    public boolean isVolumeBusy(int volumeId) {
+      return maxVolumeConcurrency > 0 && volumeId > -1 && getVolumeConcurrency(volumeId) >= maxVolumeConcurrency;
+    }
+
     public boolean isAssigned(TajoContainerId containerId){
       return lastAssignedVolumeId.containsKey(containerId);
     }
@@ -594,6 +700,10 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
     }
   }
 
+  static final int LOCALITY_HOST = 0;
+  static final int LOCALITY_RACK = 1;
+  static final int LOCALITY_ANY = 2;
+
   private class ScheduledRequests {
     // two list leafTasks and nonLeafTasks keep all tasks to be scheduled. Even though some task is included in
     // leafTaskHostMapping or leafTasksRackMapping, some task T will not be sent to a task runner
@@ -603,6 +713,12 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
     private Map<String, HostVolumeMapping> leafTaskHostMapping = Maps.newConcurrentMap();
     private final Map<String, HashSet<TaskAttemptId>> leafTasksRackMapping = Maps.newConcurrentMap();
 
+    // for delay scheduling. They are only accessed by the scheduling thread.
+    /** hosts of task runners which have requested leaf tasks */
+    private final Set<String> activeHosts = new HashSet<String>();
+    /** the time when each task runner began to wait for a local task */
+    private final Map<TajoContainerId, Long> localityWaitStartTimes = new HashMap<TajoContainerId, Long>();
+
     private synchronized void addLeafTask(TaskAttemptToSchedulerEvent event) {
       TaskAttempt taskAttempt = event.getTaskAttempt();
       List<DataLocation> locations = taskAttempt.getTask().getDataLocations();
@@ -652,6 +768,45 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
 
     public Set<TaskAttemptId> assignedRequest = new HashSet<TaskAttemptId>();
 
+    /**
+     * Delay scheduling: a task runner which cannot get a local task does not take a task local to another
+     * active host immediately. It waits for the locality delay, then it can take a rack-local task, and after
+     * twice the delay it can take any task. If no active host has remaining local tasks in volumes which are
+     * not busy, waiting is useless.
+     *
+     * @return the widest locality level allowed for the task runner
+     */
+    private int getAllowedLocality(TajoContainerId containerId, long now) {
+      if (localityDelay <= 0 || !hasLocalTasksForActiveHosts()) {
+        return LOCALITY_ANY;
+      }
+
+      Long startTime = localityWaitStartTimes.get(containerId);
+      if (startTime == null) {
+        startTime = now;
+        localityWaitStartTimes.put(containerId, startTime);
+      }
+
+      long waitTime = now - startTime;
+      if (waitTime < localityDelay) {
+        return LOCALITY_HOST;
+      } else if (waitTime < localityDelay * 2) {
+        return LOCALITY_RACK;
+      } else {
+        return LOCALITY_ANY;
+      }
+    }
+
+    private boolean hasLocalTasksForActiveHosts() {
+      for (String activeHost : activeHosts) {
+        HostVolumeMapping hostVolumeMapping = leafTaskHostMapping.get(activeHost);
+        if (hostVolumeMapping != null && hostVolumeMapping.hasAvailableLocalTask()) {
+          return true;
+        }
+      }
+      return false;
+    }
+
     private TaskAttemptId allocateLocalTask(String host, TajoContainerId containerId){
       HostVolumeMapping hostVolumeMapping = leafTaskHostMapping.get(host);
 
@@ -677,6 +832,7 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
 
       List<HostVolumeMapping> remainingTasks = Lists.newArrayList(leafTaskHostMapping.values());
       String rack = RackResolver.resolve(host).getNetworkLocation();
+      Set<TaskAttemptId> tasksInBusyVolumes = getTasksInBusyVolumes(host);
       TaskAttemptId attemptId = null;
 
       if (remainingTasks.size() > 0) {
@@ -698,12 +854,15 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
         }
 
         for (HostVolumeMapping tasks : remainingTasks) {
+          // local tasks of the host itself were not given by allocateLocalTask()
+          if (tasks.getHost().equals(host)) continue;
+
           for (int i = 0; i < tasks.getRemainingLocalTaskSize(); i++) {
             TaskAttemptId tId = tasks.getTaskAttemptIdByRack(rack);
 
             if (tId == null) break;
 
-            if (leafTasks.contains(tId)) {
+            if (leafTasks.contains(tId) && !tasksInBusyVolumes.contains(tId)) {
               leafTasks.remove(tId);
               attemptId = tId;
               break;
@@ -721,6 +880,10 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
             Iterator<TaskAttemptId> iterator = list.iterator();
             while (iterator.hasNext()) {
               TaskAttemptId tId = iterator.next();
+              if (tasksInBusyVolumes.contains(tId)) {
+                // keep it for a task runner which does not read the busy volume
+                continue;
+              }
               iterator.remove();
               if (leafTasks.contains(tId)) {
                 leafTasks.remove(tId);
@@ -736,17 +899,55 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
         rackLocalAssigned++;
         totalAssigned++;
 
-        LOG.info(String.format("Assigned Local/Rack/Total: (%d/%d/%d), Locality: %.2f%%, Rack host: %s",
-            hostLocalAssigned, rackLocalAssigned, totalAssigned,
+        LOG.info(String.format("Assigned Local/Rack/Remote/Total: (%d/%d/%d/%d), Locality: %.2f%%, Rack host: %s",
+            hostLocalAssigned, rackLocalAssigned, remoteAssigned, totalAssigned,
             ((double) hostLocalAssigned / (double) totalAssigned) * 100, host));
 
       }
       return attemptId;
     }
 
+    /**
+     * Takes any remaining task except tasks which reside in busy disk volumes of the given host.
+     */
+    private TaskAttemptId allocateAnyTask(String host) {
+      Set<TaskAttemptId> tasksInBusyVolumes = getTasksInBusyVolumes(host);
+      TaskAttemptId attemptId = null;
+
+      synchronized (leafTasks) {
+        for (TaskAttemptId tId : leafTasks) {
+          if (!tasksInBusyVolumes.contains(tId)) {
+            attemptId = tId;
+            break;
+          }
+        }
+
+        if (attemptId != null) {
+          leafTasks.remove(attemptId);
+          remoteAssigned++;
+          totalAssigned++;
+          LOG.info(String.format("Assigned Local/Rack/Remote/Total: (%d/%d/%d/%d), Locality: %.2f%%,",
+              hostLocalAssigned, rackLocalAssigned, remoteAssigned, totalAssigned,
+              ((double) hostLocalAssigned / (double) totalAssigned) * 100));
+        }
+      }
+      return attemptId;
+    }
+
+    private Set<TaskAttemptId> getTasksInBusyVolumes(String host) {
+      HostVolumeMapping hostVolumeMapping = leafTaskHostMapping.get(host);
+      if (hostVolumeMapping == null) {
+        return Collections.emptySet();
+      }
+      return hostVolumeMapping.getTasksInBusyVolumes();
+    }
+
     public void assignToLeafTasks(LinkedList<TaskRequestEvent> taskRequests) {
       Collections.shuffle(taskRequests);
       LinkedList<TaskRequestEvent> remoteTaskRequests = new LinkedList<TaskRequestEvent>();
+      // task requests which wait for local tasks. They are retried in the next scheduling.
+      List<TaskRequestEvent> delayedTaskRequests = new ArrayList<TaskRequestEvent>();
+      long now = System.currentTimeMillis();
 
       TaskRequestEvent taskRequest;
       while (leafTasks.size() > 0 && (!taskRequests.isEmpty() || !remoteTaskRequests.isEmpty())) {
@@ -760,6 +961,7 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
         ContainerProxy container = context.getMasterContext().getResourceAllocator()
             .getContainer(taskRequest.getContainerId());
         if(container == null) {
+          localityWaitStartTimes.remove(taskRequest.getContainerId());
           taskRequest.getCallback().run(stopTaskRunnerReq);
           continue;
         }
@@ -768,6 +970,7 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
         WorkerConnectionInfo connectionInfo =
             context.getMasterContext().getResourceAllocator().getWorkerConnectionInfo(taskRequest.getWorkerId());
         String host = connectionInfo.getHost();
+        activeHosts.add(host);
 
         // if there are no worker matched to the hostname a task request
         if(!leafTaskHostMapping.containsKey(host)){
@@ -793,6 +996,12 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
         TaskAttemptId attemptId = allocateLocalTask(host, containerId);
 
         if (attemptId == null) { // if a local task cannot be found
+          int allowedLocality = getAllowedLocality(containerId, now);
+          if (allowedLocality == LOCALITY_HOST) {
+            delayedTaskRequests.add(taskRequest);
+            continue;
+          }
+
           HostVolumeMapping hostVolumeMapping = leafTaskHostMapping.get(host);
 
           if(hostVolumeMapping != null) {
@@ -821,16 +1030,20 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
           // random node allocation
           //////////////////////////////////////////////////////////////////////
           if (attemptId == null && leafTaskNum() > 0) {
-            synchronized (leafTasks){
-              attemptId = leafTasks.iterator().next();
-              leafTasks.remove(attemptId);
-              rackLocalAssigned++;
-              totalAssigned++;
-              LOG.info(String.format("Assigned Local/Remote/Total: (%d/%d/%d), Locality: %.2f%%,",
-                  hostLocalAssigned, rackLocalAssigned, totalAssigned,
-                  ((double) hostLocalAssigned / (double) totalAssigned) * 100));
+            if (allowedLocality == LOCALITY_RACK) {
+              delayedTaskRequests.add(taskRequest);
+              continue;
+            }
+
+            attemptId = allocateAnyTask(host);
+            if (attemptId == null) {
+              // all remaining tasks reside in busy volumes of this host
+              delayedTaskRequests.add(taskRequest);
+              continue;
             }
           }
+        } else {
+          localityWaitStartTimes.remove(containerId);
         }
 
         if (attemptId != null) {
@@ -846,7 +1059,11 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
           if (checkIfInterQuery(stage.getMasterPlan(), stage.getBlock())) {
             taskAssign.setInterQuery();
           }
+          if (stage.getRuntimeJoinFilter() != null) {
+            taskAssign.setRuntimeJoinFilter(stage.getRuntimeJoinFilter());
+          }
 
+          recordTaskQueueDelay(task.getAttempt(attemptId));
           context.getMasterContext().getEventHandler().handle(new TaskAttemptAssignedEvent(attemptId,
               taskRequest.getContainerId(), connectionInfo));
           assignedRequest.add(attemptId);
@@ -857,6 +1074,10 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
           throw new RuntimeException("Illegal State!!!!!!!!!!!!!!!!!!!!!");
         }
       }
+
+      for (TaskRequestEvent delayedTaskRequest : delayedTaskRequests) {
+        DefaultTaskScheduler.this.taskRequests.handle(delayedTaskRequest);
+      }
     }
 
     private boolean checkIfInterQuery(MasterPlan masterPlan, ExecutionBlock block) {
@@ -914,6 +1135,7 @@ public class DefaultTaskScheduler extends AbstractTaskScheduler {
 
           WorkerConnectionInfo connectionInfo = context.getMasterContext().getResourceAllocator().
               getWorkerConnectionInfo(taskRequest.getWorkerId());
+          recordTaskQueueDelay(task.getAttempt(attemptId));
           context.getMasterContext().getEventHandler().handle(new TaskAttemptAssignedEvent(attemptId,
               taskRequest.getContainerId(), connectionInfo));
           taskRequest.getCallback().run(taskAssign.getProto());
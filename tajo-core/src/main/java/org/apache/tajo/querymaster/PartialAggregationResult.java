@@ -0,0 +1,196 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.querymaster;
+
+import com.google.protobuf.ByteString;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.engine.planner.global.ExecutionBlock;
+import org.apache.tajo.engine.planner.global.MasterPlan;
+import org.apache.tajo.ipc.ClientProtos.PartialQueryResultProto;
+import org.apache.tajo.ipc.ClientProtos.SerializedResultSet;
+import org.apache.tajo.plan.expr.AggregationFunctionCallEval;
+import org.apache.tajo.plan.function.FunctionContext;
+import org.apache.tajo.plan.logical.GroupbyNode;
+import org.apache.tajo.plan.logical.NodeType;
+import org.apache.tajo.plan.logical.ScanNode;
+import org.apache.tajo.plan.util.PlannerUtil;
+import org.apache.tajo.storage.RowStoreUtil;
+import org.apache.tajo.storage.RowStoreUtil.RowStoreDecoder;
+import org.apache.tajo.storage.RowStoreUtil.RowStoreEncoder;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A running result of an aggregation, which is merged from the partial aggregates of completed leaf tasks while
+ * the query is still running. It applies the final phase of the aggregation to the outputs which the first phase
+ * has produced so far, so each group shows the value over the input of the merged tasks, like online aggregation.
+ *
+ * Operators above the final aggregation, such as HAVING, ORDER BY and LIMIT, are not applied.
+ */
+public class PartialAggregationResult {
+  private static final Log LOG = LogFactory.getLog(PartialAggregationResult.class);
+
+  private final Schema outSchema;
+  private final int [] groupingKeyIds;
+  private final AggregationFunctionCallEval [] aggFunctions;
+  private final RowStoreDecoder decoder;
+  private final int maxGroups;
+
+  private final Map<Tuple, FunctionContext []> groups = new HashMap<Tuple, FunctionContext []>();
+  private int numMergedTasks = 0;
+  private boolean truncated = false;
+
+  private PartialAggregationResult(GroupbyNode finalAggregation, int maxGroups) throws CloneNotSupportedException {
+    Schema inSchema = finalAggregation.getInSchema();
+    this.outSchema = finalAggregation.getOutSchema();
+    this.decoder = RowStoreUtil.createDecoder(inSchema);
+    this.maxGroups = maxGroups;
+
+    Column [] keyColumns = finalAggregation.getGroupingColumns();
+    this.groupingKeyIds = new int[keyColumns.length];
+    for (int i = 0; i < keyColumns.length; i++) {
+      if (keyColumns[i].hasQualifier()) {
+        groupingKeyIds[i] = inSchema.getColumnId(keyColumns[i].getQualifiedName());
+      } else {
+        groupingKeyIds[i] = inSchema.getColumnIdByName(keyColumns[i].getSimpleName());
+      }
+    }
+
+    // the functions of the plan are cloned because binding changes their states
+    AggregationFunctionCallEval [] planFunctions = finalAggregation.getAggFunctions();
+    this.aggFunctions = new AggregationFunctionCallEval[planFunctions.length];
+    for (int i = 0; i < planFunctions.length; i++) {
+      aggFunctions[i] = (AggregationFunctionCallEval) planFunctions[i].clone();
+      aggFunctions[i].bind(inSchema);
+    }
+  }
+
+  /**
+   * @return A running result which merges the outputs of the given block, or null if the block is not the first
+   * phase of an aggregation whose final phase is computed by its parent block
+   */
+  public static PartialAggregationResult create(MasterPlan masterPlan, ExecutionBlock block, int maxGroups) {
+    if (maxGroups <= 0 || masterPlan.isRoot(block) || !PlannerUtil.checkIfFirstPhaseAggregation(block.getPlan())) {
+      return null;
+    }
+
+    ExecutionBlock parent = masterPlan.getParent(block);
+    if (parent == null || parent.getPlan() == null) {
+      return null;
+    }
+    GroupbyNode finalAggregation = PlannerUtil.findTopNode(parent.getPlan(), NodeType.GROUP_BY);
+    if (finalAggregation == null || !finalAggregation.hasAggFunctions()
+        || !(finalAggregation.getChild() instanceof ScanNode)
+        || finalAggregation.getInSchema().size() != block.getPlan().getOutSchema().size()) {
+      return null;
+    }
+    for (AggregationFunctionCallEval aggFunction : finalAggregation.getAggFunctions()) {
+      if (!aggFunction.isFinalPhase()) {
+        return null;
+      }
+    }
+
+    try {
+      return new PartialAggregationResult(finalAggregation, maxGroups);
+    } catch (CloneNotSupportedException e) {
+      LOG.warn("Partial results of " + block.getId() + " are not available: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * It merges the partial aggregates of a task.
+   *
+   * @param rows The serialized partial aggregates
+   * @param rowsTruncated True if the task had more partial aggregates than the given rows
+   */
+  public synchronized void merge(List<ByteString> rows, boolean rowsTruncated) {
+    for (ByteString row : rows) {
+      Tuple tuple = decoder.toTuple(row.toByteArray());
+      Tuple keyTuple = new VTuple(groupingKeyIds.length);
+      for (int i = 0; i < groupingKeyIds.length; i++) {
+        keyTuple.put(i, tuple.get(groupingKeyIds[i]));
+      }
+
+      FunctionContext [] contexts = groups.get(keyTuple);
+      if (contexts == null) {
+        if (groups.size() >= maxGroups) {
+          truncated = true;
+          continue;
+        }
+        contexts = new FunctionContext[aggFunctions.length];
+        for (int i = 0; i < aggFunctions.length; i++) {
+          contexts[i] = aggFunctions[i].newContext();
+        }
+        groups.put(keyTuple, contexts);
+      }
+      for (int i = 0; i < aggFunctions.length; i++) {
+        aggFunctions[i].merge(contexts[i], tuple);
+      }
+    }
+
+    truncated |= rowsTruncated;
+    numMergedTasks++;
+  }
+
+  public synchronized int getNumMergedTasks() {
+    return numMergedTasks;
+  }
+
+  /**
+   * @param numTotalTasks The number of all tasks whose partial aggregates will be merged
+   * @return A snapshot of the running result
+   */
+  public synchronized PartialQueryResultProto getProto(int numTotalTasks) {
+    RowStoreEncoder encoder = RowStoreUtil.createEncoder(outSchema);
+    SerializedResultSet.Builder resultSet = SerializedResultSet.newBuilder();
+    resultSet.setSchema(outSchema.getProto());
+
+    Tuple outTuple = new VTuple(outSchema.size());
+    int bytesNum = 0;
+    for (Map.Entry<Tuple, FunctionContext []> entry : groups.entrySet()) {
+      int tupleIdx = 0;
+      for (; tupleIdx < groupingKeyIds.length; tupleIdx++) {
+        outTuple.put(tupleIdx, entry.getKey().get(tupleIdx));
+      }
+      for (int funcIdx = 0; funcIdx < aggFunctions.length; funcIdx++, tupleIdx++) {
+        outTuple.put(tupleIdx, aggFunctions[funcIdx].terminate(entry.getValue()[funcIdx]));
+      }
+
+      byte [] bytes = encoder.toBytes(outTuple);
+      resultSet.addSerializedTuples(ByteString.copyFrom(bytes));
+      bytesNum += bytes.length;
+    }
+    resultSet.setBytesNum(bytesNum);
+
+    return PartialQueryResultProto.newBuilder()
+        .setResultSet(resultSet)
+        .setNumMergedTasks(numMergedTasks)
+        .setNumTotalTasks(numTotalTasks)
+        .setTruncated(truncated)
+        .build();
+  }
+}
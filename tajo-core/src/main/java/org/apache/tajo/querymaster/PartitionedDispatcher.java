@@ -0,0 +1,206 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.querymaster;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.yarn.event.AsyncDispatcher;
+import org.apache.hadoop.yarn.event.Event;
+import org.apache.hadoop.yarn.event.EventHandler;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.util.metrics.TajoMetrics;
+
+import java.util.concurrent.*;
+
+/**
+ * An {@link AsyncDispatcher} which dispatches events of different partitions in parallel.
+ *
+ * A {@link Partitioner} gives the partition key of each event. Events with the same key are dispatched by the
+ * same thread in the order in which they are handed over, and events without a key are dispatched by the
+ * dispatcher thread of {@link AsyncDispatcher} as before. If the number of threads is 0, all events are dispatched
+ * by the dispatcher thread.
+ *
+ * If metrics are given, it keeps the number of pending events and the handling time for each event type.
+ */
+public class PartitionedDispatcher extends AsyncDispatcher {
+  private static final Log LOG = LogFactory.getLog(PartitionedDispatcher.class);
+
+  public static final String METRICS_CONTEXT = "dispatcher";
+
+  /**
+   * It gives the partition key of an event.
+   */
+  public interface Partitioner {
+    /**
+     * @return The partition key of the event, or null if the event should be dispatched by the dispatcher thread
+     */
+    Object getPartitionKey(Event event);
+  }
+
+  private final Partitioner partitioner;
+  private ExecutorService [] partitionExecutors = new ExecutorService[0];
+  private final EventHandler handler = new PartitionedEventHandler();
+
+  private TajoMetrics metrics;
+  private final ConcurrentMap<Enum, EventTypeMetrics> eventTypeMetrics =
+      new ConcurrentHashMap<Enum, EventTypeMetrics>();
+
+  private static class EventTypeMetrics {
+    final Counter pending;
+    final Timer handleTime;
+
+    EventTypeMetrics(Counter pending, Timer handleTime) {
+      this.pending = pending;
+      this.handleTime = handleTime;
+    }
+  }
+
+  public PartitionedDispatcher(Partitioner partitioner) {
+    this.partitioner = partitioner;
+  }
+
+  /**
+   * Set the metrics of pending events and handling time. It should be called before any event is handed over.
+   */
+  public void setMetrics(TajoMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  protected void serviceInit(Configuration conf) throws Exception {
+    int numThreads;
+    if (conf instanceof TajoConf) {
+      numThreads = ((TajoConf) conf).getIntVar(TajoConf.ConfVars.QUERYMASTER_DISPATCHER_THREAD_NUM);
+    } else {
+      numThreads = TajoConf.ConfVars.QUERYMASTER_DISPATCHER_THREAD_NUM.defaultIntVal;
+    }
+
+    partitionExecutors = new ExecutorService[numThreads];
+    for (int i = 0; i < numThreads; i++) {
+      final String threadName = "PartitionedDispatcher-" + i;
+      partitionExecutors[i] = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread thread = new Thread(r, threadName);
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    super.serviceInit(conf);
+  }
+
+  @Override
+  protected void serviceStop() throws Exception {
+    for (ExecutorService executor : partitionExecutors) {
+      executor.shutdown();
+    }
+    for (ExecutorService executor : partitionExecutors) {
+      if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+        executor.shutdownNow();
+      }
+    }
+    super.serviceStop();
+  }
+
+  @Override
+  public EventHandler getEventHandler() {
+    return handler;
+  }
+
+  @Override
+  protected void dispatch(Event event) {
+    EventTypeMetrics typeMetrics = getEventTypeMetrics(event);
+    if (typeMetrics == null) {
+      super.dispatch(event);
+      return;
+    }
+
+    long startTime = System.nanoTime();
+    try {
+      super.dispatch(event);
+    } finally {
+      typeMetrics.pending.dec();
+      typeMetrics.handleTime.update(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void handleInDispatcherThread(Event event) {
+    super.getEventHandler().handle(event);
+  }
+
+  private EventTypeMetrics getEventTypeMetrics(Event event) {
+    if (metrics == null) {
+      return null;
+    }
+
+    Enum type = event.getType();
+    EventTypeMetrics typeMetrics = eventTypeMetrics.get(type);
+    if (typeMetrics == null) {
+      // without the package name, a nested enum type is named with its enclosing class,
+      // e.g., TaskStatusBatchEvent$EventType
+      String className = type.getDeclaringClass().getName();
+      String typeName = className.substring(className.lastIndexOf('.') + 1) + "." + type.name();
+      typeMetrics = new EventTypeMetrics(
+          metrics.counter(METRICS_CONTEXT, typeName + ".pending"),
+          metrics.timer(METRICS_CONTEXT, typeName + ".handle"));
+      EventTypeMetrics existing = eventTypeMetrics.putIfAbsent(type, typeMetrics);
+      if (existing != null) {
+        typeMetrics = existing;
+      }
+    }
+    return typeMetrics;
+  }
+
+  private class PartitionedEventHandler implements EventHandler<Event> {
+    @Override
+    public void handle(final Event event) {
+      EventTypeMetrics typeMetrics = getEventTypeMetrics(event);
+      if (typeMetrics != null) {
+        typeMetrics.pending.inc();
+      }
+
+      Object key = partitionExecutors.length > 0 ? partitioner.getPartitionKey(event) : null;
+      if (key == null) {
+        handleInDispatcherThread(event);
+        return;
+      }
+
+      int partition = (key.hashCode() & Integer.MAX_VALUE) % partitionExecutors.length;
+      try {
+        partitionExecutors[partition].execute(new Runnable() {
+          @Override
+          public void run() {
+            dispatch(event);
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        // the dispatcher is stopped
+        if (typeMetrics != null) {
+          typeMetrics.pending.dec();
+        }
+        LOG.info("Dropped an event after the dispatcher is stopped: " + event);
+      }
+    }
+  }
+}
@@ -34,21 +34,32 @@ import org.apache.tajo.SessionVars;
 import org.apache.tajo.TajoProtos.QueryState;
 import org.apache.tajo.catalog.proto.CatalogProtos.UpdateTableStatsProto;
 import org.apache.tajo.catalog.CatalogService;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.IndexDesc;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SortSpec;
 import org.apache.tajo.catalog.TableDesc;
 import org.apache.tajo.catalog.TableMeta;
 import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
 import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.common.TajoDataTypes.Type;
 import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.engine.planner.global.ExecutionBlock;
 import org.apache.tajo.engine.planner.global.ExecutionBlockCursor;
 import org.apache.tajo.engine.planner.global.MasterPlan;
+import org.apache.tajo.ipc.ClientProtos.PartialQueryResultProto;
 import org.apache.tajo.plan.logical.*;
 import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.master.event.*;
 import org.apache.tajo.plan.util.PlannerUtil;
+import org.apache.tajo.storage.Appender;
+import org.apache.tajo.storage.FileStorageManager;
 import org.apache.tajo.storage.StorageManager;
 import org.apache.tajo.storage.StorageConstants;
+import org.apache.tajo.storage.VTuple;
 import org.apache.tajo.util.TUtil;
+import org.apache.tajo.util.history.OperatorProfile;
 import org.apache.tajo.util.history.QueryHistory;
 import org.apache.tajo.util.history.StageHistory;
 
@@ -364,6 +375,20 @@ public class Query implements EventHandler<QueryEvent> {
     return this.stages.values();
   }
 
+  /**
+   * @return A running result of the aggregation of this query, which is merged from its completed leaf tasks,
+   * or null if it is not available
+   */
+  public PartialQueryResultProto getPartialResult() {
+    for (Stage stage : getStages()) {
+      PartialQueryResultProto partialResult = stage.getPartialResult();
+      if (partialResult != null) {
+        return partialResult;
+      }
+    }
+    return null;
+  }
+
   public QueryState getSynchronizedState() {
     readLock.lock();
     try {
@@ -472,8 +497,10 @@ public class Query implements EventHandler<QueryEvent> {
       public QueryHookExecutor(QueryMaster.QueryMasterContext context) {
         this.context = context;
         hookList.add(new MaterializedResultHook());
+        hookList.add(new ExplainAnalyzeHook());
         hookList.add(new CreateTableHook());
         hookList.add(new InsertTableHook());
+        hookList.add(new CreateIndexHook());
       }
 
       public void execute(QueryContext queryContext, Query query,
@@ -494,7 +521,8 @@ public class Query implements EventHandler<QueryEvent> {
                                 Path finalOutputDir) {
         Stage lastStage = query.getStage(finalExecBlockId);
         NodeType type = lastStage.getBlock().getPlan().getType();
-        return type != NodeType.CREATE_TABLE && type != NodeType.INSERT;
+        return type != NodeType.CREATE_TABLE && type != NodeType.INSERT &&
+            !query.getPlan().getLogicalPlan().isExplainAnalyze();
       }
 
       @Override
@@ -523,6 +551,73 @@ public class Query implements EventHandler<QueryEvent> {
       }
     }
 
+    /**
+     * It replaces the result of EXPLAIN ANALYZE with the runtime statistics of the operators of each stage.
+     */
+    private static class ExplainAnalyzeHook implements QueryHook {
+
+      @Override
+      public boolean isEligible(QueryContext queryContext, Query query, ExecutionBlockId finalExecBlockId,
+                                Path finalOutputDir) {
+        Stage lastStage = query.getStage(finalExecBlockId);
+        NodeType type = lastStage.getBlock().getPlan().getType();
+        return type != NodeType.CREATE_TABLE && type != NodeType.INSERT &&
+            query.getPlan().getLogicalPlan().isExplainAnalyze();
+      }
+
+      @Override
+      public void execute(QueryMaster.QueryMasterContext context, QueryContext queryContext,
+                          Query query, ExecutionBlockId finalExecBlockId,
+                          Path finalOutputDir) throws Exception {
+        Schema schema = new Schema();
+        schema.addColumn("explain", Type.TEXT);
+        TableMeta meta = CatalogUtil.newTableMeta(StoreType.CSV);
+
+        // the rows of the query are not a result of EXPLAIN ANALYZE.
+        FileSystem fs = finalOutputDir.getFileSystem(query.systemConf);
+        fs.delete(finalOutputDir, true);
+        fs.mkdirs(finalOutputDir);
+
+        FileStorageManager sm = (FileStorageManager) StorageManager.getFileStorageManager(query.systemConf);
+        Appender appender = sm.getAppender(meta, schema, new Path(finalOutputDir, "explain"));
+        appender.enableStats();
+        appender.init();
+        VTuple tuple = new VTuple(1);
+        for (String line : buildExplainString(query).split("\n")) {
+          tuple.put(0, DatumFactory.createText(line));
+          appender.addTuple(tuple);
+        }
+        appender.close();
+
+        TableDesc resultTableDesc = new TableDesc(query.getId().toString(), schema, meta, finalOutputDir.toUri());
+        resultTableDesc.setExternal(true);
+        TableStats stats = appender.getStats();
+        stats.setNumBytes(getTableVolume(query.systemConf, finalOutputDir));
+        resultTableDesc.setStats(stats);
+        query.setResultDesc(resultTableDesc);
+      }
+
+      private static String buildExplainString(Query query) {
+        List<Stage> stages = new ArrayList<Stage>(query.getStages());
+        Collections.sort(stages, new Comparator<Stage>() {
+          @Override
+          public int compare(Stage s1, Stage s2) {
+            return s1.getId().compareTo(s2.getId());
+          }
+        });
+
+        StringBuilder sb = new StringBuilder();
+        for (Stage stage : stages) {
+          List<OperatorProfile> profiles = stage.getOperatorProfiles();
+          sb.append(String.format("%s (state: %s, tasks: %d, time: %d ms)\n", stage.getId(), stage.getState(),
+              stage.getTotalScheduledObjectsCount(), stage.getFinishTime() - stage.getStartTime()));
+          sb.append(OperatorProfile.buildExplainString(profiles));
+          sb.append("\n");
+        }
+        return sb.toString();
+      }
+    }
+
     private static class CreateTableHook implements QueryHook {
 
       @Override
@@ -607,6 +702,36 @@ public class Query implements EventHandler<QueryEvent> {
         query.setResultDesc(finalTable);
       }
     }
+
+    private static class CreateIndexHook implements QueryHook {
+
+      @Override
+      public boolean isEligible(QueryContext queryContext, Query query, ExecutionBlockId finalExecBlockId,
+                                Path finalOutputDir) {
+        Stage lastStage = query.getStage(finalExecBlockId);
+        return lastStage.getBlock().getPlan().getType() == NodeType.CREATE_INDEX;
+      }
+
+      @Override
+      public void execute(QueryMaster.QueryMasterContext context, QueryContext queryContext,
+                          Query query, ExecutionBlockId finalExecBlockId, Path finalOutputDir) throws Exception {
+        CatalogService catalog = context.getWorkerContext().getCatalog();
+        Stage lastStage = query.getStage(finalExecBlockId);
+
+        // the index is registered only after all index files have been written
+        CreateIndexNode createIndexNode = (CreateIndexNode) lastStage.getBlock().getPlan();
+        ScanNode scanNode = (ScanNode) createIndexNode.getChild();
+        String [] tableNames = CatalogUtil.splitFQTableName(scanNode.getTableName());
+        SortSpec sortSpec = createIndexNode.getSortSpecs()[0];
+
+        IndexDesc indexDesc = new IndexDesc(createIndexNode.getIndexName(), tableNames[0], tableNames[1],
+            sortSpec.getSortKey(), createIndexNode.getIndexMethod(), createIndexNode.isUnique(), false,
+            sortSpec.isAscending());
+        if (!catalog.createIndex(indexDesc)) {
+          throw new IOException("Failed to register index " + createIndexNode.getIndexName());
+        }
+      }
+    }
   }
 
   public static long getTableVolume(TajoConf systemConf, Path tablePath) throws IOException {
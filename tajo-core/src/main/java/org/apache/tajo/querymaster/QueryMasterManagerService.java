@@ -34,6 +34,7 @@ import org.apache.tajo.master.container.TajoContainerId;
 import org.apache.tajo.master.event.*;
 import org.apache.tajo.session.Session;
 import org.apache.tajo.rpc.AsyncRpcServer;
+import org.apache.tajo.rpc.RpcCallObserver;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos;
 import org.apache.tajo.util.NetUtils;
 import org.apache.tajo.worker.TajoWorker;
@@ -102,6 +103,13 @@ public class QueryMasterManagerService extends CompositeService
     super.start();
   }
 
+  /**
+   * Set the observer which is notified of the calls served by the RPC server of this service.
+   */
+  public void setCallObserver(RpcCallObserver observer) {
+    rpcServer.setCallObserver(observer);
+  }
+
   @Override
   public void stop() {
     if(rpcServer != null) {
@@ -213,6 +221,28 @@ public class QueryMasterManagerService extends CompositeService
     }
   }
 
+  @Override
+  public void statusUpdateBatch(RpcController controller, TajoWorkerProtocol.TaskStatusBatchProto request,
+                                RpcCallback<PrimitiveProtos.BoolProto> done) {
+    try {
+      ExecutionBlockId ebId = new ExecutionBlockId(request.getEbId());
+      QueryMasterTask queryMasterTask = queryMaster.getQueryMasterTask(ebId.getQueryId());
+      if (queryMasterTask == null) {
+        queryMasterTask = queryMaster.getQueryMasterTask(ebId.getQueryId(), true);
+      }
+      if (queryMasterTask != null) {
+        queryMasterTask.getEventHandler().handle(
+            new TaskStatusBatchEvent(ebId, request.getStatusesList(), request.getCompletionsList()));
+      } else {
+        LOG.warn("No QueryMasterTask for the task reports of " + ebId);
+      }
+      done.run(TajoWorker.TRUE_PROTO);
+    } catch (Exception e) {
+      LOG.error(e.getMessage(), e);
+      done.run(TajoWorker.FALSE_PROTO);
+    }
+  }
+
   @Override
   public void doneExecutionBlock(
       RpcController controller, TajoWorkerProtocol.ExecutionBlockReport request,
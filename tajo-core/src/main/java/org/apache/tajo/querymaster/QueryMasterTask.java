@@ -29,6 +29,7 @@ import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hadoop.service.CompositeService;
 import org.apache.hadoop.util.StringUtils;
 import org.apache.hadoop.yarn.event.AsyncDispatcher;
+import org.apache.hadoop.yarn.event.Event;
 import org.apache.hadoop.yarn.event.EventHandler;
 import org.apache.hadoop.yarn.util.Clock;
 import org.apache.tajo.*;
@@ -53,6 +54,7 @@ import org.apache.tajo.plan.logical.LogicalRootNode;
 import org.apache.tajo.plan.logical.NodeType;
 import org.apache.tajo.plan.logical.ScanNode;
 import org.apache.tajo.plan.rewrite.LogicalPlanRewriteRule;
+import org.apache.tajo.plan.rewrite.rules.IndexScanRewriter;
 import org.apache.tajo.plan.util.PlannerUtil;
 import org.apache.tajo.plan.verifier.VerifyException;
 import org.apache.tajo.session.Session;
@@ -132,7 +134,8 @@ public class QueryMasterTask extends CompositeService {
   public QueryMasterTask(QueryMaster.QueryMasterContext queryMasterContext,
                          QueryId queryId, Session session, QueryContext queryContext,
                          String jsonExpr) {
-    this(queryMasterContext, queryId, session, queryContext, jsonExpr, new AsyncDispatcher());
+    this(queryMasterContext, queryId, session, queryContext, jsonExpr,
+        new PartitionedDispatcher(new ExecutionBlockPartitioner()));
   }
 
   @Override
@@ -154,17 +157,21 @@ public class QueryMasterTask extends CompositeService {
       addService(resourceAllocator);
       addService(dispatcher);
 
+      queryMetrics = new TajoMetrics(queryId.toString());
+      if (dispatcher instanceof PartitionedDispatcher) {
+        ((PartitionedDispatcher) dispatcher).setMetrics(queryMetrics);
+      }
+
       dispatcher.register(StageEventType.class, new StageEventDispatcher());
       dispatcher.register(TaskEventType.class, new TaskEventDispatcher());
       dispatcher.register(TaskAttemptEventType.class, new TaskAttemptEventDispatcher());
+      dispatcher.register(TaskStatusBatchEvent.EventType.class, new TaskStatusBatchDispatcher());
       dispatcher.register(QueryMasterQueryCompletedEvent.EventType.class, new QueryFinishEventHandler());
       dispatcher.register(TaskSchedulerEvent.EventType.class, new TaskSchedulerDispatcher());
       dispatcher.register(LocalTaskEventType.class, new LocalTaskEventHandler());
 
       initStagingDir();
 
-      queryMetrics = new TajoMetrics(queryId.toString());
-
       super.init(systemConf);
     } catch (Throwable t) {
       LOG.error(t.getMessage(), t);
@@ -226,6 +233,28 @@ public class QueryMasterTask extends CompositeService {
     }
   }
 
+  /**
+   * It partitions the events of stages, tasks and task attempts by their execution block, so that the events of
+   * a stage are dispatched in order while different stages are dispatched in parallel.
+   */
+  private static class ExecutionBlockPartitioner implements PartitionedDispatcher.Partitioner {
+    @Override
+    public Object getPartitionKey(Event event) {
+      if (event instanceof StageEvent) {
+        return ((StageEvent) event).getStageId();
+      } else if (event instanceof TaskEvent) {
+        return ((TaskEvent) event).getTaskId().getExecutionBlockId();
+      } else if (event instanceof TaskAttemptEvent) {
+        return ((TaskAttemptEvent) event).getTaskAttemptId().getTaskId().getExecutionBlockId();
+      } else if (event instanceof TaskSchedulerEvent) {
+        return ((TaskSchedulerEvent) event).getExecutionBlockId();
+      } else if (event instanceof TaskStatusBatchEvent) {
+        return ((TaskStatusBatchEvent) event).getExecutionBlockId();
+      }
+      return null;
+    }
+  }
+
   private class StageEventDispatcher implements EventHandler<StageEvent> {
     public void handle(StageEvent event) {
       ExecutionBlockId id = event.getStageId();
@@ -260,6 +289,51 @@ public class QueryMasterTask extends CompositeService {
     }
   }
 
+  /**
+   * It applies all status updates and completion reports of a batch to task attempts in the dispatcher thread,
+   * instead of dispatching an event for each of them.
+   */
+  private class TaskStatusBatchDispatcher implements EventHandler<TaskStatusBatchEvent> {
+    public void handle(TaskStatusBatchEvent event) {
+      Stage stage = query.getStage(event.getExecutionBlockId());
+      if (stage == null) {
+        LOG.warn("No stage for the task reports of " + event.getExecutionBlockId());
+        return;
+      }
+
+      for (TajoWorkerProtocol.TaskStatusProto status : event.getStatuses()) {
+        TaskAttemptId attemptId = new TaskAttemptId(status.getId());
+        TaskAttempt attempt = getAttempt(stage, attemptId);
+        if (attempt == null) {
+          continue;
+        }
+        if (status.getState() == TajoProtos.TaskAttemptState.TA_KILLED) {
+          LOG.warn(attemptId + " Killed");
+          attempt.handle(new TaskAttemptEvent(attemptId, TaskAttemptEventType.TA_LOCAL_KILLED));
+        } else {
+          attempt.handle(new TaskAttemptStatusUpdateEvent(attemptId, status));
+        }
+      }
+
+      for (TajoWorkerProtocol.TaskCompletionReport report : event.getCompletions()) {
+        TaskAttemptId attemptId = new TaskAttemptId(report.getId());
+        TaskAttempt attempt = getAttempt(stage, attemptId);
+        if (attempt != null) {
+          attempt.handle(new TaskCompletionEvent(report));
+        }
+      }
+    }
+
+    private TaskAttempt getAttempt(Stage stage, TaskAttemptId attemptId) {
+      Task task = stage.getTask(attemptId.getTaskId());
+      TaskAttempt attempt = task == null ? null : task.getAttempt(attemptId);
+      if (attempt == null) {
+        LOG.warn("No task attempt for the report of " + attemptId);
+      }
+      return attempt;
+    }
+  }
+
   private class TaskSchedulerDispatcher
       implements EventHandler<TaskSchedulerEvent> {
     public void handle(TaskSchedulerEvent event) {
@@ -343,6 +417,7 @@ public class QueryMasterTask extends CompositeService {
         }
       }
 
+      optimizer.addRuleAfterToJoinOpt(new IndexScanRewriter(catalog));
       optimizer.optimize(queryContext, plan);
 
       for (LogicalPlan.QueryBlock block : plan.getQueryBlocks()) {
@@ -361,6 +436,14 @@ public class QueryMasterTask extends CompositeService {
             tableDescMap.put(scanNode.getCanonicalName(), scanNode.getTableDesc());
           }
         }
+
+        scanNodes = PlannerUtil.findAllNodes(block.getRoot(), NodeType.BST_INDEX_SCAN);
+        if (scanNodes != null) {
+          for (LogicalNode eachScanNode : scanNodes) {
+            ScanNode scanNode = (ScanNode) eachScanNode;
+            tableDescMap.put(scanNode.getCanonicalName(), scanNode.getTableDesc());
+          }
+        }
       }
       MasterPlan masterPlan = new MasterPlan(queryId, queryContext, plan);
       queryMasterContext.getGlobalPlanner().build(masterPlan);
@@ -432,16 +432,189 @@ public class Repartitioner {
     }
     Stage.scheduleFragment(stage, fragments[0], rightFragments);
 
+    // A skewed partition can be split into multiple tasks only if the other input can be replicated to them.
+    float skewFactor = masterPlan.getContext().getFloat(SessionVars.JOIN_SKEW_FACTOR);
+    Set<ExecutionBlockId> splittableInputs = Collections.emptySet();
+    if (skewFactor > 0 && broadcastFragments == null) {
+      splittableInputs = getSplittableJoinInputs(execBlock);
+    }
+
+    Map<ExecutionBlockId, Long> avgPartitionVolumes = new HashMap<ExecutionBlockId, Long>();
+    if (!splittableInputs.isEmpty()) {
+      for (Map<ExecutionBlockId, List<IntermediateEntry>> eachPartition : hashEntries.values()) {
+        for (Entry<ExecutionBlockId, List<IntermediateEntry>> eachInput : eachPartition.entrySet()) {
+          Long volume = avgPartitionVolumes.get(eachInput.getKey());
+          avgPartitionVolumes.put(eachInput.getKey(),
+              (volume == null ? 0 : volume) + sumVolume(eachInput.getValue()));
+        }
+      }
+      for (Entry<ExecutionBlockId, Long> eachInput : avgPartitionVolumes.entrySet()) {
+        eachInput.setValue(eachInput.getValue() / hashEntries.size());
+      }
+    }
+    long splitVolume = (long) desireJoinTaskVolumn * StorageUnit.MB;
+    long pageSize = ((long)StorageUnit.MB) *
+        stage.getContext().getConf().getIntVar(ConfVars.SHUFFLE_HASH_APPENDER_PAGE_VOLUME); // in bytes
+
     // Assign partitions to tasks in a round robin manner.
     for (Entry<Integer, Map<ExecutionBlockId, List<IntermediateEntry>>> entry
         : hashEntries.entrySet()) {
-      addJoinShuffle(stage, entry.getKey(), entry.getValue());
+      int splitTaskNum = 0;
+      if (!splittableInputs.isEmpty()) {
+        splitTaskNum = scheduleSkewedJoinPartition(stage, entry.getKey(), entry.getValue(), splittableInputs,
+            avgPartitionVolumes, skewFactor, splitVolume, pageSize);
+      }
+
+      if (splitTaskNum > 0) {
+        joinTaskNum += splitTaskNum - 1;
+      } else {
+        addJoinShuffle(stage, entry.getKey(), entry.getValue());
+      }
     }
 
     schedulerContext.setTaskSize((int) Math.ceil((double) bothFetchSize / joinTaskNum));
     schedulerContext.setEstimatedTaskNum(joinTaskNum);
   }
 
+  /**
+   * Returns the ids of join inputs whose partitions can be split over multiple tasks. Each of the tasks
+   * reads the whole partition of the other input, so the other input must not be a null-supplying one.
+   * Only an execution block which has a single join is considered.
+   */
+  private static Set<ExecutionBlockId> getSplittableJoinInputs(ExecutionBlock execBlock) {
+    Set<ExecutionBlockId> splittableInputs = new HashSet<ExecutionBlockId>();
+
+    LogicalNode[] joinNodes = PlannerUtil.findAllNodes(execBlock.getPlan(), NodeType.JOIN);
+    if (joinNodes.length != 1) {
+      return splittableInputs;
+    }
+    JoinNode joinNode = (JoinNode) joinNodes[0];
+    ScanNode leftScan = PlannerUtil.findTopNode(joinNode.getLeftChild(), NodeType.SCAN);
+    ScanNode rightScan = PlannerUtil.findTopNode(joinNode.getRightChild(), NodeType.SCAN);
+    if (leftScan == null || rightScan == null) {
+      return splittableInputs;
+    }
+
+    JoinType joinType = joinNode.getJoinType();
+    if (joinType == JoinType.INNER || joinType == JoinType.LEFT_OUTER ||
+        joinType == JoinType.LEFT_SEMI || joinType == JoinType.LEFT_ANTI) {
+      splittableInputs.add(TajoIdUtils.createExecutionBlockId(leftScan.getTableName()));
+    }
+    if (joinType == JoinType.INNER || joinType == JoinType.RIGHT_OUTER ||
+        joinType == JoinType.RIGHT_SEMI || joinType == JoinType.RIGHT_ANTI) {
+      splittableInputs.add(TajoIdUtils.createExecutionBlockId(rightScan.getTableName()));
+    }
+    return splittableInputs;
+  }
+
+  private static long sumVolume(List<IntermediateEntry> entries) {
+    long volume = 0;
+    for (IntermediateEntry eachEntry : entries) {
+      volume += eachEntry.getVolume();
+    }
+    return volume;
+  }
+
+  /**
+   * If the largest input of a join partition is skewed, this splits the input into page ranges of about
+   * splitVolume and schedules a task for each range. The partition of the other input is replicated to all
+   * of the tasks. An input is skewed if it is larger than both splitVolume and
+   * (skewFactor * the average partition volume of the input).
+   *
+   * @return the number of scheduled tasks, or 0 if the partition is not skewed or cannot be split.
+   */
+  @VisibleForTesting
+  public static int scheduleSkewedJoinPartition(Stage stage, int partitionId,
+                                                Map<ExecutionBlockId, List<IntermediateEntry>> grouppedPartitions,
+                                                Set<ExecutionBlockId> splittableInputs,
+                                                Map<ExecutionBlockId, Long> avgPartitionVolumes,
+                                                float skewFactor, long splitVolume, long pageSize) {
+    List<Map<String, List<FetchImpl>>> splitFetches = splitSkewedJoinPartition(partitionId, grouppedPartitions,
+        splittableInputs, avgPartitionVolumes, skewFactor, splitVolume, pageSize);
+    if (splitFetches == null) {
+      return 0;
+    }
+
+    for (Map<String, List<FetchImpl>> eachFetches : splitFetches) {
+      Stage.scheduleFetches(stage, eachFetches);
+    }
+    return splitFetches.size();
+  }
+
+  /**
+   * @return the fetches of each split task, or null if the partition is not skewed or cannot be split.
+   */
+  @VisibleForTesting
+  public static List<Map<String, List<FetchImpl>>> splitSkewedJoinPartition(
+      int partitionId, Map<ExecutionBlockId, List<IntermediateEntry>> grouppedPartitions,
+      Set<ExecutionBlockId> splittableInputs, Map<ExecutionBlockId, Long> avgPartitionVolumes,
+      float skewFactor, long splitVolume, long pageSize) {
+
+    ExecutionBlockId largestInput = null;
+    long largestVolume = -1;
+    for (Entry<ExecutionBlockId, List<IntermediateEntry>> eachInput : grouppedPartitions.entrySet()) {
+      long volume = sumVolume(eachInput.getValue());
+      if (volume > largestVolume) {
+        largestInput = eachInput.getKey();
+        largestVolume = volume;
+      }
+    }
+
+    if (largestInput == null || !splittableInputs.contains(largestInput)) {
+      return null;
+    }
+    Long avgVolume = avgPartitionVolumes.get(largestInput);
+    if (largestVolume <= splitVolume || (avgVolume != null && largestVolume <= avgVolume * skewFactor)) {
+      return null;
+    }
+
+    // In the case of union, intermediate entries of an input come from different execution blocks.
+    Map<ExecutionBlockId, List<IntermediateEntry>> entriesPerEb = new HashMap<ExecutionBlockId, List<IntermediateEntry>>();
+    for (IntermediateEntry eachEntry : grouppedPartitions.get(largestInput)) {
+      if (eachEntry.getPages() == null || eachEntry.getPages().isEmpty()) {
+        // it cannot be split without page information
+        return null;
+      }
+      List<IntermediateEntry> entries = entriesPerEb.get(eachEntry.getEbId());
+      if (entries == null) {
+        entries = new ArrayList<IntermediateEntry>();
+        entriesPerEb.put(eachEntry.getEbId(), entries);
+      }
+      entries.add(eachEntry);
+    }
+
+    List<List<FetchImpl>> splits = new ArrayList<List<FetchImpl>>();
+    for (Entry<ExecutionBlockId, List<IntermediateEntry>> eachEb : entriesPerEb.entrySet()) {
+      List<List<FetchImpl>> ebSplits = splitOrMergeIntermediates(HASH_SHUFFLE, eachEb.getKey(), eachEb.getValue(),
+          splitVolume, pageSize);
+      if (ebSplits != null) {
+        splits.addAll(ebSplits);
+      }
+    }
+    if (splits.size() <= 1) {
+      return null;
+    }
+
+    LOG.info("Partition " + partitionId + " of " + largestInput + " is skewed (" + largestVolume + " bytes, avg: "
+        + avgVolume + " bytes). It is split into " + splits.size() + " tasks.");
+
+    List<Map<String, List<FetchImpl>>> splitFetches = new ArrayList<Map<String, List<FetchImpl>>>();
+    for (List<FetchImpl> eachSplit : splits) {
+      Map<String, List<FetchImpl>> fetches = new HashMap<String, List<FetchImpl>>();
+      fetches.put(largestInput.toString(), eachSplit);
+
+      // the other input is replicated
+      for (Entry<ExecutionBlockId, List<IntermediateEntry>> eachInput : grouppedPartitions.entrySet()) {
+        if (!eachInput.getKey().equals(largestInput)) {
+          fetches.put(eachInput.getKey().toString(),
+              Lists.newArrayList(mergeShuffleRequest(partitionId, HASH_SHUFFLE, eachInput.getValue())));
+        }
+      }
+      splitFetches.add(fetches);
+    }
+    return splitFetches;
+  }
+
   /**
    * merge intermediate entry by ebid, pullhost
    * @param hashEntries
@@ -1056,6 +1229,11 @@ public class Repartitioner {
    */
   public static List<List<FetchImpl>> splitOrMergeIntermediates(
       ExecutionBlockId ebId, List<IntermediateEntry> entries, long splitVolume, long pageSize) {
+    return splitOrMergeIntermediates(SCATTERED_HASH_SHUFFLE, ebId, entries, splitVolume, pageSize);
+  }
+
+  public static List<List<FetchImpl>> splitOrMergeIntermediates(ShuffleType type,
+      ExecutionBlockId ebId, List<IntermediateEntry> entries, long splitVolume, long pageSize) {
     // Each List<FetchImpl> has splitVolume size.
     List<List<FetchImpl>> fetches = new ArrayList<List<FetchImpl>>();
 
@@ -1089,7 +1267,7 @@ public class Repartitioner {
           fetchListForSingleTask = new ArrayList<FetchImpl>();
           fetchListVolume = 0;
         }
-        FetchImpl fetch = new FetchImpl(currentInterm.getPullHost(), SCATTERED_HASH_SHUFFLE,
+        FetchImpl fetch = new FetchImpl(currentInterm.getPullHost(), type,
             ebId, currentInterm.getPartId(), TUtil.newList(currentInterm));
         fetch.setOffset(eachSplit.getFirst());
         fetch.setLength(eachSplit.getSecond());
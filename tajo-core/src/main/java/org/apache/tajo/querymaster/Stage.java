@@ -45,10 +45,14 @@ import org.apache.tajo.engine.planner.enforce.Enforcer;
 import org.apache.tajo.engine.planner.global.DataChannel;
 import org.apache.tajo.engine.planner.global.ExecutionBlock;
 import org.apache.tajo.engine.planner.global.MasterPlan;
+import org.apache.tajo.engine.planner.physical.RuntimeJoinFilter;
+import org.apache.tajo.ipc.ClientProtos.OperatorProfileProto;
+import org.apache.tajo.ipc.ClientProtos.PartialQueryResultProto;
 import org.apache.tajo.ipc.TajoWorkerProtocol;
 import org.apache.tajo.ipc.TajoWorkerProtocol.DistinctGroupbyEnforcer.MultipleAggregationStage;
 import org.apache.tajo.ipc.TajoWorkerProtocol.EnforceProperty;
 import org.apache.tajo.ipc.TajoWorkerProtocol.IntermediateEntryProto;
+import org.apache.tajo.ipc.TajoWorkerProtocol.RuntimeJoinFilterProto;
 import org.apache.tajo.master.LaunchTaskRunnersEvent;
 import org.apache.tajo.master.TaskRunnerGroupEvent;
 import org.apache.tajo.master.TaskRunnerGroupEvent.EventType;
@@ -65,6 +69,7 @@ import org.apache.tajo.storage.StorageManager;
 import org.apache.tajo.storage.fragment.Fragment;
 import org.apache.tajo.unit.StorageUnit;
 import org.apache.tajo.util.KeyValueSet;
+import org.apache.tajo.util.history.OperatorProfile;
 import org.apache.tajo.util.history.StageHistory;
 import org.apache.tajo.util.history.TaskHistory;
 import org.apache.tajo.worker.FetchImpl;
@@ -89,6 +94,9 @@ public class Stage implements EventHandler<StageEvent> {
 
   private static final Log LOG = LogFactory.getLog(Stage.class);
 
+  // A runtime join filter whose expected false positive rate is higher than this is not worth being shipped.
+  private static final double MAX_JOIN_FILTER_FALSE_POSITIVE_RATE = 0.3;
+
   private MasterPlan masterPlan;
   private ExecutionBlock block;
   private int priority;
@@ -102,6 +110,16 @@ public class Stage implements EventHandler<StageEvent> {
   private final List<String> diagnostics = new ArrayList<String>();
   private StageState stageState;
 
+  // the join filter merged from the outputs of tasks, and whether a task did not provide its filter
+  private RuntimeJoinFilter builtJoinFilter;
+  /** the runtime statistics of operators, which are summed up over succeeded tasks */
+  private final List<OperatorProfile> operatorProfiles = new ArrayList<OperatorProfile>();
+  private boolean joinFilterIncomplete = false;
+  // the join filter built by the other side of a join, which is shipped to tasks of this stage
+  private RuntimeJoinFilterProto runtimeJoinFilter;
+  // the running result merged from the partial aggregates of succeeded tasks, or null if it is not available
+  private PartialAggregationResult partialResult;
+
   private long startTime;
   private long finishTime;
   private volatile long lastContactTime;
@@ -322,6 +340,11 @@ public class Stage implements EventHandler<StageEvent> {
     this.writeLock = readWriteLock.writeLock();
     stateMachine = stateMachineFactory.make(this);
     stageState = stateMachine.getCurrentState();
+
+    if (context.getQueryContext().getBool(SessionVars.PARTIAL_RESULT_ENABLED)) {
+      this.partialResult = PartialAggregationResult.create(masterPlan, block,
+          context.getQueryContext().getInt(SessionVars.PARTIAL_RESULT_MAX_ROWS));
+    }
   }
 
   public static boolean isRunningState(StageState state) {
@@ -340,6 +363,20 @@ public class Stage implements EventHandler<StageEvent> {
     return masterPlan.getOutgoingChannels(getId()).iterator().next();
   }
 
+  /**
+   * @return The join filter built from the outputs of this stage, or null if it is not available
+   */
+  public RuntimeJoinFilter getBuiltJoinFilter() {
+    return builtJoinFilter;
+  }
+
+  /**
+   * @return The join filter which tasks of this stage apply to their outputs, or null if there is none
+   */
+  public RuntimeJoinFilterProto getRuntimeJoinFilter() {
+    return runtimeJoinFilter;
+  }
+
   public EventHandler<Event> getEventHandler() {
     return eventHandler;
   }
@@ -470,6 +507,7 @@ public class Stage implements EventHandler<StageEvent> {
     stageHistory.setTotalScheduledObjectsCount(totalScheduledObjectsCount);
     stageHistory.setHostLocalAssigned(getTaskScheduler().getHostLocalAssigned());
     stageHistory.setRackLocalAssigned(getTaskScheduler().getRackLocalAssigned());
+    stageHistory.setRemoteAssigned(getTaskScheduler().getRemoteAssigned());
 
     long totalInputBytes = 0;
     long totalReadBytes = 0;
@@ -501,6 +539,7 @@ public class Stage implements EventHandler<StageEvent> {
     stageHistory.setTotalWriteRows(totalWriteRows);
     stageHistory.setNumShuffles(numShuffles);
     stageHistory.setProgress(getProgress());
+    stageHistory.setOperatorProfiles(getOperatorProfiles());
     return stageHistory;
   }
 
@@ -516,6 +555,7 @@ public class Stage implements EventHandler<StageEvent> {
    */
   public void complete() {
     finalizeStats();
+    finalizeJoinFilter();
     setFinishTime();
     eventHandler.handle(new StageCompletedEvent(getId(), StageState.SUCCEEDED));
   }
@@ -689,6 +729,96 @@ public class Stage implements EventHandler<StageEvent> {
     return new TableStats[]{inputStats, resultStats};
   }
 
+  private void addOperatorProfiles(Task task) {
+    TaskAttempt attempt = task.getSuccessfulAttempt();
+    if (attempt == null || attempt.getOperatorProfiles().isEmpty()) {
+      return;
+    }
+
+    List<OperatorProfile> profiles = new ArrayList<OperatorProfile>();
+    for (OperatorProfileProto proto : attempt.getOperatorProfiles()) {
+      profiles.add(new OperatorProfile(proto));
+    }
+    synchronized (operatorProfiles) {
+      OperatorProfile.mergeAll(operatorProfiles, profiles);
+    }
+  }
+
+  /**
+   * @return The runtime statistics of operators summed up over succeeded tasks. It is empty if profiling is disabled.
+   */
+  public List<OperatorProfile> getOperatorProfiles() {
+    synchronized (operatorProfiles) {
+      List<OperatorProfile> profiles = new ArrayList<OperatorProfile>(operatorProfiles.size());
+      for (OperatorProfile profile : operatorProfiles) {
+        profiles.add(new OperatorProfile(profile.getProto()));
+      }
+      return profiles;
+    }
+  }
+
+  private void addPartialResult(Task task) {
+    if (partialResult == null) {
+      return;
+    }
+
+    TaskAttempt attempt = task.getSuccessfulAttempt();
+    if (attempt == null || attempt.getPartialResultRows() == null) {
+      return;
+    }
+    partialResult.merge(attempt.getPartialResultRows(), attempt.isPartialResultTruncated());
+    attempt.resetPartialResult();
+  }
+
+  /**
+   * @return A snapshot of the running result merged from the succeeded tasks of this stage, or null if this stage
+   * is not the first phase of an aggregation or partial results are disabled
+   */
+  public PartialQueryResultProto getPartialResult() {
+    if (partialResult == null) {
+      return null;
+    }
+    return partialResult.getProto(totalScheduledObjectsCount);
+  }
+
+  private void addJoinFilter(Task task) {
+    if (joinFilterIncomplete || !getDataChannel().hasRuntimeFilterTarget()) {
+      return;
+    }
+
+    TaskAttempt attempt = task.getSuccessfulAttempt();
+    if (attempt == null || attempt.getRuntimeJoinFilter() == null) {
+      // without all keys, the filter would drop rows which can be matched.
+      joinFilterIncomplete = true;
+      builtJoinFilter = null;
+      return;
+    }
+
+    RuntimeJoinFilter filter = new RuntimeJoinFilter(attempt.getRuntimeJoinFilter());
+    attempt.resetRuntimeJoinFilter();
+    if (builtJoinFilter == null) {
+      builtJoinFilter = filter;
+    } else {
+      builtJoinFilter.merge(filter);
+    }
+  }
+
+  private void finalizeJoinFilter() {
+    if (builtJoinFilter == null) {
+      return;
+    }
+
+    double falsePositiveRate = builtJoinFilter.getFalsePositiveRate();
+    if (falsePositiveRate > MAX_JOIN_FILTER_FALSE_POSITIVE_RATE) {
+      LOG.info(String.format("The runtime join filter of %s is discarded (keys: %d, false positive rate: %.3f)",
+          getId(), builtJoinFilter.getNumKeys(), falsePositiveRate));
+      builtJoinFilter = null;
+    } else {
+      LOG.info(String.format("The runtime join filter of %s is built for %s (keys: %d, false positive rate: %.3f)",
+          getId(), getDataChannel().getRuntimeFilterTarget(), builtJoinFilter.getNumKeys(), falsePositiveRate));
+    }
+  }
+
   private void stopScheduler() {
     // If there are launched TaskRunners, send the 'shouldDie' message to all r
     // via received task requests.
@@ -787,6 +917,7 @@ public class Stage implements EventHandler<StageEvent> {
           ExecutionBlock parent = stage.getMasterPlan().getParent(stage.getBlock());
           DataChannel channel = stage.getMasterPlan().getChannel(stage.getId(), parent.getId());
           setShuffleIfNecessary(stage, channel);
+          setJoinFilterIfAvailable(stage, parent);
           initTaskScheduler(stage);
           // execute pre-processing asyncronously
           stage.getContext().getQueryMasterContext().getEventExecutor()
@@ -838,6 +969,22 @@ public class Stage implements EventHandler<StageEvent> {
       return state;
     }
 
+    /**
+     * If the other side of the join has already finished and built a join filter, tasks of this stage apply it.
+     */
+    private static void setJoinFilterIfAvailable(Stage stage, ExecutionBlock parent) {
+      for (DataChannel channel : stage.getMasterPlan().getIncomingChannels(parent.getId())) {
+        if (channel.hasRuntimeFilterTarget() && channel.getRuntimeFilterTarget().equals(stage.getId())) {
+          Stage buildStage = stage.getContext().getStage(channel.getSrcId());
+          if (buildStage != null && buildStage.getSynchronizedState() == StageState.SUCCEEDED &&
+              buildStage.getBuiltJoinFilter() != null) {
+            stage.runtimeJoinFilter = buildStage.getBuiltJoinFilter().getProto();
+            LOG.info(stage.getId() + " filters its output by the join keys of " + buildStage.getId());
+          }
+        }
+      }
+    }
+
     private void initTaskScheduler(Stage stage) throws IOException {
       TajoConf conf = stage.context.getConf();
       stage.schedulerContext = new TaskSchedulerContext(stage.context,
@@ -1233,6 +1380,9 @@ public class Stage implements EventHandler<StageEvent> {
 
         if (taskEvent.getState() == TaskState.SUCCEEDED) {
           stage.succeededObjectCount++;
+          stage.addJoinFilter(task);
+          stage.addOperatorProfiles(task);
+          stage.addPartialResult(task);
         } else if (task.getState() == TaskState.KILLED) {
           stage.killedObjectCount++;
         } else if (task.getState() == TaskState.FAILED) {
@@ -18,6 +18,7 @@
 
 package org.apache.tajo.querymaster;
 
+import com.google.protobuf.ByteString;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -27,6 +28,8 @@ import org.apache.tajo.TaskAttemptId;
 import org.apache.tajo.TajoProtos.TaskAttemptState;
 import org.apache.tajo.catalog.proto.CatalogProtos;
 import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.ipc.ClientProtos.OperatorProfileProto;
+import org.apache.tajo.ipc.TajoWorkerProtocol.RuntimeJoinFilterProto;
 import org.apache.tajo.ipc.TajoWorkerProtocol.TaskCompletionReport;
 import org.apache.tajo.master.cluster.WorkerConnectionInfo;
 import org.apache.tajo.master.event.*;
@@ -65,10 +68,16 @@ public class TaskAttempt implements EventHandler<TaskAttemptEvent> {
   private final List<String> diagnostics = new ArrayList<String>();
 
   private final TaskAttemptScheduleContext scheduleContext;
+  /** the time when this attempt is queued to the task scheduler (in milliseconds) */
+  private long scheduledTime;
 
   private float progress;
   private CatalogProtos.TableStatsProto inputStats;
   private CatalogProtos.TableStatsProto resultStats;
+  private RuntimeJoinFilterProto runtimeJoinFilter;
+  private List<OperatorProfileProto> operatorProfiles = new ArrayList<OperatorProfileProto>();
+  private List<ByteString> partialResultRows;
+  private boolean partialResultTruncated;
 
   protected static final StateMachineFactory
       <TaskAttempt, TaskAttemptState, TaskAttemptEventType, TaskAttemptEvent>
@@ -206,6 +215,13 @@ public class TaskAttempt implements EventHandler<TaskAttemptEvent> {
     return this.task.isLeafTask();
   }
 
+  /**
+   * @return the time when this attempt is queued to the task scheduler, or 0 if it is not scheduled yet
+   */
+  public long getScheduledTime() {
+    return scheduledTime;
+  }
+
   public Task getTask() {
     return this.task;
   }
@@ -253,6 +269,42 @@ public class TaskAttempt implements EventHandler<TaskAttemptEvent> {
     return new TableStats(resultStats);
   }
 
+  public RuntimeJoinFilterProto getRuntimeJoinFilter() {
+    return runtimeJoinFilter;
+  }
+
+  /**
+   * It releases the runtime join filter after the stage merges it.
+   */
+  public void resetRuntimeJoinFilter() {
+    this.runtimeJoinFilter = null;
+  }
+
+  /**
+   * @return The serialized partial aggregates of this attempt, or null if it did not provide them
+   */
+  public List<ByteString> getPartialResultRows() {
+    return partialResultRows;
+  }
+
+  public boolean isPartialResultTruncated() {
+    return partialResultTruncated;
+  }
+
+  /**
+   * It releases the partial aggregates after the stage merges them.
+   */
+  public void resetPartialResult() {
+    this.partialResultRows = null;
+  }
+
+  /**
+   * @return The runtime statistics of the operators of this attempt. It is empty if profiling is disabled.
+   */
+  public List<OperatorProfileProto> getOperatorProfiles() {
+    return operatorProfiles;
+  }
+
   private void fillTaskStatistics(TaskCompletionReport report) {
     this.progress = 1.0f;
 
@@ -277,6 +329,16 @@ public class TaskAttempt implements EventHandler<TaskAttemptEvent> {
       this.resultStats = report.getResultStats();
       this.getTask().setStats(new TableStats(resultStats));
     }
+    if (report.hasRuntimeJoinFilter()) {
+      this.runtimeJoinFilter = report.getRuntimeJoinFilter();
+    }
+    if (report.getOperatorProfilesCount() > 0) {
+      this.operatorProfiles = report.getOperatorProfilesList();
+    }
+    if (report.hasPartialResultTruncated()) {
+      this.partialResultRows = report.getPartialResultRowsList();
+      this.partialResultTruncated = report.getPartialResultTruncated();
+    }
   }
 
   private static class TaskAttemptScheduleTransition implements
@@ -284,6 +346,7 @@ public class TaskAttempt implements EventHandler<TaskAttemptEvent> {
 
     @Override
     public void transition(TaskAttempt taskAttempt, TaskAttemptEvent taskAttemptEvent) {
+      taskAttempt.scheduledTime = System.currentTimeMillis();
       taskAttempt.eventHandler.handle(new TaskAttemptToSchedulerEvent(
           EventType.T_SCHEDULE, taskAttempt.getTask().getId().getExecutionBlockId(),
           taskAttempt.scheduleContext, taskAttempt));
@@ -24,6 +24,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.tajo.QueryId;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.master.exec.NonForwardQueryResultScanner;
+import org.apache.tajo.master.exec.PreparedQuery;
 import org.apache.tajo.util.KeyValueSet;
 import org.apache.tajo.common.ProtoObject;
 
@@ -40,6 +41,8 @@ public class Session implements SessionConstants, ProtoObject<SessionProto>, Clo
   private String currentDatabase;
   private final Map<String, String> sessionVariables;
   private final Map<QueryId, NonForwardQueryResultScanner> nonForwardQueryMap = new HashMap<QueryId, NonForwardQueryResultScanner>();
+  private final Map<Integer, PreparedQuery> preparedQueryMap = new HashMap<Integer, PreparedQuery>();
+  private int lastPreparedStatementId = 0;
 
   // transient status
   private volatile long lastAccessTime;
@@ -174,6 +177,31 @@ public class Session implements SessionConstants, ProtoObject<SessionProto>, Clo
     }
   }
 
+  /**
+   * Registers a prepared statement in this session.
+   *
+   * @return The statement id which is unique in this session
+   */
+  public int addPreparedQuery(PreparedQuery preparedQuery) {
+    synchronized (preparedQueryMap) {
+      int statementId = ++lastPreparedStatementId;
+      preparedQueryMap.put(statementId, preparedQuery);
+      return statementId;
+    }
+  }
+
+  public PreparedQuery getPreparedQuery(int statementId) {
+    synchronized (preparedQueryMap) {
+      return preparedQueryMap.get(statementId);
+    }
+  }
+
+  public void removePreparedQuery(int statementId) {
+    synchronized (preparedQueryMap) {
+      preparedQueryMap.remove(statementId);
+    }
+  }
+
   public void close() {
     try {
       synchronized (nonForwardQueryMap) {
@@ -188,6 +216,10 @@ public class Session implements SessionConstants, ProtoObject<SessionProto>, Clo
 
         nonForwardQueryMap.clear();
       }
+
+      synchronized (preparedQueryMap) {
+        preparedQueryMap.clear();
+      }
     } catch (Throwable t) {
       LOG.error(t.getMessage(), t);
       throw new RuntimeException(t.getMessage(), t);
@@ -0,0 +1,264 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.util.history;
+
+import com.google.gson.annotations.Expose;
+import org.apache.commons.lang.StringUtils;
+import org.apache.tajo.common.ProtoObject;
+import org.apache.tajo.engine.json.CoreGsonHelper;
+import org.apache.tajo.ipc.ClientProtos.OperatorProfileProto;
+import org.apache.tajo.json.GsonObject;
+import org.apache.tajo.util.FileUtil;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The runtime statistics of a physical operator. If profiling is enabled, a task collects them for each operator of
+ * its physical plan, and a stage sums up the statistics of the same operator over all its tasks.
+ *
+ * Times, rows and spilled bytes are summed up, while the peak memory and the hash table statistics are the maximum
+ * of all tasks.
+ */
+public class OperatorProfile implements GsonObject, ProtoObject<OperatorProfileProto> {
+  @Expose private int id;
+  @Expose private int depth;
+  @Expose private String name;
+  @Expose private int numTasks = 1;
+  @Expose private long wallTimeNanos;
+  @Expose private long cpuTimeNanos;
+  @Expose private long inputRows;
+  @Expose private long outputRows;
+  @Expose private long peakMemoryBytes;
+  @Expose private long spillBytes;
+  @Expose private long hashTableSize;
+  @Expose private long hashCollisions;
+
+  /**
+   * @param id The position of the operator in the pre-order traversal of a physical plan
+   * @param depth The depth of the operator in a physical plan
+   * @param name The name of the operator
+   */
+  public OperatorProfile(int id, int depth, String name) {
+    this.id = id;
+    this.depth = depth;
+    this.name = name;
+  }
+
+  public OperatorProfile(OperatorProfileProto proto) {
+    this.id = proto.getId();
+    this.depth = proto.getDepth();
+    this.name = proto.getName();
+    this.numTasks = proto.getNumTasks();
+    this.wallTimeNanos = proto.getWallTimeNanos();
+    this.cpuTimeNanos = proto.getCpuTimeNanos();
+    this.inputRows = proto.getInputRows();
+    this.outputRows = proto.getOutputRows();
+    this.peakMemoryBytes = proto.getPeakMemoryBytes();
+    this.spillBytes = proto.getSpillBytes();
+    this.hashTableSize = proto.getHashTableSize();
+    this.hashCollisions = proto.getHashCollisions();
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public int getDepth() {
+    return depth;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getNumTasks() {
+    return numTasks;
+  }
+
+  public long getWallTimeNanos() {
+    return wallTimeNanos;
+  }
+
+  public void setWallTimeNanos(long wallTimeNanos) {
+    this.wallTimeNanos = wallTimeNanos;
+  }
+
+  public long getCpuTimeNanos() {
+    return cpuTimeNanos;
+  }
+
+  public void setCpuTimeNanos(long cpuTimeNanos) {
+    this.cpuTimeNanos = cpuTimeNanos;
+  }
+
+  public long getInputRows() {
+    return inputRows;
+  }
+
+  public void setInputRows(long inputRows) {
+    this.inputRows = inputRows;
+  }
+
+  public long getOutputRows() {
+    return outputRows;
+  }
+
+  public void setOutputRows(long outputRows) {
+    this.outputRows = outputRows;
+  }
+
+  public long getPeakMemoryBytes() {
+    return peakMemoryBytes;
+  }
+
+  public void setPeakMemoryBytes(long peakMemoryBytes) {
+    this.peakMemoryBytes = peakMemoryBytes;
+  }
+
+  public long getSpillBytes() {
+    return spillBytes;
+  }
+
+  public void setSpillBytes(long spillBytes) {
+    this.spillBytes = spillBytes;
+  }
+
+  public long getHashTableSize() {
+    return hashTableSize;
+  }
+
+  public long getHashCollisions() {
+    return hashCollisions;
+  }
+
+  /**
+   * Set the size of a hash table, and the number of keys which share a bucket with another key when the keys are put
+   * into a {@link java.util.HashMap} of the default load factor.
+   */
+  public void setHashTable(Collection<?> keys) {
+    int capacity = 1;
+    while (capacity < keys.size() / 0.75f + 1) {
+      capacity <<= 1;
+    }
+
+    BitSet buckets = new BitSet(capacity);
+    for (Object key : keys) {
+      int h = key == null ? 0 : key.hashCode();
+      buckets.set((h ^ (h >>> 16)) & (capacity - 1));
+    }
+
+    this.hashTableSize = keys.size();
+    this.hashCollisions = keys.size() - buckets.cardinality();
+  }
+
+  /**
+   * @return True if both profiles come from the same operator of the same physical plan.
+   */
+  public boolean isSameOperator(OperatorProfile other) {
+    return id == other.id && name.equals(other.name);
+  }
+
+  public void merge(OperatorProfile other) {
+    numTasks += other.numTasks;
+    wallTimeNanos += other.wallTimeNanos;
+    cpuTimeNanos += other.cpuTimeNanos;
+    inputRows += other.inputRows;
+    outputRows += other.outputRows;
+    spillBytes += other.spillBytes;
+    peakMemoryBytes = Math.max(peakMemoryBytes, other.peakMemoryBytes);
+    if (other.hashTableSize > hashTableSize) {
+      hashTableSize = other.hashTableSize;
+      hashCollisions = other.hashCollisions;
+    }
+  }
+
+  /**
+   * Merge profiles into the profiles of the same operators, or add them if there are no such operators.
+   */
+  public static void mergeAll(List<OperatorProfile> profiles, List<OperatorProfile> others) {
+    for (OperatorProfile other : others) {
+      boolean merged = false;
+      for (OperatorProfile profile : profiles) {
+        if (profile.isSameOperator(other)) {
+          profile.merge(other);
+          merged = true;
+          break;
+        }
+      }
+      if (!merged) {
+        profiles.add(other);
+      }
+    }
+  }
+
+  /**
+   * @return One line for each profile, indented by the depth of the operator
+   */
+  public static String buildExplainString(List<OperatorProfile> profiles) {
+    StringBuilder sb = new StringBuilder();
+    for (OperatorProfile profile : profiles) {
+      sb.append(StringUtils.repeat("  ", profile.depth)).append(profile.toString()).append("\n");
+    }
+    return sb.toString();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(name);
+    sb.append(" (tasks=").append(numTasks);
+    sb.append(", rows in=").append(inputRows).append(" out=").append(outputRows);
+    sb.append(", time=").append(String.format("%.3f", wallTimeNanos / 1000000.0d)).append(" ms");
+    sb.append(", cpu=").append(String.format("%.3f", cpuTimeNanos / 1000000.0d)).append(" ms");
+    if (hashTableSize > 0) {
+      sb.append(", hash table=").append(hashTableSize).append(" (collisions=").append(hashCollisions).append(")");
+    }
+    if (peakMemoryBytes > 0) {
+      sb.append(", peak memory=").append(FileUtil.humanReadableByteCount(peakMemoryBytes, false));
+    }
+    if (spillBytes > 0) {
+      sb.append(", spill=").append(FileUtil.humanReadableByteCount(spillBytes, false));
+    }
+    sb.append(")");
+    return sb.toString();
+  }
+
+  @Override
+  public String toJson() {
+    return CoreGsonHelper.toJson(this, OperatorProfile.class);
+  }
+
+  @Override
+  public OperatorProfileProto getProto() {
+    return OperatorProfileProto.newBuilder()
+        .setId(id)
+        .setDepth(depth)
+        .setName(name)
+        .setNumTasks(numTasks)
+        .setWallTimeNanos(wallTimeNanos)
+        .setCpuTimeNanos(cpuTimeNanos)
+        .setInputRows(inputRows)
+        .setOutputRows(outputRows)
+        .setPeakMemoryBytes(peakMemoryBytes)
+        .setSpillBytes(spillBytes)
+        .setHashTableSize(hashTableSize)
+        .setHashCollisions(hashCollisions)
+        .build();
+  }
+}
@@ -66,6 +66,10 @@ public class StageHistory implements GsonObject {
   private int hostLocalAssigned;
   @Expose
   private int rackLocalAssigned;
+  @Expose
+  private int remoteAssigned;
+  @Expose
+  private List<OperatorProfile> operatorProfiles;
 
   private List<TaskHistory> tasks;
 
@@ -197,6 +201,14 @@ public class StageHistory implements GsonObject {
     this.rackLocalAssigned = rackLocalAssigned;
   }
 
+  public int getRemoteAssigned() {
+    return remoteAssigned;
+  }
+
+  public void setRemoteAssigned(int remoteAssigned) {
+    this.remoteAssigned = remoteAssigned;
+  }
+
   public int getFailedObjectCount() {
     return failedObjectCount;
   }
@@ -213,6 +225,14 @@ public class StageHistory implements GsonObject {
     this.killedObjectCount = killedObjectCount;
   }
 
+  public List<OperatorProfile> getOperatorProfiles() {
+    return operatorProfiles;
+  }
+
+  public void setOperatorProfiles(List<OperatorProfile> operatorProfiles) {
+    this.operatorProfiles = operatorProfiles;
+  }
+
   public List<TaskHistory> getTasks() {
     return tasks;
   }
@@ -263,7 +283,14 @@ public class StageHistory implements GsonObject {
 
       .setPlan(plan)
       .setHostLocalAssigned(hostLocalAssigned)
-      .setRackLocalAssigned(rackLocalAssigned);
+      .setRackLocalAssigned(rackLocalAssigned)
+      .setRemoteAssigned(remoteAssigned);
+
+    if (operatorProfiles != null) {
+      for (OperatorProfile eachProfile : operatorProfiles) {
+        builder.addOperatorProfiles(eachProfile.getProto());
+      }
+    }
 
     return builder.build();
   }
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.util.metrics;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free reservoir which counts values in log-linear buckets, as HdrHistogram does. Each power of two range is
+ * divided into 2^{@value #SUB_BUCKET_BITS} buckets, so that a value is kept with a relative error of at most 1/32.
+ * An update is a single atomic increment, and the memory of a reservoir is fixed regardless of the number of values.
+ *
+ * Since {@link Snapshot} requires values, a snapshot consists of {@value #SNAPSHOT_SIZE} values picked at evenly
+ * spaced quantiles of all recorded values.
+ */
+public class BucketedReservoir implements Reservoir {
+  static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  // values smaller than SUB_BUCKET_COUNT are counted exactly, and each of the other magnitudes has SUB_BUCKET_COUNT.
+  private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+  static final int SNAPSHOT_SIZE = 1028;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+  @Override
+  public int size() {
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      total += counts.get(i);
+    }
+    return (int) Math.min(total, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public void update(long value) {
+    counts.incrementAndGet(bucketIndex(value));
+  }
+
+  @Override
+  public Snapshot getSnapshot() {
+    long [] bucketCounts = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      bucketCounts[i] = counts.get(i);
+      total += bucketCounts[i];
+    }
+
+    if (total == 0) {
+      return new Snapshot(new long[0]);
+    }
+
+    int size = (int) Math.min(total, SNAPSHOT_SIZE);
+    long [] values = new long[size];
+    int bucket = 0;
+    long cumulative = bucketCounts[0];
+    for (int i = 0; i < size; i++) {
+      // the rank of the value at the middle of the i-th quantile range
+      long rank = (long) ((i + 0.5d) * total / size);
+      while (cumulative <= rank) {
+        cumulative += bucketCounts[++bucket];
+      }
+      values[i] = bucketValue(bucket);
+    }
+    return new Snapshot(values);
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return value < 0 ? 0 : (int) value;
+    }
+    int magnitude = 63 - Long.numberOfLeadingZeros(value);
+    int shift = magnitude - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /**
+   * @return The middle value of a bucket
+   */
+  static long bucketValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    long lowest = ((long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT)) << shift;
+    return lowest + ((1L << shift) >>> 1);
+  }
+}
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.util.metrics;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import org.apache.tajo.pullserver.TajoPullServerService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms and throughput meters of the query engine in a worker. All latencies are recorded
+ * in nanoseconds. Each record costs a few atomic increments, so that it can be called in hot paths.
+ *
+ * {@link #DISABLED} ignores all records. It is used where there is no worker, such as unit tests.
+ */
+public class EngineMetrics implements TajoPullServerService.FileChunkObserver {
+  public static final EngineMetrics DISABLED = new EngineMetrics();
+
+  private final boolean enabled;
+
+  private final Histogram fetchTime;
+  private final Meter fetchBytes;
+  private final Histogram pullServerChunkTime;
+  private final Meter pullServerBytes;
+  private final Histogram shuffleWriteTime;
+  private final Meter shuffleWriteBytes;
+  private final Histogram spillTime;
+  private final Meter spillBytes;
+  private final Histogram taskQueueDelay;
+
+  private EngineMetrics() {
+    enabled = false;
+    fetchTime = pullServerChunkTime = shuffleWriteTime = spillTime = taskQueueDelay = null;
+    fetchBytes = pullServerBytes = shuffleWriteBytes = spillBytes = null;
+  }
+
+  public EngineMetrics(TajoMetrics metrics) {
+    enabled = true;
+    fetchTime = metrics.engineHistogram("shuffle", "fetchTime");
+    fetchBytes = metrics.engineMeter("shuffle", "fetchBytes");
+    pullServerChunkTime = metrics.engineHistogram("pullserver", "chunkTime");
+    pullServerBytes = metrics.engineMeter("pullserver", "bytes");
+    shuffleWriteTime = metrics.engineHistogram("shuffle", "writeTime");
+    shuffleWriteBytes = metrics.engineMeter("shuffle", "writeBytes");
+    spillTime = metrics.engineHistogram("sort", "spillTime");
+    spillBytes = metrics.engineMeter("sort", "spillBytes");
+    taskQueueDelay = metrics.engineHistogram("task", "queueDelay");
+  }
+
+  public void recordFetch(long bytes, long elapsedNanos) {
+    if (enabled) {
+      fetchTime.update(elapsedNanos);
+      fetchBytes.mark(bytes);
+    }
+  }
+
+  @Override
+  public void onFileChunkServed(long bytes, long elapsedMillis) {
+    if (enabled) {
+      pullServerChunkTime.update(TimeUnit.MILLISECONDS.toNanos(elapsedMillis));
+      pullServerBytes.mark(bytes);
+    }
+  }
+
+  public void recordShuffleWrite(long bytes, long elapsedNanos) {
+    if (enabled) {
+      shuffleWriteTime.update(elapsedNanos);
+      shuffleWriteBytes.mark(bytes);
+    }
+  }
+
+  public void recordSpill(long bytes, long elapsedNanos) {
+    if (enabled) {
+      spillTime.update(elapsedNanos);
+      spillBytes.mark(bytes);
+    }
+  }
+
+  public void recordTaskQueueDelay(long elapsedNanos) {
+    if (enabled) {
+      taskQueueDelay.update(elapsedNanos);
+    }
+  }
+}
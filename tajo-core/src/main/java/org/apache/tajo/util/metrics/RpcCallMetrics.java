@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.util.metrics;
+
+import com.codahale.metrics.Histogram;
+import org.apache.tajo.rpc.RpcCallObserver;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * It records the latency of each RPC call into an engine histogram named "rpc.&lt;service&gt;.&lt;method&gt;".
+ */
+public class RpcCallMetrics implements RpcCallObserver {
+  public static final String CONTEXT_NAME = "rpc";
+
+  private final TajoMetrics metrics;
+  private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+
+  public RpcCallMetrics(TajoMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void onCallCompleted(String serviceName, String methodName, long elapsedNanos) {
+    String itemName = serviceName + "." + methodName;
+    Histogram histogram = histograms.get(itemName);
+    if (histogram == null) {
+      histogram = metrics.engineHistogram(CONTEXT_NAME, itemName);
+      histograms.putIfAbsent(itemName, histogram);
+    }
+    histogram.update(elapsedNanos);
+  }
+}
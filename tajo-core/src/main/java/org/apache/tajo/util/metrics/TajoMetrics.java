@@ -30,6 +30,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class TajoMetrics {
   private static final Log LOG = LogFactory.getLog(TajoMetrics.class);
 
+  /** the suffix of the group name of query engine metrics, such as shuffle, spill and RPC latencies */
+  public static final String ENGINE_GROUP_SUFFIX = "-engine";
+
   protected MetricRegistry metricRegistry;
   protected AtomicBoolean stop = new AtomicBoolean(false);
   protected String metricsGroupName;
@@ -126,6 +129,33 @@ public class TajoMetrics {
     return metricRegistry.timer(makeMetricsName(metricsGroupName, contextName, itemName));
   }
 
+  public String getEngineMetricsGroupName() {
+    return metricsGroupName + ENGINE_GROUP_SUFFIX;
+  }
+
+  /**
+   * Get or create a latency histogram of the engine metrics group. It is backed by {@link BucketedReservoir}, so that
+   * updating it costs only an atomic increment. Callers should keep the returned histogram instead of looking it up
+   * for each value.
+   */
+  public Histogram engineHistogram(String contextName, String itemName) {
+    String name = makeMetricsName(getEngineMetricsGroupName(), contextName, itemName);
+    synchronized (metricRegistry) {
+      Metric metric = metricRegistry.getMetrics().get(name);
+      if (metric == null) {
+        metric = metricRegistry.register(name, new Histogram(new BucketedReservoir()));
+      }
+      return (Histogram) metric;
+    }
+  }
+
+  /**
+   * Get or create a throughput meter of the engine metrics group.
+   */
+  public Meter engineMeter(String contextName, String itemName) {
+    return metricRegistry.meter(makeMetricsName(getEngineMetricsGroupName(), contextName, itemName));
+  }
+
   public static String makeMetricsName(String metricsGroupName, String contextName, String itemName) {
     return MetricRegistry.name(metricsGroupName, contextName, itemName);
   }
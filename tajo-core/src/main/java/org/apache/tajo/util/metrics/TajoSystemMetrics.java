@@ -113,6 +113,8 @@ public class TajoSystemMetrics extends TajoMetrics {
     String jvmMetricsName = metricsGroupName + "-jvm";
     setMetricsReporter(jvmMetricsName);
 
+    setMetricsReporter(getEngineMetricsGroupName());
+
     if(!inited) {
       metricRegistry.register(MetricRegistry.name(jvmMetricsName, "Heap"), new MemoryUsageGaugeSet());
       metricRegistry.register(MetricRegistry.name(jvmMetricsName, "File"), new FileDescriptorRatioGauge());
@@ -20,6 +20,7 @@ package org.apache.tajo.worker;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.protobuf.ServiceException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.fs.FileSystem;
@@ -34,9 +35,11 @@ import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.ipc.QueryMasterProtocol;
 import org.apache.tajo.master.cluster.WorkerConnectionInfo;
+import org.apache.tajo.rpc.CallFuture;
 import org.apache.tajo.rpc.NettyClientBase;
 import org.apache.tajo.rpc.NullCallback;
 import org.apache.tajo.rpc.RpcConnectionPool;
+import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos;
 import org.apache.tajo.storage.HashShuffleAppenderManager;
 import org.apache.tajo.storage.StorageUtil;
 import org.apache.tajo.util.NetUtils;
@@ -50,7 +53,12 @@ import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -87,6 +95,13 @@ public class ExecutionBlockContext {
   private UserGroupInformation taskOwner;
 
   private Reporter reporter;
+  // if true, status updates and completions of tasks are sent by the reporter in batches
+  private final boolean statusUpdateBatched;
+  // final status updates and completion reports which the reporter has not sent yet
+  private final Queue<TaskStatusProto> pendingStatuses = new ConcurrentLinkedQueue<TaskStatusProto>();
+  private final Queue<TaskCompletionReport> pendingCompletions = new ConcurrentLinkedQueue<TaskCompletionReport>();
+  // reports are queued only before this context is stopped, so that the reporter sends all of them at last
+  private final Object pendingReportLock = new Object();
 
   private AtomicBoolean stop = new AtomicBoolean();
 
@@ -103,6 +118,7 @@ public class ExecutionBlockContext {
     this.connPool = RpcConnectionPool.getPool();
     this.queryMaster = queryMaster;
     this.systemConf = conf;
+    this.statusUpdateBatched = conf.getBoolVar(TajoConf.ConfVars.TASK_STATUS_UPDATE_BATCH_ENABLED);
     this.reporter = new Reporter();
     this.defaultFS = TajoConf.getTajoRootDir(systemConf).getFileSystem(systemConf);
     this.localFS = FileSystem.getLocal(systemConf);
@@ -165,9 +181,50 @@ public class ExecutionBlockContext {
     connPool.releaseConnection(connection);
   }
 
+  /**
+   * Queue the final status of a task, which is sent to QueryMaster in the next batch.
+   *
+   * @return False if status updates are not batched or this context is already stopped.
+   * In this case, the task should send the status by itself.
+   */
+  public boolean reportTaskStatus(TaskStatusProto status) {
+    synchronized (pendingReportLock) {
+      if (!statusUpdateBatched || stop.get()) {
+        return false;
+      }
+      pendingStatuses.add(status);
+    }
+    reporter.wakeUp();
+    return true;
+  }
+
+  /**
+   * Queue the completion report of a task, which is sent to QueryMaster in the next batch.
+   *
+   * @return False if status updates are not batched or this context is already stopped.
+   * In this case, the task should send the report by itself.
+   */
+  public boolean reportTaskCompletion(TaskCompletionReport report) {
+    synchronized (pendingReportLock) {
+      if (!statusUpdateBatched || stop.get()) {
+        return false;
+      }
+      pendingCompletions.add(report);
+    }
+    reporter.wakeUp();
+    return true;
+  }
+
+  private boolean hasPendingReports() {
+    return !pendingStatuses.isEmpty() || !pendingCompletions.isEmpty();
+  }
+
   public void stop(){
-    if(stop.getAndSet(true)){
-      return;
+    synchronized (pendingReportLock) {
+      // no report is queued after this point, and the reporter sends the queued ones before it exits
+      if (stop.getAndSet(true)) {
+        return;
+      }
     }
 
     try {
@@ -251,6 +308,14 @@ public class ExecutionBlockContext {
     return tasks.get(taskAttemptId);
   }
 
+  public ExecutorService getTaskLauncherPool() {
+    return manager.getTaskLauncherPool();
+  }
+
+  public ExecutorService getFetcherPool() {
+    return manager.getFetcherPool();
+  }
+
   public void stopTaskRunner(String id){
     manager.stopTaskRunner(id);
   }
@@ -358,6 +423,10 @@ public class ExecutionBlockContext {
     private Thread reporterThread;
     private AtomicBoolean reporterStop = new AtomicBoolean();
     private static final int PROGRESS_INTERVAL = 1000;
+    // how long the reporter waits for other tasks to finish before sending a queued report
+    private static final int BATCH_DELAY = 20;
+    // how long the reporter waits for the response of a batch (in seconds)
+    private static final int BATCH_TIMEOUT = 10;
     private static final int MAX_RETRIES = 10;
 
     public Reporter() {
@@ -382,7 +451,9 @@ public class ExecutionBlockContext {
               client = getQueryMasterConnection();
               QueryMasterProtocol.QueryMasterProtocolService.Interface masterStub = client.getStub();
 
-              if(tasks.size() == 0){
+              if (statusUpdateBatched) {
+                sendStatusBatch(masterStub);
+              } else if(tasks.size() == 0){
                 masterStub.ping(null, getExecutionBlockId().getProto(), NullCallback.get());
               } else {
                 for (Task task : new ArrayList<Task>(tasks.values())){
@@ -409,17 +480,121 @@ public class ExecutionBlockContext {
               if (remainingRetries > 0 && !reporterStop.get()) {
                 synchronized (reporterThread) {
                   try {
-                    reporterThread.wait(PROGRESS_INTERVAL);
+                    // reports queued during the last batch are sent without waiting for the next interval
+                    if (!hasPendingReports()) {
+                      reporterThread.wait(PROGRESS_INTERVAL);
+                    }
                   } catch (InterruptedException e) {
                   }
                 }
+                if (statusUpdateBatched && !reporterStop.get() && hasPendingReports()) {
+                  try {
+                    Thread.sleep(BATCH_DELAY);
+                  } catch (InterruptedException e) {
+                  }
+                }
+              }
+            }
+          }
+
+          // send the reports queued until this context is stopped
+          int lastRetries = MAX_RETRIES;
+          while (statusUpdateBatched && hasPendingReports() && lastRetries > 0) {
+            NettyClientBase client = null;
+            try {
+              client = getQueryMasterConnection();
+              QueryMasterProtocol.QueryMasterProtocolService.Interface masterStub = client.getStub();
+              sendStatusBatch(masterStub);
+            } catch (Throwable t) {
+              LOG.error("Failed to send the last task reports: " + t.getMessage(), t);
+              lastRetries--;
+              if (lastRetries > 0) {
+                try {
+                  Thread.sleep(PROGRESS_INTERVAL);
+                } catch (InterruptedException e) {
+                  break;
+                }
               }
+            } finally {
+              releaseConnection(client);
             }
           }
         }
       };
     }
 
+    /**
+     * Send the queued reports and the progress of running tasks in a single RPC. If nothing is sent, it pings
+     * QueryMaster instead. The queued reports are kept for the next try unless QueryMaster accepts the batch.
+     */
+    private void sendStatusBatch(QueryMasterProtocol.QueryMasterProtocolService.Interface masterStub)
+        throws ServiceException, InterruptedException {
+      TaskStatusBatchProto.Builder builder = TaskStatusBatchProto.newBuilder();
+      builder.setEbId(getExecutionBlockId().getProto());
+
+      for (Task task : new ArrayList<Task>(tasks.values())) {
+        if (task.isRunning() && task.isProgressChanged()) {
+          task.updateProgress();
+          builder.addStatuses(task.getReport());
+          task.getContext().setProgressChanged(false);
+        } else {
+          task.updateProgress();
+        }
+      }
+
+      List<TaskStatusProto> statuses = new ArrayList<TaskStatusProto>();
+      TaskStatusProto status;
+      while ((status = pendingStatuses.poll()) != null) {
+        statuses.add(status);
+      }
+      List<TaskCompletionReport> completions = new ArrayList<TaskCompletionReport>();
+      TaskCompletionReport completion;
+      while ((completion = pendingCompletions.poll()) != null) {
+        completions.add(completion);
+      }
+      builder.addAllStatuses(statuses);
+      builder.addAllCompletions(completions);
+
+      if (builder.getStatusesCount() == 0 && builder.getCompletionsCount() == 0) {
+        masterStub.ping(null, getExecutionBlockId().getProto(), NullCallback.get());
+        return;
+      }
+
+      boolean accepted = false;
+      try {
+        CallFuture<PrimitiveProtos.BoolProto> callBack = new CallFuture<PrimitiveProtos.BoolProto>();
+        masterStub.statusUpdateBatch(callBack.getController(), builder.build(), callBack);
+
+        PrimitiveProtos.BoolProto response;
+        try {
+          response = callBack.get(BATCH_TIMEOUT, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+          // QueryMaster ignores a report applied already, so the batch can be sent again
+          throw new ServiceException("Task status batch of " + getExecutionBlockId() + " is timed out");
+        }
+
+        if (response == null) {
+          throw new ServiceException(callBack.getController().errorText());
+        } else if (!response.getValue()) {
+          throw new ServiceException("QueryMaster failed to accept the task status batch of "
+              + getExecutionBlockId());
+        }
+        accepted = true;
+      } finally {
+        if (!accepted) {
+          // keep the final reports for the next try
+          pendingStatuses.addAll(statuses);
+          pendingCompletions.addAll(completions);
+        }
+      }
+    }
+
+    public void wakeUp() {
+      synchronized (reporterThread) {
+        reporterThread.notifyAll();
+      }
+    }
+
     public void stop() throws InterruptedException {
       if (reporterStop.getAndSet(true)) {
         return;
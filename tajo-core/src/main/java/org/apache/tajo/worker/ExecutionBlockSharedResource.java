@@ -24,6 +24,8 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.tajo.ExecutionBlockId;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.engine.codegen.EvalClassCache;
 import org.apache.tajo.engine.codegen.ExecutorPreCompiler;
 import org.apache.tajo.engine.codegen.TajoClassLoader;
 import org.apache.tajo.engine.json.CoreGsonHelper;
@@ -79,8 +81,13 @@ public class ExecutionBlockSharedResource {
   private void initCodeGeneration() throws PlanningException {
     if (context.getBool(SessionVars.CODEGEN)) {
       codeGenEnabled = true;
-      classLoader = new TajoClassLoader();
-      compilationContext = new ExecutorPreCompiler.CompilationContext(classLoader);
+      if (context.getConf().getIntVar(TajoConf.ConfVars.WORKER_CODEGEN_CLASS_CACHE_SIZE) > 0) {
+        // classes generated for earlier execution blocks are reused, and they are not cleaned on release
+        compilationContext = new ExecutorPreCompiler.CompilationContext(EvalClassCache.getInstance());
+      } else {
+        classLoader = new TajoClassLoader();
+        compilationContext = new ExecutorPreCompiler.CompilationContext(classLoader);
+      }
       ExecutorPreCompiler.compile(compilationContext, plan);
     }
   }
@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.worker;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.ByteString;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.tajo.QueryId;
+import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.catalog.proto.CatalogProtos.FragmentProto;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.master.exec.NonForwardQueryResultFileScanner;
+import org.apache.tajo.plan.LogicalPlan;
+import org.apache.tajo.plan.logical.PartitionedTableScanNode;
+import org.apache.tajo.plan.logical.ScanNode;
+import org.apache.tajo.util.Pair;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * It serves the fragments of query results to clients which read results directly from workers.
+ *
+ * A client fetches the rows of a fragment page by page. An open scanner is kept for each fragment, so that the next
+ * page is read from where the previous page ended. If a request does not continue from the last position, for
+ * example on a retry, the fragment is scanned again from the beginning. A scanner is closed when it reaches the end
+ * of the fragment, or by a background thread when it is not used for {@link #SCANNER_EXPIRY_MSEC}, so that
+ * scanners abandoned by clients do not keep files open.
+ */
+public class ResultFragmentScannerManager {
+  private static final Log LOG = LogFactory.getLog(ResultFragmentScannerManager.class);
+
+  static final long SCANNER_EXPIRY_MSEC = 5 * 60 * 1000;
+  static final long EXPIRY_CHECK_INTERVAL_MSEC = 60 * 1000;
+
+  private final TajoConf conf;
+  private final ConcurrentMap<Pair<QueryId, FragmentProto>, FragmentScanner> scanners =
+      new ConcurrentHashMap<Pair<QueryId, FragmentProto>, FragmentScanner>();
+  private final ScheduledExecutorService expiryExecutor = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setNameFormat("Result fragment scanner expiry").setDaemon(true).build());
+
+  public ResultFragmentScannerManager(TajoConf conf) {
+    this.conf = conf;
+    expiryExecutor.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        expireScanners(System.currentTimeMillis());
+      }
+    }, EXPIRY_CHECK_INTERVAL_MSEC, EXPIRY_CHECK_INTERVAL_MSEC, TimeUnit.MILLISECONDS);
+  }
+
+  private static class FragmentScanner {
+    private final NonForwardQueryResultFileScanner scanner;
+    private long position = 0;
+    private volatile long lastAccessTime = System.currentTimeMillis();
+
+    FragmentScanner(NonForwardQueryResultFileScanner scanner) {
+      this.scanner = scanner;
+    }
+  }
+
+  /**
+   * @param offset The number of rows which are already fetched from the fragment
+   * @return Encoded rows. If it has fewer rows than fetchRowNum, the end of the fragment has been reached.
+   */
+  public List<ByteString> fetch(QueryId queryId, TableDesc tableDesc, FragmentProto fragment, long offset,
+                                int fetchRowNum) throws IOException {
+    Pair<QueryId, FragmentProto> key = new Pair<QueryId, FragmentProto>(queryId, fragment);
+    FragmentScanner fragmentScanner = scanners.remove(key);
+    if (fragmentScanner != null && fragmentScanner.position != offset) {
+      close(fragmentScanner);
+      fragmentScanner = null;
+    }
+
+    if (fragmentScanner == null) {
+      fragmentScanner = new FragmentScanner(createScanner(queryId, tableDesc, fragment));
+      // skip the rows which are already fetched
+      while (fragmentScanner.position < offset) {
+        int skipped = fragmentScanner.scanner.getNextRows(
+            (int) Math.min(offset - fragmentScanner.position, fetchRowNum)).size();
+        if (skipped == 0) {
+          break;
+        }
+        fragmentScanner.position += skipped;
+      }
+    }
+
+    List<ByteString> rows = fragmentScanner.scanner.getNextRows(fetchRowNum);
+    fragmentScanner.position += rows.size();
+    fragmentScanner.lastAccessTime = System.currentTimeMillis();
+
+    if (rows.size() < fetchRowNum) {
+      close(fragmentScanner);
+    } else {
+      scanners.put(key, fragmentScanner);
+    }
+    return rows;
+  }
+
+  private NonForwardQueryResultFileScanner createScanner(QueryId queryId, TableDesc tableDesc,
+                                                         FragmentProto fragment) throws IOException {
+    ScanNode scanNode;
+    if (tableDesc.hasPartition()) {
+      scanNode = LogicalPlan.createNodeWithoutPID(PartitionedTableScanNode.class);
+    } else {
+      scanNode = LogicalPlan.createNodeWithoutPID(ScanNode.class);
+    }
+    scanNode.init(tableDesc);
+
+    NonForwardQueryResultFileScanner scanner = new NonForwardQueryResultFileScanner(conf, null, queryId, scanNode,
+        tableDesc, Collections.singletonList(fragment));
+    scanner.init();
+    return scanner;
+  }
+
+  /**
+   * Close the scanners which are not used for {@link #SCANNER_EXPIRY_MSEC}. A scanner is closed only if this thread
+   * removes it from the map. Otherwise, a fetch has taken it concurrently, and it is still being read.
+   */
+  void expireScanners(long now) {
+    for (Map.Entry<Pair<QueryId, FragmentProto>, FragmentScanner> entry : scanners.entrySet()) {
+      FragmentScanner fragmentScanner = entry.getValue();
+      if (now - fragmentScanner.lastAccessTime > SCANNER_EXPIRY_MSEC &&
+          scanners.remove(entry.getKey(), fragmentScanner)) {
+        // a fetch may have used and put back the same scanner after it was checked above
+        if (now - fragmentScanner.lastAccessTime <= SCANNER_EXPIRY_MSEC &&
+            scanners.putIfAbsent(entry.getKey(), fragmentScanner) == null) {
+          continue;
+        }
+        close(fragmentScanner);
+      }
+    }
+  }
+
+  private static void close(FragmentScanner fragmentScanner) {
+    try {
+      fragmentScanner.scanner.close();
+    } catch (Exception e) {
+      LOG.warn(e.getMessage(), e);
+    }
+  }
+
+  public void close() {
+    expiryExecutor.shutdownNow();
+    for (FragmentScanner fragmentScanner : scanners.values()) {
+      close(fragmentScanner);
+    }
+    scanners.clear();
+  }
+}
@@ -57,6 +57,8 @@ import org.apache.tajo.util.NetUtils;
 import org.apache.tajo.util.StringUtils;
 import org.apache.tajo.util.history.HistoryReader;
 import org.apache.tajo.util.history.HistoryWriter;
+import org.apache.tajo.util.metrics.EngineMetrics;
+import org.apache.tajo.util.metrics.RpcCallMetrics;
 import org.apache.tajo.util.metrics.TajoSystemMetrics;
 import org.apache.tajo.webapp.StaticHttpServer;
 
@@ -107,6 +109,8 @@ public class TajoWorker extends CompositeService {
 
   private ClusterResourceSummary clusterResource;
 
+  private volatile byte [] resultFetchSecret;
+
   private WorkerConnectionInfo connectionInfo;
 
   private ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
@@ -117,6 +121,8 @@ public class TajoWorker extends CompositeService {
 
   private TajoSystemMetrics workerSystemMetrics;
 
+  private EngineMetrics engineMetrics = EngineMetrics.DISABLED;
+
   private HashShuffleAppenderManager hashShuffleAppenderManager;
 
   private AsyncDispatcher dispatcher;
@@ -264,6 +270,16 @@ public class TajoWorker extends CompositeService {
         }
       }
     });
+
+    RpcCallMetrics rpcCallMetrics = new RpcCallMetrics(workerSystemMetrics);
+    tajoWorkerManagerService.setCallObserver(rpcCallMetrics);
+    tajoWorkerClientService.setCallObserver(rpcCallMetrics);
+    queryMasterManagerService.setCallObserver(rpcCallMetrics);
+
+    engineMetrics = new EngineMetrics(workerSystemMetrics);
+    if (pullService != null) {
+      pullService.setFileChunkObserver(engineMetrics);
+    }
   }
 
   private int initWebServer() {
@@ -467,6 +483,17 @@ public class TajoWorker extends CompositeService {
       }
     }
 
+    /**
+     * Set the key with which the master signs result fragments, which is delivered in heartbeat responses.
+     */
+    public void setResultFetchSecret(byte [] resultFetchSecret) {
+      TajoWorker.this.resultFetchSecret = resultFetchSecret;
+    }
+
+    public byte [] getResultFetchSecret() {
+      return TajoWorker.this.resultFetchSecret;
+    }
+
     public ClusterResourceSummary getClusterResource() {
       synchronized (numClusterNodes) {
         return TajoWorker.this.clusterResource;
@@ -477,6 +504,10 @@ public class TajoWorker extends CompositeService {
       return workerSystemMetrics;
     }
 
+    public EngineMetrics getEngineMetrics() {
+      return engineMetrics;
+    }
+
     public HashShuffleAppenderManager getHashShuffleAppenderManager() {
       return hashShuffleAppenderManager;
     }
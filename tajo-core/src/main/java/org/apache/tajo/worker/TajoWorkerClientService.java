@@ -19,25 +19,29 @@
 package org.apache.tajo.worker;
 
 import com.google.common.base.Preconditions;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.RpcController;
 import com.google.protobuf.ServiceException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.security.AccessControlException;
 import org.apache.hadoop.service.AbstractService;
 import org.apache.tajo.QueryId;
 import org.apache.tajo.conf.TajoConf;
-import org.apache.tajo.ipc.ClientProtos.GetQueryHistoryResponse;
-import org.apache.tajo.ipc.ClientProtos.QueryIdRequest;
-import org.apache.tajo.ipc.ClientProtos.ResultCode;
+import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.ipc.ClientProtos.*;
 import org.apache.tajo.ipc.QueryMasterClientProtocol;
+import org.apache.tajo.master.exec.ResultFragmentToken;
 import org.apache.tajo.querymaster.QueryMasterTask;
 import org.apache.tajo.rpc.BlockingRpcServer;
+import org.apache.tajo.rpc.RpcCallObserver;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos;
 import org.apache.tajo.util.NetUtils;
 import org.apache.tajo.util.history.QueryHistory;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 
 public class TajoWorkerClientService extends AbstractService {
   private static final Log LOG = LogFactory.getLog(TajoWorkerClientService.class);
@@ -53,6 +57,7 @@ public class TajoWorkerClientService extends AbstractService {
   private TajoConf conf;
   private TajoWorker.WorkerContext workerContext;
   private TajoWorkerClientProtocolServiceHandler serviceHandler;
+  private ResultFragmentScannerManager resultFragmentScannerManager;
 
   public TajoWorkerClientService(TajoWorker.WorkerContext workerContext, int port) {
     super(TajoWorkerClientService.class.getName());
@@ -66,6 +71,7 @@ public class TajoWorkerClientService extends AbstractService {
     Preconditions.checkArgument(conf instanceof TajoConf);
     this.conf = (TajoConf) conf;
     this.serviceHandler = new TajoWorkerClientProtocolServiceHandler();
+    this.resultFragmentScannerManager = new ResultFragmentScannerManager(this.conf);
 
     // init RPC Server in constructor cause Heartbeat Thread use bindAddr
     try {
@@ -94,12 +100,22 @@ public class TajoWorkerClientService extends AbstractService {
     super.start();
   }
 
+  /**
+   * Set the observer which is notified of the calls served by the RPC server of this service.
+   */
+  public void setCallObserver(RpcCallObserver observer) {
+    rpcServer.setCallObserver(observer);
+  }
+
   @Override
   public void stop() {
     LOG.info("TajoWorkerClientService stopping");
     if(rpcServer != null) {
       rpcServer.shutdown();
     }
+    if (resultFragmentScannerManager != null) {
+      resultFragmentScannerManager.close();
+    }
     LOG.info("TajoWorkerClientService stopped");
     super.stop();
   }
@@ -138,5 +154,69 @@ public class TajoWorkerClientService extends AbstractService {
 
       return builder.build();
     }
+
+    @Override
+    public GetPartialQueryResultResponse getPartialQueryResult(RpcController controller, QueryIdRequest request)
+        throws ServiceException {
+      GetPartialQueryResultResponse.Builder builder = GetPartialQueryResultResponse.newBuilder();
+
+      try {
+        QueryId queryId = new QueryId(request.getQueryId());
+
+        QueryMasterTask queryMasterTask = workerContext.getQueryMaster().getQueryMasterTask(queryId, true);
+        if (queryMasterTask == null || queryMasterTask.getQuery() == null) {
+          builder.setResultCode(ResultCode.ERROR);
+          builder.setErrorMessage("No running query master task for " + queryId);
+        } else {
+          PartialQueryResultProto partialResult = queryMasterTask.getQuery().getPartialResult();
+          if (partialResult != null) {
+            builder.setPartialResult(partialResult);
+          }
+          builder.setResultCode(ResultCode.OK);
+        }
+      } catch (Throwable t) {
+        LOG.warn(t.getMessage(), t);
+        builder.setResultCode(ResultCode.ERROR);
+        builder.setErrorMessage(org.apache.hadoop.util.StringUtils.stringifyException(t));
+      }
+
+      return builder.build();
+    }
+
+    @Override
+    public GetQueryResultDataResponse fetchResultFragment(RpcController controller,
+                                                          FetchResultFragmentRequest request)
+        throws ServiceException {
+      GetQueryResultDataResponse.Builder builder = GetQueryResultDataResponse.newBuilder();
+      SerializedResultSet.Builder resultSetBuilder = SerializedResultSet.newBuilder();
+
+      try {
+        Preconditions.checkArgument(request.getFetchRowNum() > 0, "fetchRowNum must be positive.");
+        QueryId queryId = new QueryId(request.getQueryId());
+        // only fragments which the master has issued to the session for the result of the query are served
+        if (!request.hasToken() || !ResultFragmentToken.verify(workerContext.getResultFetchSecret(),
+            request.getSessionId().getId(), queryId, request.getTableDesc(), request.getFragment(),
+            request.getTokenExpiryTime(), request.getToken())) {
+          throw new AccessControlException("The result fragment of " + queryId + " is not issued by the master " +
+              "or its token is expired.");
+        }
+        TableDesc tableDesc = new TableDesc(request.getTableDesc());
+
+        List<ByteString> rows = resultFragmentScannerManager.fetch(queryId, tableDesc, request.getFragment(),
+            request.getOffset(), request.getFetchRowNum());
+
+        resultSetBuilder.setSchema(tableDesc.getLogicalSchema().getProto());
+        resultSetBuilder.addAllSerializedTuples(rows);
+        builder.setResultSet(resultSetBuilder.build());
+        builder.setResultCode(ResultCode.OK);
+      } catch (Throwable t) {
+        LOG.error(t.getMessage(), t);
+        builder.setResultSet(resultSetBuilder.build()); // required field
+        builder.setResultCode(ResultCode.ERROR);
+        builder.setErrorMessage(t.getMessage() == null ? t.getClass().getName() : t.getMessage());
+        builder.setErrorTrace(org.apache.hadoop.util.StringUtils.stringifyException(t));
+      }
+      return builder.build();
+    }
   }
 }
@@ -34,6 +34,7 @@ import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.ipc.TajoWorkerProtocol;
 import org.apache.tajo.master.cluster.WorkerConnectionInfo;
 import org.apache.tajo.rpc.AsyncRpcServer;
+import org.apache.tajo.rpc.RpcCallObserver;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos;
 import org.apache.tajo.util.NetUtils;
 import org.apache.tajo.worker.event.TaskRunnerStartEvent;
@@ -89,6 +90,13 @@ public class TajoWorkerManagerService extends CompositeService
     super.start();
   }
 
+  /**
+   * Set the observer which is notified of the calls served by the RPC server of this service.
+   */
+  public void setCallObserver(RpcCallObserver observer) {
+    rpcServer.setCallObserver(observer);
+  }
+
   @Override
   public void stop() {
     if(rpcServer != null) {
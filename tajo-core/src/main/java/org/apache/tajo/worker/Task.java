@@ -30,6 +30,7 @@ import org.apache.hadoop.fs.CommonConfigurationKeysPublic;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.tajo.SessionVars;
 import org.apache.tajo.TaskAttemptId;
 import org.apache.tajo.TajoProtos;
 import org.apache.tajo.TajoProtos.TaskAttemptState;
@@ -43,6 +44,8 @@ import org.apache.tajo.master.cluster.WorkerConnectionInfo;
 import org.apache.tajo.plan.serder.LogicalNodeDeserializer;
 import org.apache.tajo.plan.util.PlannerUtil;
 import org.apache.tajo.engine.planner.physical.PhysicalExec;
+import org.apache.tajo.engine.planner.physical.ProfilingExec;
+import org.apache.tajo.engine.planner.physical.RuntimeJoinFilter;
 import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.engine.query.TaskRequest;
 import org.apache.tajo.ipc.QueryMasterProtocol;
@@ -56,6 +59,7 @@ import org.apache.tajo.rpc.NullCallback;
 import org.apache.tajo.storage.*;
 import org.apache.tajo.storage.fragment.FileFragment;
 import org.apache.tajo.util.NetUtils;
+import org.apache.tajo.util.history.OperatorProfile;
 
 import io.netty.handler.codec.http.QueryStringDecoder;
 
@@ -65,7 +69,7 @@ import java.net.InetAddress;
 import java.net.URI;
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 
 import static org.apache.tajo.catalog.proto.CatalogProtos.FragmentProto;
 import static org.apache.tajo.plan.serder.PlanProto.ShuffleType;
@@ -87,6 +91,7 @@ public class Task {
   private LogicalNode plan;
   private final Map<String, TableDesc> descs = Maps.newHashMap();
   private PhysicalExec executor;
+  private ProfilingExec profiledExecutor;
   private boolean interQuery;
   private Path inputTableBaseDir;
 
@@ -129,6 +134,9 @@ public class Task {
         request.getFragments().toArray(new FragmentProto[request.getFragments().size()]), taskDir);
     this.context.setDataChannel(request.getDataChannel());
     this.context.setEnforcer(request.getEnforcer());
+    if (request.getRuntimeJoinFilter() != null) {
+      this.context.setRuntimeJoinFilter(new RuntimeJoinFilter(request.getRuntimeJoinFilter()));
+    }
     this.context.setState(TaskAttemptState.TA_PENDING);
     this.inputStats = new TableStats();
     this.fetcherRunners = Lists.newArrayList();
@@ -250,9 +258,9 @@ public class Task {
   }
 
   public void fetch() {
-    ExecutorService executorService = executionBlockContext.getTaskRunner(taskRunnerId).getFetchLauncher();
+    Executor executor = executionBlockContext.getTaskRunner(taskRunnerId).getFetchLauncher();
     for (Fetcher f : fetcherRunners) {
-      executorService.submit(new FetchRunner(context, f));
+      executor.execute(new FetchRunner(context, f));
     }
   }
 
@@ -357,6 +365,21 @@ public class Task {
       } while (it.hasNext());
     }
 
+    if (context.getResultJoinFilter() != null) {
+      builder.setRuntimeJoinFilter(context.getResultJoinFilter().getProto());
+    }
+
+    if (context.getPartialResultRows() != null) {
+      builder.addAllPartialResultRows(context.getPartialResultRows());
+      builder.setPartialResultTruncated(context.isPartialResultTruncated());
+    }
+
+    if (profiledExecutor != null) {
+      for (OperatorProfile profile : profiledExecutor.getProfiles()) {
+        builder.addOperatorProfiles(profile.getProto());
+      }
+    }
+
     return builder.build();
   }
 
@@ -402,6 +425,10 @@ public class Task {
 
         this.executor = executionBlockContext.getTQueryEngine().
             createPlan(context, plan);
+        if (context.getQueryContext().getBool(SessionVars.PROFILE_ENABLED)) {
+          this.profiledExecutor = ProfilingExec.instrument(context, executor);
+          this.executor = profiledExecutor;
+        }
         this.executor.init();
 
         while(!context.isStopped() && executor.next() != null) {
@@ -432,7 +459,9 @@ public class Task {
           context.setExecutorProgress(0.0f);
 
           if (context.getState() == TaskAttemptState.TA_KILLED) {
-            queryMasterStub.statusUpdate(null, getReport(), NullCallback.get());
+            if (!executionBlockContext.reportTaskStatus(getReport())) {
+              queryMasterStub.statusUpdate(null, getReport(), NullCallback.get());
+            }
             executionBlockContext.killedTasksNum.incrementAndGet();
           } else {
             context.setState(TaskAttemptState.TA_FAILED);
@@ -458,7 +487,9 @@ public class Task {
           executionBlockContext.succeededTasksNum.incrementAndGet();
 
           TaskCompletionReport report = getTaskCompletionReport();
-          queryMasterStub.done(null, report, NullCallback.get());
+          if (!executionBlockContext.reportTaskCompletion(report)) {
+            queryMasterStub.done(null, report, NullCallback.get());
+          }
         }
         finishTime = System.currentTimeMillis();
         LOG.info(context.getTaskId() + " completed. " +
@@ -612,12 +643,15 @@ public class Task {
             LOG.warn("Retry on the fetch: " + fetcher.getURI() + " (" + retryNum + ")");
           }
           try {
+            long fetchStart = System.nanoTime();
             FileChunk fetched = fetcher.get();
             if (fetcher.getState() == TajoProtos.FetcherState.FETCH_FINISHED && fetched != null
           && fetched.getFile() != null) {
               if (fetched.fromRemote() == false) {
           localChunks.add(fetched);
           LOG.info("Add a new FileChunk to local chunk list");
+              } else {
+                ctx.getEngineMetrics().recordFetch(fetcher.getFileLen(), System.nanoTime() - fetchStart);
               }
               break;
             }
@@ -21,6 +21,7 @@ package org.apache.tajo.worker;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Objects;
 import com.google.common.collect.Maps;
+import com.google.protobuf.ByteString;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.fs.Path;
@@ -31,6 +32,7 @@ import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.engine.planner.enforce.Enforcer;
 import org.apache.tajo.engine.planner.global.DataChannel;
+import org.apache.tajo.engine.planner.physical.RuntimeJoinFilter;
 import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.plan.expr.EvalNode;
 import org.apache.tajo.storage.HashShuffleAppenderManager;
@@ -38,6 +40,7 @@ import org.apache.tajo.storage.fragment.FileFragment;
 import org.apache.tajo.storage.fragment.Fragment;
 import org.apache.tajo.storage.fragment.FragmentConvertor;
 import org.apache.tajo.util.TUtil;
+import org.apache.tajo.util.metrics.EngineMetrics;
 import org.apache.tajo.worker.TajoWorker.WorkerContext;
 
 import java.io.File;
@@ -75,6 +78,10 @@ public class TaskAttemptContext {
   private Path outputPath;
   private DataChannel dataChannel;
   private Enforcer enforcer;
+  private RuntimeJoinFilter runtimeJoinFilter;
+  private RuntimeJoinFilter resultJoinFilter;
+  private List<ByteString> partialResultRows;
+  private boolean partialResultTruncated;
   private QueryContext queryContext;
   private WorkerContext workerContext;
   private ExecutionBlockSharedResource sharedResource;
@@ -161,6 +168,42 @@ public class TaskAttemptContext {
     return this.enforcer;
   }
 
+  /**
+   * @param joinFilter A filter of join keys built by the other side of the join which this task's output is sent to
+   */
+  public void setRuntimeJoinFilter(RuntimeJoinFilter joinFilter) {
+    this.runtimeJoinFilter = joinFilter;
+  }
+
+  public RuntimeJoinFilter getRuntimeJoinFilter() {
+    return runtimeJoinFilter;
+  }
+
+  public void setResultJoinFilter(RuntimeJoinFilter joinFilter) {
+    this.resultJoinFilter = joinFilter;
+  }
+
+  public RuntimeJoinFilter getResultJoinFilter() {
+    return resultJoinFilter;
+  }
+
+  /**
+   * @param rows Serialized partial aggregates of this task, which are merged into a running result of the query
+   * @param truncated True if this task had more partial aggregates than the given rows
+   */
+  public void setPartialResult(List<ByteString> rows, boolean truncated) {
+    this.partialResultRows = rows;
+    this.partialResultTruncated = truncated;
+  }
+
+  public List<ByteString> getPartialResultRows() {
+    return partialResultRows;
+  }
+
+  public boolean isPartialResultTruncated() {
+    return partialResultTruncated;
+  }
+
   public ExecutionBlockSharedResource getSharedResource() {
     return sharedResource;
   }
@@ -403,4 +446,8 @@ public class TaskAttemptContext {
   public HashShuffleAppenderManager getHashShuffleAppenderManager() {
     return hashShuffleAppenderManager;
   }
+
+  public EngineMetrics getEngineMetrics() {
+    return workerContext != null ? workerContext.getEngineMetrics() : EngineMetrics.DISABLED;
+  }
 }
\ No newline at end of file
@@ -18,8 +18,6 @@
 
 package org.apache.tajo.worker;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
@@ -40,6 +38,8 @@ import org.apache.tajo.rpc.NullCallback;
 
 import io.netty.channel.ConnectTimeoutException;
 
+import java.util.LinkedList;
+import java.util.Queue;
 import java.util.concurrent.*;
 
 import static org.apache.tajo.ipc.TajoWorkerProtocol.*;
@@ -58,11 +58,8 @@ public class TaskRunner extends AbstractService {
 
   private TajoContainerId containerId;
 
-  // for Fetcher
-  private ExecutorService fetchLauncher;
-
-  // A thread to receive each assigned query unit and execute the query unit
-  private Thread taskLauncher;
+  // for Fetcher, which runs at most a given number of fetchers in the fetcher threads of the worker
+  private FetchExecutor fetchLauncher;
 
   // Contains the object references related for TaskRunner
   private ExecutionBlockContext executionBlockContext;
@@ -74,11 +71,9 @@ public class TaskRunner extends AbstractService {
   public TaskRunner(ExecutionBlockContext executionBlockContext, String containerId) {
     super(TaskRunner.class.getName());
 
-    ThreadFactoryBuilder builder = new ThreadFactoryBuilder();
-    ThreadFactory fetcherFactory = builder.setNameFormat("Fetcher executor #%d").build();
     this.systemConf = executionBlockContext.getConf();
-    this.fetchLauncher = Executors.newFixedThreadPool(
-        systemConf.getIntVar(ConfVars.SHUFFLE_FETCHER_PARALLEL_EXECUTION_MAX_NUM), fetcherFactory);
+    this.fetchLauncher = new FetchExecutor(executionBlockContext.getFetcherPool(),
+        systemConf.getIntVar(ConfVars.SHUFFLE_FETCHER_PARALLEL_EXECUTION_MAX_NUM));
     try {
       this.containerId = TajoConverterUtils.toTajoContainerId(containerId);
       this.executionBlockContext = executionBlockContext;
@@ -110,10 +105,60 @@ public class TaskRunner extends AbstractService {
     return baseDirPath;
   }
 
-  public ExecutorService getFetchLauncher() {
+  public Executor getFetchLauncher() {
     return fetchLauncher;
   }
 
+  /**
+   * It runs the fetchers of a task runner in the shared fetcher threads of the worker, but at most a given number
+   * of them at a time as a dedicated thread pool of the task runner did.
+   */
+  static class FetchExecutor implements Executor {
+    private final Executor fetcherPool;
+    private final int maxRunning;
+    private final Queue<Runnable> pending = new LinkedList<Runnable>();
+    private int running = 0;
+
+    FetchExecutor(Executor fetcherPool, int maxRunning) {
+      this.fetcherPool = fetcherPool;
+      this.maxRunning = Math.max(1, maxRunning);
+    }
+
+    @Override
+    public synchronized void execute(Runnable command) {
+      pending.add(command);
+      launchPending();
+    }
+
+    private synchronized void launchPending() {
+      while (running < maxRunning && !pending.isEmpty()) {
+        final Runnable command = pending.poll();
+        running++;
+        try {
+          fetcherPool.execute(new Runnable() {
+            @Override
+            public void run() {
+              try {
+                command.run();
+              } finally {
+                finished();
+              }
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          // the worker is stopping
+          running--;
+          LOG.warn("A fetcher is rejected: " + e.getMessage());
+        }
+      }
+    }
+
+    private synchronized void finished() {
+      running--;
+      launchPending();
+    }
+  }
+
   @Override
   public void init(Configuration conf) {
     if (!(conf instanceof TajoConf)) {
@@ -154,9 +199,6 @@ public class TaskRunner extends AbstractService {
     synchronized (this) {
       this.stopped = true;
 
-      fetchLauncher.shutdown();
-      fetchLauncher = null;
-
       notifyAll();
     }
 
@@ -188,7 +230,8 @@ public class TaskRunner extends AbstractService {
     LOG.info("TaskRunner startup");
     try {
 
-      taskLauncher = new Thread(new Runnable() {
+      // A thread of the worker receives each assigned task and executes it
+      getContext().getTaskLauncherPool().execute(new Runnable() {
 
         @Override
         public void run() {
@@ -305,7 +348,6 @@ public class TaskRunner extends AbstractService {
           }
         }
       });
-      taskLauncher.start();
     } catch (Throwable t) {
       LOG.fatal("Unhandled exception. Starting shutdown.", t);
     }
@@ -19,6 +19,7 @@
 package org.apache.tajo.worker;
 
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
@@ -28,13 +29,14 @@ import org.apache.hadoop.yarn.event.EventHandler;
 import org.apache.tajo.ExecutionBlockId;
 import org.apache.tajo.TaskAttemptId;
 import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.engine.codegen.EvalClassCache;
 import org.apache.tajo.worker.event.TaskRunnerEvent;
 import org.apache.tajo.worker.event.TaskRunnerStartEvent;
 import org.apache.tajo.worker.event.TaskRunnerStopEvent;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class TaskRunnerManager extends CompositeService implements EventHandler<TaskRunnerEvent> {
@@ -49,6 +51,11 @@ public class TaskRunnerManager extends CompositeService implements EventHandler<
   private FinishedTaskCleanThread finishedTaskCleanThread;
   private Dispatcher dispatcher;
 
+  // Threads shared by all task runners, so that they are reused across execution blocks and queries
+  private static final long TASK_LAUNCHER_KEEP_ALIVE_MINUTES = 10;
+  private ExecutorService taskLauncherPool;
+  private ExecutorService fetcherPool;
+
   public TaskRunnerManager(TajoWorker.WorkerContext workerContext, Dispatcher dispatcher) {
     super(TaskRunnerManager.class.getName());
 
@@ -67,6 +74,15 @@ public class TaskRunnerManager extends CompositeService implements EventHandler<
     }
     tajoConf = (TajoConf)conf;
     dispatcher.register(TaskRunnerEvent.EventType.class, this);
+    EvalClassCache.getInstance().setMaxSize(tajoConf.getIntVar(TajoConf.ConfVars.WORKER_CODEGEN_CLASS_CACHE_SIZE));
+
+    // a task launcher thread is held by a task runner until it stops, and it is kept alive for the next one
+    taskLauncherPool = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+        TASK_LAUNCHER_KEEP_ALIVE_MINUTES, TimeUnit.MINUTES, new SynchronousQueue<Runnable>(),
+        new ThreadFactoryBuilder().setNameFormat("Task launcher #%d").build());
+    fetcherPool = Executors.newFixedThreadPool(
+        tajoConf.getIntVar(TajoConf.ConfVars.SHUFFLE_FETCHER_WORKER_THREAD_NUM),
+        new ThreadFactoryBuilder().setNameFormat("Fetcher executor #%d").build());
     super.init(tajoConf);
   }
 
@@ -98,6 +114,13 @@ public class TaskRunnerManager extends CompositeService implements EventHandler<
       finishedTaskCleanThread.interrupt();
     }
 
+    if (taskLauncherPool != null) {
+      taskLauncherPool.shutdownNow();
+    }
+    if (fetcherPool != null) {
+      fetcherPool.shutdownNow();
+    }
+
     super.stop();
   }
 
@@ -107,6 +130,14 @@ public class TaskRunnerManager extends CompositeService implements EventHandler<
     taskRunner.stop();
   }
 
+  public ExecutorService getTaskLauncherPool() {
+    return taskLauncherPool;
+  }
+
+  public ExecutorService getFetcherPool() {
+    return fetcherPool;
+  }
+
   public Collection<TaskRunner> getTaskRunners() {
     return Collections.unmodifiableCollection(taskRunnerMap.values());
   }
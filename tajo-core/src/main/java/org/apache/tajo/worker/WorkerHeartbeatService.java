@@ -193,6 +193,9 @@ public class WorkerHeartbeatService extends AbstractService {
               context.setNumClusterNodes(clusterResourceSummary.getNumWorkers());
             }
             context.setClusterResource(clusterResourceSummary);
+            if (response.hasResultFetchSecret()) {
+              context.setResultFetchSecret(response.getResultFetchSecret().toByteArray());
+            }
           } else {
             if(callBack.getController().failed()) {
               throw new ServiceException(callBack.getController().errorText());
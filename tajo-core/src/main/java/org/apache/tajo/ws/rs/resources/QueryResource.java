@@ -18,6 +18,7 @@
 
 package org.apache.tajo.ws.rs.resources;
 
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -40,19 +41,31 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
+import com.google.protobuf.ByteString;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.tajo.QueryId;
 import org.apache.tajo.TajoProtos;
+import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.ipc.ClientProtos;
+import org.apache.tajo.ipc.ClientProtos.GetPartialQueryResultResponse;
+import org.apache.tajo.ipc.ClientProtos.PartialQueryResultProto;
 import org.apache.tajo.ipc.ClientProtos.SubmitQueryResponse;
+import org.apache.tajo.ipc.QueryMasterClientProtocol;
+import org.apache.tajo.ipc.QueryMasterClientProtocol.QueryMasterClientProtocolService;
 import org.apache.tajo.master.QueryInProgress;
 import org.apache.tajo.master.QueryInfo;
 import org.apache.tajo.master.QueryManager;
 import org.apache.tajo.master.TajoMaster.MasterContext;
 import org.apache.tajo.querymaster.QueryJobEvent;
+import org.apache.tajo.rpc.NettyClientBase;
+import org.apache.tajo.rpc.RpcConnectionPool;
 import org.apache.tajo.session.InvalidSessionException;
 import org.apache.tajo.session.Session;
+import org.apache.tajo.storage.RowStoreUtil;
+import org.apache.tajo.storage.RowStoreUtil.RowStoreDecoder;
+import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.util.TajoIdUtils;
 import org.apache.tajo.ws.rs.JerseyResourceDelegate;
 import org.apache.tajo.ws.rs.JerseyResourceDelegateContext;
@@ -436,6 +449,109 @@ public class QueryResource {
     }
   }
   
+  @GET
+  @Path("{queryId}/partial-result")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response getPartialQueryResult(@PathParam("queryId") String queryId) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Client sent a get partial query result request.");
+    }
+
+    Response response = null;
+
+    try {
+      initializeContext();
+      JerseyResourceDelegateContextKey<String> queryIdKey =
+          JerseyResourceDelegateContextKey.valueOf(queryIdKeyName, String.class);
+      context.put(queryIdKey, queryId);
+
+      response = JerseyResourceDelegateUtil.runJerseyResourceDelegate(
+          new GetPartialQueryResultDelegate(),
+          application,
+          context,
+          LOG);
+    } catch (Throwable e) {
+      LOG.error(e.getMessage(), e);
+
+      response = ResourcesUtil.createExceptionResponse(null, e.getMessage());
+    }
+
+    return response;
+  }
+
+  private static class GetPartialQueryResultDelegate implements JerseyResourceDelegate {
+
+    @Override
+    public Response run(JerseyResourceDelegateContext context) {
+      JerseyResourceDelegateContextKey<String> queryIdKey =
+          JerseyResourceDelegateContextKey.valueOf(queryIdKeyName, String.class);
+      String queryId = context.get(queryIdKey);
+      JerseyResourceDelegateContextKey<MasterContext> masterContextKey =
+          JerseyResourceDelegateContextKey.valueOf(JerseyResourceDelegateUtil.MasterContextKey, MasterContext.class);
+      MasterContext masterContext = context.get(masterContextKey);
+
+      QueryId queryIdObj = TajoIdUtils.parseQueryId(queryId);
+
+      // the final result of a finished query is served by the result resource
+      QueryInProgress queryInProgress = masterContext.getQueryJobManager().getQueryInProgress(queryIdObj);
+      if (queryInProgress == null) {
+        return Response.status(Status.NOT_FOUND).build();
+      }
+      QueryInfo queryInfo = queryInProgress.getQueryInfo();
+      if (queryInfo.getQueryMasterHost() == null || queryInfo.getQueryMasterClientPort() == 0) {
+        return Response.status(Status.NO_CONTENT).build();
+      }
+
+      NettyClientBase client = null;
+      GetPartialQueryResultResponse response;
+      try {
+        client = RpcConnectionPool.getPool().getConnection(
+            new InetSocketAddress(queryInfo.getQueryMasterHost(), queryInfo.getQueryMasterClientPort()),
+            QueryMasterClientProtocol.class, false);
+        QueryMasterClientProtocolService.BlockingInterface queryMasterService = client.getStub();
+        response = queryMasterService.getPartialQueryResult(null,
+            ClientProtos.QueryIdRequest.newBuilder().setQueryId(queryIdObj.getProto()).build());
+      } catch (Exception e) {
+        LOG.error(e.getMessage(), e);
+        return ResourcesUtil.createExceptionResponse(LOG, e.getMessage());
+      } finally {
+        RpcConnectionPool.getPool().releaseConnection(client);
+      }
+
+      if (response.getResultCode() != ClientProtos.ResultCode.OK) {
+        return ResourcesUtil.createExceptionResponse(LOG, response.getErrorMessage());
+      }
+      if (!response.hasPartialResult()) {
+        return Response.status(Status.NO_CONTENT).build();
+      }
+
+      return Response.ok(toResponseMap(response.getPartialResult())).build();
+    }
+
+    private Map<String, Object> toResponseMap(PartialQueryResultProto partialResult) {
+      Schema schema = new Schema(partialResult.getResultSet().getSchema());
+      RowStoreDecoder decoder = RowStoreUtil.createDecoder(schema);
+
+      List<List<String>> rows = new ArrayList<List<String>>();
+      for (ByteString serializedTuple : partialResult.getResultSet().getSerializedTuplesList()) {
+        Tuple tuple = decoder.toTuple(serializedTuple.toByteArray());
+        List<String> row = new ArrayList<String>(schema.size());
+        for (int i = 0; i < schema.size(); i++) {
+          row.add(tuple.isNull(i) ? null : tuple.get(i).asChars());
+        }
+        rows.add(row);
+      }
+
+      Map<String, Object> responseMap = new HashMap<String, Object>();
+      responseMap.put("numMergedTasks", partialResult.getNumMergedTasks());
+      responseMap.put("numTotalTasks", partialResult.getNumTotalTasks());
+      responseMap.put("truncated", partialResult.getTruncated());
+      responseMap.put("schema", schema);
+      responseMap.put("rows", rows);
+      return responseMap;
+    }
+  }
+
   @Path("/{queryId}/result")
   public QueryResultResource getQueryResult(@PathParam("queryId") String queryId) {
     QueryResultResource queryResultResource = new QueryResultResource();
@@ -49,6 +49,7 @@ import java.net.URI;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 public class QueryResultResource {
   
@@ -70,8 +71,16 @@ public class QueryResultResource {
   private static final String cacheIdKeyName = "cacheId";
   private static final String offsetKeyName = "offset";
   private static final String countKeyName = "count";
+  private static final String streamKeyName = "stream";
+  private static final String acceptEncodingKeyName = "acceptEncoding";
 
   private static final String tajoDigestHeaderName = "X-Tajo-Digest";
+  private static final String digestAlgorithm = "SHA-1";
+
+  /** the number of rows which are fetched from a result scanner at once while streaming */
+  private static final int streamingFetchRows = 1024;
+  /** the length written after the last row of a streamed result set. The digest of the rows follows it. */
+  public static final int END_OF_ROWS = -1;
 
   public UriInfo getUriInfo() {
     return uriInfo;
@@ -254,13 +263,23 @@ public class QueryResultResource {
     }
   }
 
+  /**
+   * It returns a result set as a sequence of rows, each of which consists of its length and its bytes.
+   *
+   * By default, the requested rows are fetched at once and the digest of them is given in the X-Tajo-Digest header.
+   * If stream is true, the rows are streamed in chunked transfer encoding without being buffered, and they are
+   * followed by {@link #END_OF_ROWS} and the digest of them, which is also written as its length and its bytes.
+   * A streamed result set is compressed with gzip if the client accepts it.
+   */
   @GET
   @Path("{cacheId}")
   @Produces(MediaType.APPLICATION_OCTET_STREAM)
   public Response getQueryResultSet(@HeaderParam(QueryResource.tajoSessionIdHeaderName) String sessionId,
       @PathParam("cacheId") String cacheId,
       @DefaultValue("-1") @QueryParam("offset") int offset,
-      @DefaultValue("-1") @QueryParam("count") int count) {
+      @DefaultValue("-1") @QueryParam("count") int count,
+      @DefaultValue("false") @QueryParam("stream") boolean stream,
+      @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
     if (LOG.isDebugEnabled()) {
       LOG.debug("Client sent a get query result set request.");
     }
@@ -280,6 +299,12 @@ public class QueryResultResource {
       JerseyResourceDelegateContextKey<Integer> countKey =
           JerseyResourceDelegateContextKey.valueOf(countKeyName, Integer.class);
       context.put(countKey, count);
+      JerseyResourceDelegateContextKey<Boolean> streamKey =
+          JerseyResourceDelegateContextKey.valueOf(streamKeyName, Boolean.class);
+      context.put(streamKey, stream);
+      JerseyResourceDelegateContextKey<String> acceptEncodingKey =
+          JerseyResourceDelegateContextKey.valueOf(acceptEncodingKeyName, String.class);
+      context.put(acceptEncodingKey, acceptEncoding);
       
       response = JerseyResourceDelegateUtil.runJerseyResourceDelegate(
           new GetQueryResultSetDelegate(),
@@ -317,6 +342,12 @@ public class QueryResultResource {
       JerseyResourceDelegateContextKey<Integer> countKey =
           JerseyResourceDelegateContextKey.valueOf(countKeyName, Integer.class);
       int count = context.get(countKey);
+      JerseyResourceDelegateContextKey<Boolean> streamKey =
+          JerseyResourceDelegateContextKey.valueOf(streamKeyName, Boolean.class);
+      boolean stream = context.get(streamKey);
+      JerseyResourceDelegateContextKey<String> acceptEncodingKey =
+          JerseyResourceDelegateContextKey.valueOf(acceptEncodingKeyName, String.class);
+      String acceptEncoding = context.get(acceptEncodingKey);
       
       if (sessionId == null || sessionId.isEmpty()) {
         return ResourcesUtil.createBadRequestResponse(LOG, "Session id is required. Please refer the header " + 
@@ -348,6 +379,17 @@ public class QueryResultResource {
       try {
         skipOffsetRow(cachedQueryResultScanner, offset);
 
+        if (stream) {
+          boolean compress = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+          Response.ResponseBuilder builder =
+              Response.ok(new QueryResultChunkedStreamingOutput(cachedQueryResultScanner, count, compress))
+              .header("Transfer-Encoding", "chunked");
+          if (compress) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+          }
+          return builder.build();
+        }
+
         List<ByteString> output = cachedQueryResultScanner.getNextRows(count);
         String digestString = getEncodedBase64DigestString(output);
 
@@ -376,11 +418,19 @@ public class QueryResultResource {
         throw new RuntimeException("Offset must be over the current row number");
       }
 
-      queryResultScanner.getNextRows(offset - currentRow - 1);
+      // skip rows in batches so that skipped rows are not buffered at once
+      int remainRows = offset - currentRow - 1;
+      while (remainRows > 0) {
+        int skipped = queryResultScanner.getNextRows(Math.min(remainRows, streamingFetchRows)).size();
+        if (skipped == 0) {
+          break;
+        }
+        remainRows -= skipped;
+      }
     }
 
     private String getEncodedBase64DigestString(List<ByteString> outputList) throws NoSuchAlgorithmException {
-      MessageDigest messageDigest = MessageDigest.getInstance("SHA-1");
+      MessageDigest messageDigest = MessageDigest.getInstance(digestAlgorithm);
 
       for (ByteString byteString: outputList) {
         messageDigest.update(byteString.toByteArray());
@@ -411,5 +461,62 @@ public class QueryResultResource {
       streamingOutputStream.flush();
     }
   }
-  
+
+  /**
+   * It fetches rows from a result scanner in small batches and writes them as they are fetched, while it computes
+   * the digest of them incrementally. The container writes the output in chunks and blocks the writer while the
+   * client is slow, so that only a small batch of rows is kept in the heap.
+   */
+  private static class QueryResultChunkedStreamingOutput implements StreamingOutput {
+
+    private final NonForwardQueryResultScanner scanner;
+    private final int count;
+    private final boolean compress;
+
+    public QueryResultChunkedStreamingOutput(NonForwardQueryResultScanner scanner, int count, boolean compress) {
+      this.scanner = scanner;
+      this.count = count;
+      this.compress = compress;
+    }
+
+    @Override
+    public void write(OutputStream outputStream) throws IOException, WebApplicationException {
+      MessageDigest messageDigest;
+      try {
+        messageDigest = MessageDigest.getInstance(digestAlgorithm);
+      } catch (NoSuchAlgorithmException e) {
+        throw new WebApplicationException(e);
+      }
+
+      GZIPOutputStream gzipOutputStream = null;
+      if (compress) {
+        gzipOutputStream = new GZIPOutputStream(outputStream);
+        outputStream = gzipOutputStream;
+      }
+      DataOutputStream streamingOutputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+
+      int remainRows = count;
+      while (remainRows > 0) {
+        List<ByteString> rows = scanner.getNextRows(Math.min(remainRows, streamingFetchRows));
+        if (rows.isEmpty()) {
+          break;
+        }
+        for (ByteString row : rows) {
+          streamingOutputStream.writeInt(row.size());
+          row.writeTo(streamingOutputStream);
+          messageDigest.update(row.asReadOnlyByteBuffer());
+        }
+        remainRows -= rows.size();
+      }
+
+      byte [] digest = messageDigest.digest();
+      streamingOutputStream.writeInt(END_OF_ROWS);
+      streamingOutputStream.writeInt(digest.length);
+      streamingOutputStream.write(digest);
+      streamingOutputStream.flush();
+      if (gzipOutputStream != null) {
+        gzipOutputStream.finish();
+      }
+    }
+  }
 }
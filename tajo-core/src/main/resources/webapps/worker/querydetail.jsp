@@ -19,14 +19,17 @@
 %>
 <%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
 
+<%@ page import="org.apache.commons.lang.StringUtils" %>
 <%@ page import="org.apache.commons.lang.math.NumberUtils" %>
 <%@ page import="org.apache.tajo.QueryId" %>
 <%@ page import="org.apache.tajo.SessionVars" %>
 <%@ page import="org.apache.tajo.querymaster.Query" %>
 <%@ page import="org.apache.tajo.querymaster.QueryMasterTask" %>
+<%@ page import="org.apache.tajo.util.FileUtil" %>
 <%@ page import="org.apache.tajo.util.JSPUtil" %>
 <%@ page import="org.apache.tajo.util.TajoIdUtils" %>
 <%@ page import="org.apache.tajo.util.history.HistoryReader" %>
+<%@ page import="org.apache.tajo.util.history.OperatorProfile" %>
 <%@ page import="org.apache.tajo.util.history.QueryHistory" %>
 <%@ page import="org.apache.tajo.util.history.StageHistory" %>
 <%@ page import="org.apache.tajo.webapp.StaticHttpServer" %>
@@ -114,6 +117,39 @@ for(StageHistory eachStage: stageHistories) {
   %>
   </table>
   <p/>
+<%
+for(StageHistory eachStage: stageHistories) {
+  List<OperatorProfile> profiles = eachStage.getOperatorProfiles();
+  if (profiles == null || profiles.isEmpty()) {
+    continue;
+  }
+%>
+  <h3>Operator Profiles: <%=eachStage.getExecutionBlockId()%></h3>
+  <table width="100%" border="1" class="border_table">
+    <tr><th>Operator</th><th>Tasks</th><th>Input Rows</th><th>Output Rows</th><th>Time (ms)</th><th>CPU Time (ms)</th><th>Peak Memory</th><th>Spill</th><th>Hash Table</th><th>Collisions</th></tr>
+<%
+  for(OperatorProfile eachProfile: profiles) {
+%>
+  <tr>
+    <td><%=StringUtils.repeat("&nbsp;&nbsp;", eachProfile.getDepth())%><%=eachProfile.getName()%></td>
+    <td align='right'><%=eachProfile.getNumTasks()%></td>
+    <td align='right'><%=eachProfile.getInputRows()%></td>
+    <td align='right'><%=eachProfile.getOutputRows()%></td>
+    <td align='right'><%=String.format("%.3f", eachProfile.getWallTimeNanos() / 1000000.0d)%></td>
+    <td align='right'><%=String.format("%.3f", eachProfile.getCpuTimeNanos() / 1000000.0d)%></td>
+    <td align='right'><%=FileUtil.humanReadableByteCount(eachProfile.getPeakMemoryBytes(), false)%></td>
+    <td align='right'><%=FileUtil.humanReadableByteCount(eachProfile.getSpillBytes(), false)%></td>
+    <td align='right'><%=eachProfile.getHashTableSize()%></td>
+    <td align='right'><%=eachProfile.getHashCollisions()%></td>
+  </tr>
+<%
+  }
+%>
+  </table>
+  <p/>
+<%
+}
+%>
   <h3>Applied Session Variables</h3>
   <table width="100%" border="1" class="border_table">
   <%for(Map.Entry<String,String> entry: query.getPlan().getContext().getAllKeyValus().entrySet()) {
@@ -39,6 +39,7 @@ import org.apache.tajo.ipc.ClientProtos;
 import org.apache.tajo.ipc.ClientProtos.QueryHistoryProto;
 import org.apache.tajo.ipc.ClientProtos.QueryInfoProto;
 import org.apache.tajo.ipc.ClientProtos.StageHistoryProto;
+import org.apache.tajo.jdbc.DirectFetchResultSet;
 import org.apache.tajo.storage.StorageConstants;
 import org.apache.tajo.storage.StorageUtil;
 import org.apache.tajo.util.CommonTestingUtil;
@@ -675,6 +676,54 @@ public class TestTajoClient {
     }
   }
 
+  @Test(timeout = 30000)
+  public final void testDirectFetchQueryResult() throws Exception {
+    String sql = "select l_orderkey, l_partkey from lineitem order by l_orderkey, l_partkey";
+    ClientProtos.SubmitQueryResponse response = client.executeQuery(sql);
+
+    assertNotNull(response);
+    QueryId queryId = new QueryId(response.getQueryId());
+
+    try {
+      QueryStatus queryStatus = client.getQueryStatus(queryId);
+      while (!TajoClientUtil.isQueryComplete(queryStatus.getState())) {
+        Thread.sleep(100);
+        queryStatus = client.getQueryStatus(queryId);
+      }
+      assertEquals(QueryState.QUERY_SUCCEEDED, queryStatus.getState());
+
+      ClientProtos.GetQueryResultFragmentsResponse fragments = client.getQueryResultFragments(queryId);
+      assertEquals(ClientProtos.ResultCode.OK, fragments.getResultCode());
+      assertTrue(fragments.getFragmentsCount() > 0);
+      for (ClientProtos.ResultFragmentProto fragment : fragments.getFragmentsList()) {
+        assertTrue(fragment.hasHost());
+      }
+
+      // a small fetch size makes each fragment be fetched in several pages
+      ResultSet resultSet = new DirectFetchResultSet(client, queryId,
+          CatalogUtil.newTableDesc(fragments.getTableDesc()), fragments.getFragmentsList(), 2, 2);
+      String expected = "1,1\n1,1\n2,2\n3,2\n3,3\n";
+      StringBuilder actual = new StringBuilder();
+      while (resultSet.next()) {
+        actual.append(resultSet.getInt(1)).append(",").append(resultSet.getInt(2)).append("\n");
+      }
+      resultSet.close();
+
+      assertEquals(expected, actual.toString());
+
+      // workers reject fragments which are not signed by the master
+      ClientProtos.ResultFragmentProto forged = fragments.getFragments(0).toBuilder().clearToken().build();
+      try {
+        client.fetchResultFragment(queryId, CatalogUtil.newTableDesc(fragments.getTableDesc()), forged, 0, 2);
+        fail("A fragment without a token must be rejected");
+      } catch (ServiceException e) {
+        assertTrue(e.getMessage().contains("not issued by the master"));
+      }
+    } finally {
+      client.closeQuery(queryId);
+    }
+  }
+
   @Test
   public void testNullCharSessionInCTAS() throws Exception {
     String sql =
@@ -769,4 +818,58 @@ public class TestTajoClient {
     assertEquals(1, taskHistories.get(1).getTotalReadRows());
     assertEquals(1, taskHistories.get(1).getTotalWriteRows());
   }
+
+  @Test(timeout = 30000)
+  public void testGetPartialQueryResult() throws Exception {
+    String sql = "select l_orderkey, sum(l_quantity) as total from lineitem group by l_orderkey";
+
+    Map<String, String> variables = new HashMap<String, String>();
+    variables.put(SessionVars.PARTIAL_RESULT_ENABLED.keyname(), "true");
+    client.updateSessionVariables(variables);
+
+    ClientProtos.SubmitQueryResponse response;
+    try {
+      response = client.executeQuery(sql);
+    } finally {
+      client.unsetSessionVariables(Lists.newArrayList(SessionVars.PARTIAL_RESULT_ENABLED.keyname()));
+    }
+    assertNotNull(response);
+    QueryId queryId = new QueryId(response.getQueryId());
+
+    try {
+      QueryStatus queryStatus = client.getQueryStatus(queryId);
+      while (!TajoClientUtil.isQueryComplete(queryStatus.getState())) {
+        Thread.sleep(100);
+        queryStatus = client.getQueryStatus(queryId);
+      }
+      assertEquals(QueryState.QUERY_SUCCEEDED, queryStatus.getState());
+
+      // after all leaf tasks are merged, the running result is the same as the final result
+      PartialQueryResult partialResult = client.getPartialQueryResult(queryId);
+      assertNotNull(partialResult);
+      assertFalse(partialResult.isTruncated());
+      assertTrue(partialResult.getNumTotalTasks() > 0);
+      assertEquals(partialResult.getNumTotalTasks(), partialResult.getNumMergedTasks());
+      assertEquals(1.0f, partialResult.getProgress(), 0.0f);
+
+      Set<String> partialRows = new HashSet<String>();
+      ResultSet resultSet = partialResult.getResultSet();
+      while (resultSet.next()) {
+        partialRows.add(resultSet.getInt(1) + "," + resultSet.getDouble(2));
+      }
+      resultSet.close();
+
+      Set<String> finalRows = new HashSet<String>();
+      resultSet = client.getQueryResult(queryId);
+      while (resultSet.next()) {
+        finalRows.add(resultSet.getInt(1) + "," + resultSet.getDouble(2));
+      }
+      resultSet.close();
+
+      assertEquals(3, finalRows.size());
+      assertEquals(finalRows, partialRows);
+    } finally {
+      client.closeQuery(queryId);
+    }
+  }
 }
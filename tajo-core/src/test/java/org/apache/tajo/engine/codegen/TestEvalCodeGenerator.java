@@ -22,10 +22,22 @@ package org.apache.tajo.engine.codegen;
 import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.common.TajoDataTypes;
+import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.engine.eval.ExprTestBase;
+import org.apache.tajo.plan.expr.*;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
 
 public class TestEvalCodeGenerator extends ExprTestBase {
   private static Schema schema;
@@ -308,4 +320,72 @@ public class TestEvalCodeGenerator extends ExprTestBase {
     testEval(schema, "table1", " trim, abc", "select ltrim(col1) || ltrim(col2) from table1",
         new String[]{"trimabc"});
   }
+
+  @Test
+  public void testClassCache() {
+    Schema schema = new Schema();
+    schema.addColumn("col1", TajoDataTypes.Type.INT4);
+    FieldEval field = new FieldEval("col1", CatalogUtil.newSimpleDataType(TajoDataTypes.Type.INT4));
+    ConstEval one = new ConstEval(DatumFactory.createInt4(1));
+
+    EvalClassCache cache = new EvalClassCache(2);
+    EvalNode compiled1 = cache.compile(schema, new BinaryEval(EvalType.PLUS, field, one));
+    EvalNode compiled2 = cache.compile(schema, new BinaryEval(EvalType.PLUS, field, one));
+
+    // the same class is instantiated again
+    assertNotSame(compiled1, compiled2);
+    assertSame(compiled1.getClass(), compiled2.getClass());
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.getHits());
+
+    Tuple tuple = new VTuple(1);
+    tuple.put(0, DatumFactory.createInt4(2));
+    compiled2.bind(schema);
+    assertEquals(3, compiled2.eval(tuple).asInt4());
+
+    cache.compile(schema, new BinaryEval(EvalType.MINUS, field, one));
+    assertEquals(2, cache.size());
+
+    // a full cache starts over
+    cache.compile(schema, new BinaryEval(EvalType.MULTIPLY, field, one));
+    assertEquals(1, cache.size());
+    assertEquals(3, cache.getMisses());
+  }
+
+  @Test
+  public void testClassCacheConcurrently() throws Exception {
+    final Schema schema = new Schema();
+    schema.addColumn("col1", TajoDataTypes.Type.INT4);
+    final EvalClassCache cache = new EvalClassCache(10);
+
+    int numThreads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    List<Future<EvalNode>> futures = new ArrayList<Future<EvalNode>>();
+    try {
+      for (int i = 0; i < numThreads; i++) {
+        futures.add(executor.submit(new Callable<EvalNode>() {
+          @Override
+          public EvalNode call() throws Exception {
+            FieldEval field = new FieldEval("col1", CatalogUtil.newSimpleDataType(TajoDataTypes.Type.INT4));
+            ConstEval one = new ConstEval(DatumFactory.createInt4(1));
+            return cache.compile(schema, new BinaryEval(EvalType.PLUS, field, one));
+          }
+        }));
+      }
+
+      Tuple tuple = new VTuple(1);
+      tuple.put(0, DatumFactory.createInt4(2));
+      for (Future<EvalNode> future : futures) {
+        EvalNode compiled = future.get();
+        compiled.bind(schema);
+        assertEquals(3, compiled.eval(tuple).asInt4());
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    // classes generated concurrently for the same expression are cached once
+    assertEquals(1, cache.size());
+    assertEquals(numThreads, cache.getHits() + cache.getMisses());
+  }
 }
@@ -665,4 +665,25 @@ public class TestBuiltinFunctions extends QueryTestCaseBase {
       executeString("DROP TABLE rank_table2 PURGE");
     }
   }
+
+  @Test
+  public void testApproxAggregations() throws Exception {
+    ResultSet res = executeString("select approx_count_distinct(l_orderkey) as cnt, " +
+        "approx_percentile(l_quantity, 0.5) as median, approx_top_k(l_returnflag, 1) as top_flag from lineitem");
+    String expected = "cnt,median,top_flag\n" +
+        "-------------------------------\n" +
+        "3,38.0,[{\"value\":\"N\",\"count\":3}]\n";
+    assertEquals(expected, resultSetToString(res));
+    cleanupQuery(res);
+
+    res = executeString("select l_orderkey, approx_count_distinct(l_partkey) as cnt from lineitem " +
+        "group by l_orderkey order by l_orderkey");
+    expected = "l_orderkey,cnt\n" +
+        "-------------------------------\n" +
+        "1,1\n" +
+        "2,1\n" +
+        "3,2\n";
+    assertEquals(expected, resultSetToString(res));
+    cleanupQuery(res);
+  }
 }
@@ -0,0 +1,268 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.function.builtin;
+
+import org.apache.tajo.datum.DatumFactory;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.apache.tajo.InternalTypes.PercentileSketchProto;
+import static org.apache.tajo.InternalTypes.TopKSketchProto;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the sketches used by approx_count_distinct, approx_percentile and approx_top_k. The inputs are
+ * generated from fixed seeds so that the results are deterministic.
+ */
+public class TestApproxSketches {
+  private static final long SEED = 1234L;
+
+  /**
+   * Three times the standard error of HyperLogLog, 1.04 / sqrt(m).
+   */
+  private static double hllErrorBound(int precision) {
+    return 3 * 1.04d / Math.sqrt(1 << precision);
+  }
+
+  @Test
+  public void testHyperLogLogEstimate() {
+    Random rnd = new Random(SEED);
+    int distinct = 50000;
+
+    ApproxCountDistinct.HyperLogLogContext hll =
+        new ApproxCountDistinct.HyperLogLogContext(ApproxCountDistinct.PRECISION);
+    assertTrue(hll.isEmpty());
+    assertEquals(0, hll.estimate());
+
+    long base = rnd.nextLong();
+    for (int i = 0; i < distinct; i++) {
+      long hash = ApproxCountDistinct.hash(DatumFactory.createInt8(base + i));
+      // duplicates must not change the estimate
+      hll.offer(hash);
+      hll.offer(hash);
+    }
+    assertFalse(hll.isEmpty());
+
+    // it is far beyond the range of linear counting, so the raw estimate is used
+    assertTrue(distinct > 2.5d * (1 << ApproxCountDistinct.PRECISION));
+    assertRelativeError(distinct, hll.estimate(), hllErrorBound(ApproxCountDistinct.PRECISION));
+  }
+
+  @Test
+  public void testHyperLogLogMerge() {
+    Random rnd = new Random(SEED);
+    int partitions = 4;
+    int distinct = 40000;
+
+    // every value goes to two partitions, so the partial sketches overlap
+    ApproxCountDistinct.HyperLogLogContext [] partials = new ApproxCountDistinct.HyperLogLogContext[partitions];
+    for (int p = 0; p < partitions; p++) {
+      partials[p] = new ApproxCountDistinct.HyperLogLogContext(ApproxCountDistinct.PRECISION);
+    }
+    for (int i = 0; i < distinct; i++) {
+      long hash = ApproxCountDistinct.hash(DatumFactory.createText("value_" + i));
+      int p = rnd.nextInt(partitions);
+      partials[p].offer(hash);
+      partials[(p + 1) % partitions].offer(hash);
+    }
+
+    ApproxCountDistinct.HyperLogLogContext merged =
+        new ApproxCountDistinct.HyperLogLogContext(ApproxCountDistinct.PRECISION);
+    for (ApproxCountDistinct.HyperLogLogContext partial : partials) {
+      merged.merge(partial.getProto());
+    }
+    assertRelativeError(distinct, merged.estimate(), hllErrorBound(ApproxCountDistinct.PRECISION));
+
+    ApproxCountDistinct.HyperLogLogContext lowerPrecision = new ApproxCountDistinct.HyperLogLogContext(10);
+    try {
+      lowerPrecision.merge(merged.getProto());
+      fail("Sketches of different precisions must not be merged");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testTDigestQuantiles() {
+    Random rnd = new Random(SEED);
+    int num = 100000;
+
+    double [] values = new double[num];
+    ApproxPercentile.TDigestContext digest = new ApproxPercentile.TDigestContext(ApproxPercentile.COMPRESSION);
+    for (int i = 0; i < num; i++) {
+      // a skewed distribution makes the tails different from the center
+      values[i] = Math.exp(rnd.nextGaussian());
+      digest.add(values[i]);
+    }
+    Arrays.sort(values);
+
+    // the buffer has been flushed many times, and the centroids are compressed
+    PercentileSketchProto proto = digest.getProto();
+    assertEquals(num, digest.totalCount);
+    assertTrue(proto.getMeansCount() < num / 100);
+
+    assertQuantiles(values, digest);
+    assertEquals(values[0], digest.quantile(0), 0);
+    assertEquals(values[num - 1], digest.quantile(1), 1e-9);
+  }
+
+  @Test
+  public void testTDigestMerge() {
+    Random rnd = new Random(SEED);
+    int partitions = 4;
+    int num = 100000;
+
+    double [] values = new double[num];
+    ApproxPercentile.TDigestContext [] partials = new ApproxPercentile.TDigestContext[partitions];
+    for (int p = 0; p < partitions; p++) {
+      partials[p] = new ApproxPercentile.TDigestContext(ApproxPercentile.COMPRESSION);
+    }
+    for (int i = 0; i < num; i++) {
+      values[i] = rnd.nextGaussian() * 100;
+      // each partition has a different range of values
+      partials[(int) (Math.abs(values[i]) / 50) % partitions].add(values[i]);
+    }
+    Arrays.sort(values);
+
+    ApproxPercentile.TDigestContext merged = new ApproxPercentile.TDigestContext(ApproxPercentile.COMPRESSION);
+    for (ApproxPercentile.TDigestContext partial : partials) {
+      merged.merge(partial.getProto());
+    }
+    assertEquals(num, merged.totalCount);
+    assertTrue(merged.getProto().getMeansCount() < num / 100);
+
+    assertQuantiles(values, merged);
+  }
+
+  @Test
+  public void testSpaceSavingTopK() {
+    int k = 10;
+    List<String> stream = zipfStream(new Random(SEED), k);
+    Map<String, Long> exact = countExactly(stream);
+
+    ApproxTopK.SpaceSavingContext topK = new ApproxTopK.SpaceSavingContext();
+    topK.setK(k);
+    for (String value : stream) {
+      topK.offer(value);
+    }
+
+    // the sketch is pruned to its capacity, so the threshold counts evicted values
+    TopKSketchProto proto = topK.getProto();
+    assertEquals(k, proto.getK());
+    assertEquals(topK.capacity, proto.getValuesCount());
+    assertTrue(proto.getThreshold() > 0);
+
+    assertTopK(k, exact, topK);
+  }
+
+  @Test
+  public void testSpaceSavingMerge() {
+    int k = 10;
+    int partitions = 4;
+    List<String> stream = zipfStream(new Random(SEED), k);
+    Map<String, Long> exact = countExactly(stream);
+
+    ApproxTopK.SpaceSavingContext [] partials = new ApproxTopK.SpaceSavingContext[partitions];
+    for (int p = 0; p < partitions; p++) {
+      partials[p] = new ApproxTopK.SpaceSavingContext();
+      partials[p].setK(k);
+    }
+    for (int i = 0; i < stream.size(); i++) {
+      partials[i % partitions].offer(stream.get(i));
+    }
+
+    ApproxTopK.SpaceSavingContext merged = new ApproxTopK.SpaceSavingContext();
+    for (ApproxTopK.SpaceSavingContext partial : partials) {
+      TopKSketchProto proto = partial.getProto();
+      assertTrue(proto.getThreshold() > 0);
+      merged.merge(proto);
+    }
+    // k is taken from the partial sketches
+    assertEquals(k, merged.k);
+    assertEquals(k, merged.getProto().getK());
+    assertTrue(merged.counters.size() <= merged.capacity);
+
+    assertTopK(k, exact, merged);
+  }
+
+  private static void assertRelativeError(long expected, long actual, double bound) {
+    double error = Math.abs(actual - expected) / (double) expected;
+    assertTrue("expected " + expected + ", but " + actual + " (error " + error + ")", error <= bound);
+  }
+
+  /**
+   * The rank of each estimated quantile in the sorted values must be within 1% of the requested one.
+   */
+  private static void assertQuantiles(double [] sorted, ApproxPercentile.TDigestContext digest) {
+    double [] qs = {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99};
+    for (double q : qs) {
+      double estimate = digest.quantile(q);
+      int pos = Arrays.binarySearch(sorted, estimate);
+      int rank = pos >= 0 ? pos : -pos - 1;
+      double rankError = Math.abs((double) rank / sorted.length - q);
+      assertTrue("quantile " + q + ": " + estimate + " (rank error " + rankError + ")", rankError <= 0.01);
+    }
+  }
+
+  /**
+   * It generates k heavy hitters of distinct counts and a long tail of rare values, and shuffles them.
+   */
+  private static List<String> zipfStream(Random rnd, int k) {
+    List<String> stream = new ArrayList<String>();
+    for (int i = 0; i < k; i++) {
+      for (int j = 0; j < 2000 * (k - i); j++) {
+        stream.add("heavy_" + i);
+      }
+    }
+    for (int i = 0; i < 20000; i++) {
+      int count = 1 + rnd.nextInt(3);
+      for (int j = 0; j < count; j++) {
+        stream.add("tail_" + i);
+      }
+    }
+    Collections.shuffle(stream, rnd);
+    return stream;
+  }
+
+  private static Map<String, Long> countExactly(List<String> stream) {
+    Map<String, Long> counts = new HashMap<String, Long>();
+    for (String value : stream) {
+      Long count = counts.get(value);
+      counts.put(value, count == null ? 1 : count + 1);
+    }
+    return counts;
+  }
+
+  /**
+   * The k heavy hitters must be found in order, and each estimated count must be an upper bound of the exact one
+   * within the threshold.
+   */
+  private static void assertTopK(int k, Map<String, Long> exact, ApproxTopK.SpaceSavingContext topK) {
+    List<Map.Entry<String, long[]>> sorted = topK.sortByCount();
+    assertTrue(sorted.size() >= k);
+    for (int i = 0; i < k; i++) {
+      String value = sorted.get(i).getKey();
+      long estimated = sorted.get(i).getValue()[0];
+      assertEquals("heavy_" + i, value);
+      assertTrue(estimated >= exact.get(value));
+      assertTrue(estimated <= exact.get(value) + topK.threshold);
+    }
+  }
+}
@@ -22,12 +22,14 @@ import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.apache.tajo.algebra.*;
 import org.apache.tajo.engine.parser.SQLParser.SqlContext;
+import org.apache.tajo.plan.util.ExprFinder;
 import org.apache.tajo.util.FileUtil;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -759,4 +761,19 @@ public class TestSQLAnalyzer {
   public void testCreateTableWithNested2() throws IOException {
     assertParseResult("create_table_nested_2.sql", "create_table_nested_2.result");
   }
+
+  @Test
+  public void testDynamicParameters() throws IOException {
+    Expr expr = parseQuery("select ? from lineitem where l_orderkey = ? and l_quantity > ?");
+    Set<ParameterExpr> parameters = ExprFinder.finds(expr, OpType.Parameter);
+    assertEquals(3, parameters.size());
+    assertTrue(parameters.contains(new ParameterExpr(1)));
+    assertTrue(parameters.contains(new ParameterExpr(2)));
+    assertTrue(parameters.contains(new ParameterExpr(3)));
+
+    Selection selection = (Selection) ((Projection) expr).getChild();
+    BinaryOperator and = (BinaryOperator) selection.getQual();
+    BinaryOperator equals = (BinaryOperator) and.getLeft();
+    assertEquals(new ParameterExpr(2), equals.getRight());
+  }
 }
@@ -22,10 +22,12 @@ import com.google.common.base.Preconditions;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.tajo.LocalTajoTestingUtility;
+import org.apache.tajo.SessionVars;
 import org.apache.tajo.TajoConstants;
 import org.apache.tajo.TajoTestingCluster;
 import org.apache.tajo.algebra.Expr;
 import org.apache.tajo.catalog.*;
+import org.apache.tajo.catalog.proto.CatalogProtos.IndexMethod;
 import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
 import org.apache.tajo.common.TajoDataTypes.Type;
 import org.apache.tajo.conf.TajoConf;
@@ -36,8 +38,12 @@ import org.apache.tajo.plan.LogicalOptimizer;
 import org.apache.tajo.plan.LogicalPlan;
 import org.apache.tajo.plan.LogicalPlanner;
 import org.apache.tajo.engine.planner.PhysicalPlannerImpl;
+import org.apache.tajo.plan.logical.IndexScanNode;
 import org.apache.tajo.plan.logical.LogicalNode;
+import org.apache.tajo.plan.logical.NodeType;
 import org.apache.tajo.plan.logical.ScanNode;
+import org.apache.tajo.plan.rewrite.rules.IndexScanRewriter;
+import org.apache.tajo.plan.util.PlannerUtil;
 import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.storage.*;
 import org.apache.tajo.storage.fragment.FileFragment;
@@ -57,6 +63,8 @@ import java.util.Stack;
 
 import static org.apache.tajo.TajoConstants.DEFAULT_TABLESPACE_NAME;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 public class TestBSTIndexExec {
 
@@ -184,6 +192,34 @@ public class TestBSTIndexExec {
     assertEquals(tupleCount , counter);
   }
 
+  @Test
+  public void testIndexScanRewrite() throws Exception {
+    catalog.createIndex(new IndexDesc("idx_managerid", TajoConstants.DEFAULT_DATABASE_NAME, "employee",
+        new Column("managerid", Type.INT4), IndexMethod.TWO_LEVEL_BIN_TREE, false, false, true));
+
+    LogicalOptimizer indexOptimizer = new LogicalOptimizer(conf);
+    indexOptimizer.addRuleAfterToJoinOpt(new IndexScanRewriter(catalog));
+
+    Expr expr = analyzer.parse("select * from employee where managerId = 10 and empId > 3");
+    QueryContext context = LocalTajoTestingUtility.createDummyContext(conf);
+    context.setBool(SessionVars.INDEX_ENABLED, true);
+    LogicalPlan plan = planner.createPlan(context, expr);
+    LogicalNode rootNode = indexOptimizer.optimize(context, plan);
+
+    IndexScanNode indexScan = PlannerUtil.findTopNode(rootNode, NodeType.BST_INDEX_SCAN);
+    assertNotNull(indexScan);
+    assertEquals(DatumFactory.createInt4(10), indexScan.getDatum()[0]);
+    assertEquals(PlannerUtil.getIndexPath(indexScan.getTableDesc(), "idx_managerid"), indexScan.getIndexPath());
+    // the whole qualification is still evaluated against the rows fetched through the index
+    assertNotNull(indexScan.getQual());
+
+    // a predicate on a column without an index is not rewritten
+    expr = analyzer.parse("select * from employee where empId = 3");
+    plan = planner.createPlan(context, expr);
+    rootNode = indexOptimizer.optimize(context, plan);
+    assertNull(PlannerUtil.findTopNode(rootNode, NodeType.BST_INDEX_SCAN));
+  }
+
   private class TmpPlanner extends PhysicalPlannerImpl {
     public TmpPlanner(TajoConf conf) {
       super(conf);
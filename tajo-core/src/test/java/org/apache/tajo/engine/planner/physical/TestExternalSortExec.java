@@ -120,6 +120,16 @@ public class TestExternalSortExec {
 
   @Test
   public final void testNext() throws IOException, PlanningException {
+    testSort(1024 * 1024);
+  }
+
+  @Test
+  public final void testNextWithMultiLevelMerge() throws IOException, PlanningException {
+    // small chunks make more runs than the default fanout, so runs are merged in multiple levels.
+    testSort(64 * 1024);
+  }
+
+  private void testSort(int sortBufferBytesNum) throws IOException, PlanningException {
     FileFragment[] frags = FileStorageManager.splitNG(conf, "default.employee", employee.getMeta(),
         new Path(employee.getPath()), Integer.MAX_VALUE);
     Path workDir = new Path(testDir, TestExternalSortExec.class.getName());
@@ -146,7 +156,7 @@ public class TestExternalSortExec {
     } else {
       extSort = proj.getChild();
     }
-    extSort.setSortBufferBytesNum(1024*1024);
+    extSort.setSortBufferBytesNum(sortBufferBytesNum);
 
     Tuple tuple;
     Tuple preVal = null;
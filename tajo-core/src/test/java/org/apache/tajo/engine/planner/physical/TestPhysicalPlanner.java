@@ -58,6 +58,7 @@ import org.apache.tajo.unit.StorageUnit;
 import org.apache.tajo.util.CommonTestingUtil;
 import org.apache.tajo.util.KeyValueSet;
 import org.apache.tajo.util.TUtil;
+import org.apache.tajo.util.history.OperatorProfile;
 import org.apache.tajo.worker.TaskAttemptContext;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -65,12 +66,15 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.apache.tajo.TajoConstants.DEFAULT_DATABASE_NAME;
 import static org.apache.tajo.TajoConstants.DEFAULT_TABLESPACE_NAME;
 import static org.apache.tajo.ipc.TajoWorkerProtocol.ColumnPartitionEnforcer.ColumnPartitionAlgorithm;
+import static org.apache.tajo.ipc.TajoWorkerProtocol.JoinEnforce.JoinAlgorithm;
 import static org.apache.tajo.ipc.TajoWorkerProtocol.SortEnforce.SortAlgorithm;
 import static org.junit.Assert.*;
 
@@ -357,6 +361,256 @@ public class TestPhysicalPlanner {
     assertEquals(5, i);
   }
 
+  private int runPartialHashGroupBy(int maxGroups, float bypassRatio) throws IOException, PlanningException {
+    FileFragment[] frags = FileStorageManager.splitNG(conf, "default.score", score.getMeta(), new Path(score.getPath()),
+        Integer.MAX_VALUE);
+    Path workDir = CommonTestingUtil.getTestDir(TajoTestingCluster.DEFAULT_TEST_DIRECTORY +
+        "/testPartialHashGroupByPlan");
+    QueryContext queryContext = new QueryContext(conf);
+    queryContext.setInt(SessionVars.PARTIAL_GROUPBY_MAX_GROUPS, maxGroups);
+    queryContext.setFloat(SessionVars.PARTIAL_GROUPBY_BYPASS_RATIO, bypassRatio);
+    TaskAttemptContext ctx = new TaskAttemptContext(queryContext,
+        LocalTajoTestingUtility.newTaskAttemptId(masterPlan),
+        new FileFragment[] { frags[0] }, workDir);
+    ctx.setEnforcer(new Enforcer());
+    Expr expr = analyzer.parse(QUERIES[15]);
+    LogicalPlan plan = planner.createPlan(defaultContext, expr);
+    LogicalNode rootNode = optimizer.optimize(plan);
+
+    // make the group-by the first phase of a two-phase aggregation as the global planner does
+    GroupbyNode groupbyNode = PlannerUtil.findTopNode(rootNode, NodeType.GROUP_BY);
+    groupbyNode.setFirstPhase(true);
+    for (AggregationFunctionCallEval aggFunction : groupbyNode.getAggFunctions()) {
+      aggFunction.setFirstPhase();
+    }
+
+    PhysicalPlanner phyPlanner = new PhysicalPlannerImpl(conf);
+    PhysicalExec exec = PhysicalPlanUtil.findExecutor(phyPlanner.createPlan(ctx, groupbyNode),
+        PartialHashAggregateExec.class);
+    assertNotNull(exec);
+
+    // merge the partial results of each group
+    Map<String, long[]> groups = new HashMap<String, long[]>();
+    int numRows = 0;
+    Tuple tuple;
+    exec.init();
+    while ((tuple = exec.next()) != null) {
+      long [] merged = groups.get(tuple.getText(0));
+      if (merged == null) {
+        groups.put(tuple.getText(0), new long[] {tuple.get(1).asInt8(), tuple.get(2).asInt8(), tuple.get(3).asInt8()});
+      } else {
+        merged[0] += tuple.get(1).asInt8();
+        merged[1] = Math.max(merged[1], tuple.get(2).asInt8());
+        merged[2] = Math.min(merged[2], tuple.get(3).asInt8());
+      }
+      numRows++;
+    }
+    exec.close();
+
+    assertEquals(5, groups.size());
+    for (long [] merged : groups.values()) {
+      assertEquals(12, merged[0]); // sum
+      assertEquals(3, merged[1]); // max
+      assertEquals(1, merged[2]); // min
+    }
+    return numRows;
+  }
+
+  @Test
+  public final void testPartialHashGroupByPlan() throws IOException, PlanningException {
+    // all groups fit in the hash table
+    assertEquals(5, runPartialHashGroupBy(100, 0.9f));
+    // the hash table is flushed whenever it holds two groups
+    assertTrue(runPartialHashGroupBy(2, 0.9f) > 5);
+    // two groups are found in the first 7 rows, and then the remaining 23 rows are passed through
+    assertEquals(25, runPartialHashGroupBy(2, 0.1f));
+  }
+
+  @Test
+  public final void testPartialHashGroupByNotInFinalPhase() throws IOException, PlanningException {
+    FileFragment[] frags = FileStorageManager.splitNG(conf, "default.score", score.getMeta(), new Path(score.getPath()),
+        Integer.MAX_VALUE);
+    Path workDir = CommonTestingUtil.getTestDir(TajoTestingCluster.DEFAULT_TEST_DIRECTORY +
+        "/testPartialHashGroupByNotInFinalPhase");
+    QueryContext queryContext = new QueryContext(conf);
+    // fewer groups than the number of distinct keys
+    queryContext.setInt(SessionVars.PARTIAL_GROUPBY_MAX_GROUPS, 2);
+    TaskAttemptContext ctx = new TaskAttemptContext(queryContext,
+        LocalTajoTestingUtility.newTaskAttemptId(masterPlan),
+        new FileFragment[] { frags[0] }, workDir);
+    ctx.setEnforcer(new Enforcer());
+    Expr expr = analyzer.parse("select deptname from score group by deptname");
+    LogicalPlan plan = planner.createPlan(defaultContext, expr);
+    LogicalNode rootNode = optimizer.optimize(plan);
+
+    // a group-by without aggregation functions, which is not marked as the first phase
+    PhysicalPlanner phyPlanner = new PhysicalPlannerImpl(conf);
+    PhysicalExec exec = phyPlanner.createPlan(ctx, rootNode);
+    assertNull(PhysicalPlanUtil.findExecutor(exec, PartialHashAggregateExec.class));
+
+    Set<String> groups = Sets.newHashSet();
+    int numRows = 0;
+    Tuple tuple;
+    exec.init();
+    while ((tuple = exec.next()) != null) {
+      groups.add(tuple.getText(0));
+      numRows++;
+    }
+    exec.close();
+
+    // each group is emitted exactly once
+    assertEquals(5, groups.size());
+    assertEquals(5, numRows);
+  }
+
+  private PhysicalExec createTopNPlan(String query, int maxRows) throws IOException, PlanningException {
+    FileFragment[] frags = FileStorageManager.splitNG(conf, "default.employee", employee.getMeta(),
+        new Path(employee.getPath()), Integer.MAX_VALUE);
+    Path workDir = CommonTestingUtil.getTestDir(TajoTestingCluster.DEFAULT_TEST_DIRECTORY + "/testTopNPlan");
+    QueryContext queryContext = new QueryContext(conf);
+    queryContext.setInt(SessionVars.TOPN_MAX_ROWS, maxRows);
+    TaskAttemptContext ctx = new TaskAttemptContext(queryContext,
+        LocalTajoTestingUtility.newTaskAttemptId(masterPlan),
+        new FileFragment[] { frags[0] }, workDir);
+    ctx.setEnforcer(new Enforcer());
+    Expr expr = analyzer.parse(query);
+    LogicalPlan plan = planner.createPlan(defaultContext, expr);
+    LogicalNode rootNode = optimizer.optimize(plan);
+
+    PhysicalPlanner phyPlanner = new PhysicalPlannerImpl(conf);
+    return phyPlanner.createPlan(ctx, rootNode);
+  }
+
+  @Test
+  public final void testTopNPlan() throws IOException, PlanningException {
+    PhysicalExec exec = createTopNPlan("select name, empId from employee order by empId desc limit 7", 100);
+    assertNotNull(PhysicalPlanUtil.findExecutor(exec, TopNExec.class));
+
+    Tuple tuple;
+    int expected = 99;
+    exec.init();
+    while ((tuple = exec.next()) != null) {
+      assertEquals(expected--, tuple.get(1).asInt4());
+    }
+    exec.close();
+    assertEquals(92, expected);
+
+    // multiple sort keys are compared with normalized keys
+    exec = createTopNPlan("select name, empId from employee order by name, empId desc limit 5", 100);
+    assertNotNull(PhysicalPlanUtil.findExecutor(exec, TopNExec.class));
+
+    int [] expectedIds = new int[] {0, 1, 10, 11, 12};
+    int i = 0;
+    exec.init();
+    while ((tuple = exec.next()) != null) {
+      assertEquals(expectedIds[i++], tuple.get(1).asInt4());
+    }
+    exec.close();
+    assertEquals(expectedIds.length, i);
+
+    // a limit larger than the maximum rows of top-n sort uses a sort followed by a limit
+    exec = createTopNPlan("select name, empId from employee order by empId desc limit 7", 5);
+    assertNull(PhysicalPlanUtil.findExecutor(exec, TopNExec.class));
+    assertNotNull(PhysicalPlanUtil.findExecutor(exec, LimitExec.class));
+  }
+
+  @Test
+  public final void testProfilingExec() throws IOException, PlanningException {
+    PhysicalExec exec = createTopNPlan("select name, empId from employee order by empId desc limit 7", 100);
+    ProfilingExec profiled = ProfilingExec.instrument(exec.context, exec);
+    assertSame(exec, profiled.getExec());
+
+    int count = 0;
+    profiled.init();
+    while (profiled.next() != null) {
+      count++;
+    }
+    profiled.close();
+    assertEquals(7, count);
+
+    List<OperatorProfile> profiles = profiled.getProfiles();
+    assertEquals(exec.getClass().getSimpleName(), profiles.get(0).getName());
+
+    OperatorProfile topN = null;
+    OperatorProfile scan = null;
+    for (int i = 0; i < profiles.size(); i++) {
+      OperatorProfile profile = profiles.get(i);
+      assertEquals(i, profile.getId());
+      assertTrue(profile.getWallTimeNanos() >= 0);
+      if (profile.getName().equals(TopNExec.class.getSimpleName())) {
+        topN = profile;
+      } else if (profile.getName().equals(SeqScanExec.class.getSimpleName())) {
+        scan = profile;
+      }
+    }
+
+    assertNotNull(topN);
+    assertEquals(100, topN.getInputRows());
+    assertEquals(7, topN.getOutputRows());
+    assertNotNull(scan);
+    assertEquals(topN.getDepth() + 1, scan.getDepth());
+    assertEquals(100, scan.getInputRows());
+    assertEquals(100, scan.getOutputRows());
+
+    // profiles of the same operator are summed up over tasks
+    List<OperatorProfile> merged = new ArrayList<OperatorProfile>();
+    for (int i = 0; i < 2; i++) {
+      List<OperatorProfile> taskProfiles = new ArrayList<OperatorProfile>();
+      for (OperatorProfile profile : profiles) {
+        taskProfiles.add(new OperatorProfile(profile.getProto()));
+      }
+      OperatorProfile.mergeAll(merged, taskProfiles);
+    }
+    assertEquals(profiles.size(), merged.size());
+    assertEquals(2, merged.get(0).getNumTasks());
+    assertEquals(200, merged.get(scan.getId()).getOutputRows());
+  }
+
+  @Test
+  public final void testProfilingHashJoin() throws IOException, PlanningException {
+    Expr expr = analyzer.parse("select e.empId, s.score from employee as e, score as s where e.name = s.name");
+    LogicalPlan plan = planner.createPlan(defaultContext, expr);
+    LogicalNode rootNode = optimizer.optimize(plan);
+
+    JoinNode joinNode = PlannerUtil.findTopNode(rootNode, NodeType.JOIN);
+    Enforcer enforcer = new Enforcer();
+    enforcer.enforceJoinAlgorithm(joinNode.getPID(), JoinAlgorithm.IN_MEMORY_HASH_JOIN);
+
+    FileFragment[] empFrags = FileStorageManager.splitNG(conf, "default.e", employee.getMeta(),
+        new Path(employee.getPath()), Integer.MAX_VALUE);
+    FileFragment[] scoreFrags = FileStorageManager.splitNG(conf, "default.s", score.getMeta(),
+        new Path(score.getPath()), Integer.MAX_VALUE);
+    Path workDir = CommonTestingUtil.getTestDir(TajoTestingCluster.DEFAULT_TEST_DIRECTORY + "/testProfilingHashJoin");
+    TaskAttemptContext ctx = new TaskAttemptContext(new QueryContext(conf),
+        LocalTajoTestingUtility.newTaskAttemptId(masterPlan), TUtil.concat(empFrags, scoreFrags), workDir);
+    ctx.setEnforcer(enforcer);
+
+    PhysicalPlanner phyPlanner = new PhysicalPlannerImpl(conf);
+    PhysicalExec exec = phyPlanner.createPlan(ctx, rootNode);
+    assertNotNull(PhysicalPlanUtil.findExecutor(exec, HashJoinExec.class));
+
+    // the hash join finds the scan of its build side through the wrapped children
+    ProfilingExec profiled = ProfilingExec.instrument(exec.context, exec);
+    assertNotNull(PhysicalPlanUtil.findExecutor(profiled, HashJoinExec.class));
+
+    int count = 0;
+    profiled.init();
+    while (profiled.next() != null) {
+      count++;
+    }
+    profiled.close();
+    assertEquals(30, count);
+
+    OperatorProfile join = null;
+    for (OperatorProfile profile : profiled.getProfiles()) {
+      if (profile.getName().equals(HashJoinExec.class.getSimpleName())) {
+        join = profile;
+      }
+    }
+    assertNotNull(join);
+    assertEquals(30, join.getOutputRows());
+  }
+
   @Test
   public final void testSortGroupByPlan() throws IOException, PlanningException {
     FileFragment[] frags = FileStorageManager.splitNG(conf, "default.score", score.getMeta(), new Path(score.getPath()),
@@ -974,7 +1228,7 @@ public class TestPhysicalPlanner {
       "create index idx_employee on employee using bst (name null first, empId desc)"
   };
 
-  //@Test
+  @Test
   public final void testCreateIndex() throws IOException, PlanningException {
     FileFragment[] frags = FileStorageManager.splitNG(conf, "default.employee", employee.getMeta(),
         new Path(employee.getPath()), Integer.MAX_VALUE);
@@ -993,8 +1247,10 @@ public class TestPhysicalPlanner {
     }
     exec.close();
 
-    FileStatus [] list = sm.getFileSystem().listStatus(StorageUtil.concatPath(workDir, "index"));
-    assertEquals(2, list.length);
+    // one index file is written for each fragment
+    Path indexPath = new Path(PlannerUtil.getIndexPath(employee, "idx_employee"));
+    FileStatus [] list = sm.getFileSystem().listStatus(indexPath, StorageManager.hiddenFileFilter);
+    assertEquals(1, list.length);
   }
 
   final static String [] duplicateElimination = {
@@ -130,7 +130,7 @@ public class TestProgressExternalSortExec {
   }
 
   @Test
-  public void testExternalSortExecProgressWithPairWiseMerger() throws Exception {
+  public void testExternalSortExecProgressWithLoserTreeMerger() throws Exception {
     testProgress(testDataStats.getNumBytes().intValue());
   }
 
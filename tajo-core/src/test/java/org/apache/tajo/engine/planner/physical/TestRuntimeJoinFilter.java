@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.NormalizedKeyEncoder;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TestRuntimeJoinFilter {
+  private static final int NUM_BITS = 1 << 16;
+  private static final int NUM_KEYS = 2000;
+
+  private static final Schema schema = new Schema();
+  static {
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("name", Type.TEXT);
+  }
+  private static final Column [] joinKeys = new Column[] {schema.getColumn("id"), schema.getColumn("name")};
+
+  private static Tuple createTuple(int id) {
+    Tuple tuple = new VTuple(2);
+    tuple.put(0, DatumFactory.createInt4(id));
+    tuple.put(1, DatumFactory.createText("name_" + (id % 100)));
+    return tuple;
+  }
+
+  @Test
+  public final void testMightContain() {
+    NormalizedKeyEncoder encoder = RuntimeJoinFilter.newKeyEncoder(schema, joinKeys);
+    RuntimeJoinFilter filter = new RuntimeJoinFilter(NUM_BITS);
+    Random rnd = new Random(1234L);
+    Set<Integer> added = new HashSet<Integer>();
+    for (int i = 0; i < NUM_KEYS; i++) {
+      int id = rnd.nextInt(100000);
+      added.add(id);
+      filter.add(encoder.encode(createTuple(id)));
+    }
+    assertEquals(NUM_KEYS, filter.getNumKeys());
+
+    // added keys are always contained
+    for (int id : added) {
+      assertTrue(filter.mightContain(encoder.encode(createTuple(id))));
+    }
+
+    // keys out of the range of added keys are never contained
+    assertFalse(filter.mightContain(encoder.encode(createTuple(-1))));
+    assertFalse(filter.mightContain(encoder.encode(createTuple(100000))));
+
+    int falsePositives = 0;
+    int numProbes = 0;
+    for (int id = 0; id < 100000; id++) {
+      if (!added.contains(id)) {
+        numProbes++;
+        if (filter.mightContain(encoder.encode(createTuple(id)))) {
+          falsePositives++;
+        }
+      }
+    }
+    assertTrue(filter.getFalsePositiveRate() < 0.01);
+    assertTrue((double) falsePositives / numProbes < 0.05);
+  }
+
+  @Test
+  public final void testEmptyFilter() {
+    NormalizedKeyEncoder encoder = RuntimeJoinFilter.newKeyEncoder(schema, joinKeys);
+    RuntimeJoinFilter filter = new RuntimeJoinFilter(NUM_BITS);
+    assertFalse(filter.mightContain(encoder.encode(createTuple(1))));
+    assertEquals(0, filter.getFalsePositiveRate(), 0);
+  }
+
+  @Test
+  public final void testMergeAndProto() {
+    NormalizedKeyEncoder encoder = RuntimeJoinFilter.newKeyEncoder(schema, joinKeys);
+    RuntimeJoinFilter filter1 = new RuntimeJoinFilter(NUM_BITS);
+    RuntimeJoinFilter filter2 = new RuntimeJoinFilter(NUM_BITS);
+    RuntimeJoinFilter empty = new RuntimeJoinFilter(NUM_BITS);
+    for (int i = 0; i < NUM_KEYS; i++) {
+      filter1.add(encoder.encode(createTuple(i)));
+      filter2.add(encoder.encode(createTuple(i + NUM_KEYS * 10)));
+    }
+
+    RuntimeJoinFilter merged = new RuntimeJoinFilter(empty.getProto());
+    merged.merge(new RuntimeJoinFilter(filter1.getProto()));
+    merged.merge(new RuntimeJoinFilter(filter2.getProto()));
+    merged = new RuntimeJoinFilter(merged.getProto());
+    assertEquals(NUM_KEYS * 2, merged.getNumKeys());
+
+    for (int i = 0; i < NUM_KEYS; i++) {
+      assertTrue(merged.mightContain(encoder.encode(createTuple(i))));
+      assertTrue(merged.mightContain(encoder.encode(createTuple(i + NUM_KEYS * 10))));
+    }
+    assertFalse(merged.mightContain(encoder.encode(createTuple(NUM_KEYS * 11))));
+  }
+
+  @Test
+  public final void testNullKey() {
+    Tuple tuple = createTuple(1);
+    assertFalse(RuntimeJoinFilter.hasNullKey(tuple, new int[] {0, 1}));
+    tuple.put(1, NullDatum.get());
+    assertTrue(RuntimeJoinFilter.hasNullKey(tuple, new int[] {0, 1}));
+    assertFalse(RuntimeJoinFilter.hasNullKey(tuple, new int[] {0}));
+  }
+
+  @Test
+  public final void testIsApplicable() {
+    assertTrue(RuntimeJoinFilter.isApplicable(Type.INT4));
+    assertTrue(RuntimeJoinFilter.isApplicable(Type.TEXT));
+    assertTrue(RuntimeJoinFilter.isApplicable(Type.DATE));
+    assertFalse(RuntimeJoinFilter.isApplicable(Type.FLOAT8));
+    assertFalse(RuntimeJoinFilter.isApplicable(Type.BLOB));
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.tajo.engine.query;
 
 import org.apache.tajo.IntegrationTest;
 import org.apache.tajo.QueryTestCaseBase;
+import org.apache.tajo.SessionVars;
 import org.apache.tajo.TajoConstants;
 import org.apache.tajo.TajoTestingCluster;
 import org.apache.tajo.catalog.Schema;
@@ -27,6 +28,7 @@ import org.apache.tajo.common.TajoDataTypes.Type;
 import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.storage.StorageConstants;
 import org.apache.tajo.util.KeyValueSet;
+import org.apache.tajo.util.TUtil;
 import org.junit.AfterClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -38,7 +40,9 @@ import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 
@@ -113,6 +117,30 @@ public class TestJoinQuery extends QueryTestCaseBase {
         ConfVars.$EXECUTOR_GROUPBY_INMEMORY_HASH_THRESHOLD.defaultVal);
   }
 
+  @Test
+  public final void testJoinWithRuntimeFilter() throws Exception {
+    String query = "select l_orderkey, l_partkey, o_custkey from lineitem, orders " +
+        "where l_orderkey = o_orderkey and o_orderstatus = 'O' order by l_orderkey, l_partkey";
+
+    ResultSet res = executeString(query);
+    String expected = resultSetToString(res);
+    cleanupQuery(res);
+
+    Map<String, String> variables = new HashMap<String, String>();
+    variables.put(SessionVars.JOIN_RUNTIME_FILTER_ENABLED.keyname(), "true");
+    // a small filter lets false positives through, and they must be removed by the join
+    variables.put(SessionVars.JOIN_RUNTIME_FILTER_BITS.keyname(), "64");
+    client.updateSessionVariables(variables);
+    try {
+      res = executeString(query);
+      assertEquals(expected, resultSetToString(res));
+      cleanupQuery(res);
+    } finally {
+      client.unsetSessionVariables(TUtil.newList(SessionVars.JOIN_RUNTIME_FILTER_ENABLED.keyname(),
+          SessionVars.JOIN_RUNTIME_FILTER_BITS.keyname()));
+    }
+  }
+
   @Test
   public final void testCrossJoin() throws Exception {
     ResultSet res = executeQuery();
@@ -129,6 +129,42 @@ public class TestSelectQuery extends QueryTestCaseBase {
     }
   }
 
+  @Test
+  public final void testExplainAnalyze() throws Exception {
+    ResultSet res = executeString(
+        "explain analyze select l_orderkey, sum(l_quantity) as total from lineitem group by l_orderkey");
+    List<String> lines = new ArrayList<String>();
+    try {
+      while (res.next()) {
+        lines.add(res.getString(1));
+      }
+    } finally {
+      cleanupQuery(res);
+    }
+
+    // the rows of the query are replaced with the operator profiles of each stage
+    int numStages = 0;
+    boolean scanProfiled = false;
+    boolean aggregationProfiled = false;
+    for (String line : lines) {
+      if (line.startsWith(ExecutionBlockId.EB_ID_PREFIX)) {
+        assertTrue(line, line.contains("state: SUCCEEDED"));
+        numStages++;
+      } else if (!line.trim().isEmpty()) {
+        assertTrue(line, line.contains("(tasks=") && line.contains(", rows in="));
+        if (line.contains("SeqScanExec") && line.contains("rows in=5 out=5")) {
+          scanProfiled = true;
+        }
+        if (line.contains("AggregateExec") && line.contains(" out=3,")) {
+          aggregationProfiled = true;
+        }
+      }
+    }
+    assertTrue(lines.toString(), numStages >= 2);
+    assertTrue(lines.toString(), scanProfiled);
+    assertTrue(lines.toString(), aggregationProfiled);
+  }
+
   @Test
   public final void testSelect() throws Exception {
     // select l_orderkey, l_partkey from lineitem;
@@ -708,4 +744,65 @@ public class TestSelectQuery extends QueryTestCaseBase {
       executeString("DROP TABLE table2");
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testLocalQuery() throws Exception {
+    String query = "select l_orderkey, o_orderstatus, sum(l_quantity) as total from lineitem " +
+        "join orders on l_orderkey = o_orderkey where l_partkey > 1 group by l_orderkey, o_orderstatus " +
+        "order by l_orderkey";
+
+    ResultSet res = executeString(query);
+    String expected = resultSetToString(res);
+    cleanupQuery(res);
+
+    // the threshold is 0 by default, so the query above is executed in the distributed way
+    long numLocalQuery = getNumLocalQuery();
+
+    Map<String, String> variables = new HashMap<String, String>();
+    variables.put(SessionVars.LOCAL_QUERY_MAX_INPUT_SIZE.keyname(), String.valueOf(1024 * 1024));
+    client.updateSessionVariables(variables);
+    try {
+      res = executeString(query);
+      assertEquals(expected, resultSetToString(res));
+      cleanupQuery(res);
+      assertEquals(numLocalQuery + 1, getNumLocalQuery());
+    } finally {
+      client.unsetSessionVariables(Lists.newArrayList(SessionVars.LOCAL_QUERY_MAX_INPUT_SIZE.keyname()));
+    }
+  }
+
+  @Test
+  public void testLocalQueryFallback() throws Exception {
+    // distinct aggregations and window functions are planned into multiple execution blocks
+    String [] queries = {
+        "select l_orderkey, count(distinct l_partkey) as cnt, sum(l_quantity) as total from lineitem " +
+            "group by l_orderkey order by l_orderkey",
+        "select l_orderkey, l_partkey, rank() over (partition by l_orderkey order by l_partkey) as r " +
+            "from lineitem order by l_orderkey, l_partkey"
+    };
+
+    Map<String, String> variables = new HashMap<String, String>();
+    variables.put(SessionVars.LOCAL_QUERY_MAX_INPUT_SIZE.keyname(), String.valueOf(1024 * 1024));
+
+    for (String query : queries) {
+      ResultSet res = executeString(query);
+      String expected = resultSetToString(res);
+      cleanupQuery(res);
+
+      long numLocalQuery = getNumLocalQuery();
+      client.updateSessionVariables(variables);
+      try {
+        res = executeString(query);
+        assertEquals(expected, resultSetToString(res));
+        cleanupQuery(res);
+        assertEquals(numLocalQuery, getNumLocalQuery());
+      } finally {
+        client.unsetSessionVariables(Lists.newArrayList(SessionVars.LOCAL_QUERY_MAX_INPUT_SIZE.keyname()));
+      }
+    }
+  }
+
+  private static long getNumLocalQuery() {
+    return testingCluster.getMaster().getContext().getSystemMetrics().counter("Query", "numLocalQuery").getCount();
+  }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.tajo.engine.query;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.apache.hadoop.fs.*;
 import org.apache.hadoop.io.compress.CompressionCodec;
@@ -25,6 +26,7 @@ import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.apache.hadoop.io.compress.DeflateCodec;
 import org.apache.tajo.QueryId;
 import org.apache.tajo.QueryTestCaseBase;
+import org.apache.tajo.SessionVars;
 import org.apache.tajo.TajoConstants;
 import org.apache.tajo.TajoTestingCluster;
 import org.apache.tajo.catalog.CatalogService;
@@ -1010,4 +1012,41 @@ public class TestTablePartitions extends QueryTestCaseBase {
     assertFalse(res.next());
     res.close();
   }
+
+  @Test
+  public final void testInsertGroupByIntoColumnPartitionedTable() throws Exception {
+    String tableName = CatalogUtil.normalizeIdentifier("testInsertGroupByIntoColumnPartitionedTable");
+    ResultSet res = executeString(
+        "create table " + tableName + " (col1 int4) partition by column(key int4) ");
+    res.close();
+
+    // lineitem has 4 groups, more than the partial hash aggregation can hold at once
+    Map<String, String> variables = Maps.newHashMap();
+    variables.put(SessionVars.PARTIAL_GROUPBY_MAX_GROUPS.keyname(), "1");
+    client.updateSessionVariables(variables);
+    try {
+      // a group-by without aggregation functions is the root of the final block, which is scattered to partitions
+      res = executeString("insert overwrite into " + tableName
+          + " select l_partkey, l_orderkey from lineitem group by l_partkey, l_orderkey");
+      res.close();
+    } finally {
+      client.unsetSessionVariables(Lists.newArrayList(SessionVars.PARTIAL_GROUPBY_MAX_GROUPS.keyname()));
+    }
+
+    if (!testingCluster.isHCatalogStoreRunning()) {
+      TableDesc desc = catalog.getTableDesc(DEFAULT_DATABASE_NAME, tableName);
+      assertEquals(4, desc.getStats().getNumRows().intValue());
+    }
+
+    // each group is stored exactly once
+    res = executeString("select col1, key from " + tableName + " order by key, col1");
+    String expected = "col1,key\n" +
+        "-------------------------------\n" +
+        "1,1\n" +
+        "2,2\n" +
+        "2,3\n" +
+        "3,3\n";
+    assertEquals(expected, resultSetToString(res));
+    res.close();
+  }
 }
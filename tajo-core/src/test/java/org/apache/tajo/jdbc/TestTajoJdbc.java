@@ -168,10 +168,14 @@ public class TestTajoJdbc extends QueryTestCaseBase {
         res.close();
       }
 
+      // the statement was parsed when it was prepared on the first execution
+      long numParsedQuery = getNumParsedQuery();
+
       stmt.setInt(1, 20);
       stmt.setString(2, "R");
 
       res = stmt.executeQuery();
+      assertEquals(numParsedQuery, getNumParsedQuery());
 
       rsmd = res.getMetaData();
       assertEquals(3, rsmd.getColumnCount());
@@ -204,6 +208,10 @@ public class TestTajoJdbc extends QueryTestCaseBase {
     }
   }
 
+  private static long getNumParsedQuery() {
+    return testingCluster.getMaster().getContext().getSystemMetrics().counter("Query", "parsedQuery").getCount();
+  }
+
   @Test
   public void testDatabaseMetaDataGetTable() throws Exception {
     String connUri = buildConnectionUri(tajoMasterAddress.getHostName(), tajoMasterAddress.getPort(),
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master;
+
+import com.google.common.collect.Lists;
+import org.apache.tajo.algebra.*;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.engine.parser.SQLAnalyzer;
+import org.apache.tajo.master.exec.PreparedQuery;
+import org.apache.tajo.plan.util.ExprFinder;
+import org.apache.tajo.plan.verifier.VerifyException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+public class TestPreparedQuery {
+  private static final SQLAnalyzer analyzer = new SQLAnalyzer();
+
+  @Test
+  public void testBind() throws Exception {
+    String sql = "select l_orderkey from lineitem where l_quantity > ? and l_returnflag = ?";
+    PreparedQuery preparedQuery = new PreparedQuery(sql, analyzer.parse(sql));
+    assertEquals(2, preparedQuery.getParameterNum());
+
+    Expr bound = preparedQuery.bind(Lists.newArrayList(
+        PreparedQuery.createValueExpr(Type.INT4, "20"),
+        PreparedQuery.createValueExpr(Type.TEXT, "N")));
+    assertTrue(ExprFinder.finds(bound, OpType.Parameter).isEmpty());
+    assertEquals(analyzer.parse("select l_orderkey from lineitem where l_quantity > 20 and l_returnflag = 'N'"),
+        bound);
+
+    // the prepared statement must be reusable with other values
+    bound = preparedQuery.bind(Lists.newArrayList(
+        PreparedQuery.createValueExpr(Type.INT4, "-5"),
+        PreparedQuery.createValueExpr(Type.TEXT, "R")));
+    assertEquals(analyzer.parse("select l_orderkey from lineitem where l_quantity > -5 and l_returnflag = 'R'"),
+        bound);
+  }
+
+  @Test(expected = VerifyException.class)
+  public void testBindWithWrongParameterNum() throws Exception {
+    String sql = "select l_orderkey from lineitem where l_quantity > ?";
+    PreparedQuery preparedQuery = new PreparedQuery(sql, analyzer.parse(sql));
+    preparedQuery.bind(new ArrayList<Expr>());
+  }
+}
@@ -44,6 +44,8 @@ import static org.apache.tajo.plan.serder.PlanProto.ShuffleType;
 import static org.apache.tajo.plan.serder.PlanProto.ShuffleType.HASH_SHUFFLE;
 import static org.apache.tajo.plan.serder.PlanProto.ShuffleType.SCATTERED_HASH_SHUFFLE;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class TestRepartitioner {
@@ -509,4 +511,78 @@ public class TestRepartitioner {
     assertEquals(expectedURLs.size(), resultURLs.size());
     assertEquals(expectedURLs, resultURLs);
   }
+  private static List<IntermediateEntry> createJoinIntermediates(ExecutionBlockId ebId, int partId, int numEntries,
+                                                                 int numPages, int pageLength) {
+    List<IntermediateEntry> entries = new ArrayList<IntermediateEntry>();
+    for (int i = 0; i < numEntries; i++) {
+      List<Pair<Long, Integer>> pages = new ArrayList<Pair<Long, Integer>>();
+      long offset = 0;
+      for (int j = 0; j < numPages; j++) {
+        pages.add(new Pair<Long, Integer>(offset, pageLength));
+        offset += pageLength;
+      }
+      IntermediateEntry interm = new IntermediateEntry(-1, -1, partId, new Task.PullHost("host" + i, i));
+      interm.setEbId(ebId);
+      interm.setPages(pages);
+      interm.setVolume(offset);
+      entries.add(interm);
+    }
+    return entries;
+  }
+
+  @Test
+  public void testSplitSkewedJoinPartition() {
+    QueryId queryId = LocalTajoTestingUtility.newQueryId();
+    ExecutionBlockId leftEbId = new ExecutionBlockId(queryId, 1);
+    ExecutionBlockId rightEbId = new ExecutionBlockId(queryId, 2);
+
+    int pageLength = 10 * 1024 * 1024;
+    long splitVolume = 64 * 1024 * 1024;
+
+    // left: 4 entries * 10 pages * 10MB = 400MB, right: 2 entries * 1 page * 10MB = 20MB
+    Map<ExecutionBlockId, List<IntermediateEntry>> partition = new HashMap<ExecutionBlockId, List<IntermediateEntry>>();
+    partition.put(leftEbId, createJoinIntermediates(leftEbId, 3, 4, 10, pageLength));
+    partition.put(rightEbId, createJoinIntermediates(rightEbId, 3, 2, 1, pageLength));
+
+    Map<ExecutionBlockId, Long> avgVolumes = new HashMap<ExecutionBlockId, Long>();
+    avgVolumes.put(leftEbId, 50L * 1024 * 1024);
+    avgVolumes.put(rightEbId, 20L * 1024 * 1024);
+
+    // the left side is not splittable (e.g., right outer join)
+    assertNull(Repartitioner.splitSkewedJoinPartition(3, partition, Sets.newHashSet(rightEbId), avgVolumes, 4.0f,
+        splitVolume, pageLength));
+
+    // the left side is not skewed enough
+    assertNull(Repartitioner.splitSkewedJoinPartition(3, partition, Sets.newHashSet(leftEbId, rightEbId),
+        avgVolumes, 10.0f, splitVolume, pageLength));
+
+    List<Map<String, List<FetchImpl>>> splits = Repartitioner.splitSkewedJoinPartition(3, partition,
+        Sets.newHashSet(leftEbId, rightEbId), avgVolumes, 4.0f, splitVolume, pageLength);
+    assertNotNull(splits);
+    assertTrue(splits.size() > 1);
+
+    long totalLeftLength = 0;
+    for (Map<String, List<FetchImpl>> eachSplit : splits) {
+      assertEquals(2, eachSplit.size());
+
+      long leftLength = 0;
+      for (FetchImpl eachFetch : eachSplit.get(leftEbId.toString())) {
+        assertEquals(HASH_SHUFFLE, eachFetch.getType());
+        assertEquals(leftEbId, eachFetch.getExecutionBlockId());
+        assertEquals(3, eachFetch.getPartitionId());
+        leftLength += eachFetch.getLength();
+      }
+      assertTrue(leftLength <= splitVolume);
+      totalLeftLength += leftLength;
+
+      // the whole partition of the other side is fetched by every split
+      List<FetchImpl> rightFetches = eachSplit.get(rightEbId.toString());
+      assertEquals(2, rightFetches.size());
+      for (FetchImpl eachFetch : rightFetches) {
+        assertEquals(rightEbId, eachFetch.getExecutionBlockId());
+        assertEquals(-1, eachFetch.getLength());
+      }
+    }
+    assertEquals(400L * 1024 * 1024, totalLeftLength);
+  }
 }
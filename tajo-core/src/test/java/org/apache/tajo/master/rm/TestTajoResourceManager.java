@@ -451,4 +451,73 @@ public class TestTajoResourceManager {
     }
   }
 
+  @Test
+  public void testPendingRequestAfterRelease() throws Exception {
+    TajoWorkerResourceManager tajoWorkerResourceManager = null;
+
+    try {
+      tajoWorkerResourceManager = initResourceManager();
+
+      final int memoryMB = 512;
+      float diskSlots = 1.0f;
+
+      QueryId queryId = QueryIdFactory.newQueryId(queryIdTime, 4);
+
+      WorkerResourceAllocationRequest request = WorkerResourceAllocationRequest.newBuilder()
+          .setResourceRequestPriority(ResourceRequestPriority.MEMORY)
+          .setNumContainers(numWorkers * 10)
+          .setQueryId(queryId.getProto())
+          .setMaxDiskSlotPerContainer(diskSlots)
+          .setMinDiskSlotPerContainer(diskSlots)
+          .setMinMemoryMBPerContainer(memoryMB)
+          .setMaxMemoryMBPerContainer(memoryMB)
+          .build();
+
+      // the first request takes all memory of the cluster, and the second one has to wait for a release
+      final CountDownLatch firstBarrier = new CountDownLatch(1);
+      final List<WorkerAllocatedResource> firstResources = new ArrayList<WorkerAllocatedResource>();
+      tajoWorkerResourceManager.allocateWorkerResources(request, new RpcCallback<WorkerResourceAllocationResponse>() {
+        @Override
+        public void run(WorkerResourceAllocationResponse response) {
+          firstResources.addAll(response.getWorkerAllocatedResourceList());
+          firstBarrier.countDown();
+        }
+      });
+
+      final CountDownLatch secondBarrier = new CountDownLatch(1);
+      final List<WorkerAllocatedResource> secondResources = new ArrayList<WorkerAllocatedResource>();
+      tajoWorkerResourceManager.allocateWorkerResources(request.toBuilder().setNumContainers(2).build(),
+          new RpcCallback<WorkerResourceAllocationResponse>() {
+            @Override
+            public void run(WorkerResourceAllocationResponse response) {
+              secondResources.addAll(response.getWorkerAllocatedResourceList());
+              secondBarrier.countDown();
+            }
+          });
+
+      assertTrue(firstBarrier.await(3, TimeUnit.SECONDS));
+      assertEquals(numWorkers * 10, firstResources.size());
+      assertFalse(secondBarrier.await(500, TimeUnit.MILLISECONDS));
+
+      tajoWorkerResourceManager.releaseWorkerResource(firstResources.get(0).getContainerId());
+      assertTrue(secondBarrier.await(3, TimeUnit.SECONDS));
+      assertEquals(1, secondResources.size());
+      assertEquals(firstResources.get(0).getConnectionInfo(), secondResources.get(0).getConnectionInfo());
+
+      for (int i = 1; i < firstResources.size(); i++) {
+        tajoWorkerResourceManager.releaseWorkerResource(firstResources.get(i).getContainerId());
+      }
+      tajoWorkerResourceManager.releaseWorkerResource(secondResources.get(0).getContainerId());
+
+      for(Worker worker: tajoWorkerResourceManager.getWorkers().values()) {
+        WorkerResource resource = worker.getResource();
+        assertEquals(workerMemoryMB, resource.getAvailableMemoryMB());
+        assertEquals(0, resource.getUsedMemoryMB());
+      }
+    } finally {
+      if (tajoWorkerResourceManager != null) {
+        tajoWorkerResourceManager.stop();
+      }
+    }
+  }
 }
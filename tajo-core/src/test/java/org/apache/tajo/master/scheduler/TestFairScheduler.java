@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.master.scheduler;
+
+import org.apache.tajo.QueryIdFactory;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.master.QueryManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TestFairScheduler {
+  private TajoConf conf;
+  private FairScheduler scheduler;
+
+  @Before
+  public void setUp() throws Exception {
+    conf = new TajoConf();
+    conf.setVar(TajoConf.ConfVars.SCHEDULER_FAIR_QUEUES, "default, etl, adhoc");
+    conf.setFloat(FairScheduler.QUEUE_KEY_PREFIX + "etl" + FairScheduler.QUEUE_WEIGHT_KEY_SUFFIX, 3.0f);
+    conf.setInt(FairScheduler.QUEUE_KEY_PREFIX + "adhoc" + FairScheduler.QUEUE_MAX_RUNNING_KEY_SUFFIX, 1);
+    scheduler = new FairScheduler(new QueryManager(null), conf, null);
+  }
+
+  @Test
+  public final void testSelectQueue() {
+    QueryContext queryContext = new QueryContext(conf);
+    assertEquals(FairScheduler.DEFAULT_QUEUE_NAME, scheduler.selectQueue(queryContext).name);
+
+    queryContext.put(SessionVars.QUERY_QUEUE, "etl");
+    FairScheduler.QueryQueue queue = scheduler.selectQueue(queryContext);
+    assertEquals("etl", queue.name);
+    assertEquals(3.0f, queue.weight, 0.0f);
+
+    // unknown queues fall back to the default queue
+    queryContext.put(SessionVars.QUERY_QUEUE, "unknown");
+    assertEquals(FairScheduler.DEFAULT_QUEUE_NAME, scheduler.selectQueue(queryContext).name);
+
+    // the queue named after the user is used if no queue is given
+    queryContext = new QueryContext(conf);
+    queryContext.put(SessionVars.USERNAME, "adhoc");
+    queue = scheduler.selectQueue(queryContext);
+    assertEquals("adhoc", queue.name);
+    assertEquals(1, queue.maxRunning);
+  }
+
+  @Test
+  public final void testQueueOrder() {
+    FairScheduler.QueryQueue queue = new FairScheduler.QueryQueue("test", 1.0f, Integer.MAX_VALUE);
+    QuerySchedulingInfo first = new QuerySchedulingInfo(QueryIdFactory.newQueryId(1000, 1), 1, 1000L);
+    QuerySchedulingInfo second = new QuerySchedulingInfo(QueryIdFactory.newQueryId(1000, 2), 1, 2000L);
+
+    queue.pending.add(second);
+    queue.pending.add(first);
+
+    assertEquals(first.getQueryId(), queue.poll().getQueryId());
+    assertEquals(second.getQueryId(), queue.poll().getQueryId());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public final void testRunningShare() {
+    FairScheduler.QueryQueue heavy = new FairScheduler.QueryQueue("heavy", 4.0f, Integer.MAX_VALUE);
+    FairScheduler.QueryQueue light = new FairScheduler.QueryQueue("light", 1.0f, Integer.MAX_VALUE);
+
+    heavy.running.add(QueryIdFactory.newQueryId(1000, 1));
+    heavy.running.add(QueryIdFactory.newQueryId(1000, 2));
+    light.running.add(QueryIdFactory.newQueryId(1000, 3));
+
+    // two running queries on a queue of weight 4 are still less than its fair share
+    assertTrue(heavy.getRunningShare() < light.getRunningShare());
+  }
+}
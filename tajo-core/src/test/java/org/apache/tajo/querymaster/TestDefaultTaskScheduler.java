@@ -0,0 +1,151 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.querymaster;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.yarn.util.RackResolver;
+import org.apache.tajo.ExecutionBlockId;
+import org.apache.tajo.QueryIdFactory;
+import org.apache.tajo.TaskAttemptId;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.master.container.TajoContainerId;
+import org.apache.tajo.master.container.TajoConverterUtils;
+import org.apache.tajo.master.event.TaskAttemptToSchedulerEvent;
+import org.apache.tajo.master.event.TaskAttemptToSchedulerEvent.TaskAttemptScheduleContext;
+import org.apache.tajo.master.event.TaskSchedulerEvent.EventType;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestDefaultTaskScheduler {
+  private static final long LOCALITY_DELAY = 1000;
+
+  private TajoConf conf;
+  private ExecutionBlockId ebId;
+  private int nextTaskId;
+
+  @Before
+  public void setUp() {
+    conf = new TajoConf();
+    RackResolver.init(conf);
+    ebId = QueryIdFactory.newExecutionBlockId(QueryIdFactory.newQueryId(System.currentTimeMillis(), 0));
+    nextTaskId = 0;
+  }
+
+  private DefaultTaskScheduler createScheduler(int maxVolumeConcurrency) {
+    conf.setTimeVar(TajoConf.ConfVars.QUERYMASTER_TASK_SCHEDULER_LOCALITY_DELAY, LOCALITY_DELAY,
+        TimeUnit.MILLISECONDS);
+    conf.setIntVar(TajoConf.ConfVars.QUERYMASTER_TASK_SCHEDULER_VOLUME_MAX_CONCURRENCY, maxVolumeConcurrency);
+
+    QueryMasterTask.QueryMasterTaskContext masterContext = mock(QueryMasterTask.QueryMasterTaskContext.class);
+    when(masterContext.getConf()).thenReturn(conf);
+
+    DefaultTaskScheduler scheduler = new DefaultTaskScheduler(new TaskSchedulerContext(masterContext, true, ebId),
+        null);
+    scheduler.init(conf);
+    return scheduler;
+  }
+
+  private TaskAttemptId addLeafTask(DefaultTaskScheduler scheduler, String host, int volumeId) {
+    int id = nextTaskId++;
+    TaskAttemptScheduleContext scheduleContext = new TaskAttemptScheduleContext();
+    Task task = new Task(conf, scheduleContext, QueryIdFactory.newTaskId(ebId, id), true, null);
+    task.addFragment(new FileFragment("default.t", new Path("/t/" + id), 0, 10,
+        new String[]{host}, new int[]{volumeId}), true);
+    TaskAttempt attempt = new TaskAttempt(scheduleContext, QueryIdFactory.newTaskAttemptId(task.getId(), 0),
+        task, null);
+
+    scheduler.handle(new TaskAttemptToSchedulerEvent(EventType.T_SCHEDULE, ebId, scheduleContext, attempt));
+    return attempt.getId();
+  }
+
+  private static TajoContainerId newContainerId(int id) {
+    return TajoConverterUtils.toTajoContainerId("container_1_0001_01_00000" + id);
+  }
+
+  @Test
+  public void testLocalityDelayEscalation() {
+    DefaultTaskScheduler scheduler = createScheduler(0);
+    addLeafTask(scheduler, "host1", 0);
+    addLeafTask(scheduler, "host1", 1);
+
+    long now = System.currentTimeMillis();
+    // host1 has local tasks, so a task runner of host2 waits for them to be consumed by host1
+    scheduler.getAllowedLocality("host1", newContainerId(1), now);
+    TajoContainerId containerId = newContainerId(2);
+    assertEquals(DefaultTaskScheduler.LOCALITY_HOST, scheduler.getAllowedLocality("host2", containerId, now));
+    assertEquals(DefaultTaskScheduler.LOCALITY_HOST,
+        scheduler.getAllowedLocality("host2", containerId, now + LOCALITY_DELAY - 1));
+    assertEquals(DefaultTaskScheduler.LOCALITY_RACK,
+        scheduler.getAllowedLocality("host2", containerId, now + LOCALITY_DELAY));
+    assertEquals(DefaultTaskScheduler.LOCALITY_RACK,
+        scheduler.getAllowedLocality("host2", containerId, now + LOCALITY_DELAY * 2 - 1));
+    assertEquals(DefaultTaskScheduler.LOCALITY_ANY,
+        scheduler.getAllowedLocality("host2", containerId, now + LOCALITY_DELAY * 2));
+  }
+
+  @Test
+  public void testNoLocalityDelayWithoutLocalTasks() {
+    DefaultTaskScheduler scheduler = createScheduler(0);
+    addLeafTask(scheduler, "host1", 0);
+
+    // host1 has not requested any task yet
+    assertEquals(DefaultTaskScheduler.LOCALITY_ANY,
+        scheduler.getAllowedLocality("host2", newContainerId(1), System.currentTimeMillis()));
+  }
+
+  @Test
+  public void testVolumeMaxConcurrency() {
+    DefaultTaskScheduler scheduler = createScheduler(1);
+    Set<TaskAttemptId> host1Tasks = new HashSet<TaskAttemptId>();
+    host1Tasks.add(addLeafTask(scheduler, "host1", 0));
+    host1Tasks.add(addLeafTask(scheduler, "host1", 0));
+    TaskAttemptId host2Task = addLeafTask(scheduler, "host2", 0);
+
+    TaskAttemptId first = scheduler.allocateLocalTask("host1", newContainerId(1));
+    assertTrue(host1Tasks.contains(first));
+
+    // the only volume of host1 is read by the first task runner
+    DefaultTaskScheduler.HostVolumeMapping host1 = scheduler.getHostVolumeMapping("host1");
+    assertTrue(host1.isVolumeBusy(0));
+    assertFalse(host1.hasAvailableLocalTask());
+    assertNull(scheduler.allocateLocalTask("host1", newContainerId(2)));
+
+    // a busy volume does not count as local work, so the second task runner does not wait
+    long now = System.currentTimeMillis();
+    assertEquals(DefaultTaskScheduler.LOCALITY_ANY, scheduler.getAllowedLocality("host1", newContainerId(2), now));
+
+    // the fallback does not give a task in the busy volume to a task runner of the same host
+    assertEquals(host2Task, scheduler.allocateAnyTask("host1"));
+    assertNull(scheduler.allocateAnyTask("host1"));
+
+    // but a task runner of another host can take it
+    TaskAttemptId second = scheduler.allocateAnyTask("host2");
+    assertTrue(host1Tasks.contains(second));
+    assertNotEquals(first, second);
+  }
+}
@@ -57,6 +57,8 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import static org.apache.tajo.ipc.TajoWorkerProtocol.TaskCompletionReport;
+import static org.apache.tajo.ipc.TajoWorkerProtocol.TaskStatusProto;
 import static org.junit.Assert.*;
 
 public class TestKillQuery {
@@ -225,6 +227,64 @@ public class TestKillQuery {
     }
   }
 
+  @Test
+  public void testTaskReportsQueuedUntilStop() throws Throwable {
+    QueryId qid = LocalTajoTestingUtility.newQueryId();
+    ExecutionBlockId eid = QueryIdFactory.newExecutionBlockId(qid, 1);
+    TaskAttemptId attemptId = new TaskAttemptId(QueryIdFactory.newTaskId(eid), 1);
+    TajoConf conf = new TajoConf();
+
+    TaskStatusProto status = TaskStatusProto.newBuilder()
+        .setId(attemptId.getProto())
+        .setWorkerName("test")
+        .setProgress(0.0f)
+        .setState(TajoProtos.TaskAttemptState.TA_KILLED)
+        .build();
+    TaskCompletionReport report = TaskCompletionReport.newBuilder().setId(attemptId.getProto()).build();
+
+    conf.setBoolVar(TajoConf.ConfVars.TASK_STATUS_UPDATE_BATCH_ENABLED, false);
+    ExecutionBlockContext context = new ExecutionBlockContext(conf, null, null, new QueryContext(conf), null, eid, null);
+    assertFalse(context.reportTaskStatus(status));
+    assertFalse(context.reportTaskCompletion(report));
+
+    conf.setBoolVar(TajoConf.ConfVars.TASK_STATUS_UPDATE_BATCH_ENABLED, true);
+    context = new ExecutionBlockContext(conf, null, null, new QueryContext(conf), null, eid, null);
+    assertTrue(context.reportTaskStatus(status));
+    assertTrue(context.reportTaskCompletion(report));
+
+    // after the context is stopped, the reporter does not take reports any more, so tasks send them by themselves
+    context.stop();
+    assertFalse(context.reportTaskStatus(status));
+    assertFalse(context.reportTaskCompletion(report));
+  }
+
+  @Test
+  public final void testKillQueryWithBatchedStatusUpdates() throws Exception {
+    assertTrue(conf.getBoolVar(TajoConf.ConfVars.TASK_STATUS_UPDATE_BATCH_ENABLED));
+
+    ClientProtos.SubmitQueryResponse res = client.executeQuery(queryStr);
+    QueryId queryId = new QueryId(res.getQueryId());
+    cluster.waitForQuerySubmitted(queryId);
+
+    QueryMasterTask qmt = cluster.getQueryMasterTask(queryId);
+    Query query = qmt.getQuery();
+
+    cluster.waitForQueryState(query, TajoProtos.QueryState.QUERY_RUNNING, 10);
+    query.handle(new QueryEvent(queryId, QueryEventType.KILL));
+    cluster.waitForQueryState(query, TajoProtos.QueryState.QUERY_KILLED, 50);
+    assertEquals(TajoProtos.QueryState.QUERY_KILLED, query.getSynchronizedState());
+
+    // killed tasks report their final status in batches, so no task attempt keeps waiting for it
+    for (Stage stage : query.getStages()) {
+      for (org.apache.tajo.querymaster.Task task : stage.getTasks()) {
+        TaskAttempt attempt = task.getLastAttempt();
+        if (attempt != null) {
+          assertNotEquals(TajoProtos.TaskAttemptState.TA_KILL_WAIT, attempt.getState());
+        }
+      }
+    }
+  }
+
   static class MockAsyncDispatch extends AsyncDispatcher {
     private CountDownLatch latch;
     private Enum eventType;
@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.querymaster;
+
+import org.apache.hadoop.yarn.event.AbstractEvent;
+import org.apache.hadoop.yarn.event.Event;
+import org.apache.hadoop.yarn.event.EventHandler;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.util.metrics.TajoMetrics;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TestPartitionedDispatcher {
+  enum TestEventType {
+    TEST
+  }
+
+  static class TestEvent extends AbstractEvent<TestEventType> {
+    final Integer key;
+    final int seq;
+
+    TestEvent(Integer key, int seq) {
+      super(TestEventType.TEST);
+      this.key = key;
+      this.seq = seq;
+    }
+  }
+
+  @Test
+  public void testOrderInPartition() throws Exception {
+    final int numKeys = 5;
+    final int numEvents = 200;
+
+    TajoConf conf = new TajoConf();
+    conf.setIntVar(TajoConf.ConfVars.QUERYMASTER_DISPATCHER_THREAD_NUM, 3);
+    TajoMetrics metrics = new TajoMetrics("test");
+
+    PartitionedDispatcher dispatcher = new PartitionedDispatcher(new PartitionedDispatcher.Partitioner() {
+      @Override
+      public Object getPartitionKey(Event event) {
+        return ((TestEvent) event).key;
+      }
+    });
+    dispatcher.setMetrics(metrics);
+
+    final Map<Integer, List<Integer>> received = new HashMap<Integer, List<Integer>>();
+    final List<String> unpartitionedThreads = new ArrayList<String>();
+    final CountDownLatch latch = new CountDownLatch(numKeys * numEvents + 1);
+    dispatcher.register(TestEventType.class, new EventHandler<TestEvent>() {
+      @Override
+      public void handle(TestEvent event) {
+        synchronized (received) {
+          if (event.key == null) {
+            unpartitionedThreads.add(Thread.currentThread().getName());
+          } else {
+            if (!received.containsKey(event.key)) {
+              received.put(event.key, new ArrayList<Integer>());
+            }
+            received.get(event.key).add(event.seq);
+          }
+        }
+        latch.countDown();
+      }
+    });
+
+    dispatcher.init(conf);
+    dispatcher.start();
+    try {
+      for (int seq = 0; seq < numEvents; seq++) {
+        for (int key = 0; key < numKeys; key++) {
+          dispatcher.getEventHandler().handle(new TestEvent(key, seq));
+        }
+      }
+      dispatcher.getEventHandler().handle(new TestEvent(null, 0));
+
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } finally {
+      dispatcher.stop();
+    }
+
+    assertEquals(numKeys, received.size());
+    for (List<Integer> seqs : received.values()) {
+      assertEquals(numEvents, seqs.size());
+      for (int i = 0; i < numEvents; i++) {
+        assertEquals(i, seqs.get(i).intValue());
+      }
+    }
+
+    // an event without a partition key is dispatched by the dispatcher thread
+    assertEquals(1, unpartitionedThreads.size());
+    assertFalse(unpartitionedThreads.get(0).startsWith("PartitionedDispatcher"));
+
+    String typeName = "TestPartitionedDispatcher$TestEventType.TEST";
+    assertEquals(0, metrics.counter(PartitionedDispatcher.METRICS_CONTEXT, typeName + ".pending").getCount());
+    assertEquals(numKeys * numEvents + 1,
+        metrics.timer(PartitionedDispatcher.METRICS_CONTEXT, typeName + ".handle").getCount());
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.tajo.querymaster;
 import org.apache.tajo.IntegrationTest;
 import org.apache.tajo.QueryTestCaseBase;
 import org.apache.tajo.TajoConstants;
+import org.apache.tajo.TajoProtos;
 import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.conf.TajoConf;
@@ -114,6 +115,28 @@ public class TestTaskStatusUpdate extends QueryTestCaseBase {
     }
   }
 
+  @Test
+  public final void testBatchedCompletion() throws Exception {
+    assertTrue(testingCluster.getConfiguration().getBoolVar(TajoConf.ConfVars.TASK_STATUS_UPDATE_BATCH_ENABLED));
+
+    ResultSet res = null;
+    try {
+      res = executeString("select l_orderkey, count(*) from lineitem group by l_orderkey");
+      res.close();
+
+      // completion reports are delivered in batches, and all of them are applied to the task attempts
+      Query query = getLastFinishedQuery();
+      for (Stage eachStage : query.getStages()) {
+        assertEquals(eachStage.getTotalScheduledObjectsCount(), eachStage.getSucceededObjectCount());
+        for (Task eachTask : eachStage.getTasks()) {
+          assertEquals(TajoProtos.TaskAttemptState.TA_SUCCEEDED, eachTask.getLastAttempt().getState());
+        }
+      }
+    } finally {
+      cleanupQuery(res);
+    }
+  }
+
   private void createColumnPartitionedTable() throws Exception {
     String tableName = CatalogUtil.normalizeIdentifier("ColumnPartitionedTable");
     ResultSet res = executeString(
@@ -131,10 +154,7 @@ public class TestTaskStatusUpdate extends QueryTestCaseBase {
     res.close();
   }
 
-  private void assertStatus(int numStages,
-                            long[] expectedNumRows,
-                            long[] expectedNumBytes,
-                            long[] expectedReadBytes) throws Exception {
+  private Query getLastFinishedQuery() {
       List<TajoWorker> tajoWorkers = testingCluster.getTajoWorkers();
       Collection<QueryMasterTask> finishedTasks = null;
       for (TajoWorker eachWorker: tajoWorkers) {
@@ -159,6 +179,14 @@ public class TestTaskStatusUpdate extends QueryTestCaseBase {
       Query query = finishedTaskList.get(0).getQuery();
 
       assertNotNull(query);
+      return query;
+  }
+
+  private void assertStatus(int numStages,
+                            long[] expectedNumRows,
+                            long[] expectedNumBytes,
+                            long[] expectedReadBytes) throws Exception {
+      Query query = getLastFinishedQuery();
 
       List<Stage> stages = new ArrayList<Stage>(query.getStages());
       assertEquals(numStages, stages.size());
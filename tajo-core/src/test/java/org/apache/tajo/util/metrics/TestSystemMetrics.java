@@ -19,6 +19,8 @@
 package org.apache.tajo.util.metrics;
 
 import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Snapshot;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -37,6 +39,8 @@ import java.util.*;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class TestSystemMetrics {
   Path testPropertyFile;
@@ -124,6 +128,38 @@ public class TestSystemMetrics {
     assertEquals(2, lines.size());
   }
 
+  @Test
+  public void testEngineHistogram() throws Exception {
+    TajoMetrics metrics = new TajoMetrics("test-group");
+    Histogram histogram = metrics.engineHistogram("rpc", "service.method");
+    assertSame(histogram, metrics.engineHistogram("rpc", "service.method"));
+    assertNotNull(metrics.getRegistry().getHistograms().get("test-group-engine.rpc.service.method"));
+
+    for (long i = 1; i <= 10000; i++) {
+      histogram.update(i * 1000);
+    }
+    assertEquals(10000, histogram.getCount());
+
+    Snapshot snapshot = histogram.getSnapshot();
+    // each bucket covers 1/32 of a power of two, so that the relative error is bounded by about 3%
+    assertEquals(10000 * 1000, snapshot.getMax(), 10000 * 1000 * 0.04);
+    assertEquals(5000 * 1000, snapshot.getMedian(), 5000 * 1000 * 0.04);
+    assertEquals(9900 * 1000, snapshot.get99thPercentile(), 9900 * 1000 * 0.04);
+    assertTrue(snapshot.getValue(0.5) <= snapshot.getValue(0.75));
+  }
+
+  @Test
+  public void testBucketIndex() {
+    for (long value = 0; value < 64; value++) {
+      assertEquals(value, BucketedReservoir.bucketValue(BucketedReservoir.bucketIndex(value)));
+    }
+    long [] values = new long[] {1000, 123456, 987654321, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+    for (long value : values) {
+      long bucketValue = BucketedReservoir.bucketValue(BucketedReservoir.bucketIndex(value));
+      assertEquals(1.0, (double) bucketValue / value, 0.04);
+    }
+  }
+
   @After
   public void tearDown() throws Exception {
     FileSystem fs = testPropertyFile.getFileSystem(new Configuration());
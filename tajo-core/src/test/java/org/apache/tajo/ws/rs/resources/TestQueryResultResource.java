@@ -284,4 +284,57 @@ public class TestQueryResultResource extends QueryTestCaseBase {
       assertTrue(aTuple.getInt4(response.getSchema().getColumnId("l_orderkey")) > 0);
     }
   }
+
+  @Test
+  public void testGetQueryResultSetStreaming() throws Exception {
+    String sessionId = generateNewSessionAndGetId();
+    URI queryIdURI = sendNewQueryResquest(sessionId, "select * from lineitem");
+    URI queryResultURI = new URI(queryIdURI + "/result");
+
+    GetQueryResultDataResponse response = restClient.target(queryResultURI)
+        .request().header(tajoSessionIdHeaderName, sessionId)
+        .get(new GenericType<GetQueryResultDataResponse>(GetQueryResultDataResponse.class));
+
+    assertNotNull(response);
+    assertEquals(ResultCode.OK, response.getResultCode());
+    assertNotNull(response.getResultset());
+
+    URI queryResultSetURI = response.getResultset().getLink();
+
+    Response queryResultSetResponse = restClient.target(queryResultSetURI)
+        .queryParam("count", 100)
+        .queryParam("offset", 2)
+        .queryParam("stream", true)
+        .request().header(tajoSessionIdHeaderName, sessionId)
+        .get();
+
+    assertNotNull(queryResultSetResponse);
+    assertEquals(Status.OK.getStatusCode(), queryResultSetResponse.getStatus());
+
+    DataInputStream queryResultSetInputStream =
+        new DataInputStream(new BufferedInputStream(queryResultSetResponse.readEntity(InputStream.class)));
+
+    List<Tuple> tupleList = TUtil.newList();
+    RowStoreUtil.RowStoreDecoder decoder = RowStoreUtil.createDecoder(response.getSchema());
+    MessageDigest messageDigest = MessageDigest.getInstance("SHA-1");
+    int length;
+    while ((length = queryResultSetInputStream.readInt()) != QueryResultResource.END_OF_ROWS) {
+      byte[] dataByteArray = new byte[length];
+      queryResultSetInputStream.readFully(dataByteArray);
+
+      tupleList.add(decoder.toTuple(dataByteArray));
+      messageDigest.update(dataByteArray);
+    }
+
+    byte[] digest = new byte[queryResultSetInputStream.readInt()];
+    queryResultSetInputStream.readFully(digest);
+
+    assertEquals(4, tupleList.size());
+    assertArrayEquals(messageDigest.digest(), digest);
+    assertEquals(-1, queryResultSetInputStream.read());
+
+    for (Tuple aTuple: tupleList) {
+      assertTrue(aTuple.getInt4(response.getSchema().getColumnId("l_orderkey")) > 0);
+    }
+  }
 }
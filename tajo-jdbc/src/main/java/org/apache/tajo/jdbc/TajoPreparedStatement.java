@@ -17,14 +17,20 @@ package org.apache.tajo.jdbc; /**
  */
 
 import org.apache.tajo.client.TajoClient;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.ipc.ClientProtos.ParameterValueProto;
+import org.apache.tajo.ipc.ClientProtos.PrepareStatementResponse;
+import org.apache.tajo.ipc.ClientProtos.ResultCode;
 
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * TajoPreparedStatement.
@@ -37,7 +43,17 @@ public class TajoPreparedStatement implements PreparedStatement {
   /**
    * save the SQL parameters {paramLoc:paramValue}
    */
-  private final HashMap<Integer, String> parameters=new HashMap<Integer, String>();
+  private final HashMap<Integer, ParameterValueProto> parameters = new HashMap<Integer, ParameterValueProto>();
+
+  /**
+   * The id of the statement prepared on the server side. It is assigned on the first execution.
+   */
+  private int statementId = -1;
+
+  /**
+   * The number of dynamic parameters found by the server
+   */
+  private int numParameters = 0;
 
   /**
    * We need to keep a reference to the result set to support the following:
@@ -107,21 +123,77 @@ public class TajoPreparedStatement implements PreparedStatement {
     }
 
     try {
-      if (sql.contains("?")) {
-        sql = updateSql(sql, parameters);
-      }
-      if (TajoStatement.isSetVariableQuery(sql)) {
-        return TajoStatement.setSessionVariable(tajoClient, sql);
-      } else if (TajoStatement.isUnSetVariableQuery(sql)) {
-        return TajoStatement.unSetSessionVariable(tajoClient, sql);
+      if (TajoStatement.isSetVariableQuery(sql) || TajoStatement.isUnSetVariableQuery(sql)) {
+        // session statements are handled by the client, so parameters are substituted into the SQL text.
+        if (sql.contains("?")) {
+          sql = updateSql(sql, parameters);
+        }
+        if (TajoStatement.isSetVariableQuery(sql)) {
+          return TajoStatement.setSessionVariable(tajoClient, sql);
+        } else {
+          return TajoStatement.unSetSessionVariable(tajoClient, sql);
+        }
       } else {
-        return tajoClient.executeQueryAndGetResult(sql);
+        prepareIfNecessary();
+        return tajoClient.executePreparedStatementAndGetResult(statementId, getBoundParameters());
       }
+    } catch (SQLException e) {
+      throw e;
     } catch (Exception e) {
       throw new SQLException(e.getMessage(), e);
     }
   }
 
+  /**
+   * Prepares the statement on the server side only once. Subsequent executions only send parameter values.
+   */
+  private void prepareIfNecessary() throws Exception {
+    if (statementId < 0) {
+      PrepareStatementResponse response = tajoClient.prepareStatement(sql);
+      if (response.getResultCode() == ResultCode.ERROR) {
+        throw new SQLException(response.getErrorMessage());
+      }
+      statementId = response.getStatementId();
+      numParameters = response.getNumParameters();
+    }
+  }
+
+  private List<ParameterValueProto> getBoundParameters() throws SQLException {
+    List<ParameterValueProto> boundParameters = new ArrayList<ParameterValueProto>(numParameters);
+    for (int paramLoc = 1; paramLoc <= numParameters; paramLoc++) {
+      if (!parameters.containsKey(paramLoc)) {
+        throw new SQLException("No value specified for parameter " + paramLoc);
+      }
+      boundParameters.add(parameters.get(paramLoc));
+    }
+    return boundParameters;
+  }
+
+  private void setParameter(int parameterIndex, Type type, Object value) {
+    ParameterValueProto.Builder builder = ParameterValueProto.newBuilder();
+    builder.setType(value == null ? Type.NULL_TYPE : type);
+    if (value != null) {
+      builder.setValue(value.toString());
+    }
+    this.parameters.put(parameterIndex, builder.build());
+  }
+
+  private static String toSqlLiteral(ParameterValueProto parameter) {
+    if (!parameter.hasValue()) {
+      return "NULL";
+    }
+
+    switch (parameter.getType()) {
+    case TEXT:
+    case DATE:
+    case TIME:
+    case TIMESTAMP:
+      return "'" + parameter.getValue().replace("'", "\\'") + "'";
+    default:
+      return parameter.getValue();
+    }
+  }
+
   /**
    * update the SQL string with parameters set by setXXX methods of {@link java.sql.PreparedStatement}
    *
@@ -129,7 +201,7 @@ public class TajoPreparedStatement implements PreparedStatement {
    * @param parameters
    * @return updated SQL string
    */
-  private String updateSql(final String sql, HashMap<Integer, String> parameters) {
+  private String updateSql(final String sql, HashMap<Integer, ParameterValueProto> parameters) {
 
     StringBuffer newSql = new StringBuffer(sql);
 
@@ -139,7 +211,7 @@ public class TajoPreparedStatement implements PreparedStatement {
       if (parameters.containsKey(paramLoc)) {
         int tt = getCharIndexFromSqlByParamLocation(newSql.toString(), '?', 1);
         newSql.deleteCharAt(tt);
-        newSql.insert(tt, parameters.get(paramLoc));
+        newSql.insert(tt, toSqlLiteral(parameters.get(paramLoc)));
       }
       paramLoc++;
     }
@@ -249,7 +321,7 @@ public class TajoPreparedStatement implements PreparedStatement {
 
   @Override
   public void setBoolean(int parameterIndex, boolean x) throws SQLException {
-    this.parameters.put(parameterIndex, "" + x);
+    setParameter(parameterIndex, Type.BOOLEAN, x);
   }
 
   @Override
@@ -296,7 +368,7 @@ public class TajoPreparedStatement implements PreparedStatement {
 
   @Override
   public void setDate(int parameterIndex, Date x) throws SQLException {
-    throw new SQLFeatureNotSupportedException("setDate not supported");
+    setParameter(parameterIndex, Type.DATE, x);
   }
 
   @Override
@@ -306,22 +378,22 @@ public class TajoPreparedStatement implements PreparedStatement {
 
   @Override
   public void setDouble(int parameterIndex, double x) throws SQLException {
-    this.parameters.put(parameterIndex,"" + x);
+    setParameter(parameterIndex, Type.FLOAT8, x);
   }
 
   @Override
   public void setFloat(int parameterIndex, float x) throws SQLException {
-    this.parameters.put(parameterIndex,"" + x);
+    setParameter(parameterIndex, Type.FLOAT4, x);
   }
 
   @Override
   public void setInt(int parameterIndex, int x) throws SQLException {
-    this.parameters.put(parameterIndex,"" + x);
+    setParameter(parameterIndex, Type.INT4, x);
   }
 
   @Override
   public void setLong(int parameterIndex, long x) throws SQLException {
-    this.parameters.put(parameterIndex,"" + x);
+    setParameter(parameterIndex, Type.INT8, x);
   }
 
   @Override
@@ -357,7 +429,7 @@ public class TajoPreparedStatement implements PreparedStatement {
 
   @Override
   public void setNull(int parameterIndex, int sqlType) throws SQLException {
-    throw new SQLFeatureNotSupportedException("setNull not supported");
+    setParameter(parameterIndex, Type.NULL_TYPE, null);
   }
 
   @Override
@@ -399,18 +471,17 @@ public class TajoPreparedStatement implements PreparedStatement {
 
   @Override
   public void setShort(int parameterIndex, short x) throws SQLException {
-    this.parameters.put(parameterIndex,"" + x);
+    setParameter(parameterIndex, Type.INT2, x);
   }
 
   @Override
   public void setString(int parameterIndex, String x) throws SQLException {
-     x=x.replace("'", "\\'");
-     this.parameters.put(parameterIndex,"'" + x +"'");
+    setParameter(parameterIndex, Type.TEXT, x);
   }
 
   @Override
   public void setTime(int parameterIndex, Time x) throws SQLException {
-    throw new SQLFeatureNotSupportedException("setTime not supported");
+    setParameter(parameterIndex, Type.TIME, x);
   }
 
   @Override
@@ -420,7 +491,7 @@ public class TajoPreparedStatement implements PreparedStatement {
 
   @Override
   public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
-    throw new SQLFeatureNotSupportedException("setTimestamp not supported");
+    setParameter(parameterIndex, Type.TIMESTAMP, x);
   }
 
   @Override
@@ -470,6 +541,10 @@ public class TajoPreparedStatement implements PreparedStatement {
       resultSet.close();
       resultSet = null;
     }
+    if (statementId >= 0) {
+      tajoClient.closePreparedStatement(statementId);
+      statementId = -1;
+    }
     isClosed = true;
   }
 
@@ -824,6 +824,11 @@ public class ExprAnnotator extends BaseAlgebraVisitor<ExprAnnotator.Context, Eva
     return new ConstEval(NullDatum.get());
   }
 
+  @Override
+  public EvalNode visitParameter(Context ctx, Stack<Expr> stack, ParameterExpr expr) throws PlanningException {
+    throw new PlanningException("No value is bound to the parameter " + expr.getIndex());
+  }
+
   @Override
   public EvalNode visitDateLiteral(Context context, Stack<Expr> stack, DateLiteral expr) throws PlanningException {
     DateValue dateValue = expr.getDate();
@@ -71,7 +71,8 @@ public class LogicalPlan {
   private static enum ExplainType {
     NOT_EXPLAIN,
     EXPLAIN_LOGICAL,
-    EXPLAIN_GLOBAL
+    EXPLAIN_GLOBAL,
+    EXPLAIN_ANALYZE
   }
   private ExplainType explainType = ExplainType.NOT_EXPLAIN;
 
@@ -113,6 +114,10 @@ public class LogicalPlan {
     explainType = isGlobal ? ExplainType.EXPLAIN_GLOBAL : ExplainType.EXPLAIN_LOGICAL;
   }
 
+  public void setExplainAnalyze() {
+    explainType = ExplainType.EXPLAIN_ANALYZE;
+  }
+
   public boolean isExplain() {
     return explainType != ExplainType.NOT_EXPLAIN;
   }
@@ -121,6 +126,13 @@ public class LogicalPlan {
     return explainType == ExplainType.EXPLAIN_GLOBAL;
   }
 
+  /**
+   * @return True if the query is executed, and the runtime statistics of its operators are returned as a result.
+   */
+  public boolean isExplainAnalyze() {
+    return explainType == ExplainType.EXPLAIN_ANALYZE;
+  }
+
   /**
    * Create a new {@link QueryBlock} and Get
    *
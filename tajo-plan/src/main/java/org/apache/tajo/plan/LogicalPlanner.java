@@ -200,7 +200,11 @@ public class LogicalPlanner extends BaseAlgebraVisitor<LogicalPlanner.PlanContex
   }
 
   public LogicalNode visitExplain(PlanContext ctx, Stack<Expr> stack, Explain expr) throws PlanningException {
-    ctx.plan.setExplain(expr.isGlobal());
+    if (expr.isAnalyze()) {
+      ctx.plan.setExplainAnalyze();
+    } else {
+      ctx.plan.setExplain(expr.isGlobal());
+    }
     return visit(ctx, stack, expr.getChild());
   }
 
@@ -1946,6 +1950,59 @@ public class LogicalPlanner extends BaseAlgebraVisitor<LogicalPlanner.PlanContex
     return truncateTableNode;
   }
 
+  @Override
+  public LogicalNode visitCreateIndex(PlanContext context, Stack<Expr> stack, CreateIndex createIndex)
+      throws PlanningException {
+    QueryBlock block = context.queryBlock;
+
+    ////////////////////////////////////////////////////////
+    // Visit and Build Child Plan
+    ////////////////////////////////////////////////////////
+    stack.push(createIndex);
+    LogicalNode child = visit(context, stack, createIndex.getChild());
+    stack.pop();
+    ////////////////////////////////////////////////////////
+
+    CreateIndexNode createIndexNode = block.getNodeFromExpr(createIndex);
+    createIndexNode.setChild(child);
+    createIndexNode.setInSchema(child.getOutSchema());
+    createIndexNode.setOutSchema(child.getOutSchema());
+
+    // Building index keys. Only column references are allowed as index keys. Nulls are always placed last
+    // because the catalog keeps only the ordering direction of an index key.
+    Sort.SortSpec [] sortSpecs = createIndex.getSortSpecs();
+    SortSpec [] annotatedSortSpecs = new SortSpec[sortSpecs.length];
+    for (int i = 0; i < sortSpecs.length; i++) {
+      EvalNode evalNode = exprAnnotator.createEvalNode(context, sortSpecs[i].getKey(), NameResolvingMode.RELS_ONLY);
+      if (evalNode.getType() != EvalType.FIELD) {
+        throw new PlanningException("index key must be a column reference: " + sortSpecs[i].getKey());
+      }
+      annotatedSortSpecs[i] = new SortSpec(((FieldEval) evalNode).getColumnRef(), sortSpecs[i].isAscending(), false);
+    }
+    createIndexNode.setSortSpecs(annotatedSortSpecs);
+
+    createIndexNode.setIndexName(createIndex.getIndexName());
+    createIndexNode.setUnique(createIndex.isUnique());
+    if (createIndex.hasMethodName()) {
+      createIndexNode.setIndexMethod(getIndexMethod(createIndex.getMethodName()));
+    }
+    if (createIndex.hasParams()) {
+      createIndexNode.setOptions(new KeyValueSet(createIndex.getParams()));
+    }
+
+    ScanNode scanNode = (ScanNode) child;
+    createIndexNode.setIndexPath(PlannerUtil.getIndexPath(scanNode.getTableDesc(), createIndex.getIndexName()));
+    return createIndexNode;
+  }
+
+  private static CatalogProtos.IndexMethod getIndexMethod(String methodName) throws PlanningException {
+    if (methodName.equalsIgnoreCase("twolevel-bin-tree") || methodName.equalsIgnoreCase("bst")) {
+      return CatalogProtos.IndexMethod.TWO_LEVEL_BIN_TREE;
+    } else {
+      throw new PlanningException("unsupported index method: " + methodName);
+    }
+  }
+
   /*===============================================================================================
     Util SECTION
   ===============================================================================================*/
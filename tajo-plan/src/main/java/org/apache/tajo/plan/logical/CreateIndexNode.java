@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.plan.logical;
+
+import com.google.common.base.Objects;
+import com.google.gson.annotations.Expose;
+import org.apache.tajo.catalog.SortSpec;
+import org.apache.tajo.catalog.proto.CatalogProtos.IndexMethod;
+import org.apache.tajo.plan.PlanString;
+import org.apache.tajo.util.KeyValueSet;
+import org.apache.tajo.util.TUtil;
+
+import java.net.URI;
+
+/**
+ * It builds an index on the relation of its child. Each task writes the index files of its fragments
+ * into the index path, and the index is registered into the catalog when the query succeeds.
+ */
+public class CreateIndexNode extends UnaryNode implements Cloneable {
+  @Expose private String indexName;
+  @Expose private boolean isUnique;
+  @Expose private IndexMethod indexMethod = IndexMethod.TWO_LEVEL_BIN_TREE;
+  @Expose private SortSpec[] sortSpecs;
+  @Expose private URI indexPath;
+  @Expose private KeyValueSet options;
+
+  public CreateIndexNode(int pid) {
+    super(pid, NodeType.CREATE_INDEX);
+  }
+
+  public void setIndexName(String indexName) {
+    this.indexName = indexName;
+  }
+
+  public String getIndexName() {
+    return indexName;
+  }
+
+  public void setUnique(boolean unique) {
+    this.isUnique = unique;
+  }
+
+  public boolean isUnique() {
+    return isUnique;
+  }
+
+  public void setIndexMethod(IndexMethod indexMethod) {
+    this.indexMethod = indexMethod;
+  }
+
+  public IndexMethod getIndexMethod() {
+    return indexMethod;
+  }
+
+  public void setSortSpecs(SortSpec[] sortSpecs) {
+    this.sortSpecs = sortSpecs;
+  }
+
+  public SortSpec[] getSortSpecs() {
+    return sortSpecs;
+  }
+
+  public void setIndexPath(URI indexPath) {
+    this.indexPath = indexPath;
+  }
+
+  public URI getIndexPath() {
+    return indexPath;
+  }
+
+  public boolean hasOptions() {
+    return options != null;
+  }
+
+  public void setOptions(KeyValueSet options) {
+    this.options = options;
+  }
+
+  public KeyValueSet getOptions() {
+    return options;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(indexName, isUnique, indexMethod, Objects.hashCode(sortSpecs), indexPath, options);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof CreateIndexNode) {
+      CreateIndexNode other = (CreateIndexNode) obj;
+      return super.equals(other) &&
+          TUtil.checkEquals(indexName, other.indexName) &&
+          isUnique == other.isUnique &&
+          indexMethod == other.indexMethod &&
+          TUtil.checkEquals(sortSpecs, other.sortSpecs) &&
+          TUtil.checkEquals(indexPath, other.indexPath) &&
+          TUtil.checkEquals(options, other.options);
+    }
+    return false;
+  }
+
+  @Override
+  public Object clone() throws CloneNotSupportedException {
+    CreateIndexNode createIndexNode = (CreateIndexNode) super.clone();
+    createIndexNode.indexName = indexName;
+    createIndexNode.isUnique = isUnique;
+    createIndexNode.indexMethod = indexMethod;
+    createIndexNode.sortSpecs = sortSpecs.clone();
+    createIndexNode.indexPath = indexPath;
+    createIndexNode.options = options != null ? (KeyValueSet) options.clone() : null;
+    return createIndexNode;
+  }
+
+  @Override
+  public PlanString getPlanString() {
+    PlanString planStr = new PlanString(this);
+    planStr.appendTitle(isUnique ? " (unique " : " (").appendTitle(indexName).appendTitle(")");
+    StringBuilder sb = new StringBuilder("Index Keys: ");
+    for (int i = 0; i < sortSpecs.length; i++) {
+      sb.append(sortSpecs[i].toString());
+      if (i < sortSpecs.length - 1) {
+        sb.append(",");
+      }
+    }
+    planStr.addExplan(sb.toString());
+    planStr.addExplan("Index Method: " + indexMethod.name());
+    planStr.addDetail("Index Path: " + indexPath);
+    return planStr;
+  }
+
+  @Override
+  public String toString() {
+    return "CreateIndex (indexName=" + indexName + ", unique=" + isUnique + ", keys=" + TUtil.arrayToString(sortSpecs)
+        + ", path=" + indexPath + ")";
+  }
+}
@@ -41,6 +41,8 @@ public class GroupbyNode extends UnaryNode implements Projectable, Cloneable {
    * */
   @Expose private Target [] targets;
   @Expose private boolean hasDistinct = false;
+  /** True if it is the first phase of a two-phase aggregation, whose output is aggregated again */
+  @Expose private boolean firstPhase = false;
 
   public GroupbyNode(int pid) {
     super(pid, NodeType.GROUP_BY);
@@ -70,6 +72,14 @@ public class GroupbyNode extends UnaryNode implements Projectable, Cloneable {
     hasDistinct = distinct;
   }
 
+  public final boolean isFirstPhase() {
+    return firstPhase;
+  }
+
+  public void setFirstPhase(boolean firstPhase) {
+    this.firstPhase = firstPhase;
+  }
+
   public boolean hasAggFunctions() {
     return aggrFunctions.length > 0;
   }
@@ -127,6 +137,7 @@ public class GroupbyNode extends UnaryNode implements Projectable, Cloneable {
     result = prime * result + Arrays.hashCode(aggrFunctions);
     result = prime * result + Arrays.hashCode(groupingKeys);
     result = prime * result + (hasDistinct ? 1231 : 1237);
+    result = prime * result + (firstPhase ? 1231 : 1237);
     result = prime * result + Arrays.hashCode(targets);
     return result;
   }
@@ -137,6 +148,7 @@ public class GroupbyNode extends UnaryNode implements Projectable, Cloneable {
       GroupbyNode other = (GroupbyNode) obj;
       boolean eq = super.equals(other);
       eq = eq && isDistinct() == other.isDistinct();
+      eq = eq && isFirstPhase() == other.isFirstPhase();
       eq = eq && TUtil.checkEquals(groupingKeys, other.groupingKeys);
       eq = eq && TUtil.checkEquals(aggrFunctions, other.aggrFunctions);
       eq = eq && TUtil.checkEquals(targets, other.targets);
@@ -18,6 +18,7 @@
 
 package org.apache.tajo.plan.logical;
 
+import java.net.URI;
 import java.util.Arrays;
 
 import com.google.gson.Gson;
@@ -26,24 +27,43 @@ import com.google.gson.annotations.Expose;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.SortSpec;
 import org.apache.tajo.datum.Datum;
+import org.apache.tajo.plan.PlanString;
 import org.apache.tajo.plan.serder.PlanGsonHelper;
+import org.apache.tajo.util.TUtil;
 
 public class IndexScanNode extends ScanNode {
   @Expose private SortSpec [] sortKeys;
   @Expose private Schema keySchema = null;
   @Expose private Datum[] datum = null;
-  
+  @Expose private URI indexPath = null;
+
+  public IndexScanNode(int pid) {
+    super(pid, NodeType.BST_INDEX_SCAN);
+  }
+
   public IndexScanNode(int pid, ScanNode scanNode ,
       Schema keySchema , Datum[] datum, SortSpec[] sortKeys ) {
-    super(pid);
-    init(scanNode.getTableDesc());
-    setQual(scanNode.getQual());
+    this(pid);
+    init(scanNode, keySchema, datum, sortKeys, null);
+  }
+
+  /**
+   * Initializes this node from a scan node. The index files of the fragments are located in the index path.
+   */
+  public void init(ScanNode scanNode, Schema keySchema, Datum[] datum, SortSpec[] sortKeys, URI indexPath) {
+    this.tableDesc = scanNode.tableDesc;
+    this.alias = scanNode.alias;
+    this.logicalSchema = scanNode.logicalSchema;
     setInSchema(scanNode.getInSchema());
-    setTargets(scanNode.getTargets());
-    setType(NodeType.BST_INDEX_SCAN);
+    setOutSchema(scanNode.getOutSchema());
+    this.qual = scanNode.qual;
+    this.targets = scanNode.targets;
+    this.broadcastTable = scanNode.broadcastTable;
+
     this.sortKeys = sortKeys;
     this.keySchema = keySchema;
     this.datum = datum;
+    this.indexPath = indexPath;
   }
   
   public SortSpec[] getSortKeys() {
@@ -66,6 +86,22 @@ public class IndexScanNode extends ScanNode {
     this.keySchema = keySchema;
   }
 
+  public void setDatum(Datum[] datum) {
+    this.datum = datum;
+  }
+
+  public boolean hasIndexPath() {
+    return indexPath != null;
+  }
+
+  public URI getIndexPath() {
+    return indexPath;
+  }
+
+  public void setIndexPath(URI indexPath) {
+    this.indexPath = indexPath;
+  }
+
   @Override
   public String toString() {
     Gson gson = PlanGsonHelper.getInstance();
@@ -87,6 +123,7 @@ public class IndexScanNode extends ScanNode {
     result = prime * result + Arrays.hashCode(datum);
     result = prime * result + ((keySchema == null) ? 0 : keySchema.hashCode());
     result = prime * result + Arrays.hashCode(sortKeys);
+    result = prime * result + ((indexPath == null) ? 0 : indexPath.hashCode());
     return result;
   }
 
@@ -112,6 +149,7 @@ public class IndexScanNode extends ScanNode {
           eq = eq && this.datum[i].equals(other.datum[i]);
         }
       }
+      eq = eq && TUtil.checkEquals(indexPath, other.indexPath);
      return eq;
     }   
     return false;
@@ -128,8 +166,20 @@ public class IndexScanNode extends ScanNode {
     for(int i = 0 ; i < datum.length ; i ++ ) {
       indexNode.datum[i] = this.datum[i];
     }
+    indexNode.indexPath = indexPath;
     return indexNode;
   }
+
+  @Override
+  public PlanString getPlanString() {
+    PlanString planStr = super.getPlanString();
+    planStr.addExplan("index keys: ").appendExplain(TUtil.arrayToString(sortKeys));
+    planStr.addExplan("lookup key: ").appendExplain(TUtil.arrayToString(datum));
+    if (hasIndexPath()) {
+      planStr.addDetail("index path: ").appendDetail(indexPath.toString());
+    }
+    return planStr;
+  }
 }
 
 
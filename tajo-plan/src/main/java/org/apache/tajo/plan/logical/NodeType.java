@@ -55,7 +55,8 @@ public enum NodeType {
   DROP_TABLE(DropTableNode.class),
   ALTER_TABLESPACE (AlterTablespaceNode.class),
   ALTER_TABLE (AlterTableNode.class),
-  TRUNCATE_TABLE (TruncateTableNode.class);
+  TRUNCATE_TABLE (TruncateTableNode.class),
+  CREATE_INDEX (CreateIndexNode.class);
 
   private final Class<? extends LogicalNode> baseClass;
 
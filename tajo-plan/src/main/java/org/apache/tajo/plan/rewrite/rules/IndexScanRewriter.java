@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.plan.rewrite.rules;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.tajo.OverridableConf;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.catalog.*;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.plan.LogicalPlan;
+import org.apache.tajo.plan.PlanningException;
+import org.apache.tajo.plan.expr.*;
+import org.apache.tajo.plan.logical.*;
+import org.apache.tajo.plan.rewrite.LogicalPlanRewriteRule;
+import org.apache.tajo.plan.util.PlannerUtil;
+import org.apache.tajo.plan.visitor.BasicLogicalPlanVisitor;
+
+import java.util.Stack;
+
+/**
+ * It rewrites a scan node into an index scan node if its qualification contains an equality predicate between
+ * an indexed column and a constant. The qualification is kept as it is, so rows fetched through the index are
+ * filtered again by the whole qualification.
+ */
+public class IndexScanRewriter implements LogicalPlanRewriteRule {
+  private static final Log LOG = LogFactory.getLog(IndexScanRewriter.class);
+
+  private static final String NAME = "Index Scan Rewriter";
+  private final CatalogService catalog;
+  private final Rewriter rewriter = new Rewriter();
+
+  public IndexScanRewriter(CatalogService catalog) {
+    this.catalog = catalog;
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public boolean isEligible(OverridableConf queryContext, LogicalPlan plan) {
+    if (!queryContext.getBool(SessionVars.INDEX_ENABLED)) {
+      return false;
+    }
+
+    for (LogicalPlan.QueryBlock block : plan.getQueryBlocks()) {
+      for (RelationNode relation : block.getRelations()) {
+        if (relation.getType() == NodeType.SCAN && ((ScanNode)relation).hasQual()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public LogicalPlan rewrite(OverridableConf queryContext, LogicalPlan plan) throws PlanningException {
+    LogicalPlan.QueryBlock rootBlock = plan.getRootBlock();
+    rewriter.visit(queryContext, plan, rootBlock, rootBlock.getRoot(), new Stack<LogicalNode>());
+    return plan;
+  }
+
+  private static class IndexedPredicate {
+    final IndexDesc index;
+    final Column column;
+    final Datum value;
+
+    IndexedPredicate(IndexDesc index, Column column, Datum value) {
+      this.index = index;
+      this.column = column;
+      this.value = value;
+    }
+  }
+
+  /**
+   * Finds a conjunct in the form of 'indexed column = constant'. It returns null if there is no such conjunct.
+   */
+  private IndexedPredicate findIndexedPredicate(ScanNode scanNode) {
+    String [] names = CatalogUtil.splitFQTableName(scanNode.getTableName());
+
+    for (EvalNode conjunct : AlgebraicUtil.toConjunctiveNormalFormArray(scanNode.getQual())) {
+      if (conjunct.getType() != EvalType.EQUAL) {
+        continue;
+      }
+
+      BinaryEval binaryEval = (BinaryEval) conjunct;
+      FieldEval field;
+      ConstEval constant;
+      if (binaryEval.getLeftExpr().getType() == EvalType.FIELD &&
+          binaryEval.getRightExpr().getType() == EvalType.CONST) {
+        field = binaryEval.getLeftExpr();
+        constant = binaryEval.getRightExpr();
+      } else if (binaryEval.getLeftExpr().getType() == EvalType.CONST &&
+          binaryEval.getRightExpr().getType() == EvalType.FIELD) {
+        field = binaryEval.getRightExpr();
+        constant = binaryEval.getLeftExpr();
+      } else {
+        continue;
+      }
+
+      Column column = field.getColumnRef();
+      Datum datum = constant.getValue();
+      if (column.getDataType().getType() != datum.type()) {
+        continue;
+      }
+
+      String columnName = column.getSimpleName();
+      if (catalog.existIndexByColumn(names[0], names[1], columnName)) {
+        IndexDesc index = catalog.getIndexByColumn(names[0], names[1], columnName);
+        if (index != null && CatalogUtil.extractSimpleName(index.getTableName()).equals(names[1])) {
+          return new IndexedPredicate(index, column, datum);
+        }
+      }
+    }
+    return null;
+  }
+
+  private final class Rewriter extends BasicLogicalPlanVisitor<OverridableConf, Object> {
+    @Override
+    public Object visitScan(OverridableConf queryContext, LogicalPlan plan, LogicalPlan.QueryBlock block,
+                            ScanNode scanNode, Stack<LogicalNode> stack) throws PlanningException {
+      if (!scanNode.hasQual()) {
+        return null;
+      }
+
+      IndexedPredicate predicate = findIndexedPredicate(scanNode);
+      if (predicate == null) {
+        return null;
+      }
+
+      IndexDesc index = predicate.index;
+      Schema keySchema = new Schema();
+      keySchema.addColumn(predicate.column);
+      SortSpec [] sortSpecs = new SortSpec[] {new SortSpec(predicate.column, index.isAscending(), false)};
+
+      IndexScanNode indexScanNode = plan.createNode(IndexScanNode.class);
+      indexScanNode.init(scanNode, keySchema, new Datum[] {predicate.value}, sortSpecs,
+          PlannerUtil.getIndexPath(scanNode.getTableDesc(), index.getIndexName()));
+      plan.addHistory("IndexScanRewriter chooses index " + index.getIndexName() + " for " +
+          scanNode.getCanonicalName());
+      LOG.info("Index " + index.getIndexName() + " is used for " + scanNode.getCanonicalName());
+
+      // if it is topmost node, set it as the rootnode of this block.
+      if (stack.empty() || block.getRoot().equals(scanNode)) {
+        block.setRoot(indexScanNode);
+      } else {
+        PlannerUtil.replaceNode(plan, stack.peek(), scanNode, indexScanNode);
+      }
+      return null;
+    }
+  }
+}
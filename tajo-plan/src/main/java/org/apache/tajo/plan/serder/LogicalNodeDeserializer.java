@@ -29,6 +29,7 @@ import org.apache.tajo.catalog.SortSpec;
 import org.apache.tajo.catalog.TableDesc;
 import org.apache.tajo.catalog.partition.PartitionMethodDesc;
 import org.apache.tajo.catalog.proto.CatalogProtos;
+import org.apache.tajo.datum.Datum;
 import org.apache.tajo.exception.UnimplementedException;
 import org.apache.tajo.plan.Target;
 import org.apache.tajo.plan.expr.AggregationFunctionCallEval;
@@ -39,6 +40,7 @@ import org.apache.tajo.plan.logical.*;
 import org.apache.tajo.util.KeyValueSet;
 import org.apache.tajo.util.TUtil;
 
+import java.net.URI;
 import java.util.*;
 
 /**
@@ -129,6 +131,9 @@ public class LogicalNodeDeserializer {
       case SCAN:
         current = convertScan(context, protoNode);
         break;
+      case BST_INDEX_SCAN:
+        current = convertIndexScan(context, protoNode);
+        break;
 
       case CREATE_TABLE:
         current = convertCreateTable(nodeMap, protoNode);
@@ -156,6 +161,9 @@ public class LogicalNodeDeserializer {
       case TRUNCATE_TABLE:
         current = convertTruncateTable(protoNode);
         break;
+      case CREATE_INDEX:
+        current = convertCreateIndex(nodeMap, protoNode);
+        break;
 
       default:
         throw new RuntimeException("Unknown NodeType: " + protoNode.getType().name());
@@ -290,6 +298,7 @@ public class LogicalNodeDeserializer {
     GroupbyNode groupby = new GroupbyNode(protoNode.getNodeId());
     groupby.setChild(nodeMap.get(groupbyProto.getChildSeq()));
     groupby.setDistinct(groupbyProto.getDistinct());
+    groupby.setFirstPhase(groupbyProto.getFirstPhase());
 
     if (groupbyProto.getGroupingKeysCount() > 0) {
       groupby.setGroupingColumns(convertColumns(groupbyProto.getGroupingKeysList()));
@@ -436,6 +445,24 @@ public class LogicalNodeDeserializer {
     return partitionedScan;
   }
 
+  private static IndexScanNode convertIndexScan(OverridableConf context, PlanProto.LogicalNode protoNode) {
+    IndexScanNode indexScan = new IndexScanNode(protoNode.getNodeId());
+    fillScanNode(context, protoNode, indexScan);
+
+    PlanProto.IndexScanSpec indexScanProto = protoNode.getIndexScan();
+    indexScan.setKeySchema(convertSchema(indexScanProto.getKeySchema()));
+    indexScan.setSortKeys(convertSortSpecs(indexScanProto.getSortSpecsList()));
+    Datum [] keys = new Datum[indexScanProto.getKeysCount()];
+    for (int i = 0; i < indexScanProto.getKeysCount(); i++) {
+      keys[i] = EvalNodeDeserializer.deserialize(indexScanProto.getKeys(i));
+    }
+    indexScan.setDatum(keys);
+    if (indexScanProto.hasIndexPath()) {
+      indexScan.setIndexPath(URI.create(indexScanProto.getIndexPath()));
+    }
+    return indexScan;
+  }
+
   private static TableSubQueryNode convertTableSubQuery(OverridableConf context,
                                                                  Map<Integer, LogicalNode> nodeMap,
                                                                  PlanProto.LogicalNode protoNode) {
@@ -602,6 +629,26 @@ public class LogicalNodeDeserializer {
     return truncateTable;
   }
 
+  private static CreateIndexNode convertCreateIndex(Map<Integer, LogicalNode> nodeMap,
+                                                    PlanProto.LogicalNode protoNode) {
+    CreateIndexNode createIndex = new CreateIndexNode(protoNode.getNodeId());
+
+    PlanProto.CreateIndexNode createIndexProto = protoNode.getCreateIndex();
+    createIndex.setChild(nodeMap.get(createIndexProto.getChildSeq()));
+    createIndex.setInSchema(convertSchema(protoNode.getInSchema()));
+    createIndex.setOutSchema(convertSchema(protoNode.getOutSchema()));
+    createIndex.setIndexName(createIndexProto.getIndexName());
+    createIndex.setIndexMethod(createIndexProto.getIndexMethod());
+    createIndex.setSortSpecs(convertSortSpecs(createIndexProto.getSortSpecsList()));
+    createIndex.setIndexPath(URI.create(createIndexProto.getIndexPath()));
+    createIndex.setUnique(createIndexProto.getIsUnique());
+    if (createIndexProto.hasOptions()) {
+      createIndex.setOptions(new KeyValueSet(createIndexProto.getOptions()));
+    }
+
+    return createIndex;
+  }
+
   private static AggregationFunctionCallEval [] convertAggFuncCallEvals(OverridableConf context,
                                                                        List<PlanProto.EvalNodeTree> evalTrees) {
     AggregationFunctionCallEval [] aggFuncs = new AggregationFunctionCallEval[evalTrees.size()];
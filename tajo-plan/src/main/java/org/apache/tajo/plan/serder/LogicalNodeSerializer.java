@@ -21,7 +21,9 @@ package org.apache.tajo.plan.serder;
 import com.google.common.collect.Maps;
 import org.apache.hadoop.fs.Path;
 import org.apache.tajo.algebra.JoinType;
+import org.apache.tajo.catalog.SortSpec;
 import org.apache.tajo.catalog.proto.CatalogProtos;
+import org.apache.tajo.datum.Datum;
 import org.apache.tajo.exception.UnimplementedException;
 import org.apache.tajo.plan.LogicalPlan;
 import org.apache.tajo.plan.PlanningException;
@@ -278,6 +280,7 @@ public class LogicalNodeSerializer extends BasicLogicalPlanVisitor<LogicalNodeSe
     PlanProto.GroupbyNode.Builder groupbyBuilder = PlanProto.GroupbyNode.newBuilder();
     groupbyBuilder.setChildSeq(childIds[0]);
     groupbyBuilder.setDistinct(node.isDistinct());
+    groupbyBuilder.setFirstPhase(node.isFirstPhase());
 
     if (node.groupingKeyNum() > 0) {
       groupbyBuilder.addAllGroupingKeys(
@@ -460,6 +463,32 @@ public class LogicalNodeSerializer extends BasicLogicalPlanVisitor<LogicalNodeSe
     return node;
   }
 
+  @Override
+  public LogicalNode visitIndexScan(SerializeContext context, LogicalPlan plan, LogicalPlan.QueryBlock block,
+                                    IndexScanNode node, Stack<LogicalNode> stack) throws PlanningException {
+
+    PlanProto.ScanNode.Builder scanBuilder = buildScanNode(node);
+
+    PlanProto.IndexScanSpec.Builder indexScanSpec = PlanProto.IndexScanSpec.newBuilder();
+    indexScanSpec.setKeySchema(node.getKeySchema().getProto());
+    for (SortSpec sortSpec : node.getSortKeys()) {
+      indexScanSpec.addSortSpecs(sortSpec.getProto());
+    }
+    for (Datum datum : node.getDatum()) {
+      indexScanSpec.addKeys(EvalNodeSerializer.serialize(datum));
+    }
+    if (node.hasIndexPath()) {
+      indexScanSpec.setIndexPath(node.getIndexPath().toString());
+    }
+
+    PlanProto.LogicalNode.Builder nodeBuilder = createNodeBuilder(context, node);
+    nodeBuilder.setScan(scanBuilder);
+    nodeBuilder.setIndexScan(indexScanSpec);
+    context.treeBuilder.addNodes(nodeBuilder);
+
+    return node;
+  }
+
   public LogicalNode visitTableSubQuery(SerializeContext context, LogicalPlan plan, LogicalPlan.QueryBlock block,
                                    TableSubQueryNode node, Stack<LogicalNode> stack) throws PlanningException {
     super.visitTableSubQuery(context, plan, block, node, stack);
@@ -595,6 +624,33 @@ public class LogicalNodeSerializer extends BasicLogicalPlanVisitor<LogicalNodeSe
     return node;
   }
 
+  @Override
+  public LogicalNode visitCreateIndex(SerializeContext context, LogicalPlan plan, LogicalPlan.QueryBlock block,
+                                      CreateIndexNode node, Stack<LogicalNode> stack) throws PlanningException {
+    super.visitCreateIndex(context, plan, block, node, stack);
+
+    int [] childIds = registerGetChildIds(context, node);
+
+    PlanProto.CreateIndexNode.Builder createIndexBuilder = PlanProto.CreateIndexNode.newBuilder();
+    createIndexBuilder.setChildSeq(childIds[0]);
+    createIndexBuilder.setIndexName(node.getIndexName());
+    createIndexBuilder.setIndexMethod(node.getIndexMethod());
+    for (SortSpec sortSpec : node.getSortSpecs()) {
+      createIndexBuilder.addSortSpecs(sortSpec.getProto());
+    }
+    createIndexBuilder.setIndexPath(node.getIndexPath().toString());
+    createIndexBuilder.setIsUnique(node.isUnique());
+    if (node.hasOptions()) {
+      createIndexBuilder.setOptions(node.getOptions().getProto());
+    }
+
+    PlanProto.LogicalNode.Builder nodeBuilder = createNodeBuilder(context, node);
+    nodeBuilder.setCreateIndex(createIndexBuilder);
+    context.treeBuilder.addNodes(nodeBuilder);
+
+    return node;
+  }
+
   public LogicalNode visitInsert(SerializeContext context, LogicalPlan plan, LogicalPlan.QueryBlock block,
                                  InsertNode node, Stack<LogicalNode> stack) throws PlanningException {
     super.visitInsert(context, plan, block, node, stack);
@@ -21,6 +21,7 @@ package org.apache.tajo.plan.util;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import org.apache.hadoop.fs.Path;
 import org.apache.tajo.OverridableConf;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.algebra.*;
@@ -39,12 +40,14 @@ import org.apache.tajo.util.KeyValueSet;
 import org.apache.tajo.util.TUtil;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.*;
 
 import static org.apache.tajo.catalog.proto.CatalogProtos.StoreType.CSV;
 import static org.apache.tajo.catalog.proto.CatalogProtos.StoreType.TEXTFILE;
 
 public class PlannerUtil {
+  public static final String INDEX_DIR_NAME = "_index";
 
   public static final Column [] EMPTY_COLUMNS = new Column[] {};
   public static final AggregationFunctionCallEval [] EMPTY_AGG_FUNCS = new AggregationFunctionCallEval[] {};
@@ -201,6 +204,27 @@ public class PlannerUtil {
     return !checkIfDDLPlan(node) && noRelation && isOneQueryBlock;
   }
 
+  /**
+   * @return True if a node is a group-by whose aggregation functions produce partial aggregates from raw rows,
+   * i.e., the first phase of a multi-phase aggregation.
+   */
+  public static boolean checkIfFirstPhaseAggregation(LogicalNode node) {
+    if (node == null || node.getType() != NodeType.GROUP_BY) {
+      return false;
+    }
+
+    GroupbyNode groupbyNode = (GroupbyNode) node;
+    if (groupbyNode.isDistinct() || !groupbyNode.hasAggFunctions()) {
+      return false;
+    }
+    for (AggregationFunctionCallEval aggFunction : groupbyNode.getAggFunctions()) {
+      if (aggFunction.isFinalPhase() || aggFunction.isIntermediatePhase()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Get all RelationNodes which are descendant of a given LogicalNode.
    *
@@ -208,7 +232,7 @@ public class PlannerUtil {
    * @return an array of all descendant RelationNode of LogicalNode.
    */
   public static String[] getRelationLineage(LogicalNode from) {
-    LogicalNode[] scans = findAllNodes(from, NodeType.SCAN, NodeType.PARTITIONS_SCAN);
+    LogicalNode[] scans = findAllNodes(from, NodeType.SCAN, NodeType.PARTITIONS_SCAN, NodeType.BST_INDEX_SCAN);
     String[] tableNames = new String[scans.length];
     ScanNode scan;
     for (int i = 0; i < scans.length; i++) {
@@ -882,6 +906,18 @@ public class PlannerUtil {
     }
   }
 
+  /**
+   * Returns the directory containing the index files of the given index. It is placed under a hidden directory of
+   * the table path so that table scans do not read index files.
+   *
+   * @param table the indexed table
+   * @param indexName the index name
+   * @return the index directory
+   */
+  public static URI getIndexPath(TableDesc table, String indexName) {
+    return new Path(new Path(new Path(table.getPath()), INDEX_DIR_NAME), indexName).toUri();
+  }
+
   public static boolean isFileStorageType(String storageType) {
     if (storageType.equalsIgnoreCase("hbase")) {
       return false;
@@ -250,6 +250,31 @@ public class PreLogicalPlanVerifier extends BaseAlgebraVisitor<PreLogicalPlanVer
     return expr;
   }
 
+  @Override
+  public Expr visitCreateIndex(Context context, Stack<Expr> stack, CreateIndex expr) throws PlanningException {
+    super.visitCreateIndex(context, stack, expr);
+
+    String databaseName = context.queryContext.get(SessionVars.CURRENT_DATABASE);
+    if (catalog.existIndexByName(databaseName, expr.getIndexName())) {
+      context.state.addVerification(String.format("index \"%s\" already exists", expr.getIndexName()));
+    }
+
+    // the catalog keeps a single column for each index
+    if (expr.getSortSpecs().length != 1) {
+      context.state.addVerification("multi-column index is not supported yet");
+    }
+
+    Relation relation = (Relation) expr.getChild();
+    String qualifiedName = relation.getName();
+    if (!CatalogUtil.isFQTableName(qualifiedName)) {
+      qualifiedName = CatalogUtil.buildFQName(databaseName, qualifiedName);
+    }
+    if (catalog.existsTable(qualifiedName) && catalog.getTableDesc(qualifiedName).hasPartition()) {
+      context.state.addVerification("index on a partitioned table is not supported yet");
+    }
+    return expr;
+  }
+
   ///////////////////////////////////////////////////////////////////////////////////////////////////////////
   // Insert or Update Section
   ///////////////////////////////////////////////////////////////////////////////////////////////////////////
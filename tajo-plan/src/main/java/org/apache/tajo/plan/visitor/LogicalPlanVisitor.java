@@ -78,6 +78,9 @@ public interface LogicalPlanVisitor<CONTEXT, RESULT> {
   RESULT visitPartitionedTableScan(CONTEXT context, LogicalPlan plan, LogicalPlan.QueryBlock block,
                                    PartitionedTableScanNode node, Stack<LogicalNode> stack) throws PlanningException;
 
+  RESULT visitIndexScan(CONTEXT context, LogicalPlan plan, LogicalPlan.QueryBlock block, IndexScanNode node,
+                        Stack<LogicalNode> stack) throws PlanningException;
+
   RESULT visitStoreTable(CONTEXT context, LogicalPlan plan, LogicalPlan.QueryBlock block, StoreTableNode node,
                          Stack<LogicalNode> stack) throws PlanningException;
 
@@ -104,4 +107,7 @@ public interface LogicalPlanVisitor<CONTEXT, RESULT> {
 
   RESULT visitTruncateTable(CONTEXT context, LogicalPlan plan, LogicalPlan.QueryBlock block, TruncateTableNode node,
                          Stack<LogicalNode> stack) throws PlanningException;
+
+  RESULT visitCreateIndex(CONTEXT context, LogicalPlan plan, LogicalPlan.QueryBlock block, CreateIndexNode node,
+                          Stack<LogicalNode> stack) throws PlanningException;
 }
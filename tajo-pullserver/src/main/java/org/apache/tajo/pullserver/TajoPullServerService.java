@@ -110,6 +110,7 @@ public class TajoPullServerService extends AbstractService {
   private static final Map<String,String> userRsrc =
     new ConcurrentHashMap<String,String>();
   private String userName;
+  private volatile FileChunkObserver chunkObserver;
 
   public static final String SUFFLE_SSL_FILE_BUFFER_SIZE_KEY =
     "tajo.pullserver.ssl.file.buffer.size";
@@ -372,6 +373,26 @@ public class TajoPullServerService extends AbstractService {
     if (status != null) {
       status.decrementRemainFiles(filePart, startTime);
     }
+
+    FileChunkObserver observer = chunkObserver;
+    if (observer != null) {
+      observer.onFileChunkServed(filePart.count(), System.currentTimeMillis() - startTime);
+    }
+  }
+
+  /**
+   * Observer of the file chunks served by this pull server. It is called in the I/O threads of the server.
+   */
+  public interface FileChunkObserver {
+    /**
+     * @param bytes The number of bytes of the served chunk
+     * @param elapsedMillis The time from the request to the end of the transfer in milliseconds
+     */
+    void onFileChunkServed(long bytes, long elapsedMillis);
+  }
+
+  public void setFileChunkObserver(FileChunkObserver observer) {
+    this.chunkObserver = observer;
   }
 
   class ProcessingStatus {
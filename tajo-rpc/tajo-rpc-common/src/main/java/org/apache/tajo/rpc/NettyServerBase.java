@@ -60,6 +60,7 @@ public class NettyServerBase {
 
   private InetSocketAddress initIsa;
   private Set<RpcEventListener> listeners = Collections.synchronizedSet(new HashSet<RpcEventListener>());
+  private volatile RpcCallObserver callObserver;
 
   public NettyServerBase(InetSocketAddress address) {
     this.initIsa = address;
@@ -240,4 +241,20 @@ public class NettyServerBase {
   public void removeListener(RpcEventListener listener) {
     listeners.remove(listener);
   }
+
+  public void setCallObserver(RpcCallObserver observer) {
+    this.callObserver = observer;
+  }
+
+  /**
+   * Notify the call observer of a completed call.
+   * @param methodName The name of the called method
+   * @param startNanos The value of {@link System#nanoTime()} when the request arrived
+   */
+  protected void callCompleted(String methodName, long startNanos) {
+    RpcCallObserver observer = callObserver;
+    if (observer != null) {
+      observer.onCallCompleted(serviceName, methodName, System.nanoTime() - startNanos);
+    }
+  }
 }
\ No newline at end of file
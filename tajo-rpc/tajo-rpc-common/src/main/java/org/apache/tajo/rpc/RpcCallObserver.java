@@ -0,0 +1,33 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.tajo.rpc;
+
+/**
+ * Observer of the calls served by an RPC server. It must be cheap and thread-safe because it is called
+ * in the I/O threads of the server for every call.
+ */
+public interface RpcCallObserver {
+
+  /**
+   * Called when the response of a call is written.
+   * @param serviceName The name of the service
+   * @param methodName The name of the called method
+   * @param elapsedNanos The time from the arrival of the request to the response in nanoseconds
+   */
+  public void onCallCompleted(String serviceName, String methodName, long elapsedNanos);
+}
@@ -83,8 +83,9 @@ public class AsyncRpcServer extends NettyServerBase {
       if (msg instanceof RpcRequest) {
         try {
           final RpcRequest request = (RpcRequest) msg;
+          final long startTime = System.nanoTime();
 
-          String methodName = request.getMethodName();
+          final String methodName = request.getMethodName();
           MethodDescriptor methodDescriptor = service.getDescriptorForType().findMethodByName(methodName);
 
           if (methodDescriptor == null) {
@@ -118,6 +119,7 @@ public class AsyncRpcServer extends NettyServerBase {
               }
 
               ctx.writeAndFlush(builder.build());
+              callCompleted(methodName, startTime);
             }
           };
 
@@ -89,6 +89,7 @@ public class BlockingRpcServer extends NettyServerBase {
       if (msg instanceof RpcRequest) {
         try {
           final RpcRequest request = (RpcRequest) msg;
+          long startTime = System.nanoTime();
 
           String methodName = request.getMethodName();
           MethodDescriptor methodDescriptor = service.getDescriptorForType().findMethodByName(methodName);
@@ -125,6 +126,7 @@ public class BlockingRpcServer extends NettyServerBase {
             builder.setErrorMessage(controller.errorText());
           }
           ctx.writeAndFlush(builder.build());
+          callCompleted(methodName, startTime);
         } finally {
           ReferenceCountUtil.release(msg);
         }
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.ws.rs.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpContent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream which writes a response body as HTTP chunks. When the channel is not writable, it waits until
+ * the written chunk is flushed, so that a slow client throttles the writer instead of filling up the heap.
+ * Waiting is skipped in I/O threads, where it would deadlock.
+ */
+class NettyChunkedOutputStream extends OutputStream {
+  static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+  private final ChannelHandlerContext ctx;
+  private final int chunkSize;
+  private ByteBuf buffer;
+  private boolean closed = false;
+
+  NettyChunkedOutputStream(ChannelHandlerContext ctx, int chunkSize) {
+    this.ctx = ctx;
+    this.chunkSize = chunkSize;
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Stream is already closed.");
+    }
+    if (!ctx.channel().isActive()) {
+      throw new IOException("Connection is closed.");
+    }
+  }
+
+  private ByteBuf buffer() {
+    if (buffer == null) {
+      buffer = ctx.alloc().buffer(chunkSize);
+    }
+    return buffer;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    ensureOpen();
+    buffer().writeByte(b);
+    if (buffer.readableBytes() >= chunkSize) {
+      writeChunk(false);
+    }
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    ensureOpen();
+    while (len > 0) {
+      int writable = Math.min(len, chunkSize - buffer().readableBytes());
+      buffer.writeBytes(b, off, writable);
+      off += writable;
+      len -= writable;
+      if (buffer.readableBytes() >= chunkSize) {
+        writeChunk(false);
+      }
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (!closed) {
+      writeChunk(true);
+    }
+  }
+
+  private void writeChunk(boolean flush) throws IOException {
+    ChannelFuture future;
+    if (buffer != null && buffer.isReadable()) {
+      // a promise of the channel can be waited for in the handler executor
+      future = ctx.writeAndFlush(new DefaultHttpContent(buffer), ctx.channel().newPromise());
+      buffer = null;
+    } else if (flush) {
+      ctx.flush();
+      return;
+    } else {
+      return;
+    }
+
+    if (!ctx.channel().isWritable() && !ctx.channel().eventLoop().inEventLoop()) {
+      future.awaitUninterruptibly();
+      if (!future.isSuccess()) {
+        throw new IOException(future.cause());
+      }
+    }
+  }
+
+  /**
+   * It writes the remaining bytes, but the last chunk is written by the response writer.
+   */
+  @Override
+  public void close() throws IOException {
+    if (!closed) {
+      try {
+        if (ctx.channel().isActive()) {
+          writeChunk(true);
+        }
+      } finally {
+        closed = true;
+        if (buffer != null) {
+          buffer.release();
+          buffer = null;
+        }
+      }
+    }
+  }
+}
@@ -25,6 +25,7 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.util.concurrent.EventExecutorGroup;
 
 /**
  * Default Channel Initializer for Netty Rest server.
@@ -32,9 +33,19 @@ import io.netty.handler.stream.ChunkedWriteHandler;
 public class NettyRestChannelInitializer extends ChannelInitializer<Channel> {
   
   private ChannelHandler handler;
+  private EventExecutorGroup handlerExecutor;
   
   public NettyRestChannelInitializer(ChannelHandler handler) {
+    this(handler, null);
+  }
+
+  /**
+   * @param handler The handler of REST requests
+   * @param handlerExecutor The executor which runs the handler. If it is null, the handler runs in I/O threads.
+   */
+  public NettyRestChannelInitializer(ChannelHandler handler, EventExecutorGroup handlerExecutor) {
     this.handler = handler;
+    this.handlerExecutor = handlerExecutor;
   }
 
   @Override
@@ -44,7 +55,7 @@ public class NettyRestChannelInitializer extends ChannelInitializer<Channel> {
     pipeline.addLast(new HttpServerCodec());
     pipeline.addLast(new HttpObjectAggregator(1 << 16));
     pipeline.addLast(new ChunkedWriteHandler());
-    pipeline.addLast(handler);
+    pipeline.addLast(handlerExecutor, "handler", handler);
   }
 
 }
@@ -39,6 +39,7 @@ import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.SecurityContext;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.URI;
@@ -210,6 +211,7 @@ public class NettyRestHandlerContainer extends ChannelDuplexHandler implements C
     private final ChannelHandlerContext ctx;
     private final FullHttpResponse response;
     private final AtomicBoolean closed;
+    private NettyChunkedOutputStream chunkedOutput;
 
     public NettyRestResponseWriter(ChannelHandlerContext ctx, FullHttpResponse response) {
       this.ctx = ctx;
@@ -220,7 +222,15 @@ public class NettyRestHandlerContainer extends ChannelDuplexHandler implements C
     @Override
     public void commit() {
       if (closed.compareAndSet(false, true)) {
-        ctx.write(response);
+        if (chunkedOutput != null) {
+          try {
+            chunkedOutput.close();
+          } catch (IOException e) {
+            LOG.warn("Failed to write the remaining content: " + e.getMessage());
+          }
+        } else {
+          ctx.write(response);
+        }
         sendLastHttpContent();
       }
     }
@@ -233,7 +243,12 @@ public class NettyRestHandlerContainer extends ChannelDuplexHandler implements C
     @Override
     public void failure(Throwable error) {
       try {
-        sendError(HttpResponseStatus.INTERNAL_SERVER_ERROR, error);
+        // If the headers of a chunked response are already sent, the client can only see a truncated response.
+        if (chunkedOutput == null) {
+          sendError(HttpResponseStatus.INTERNAL_SERVER_ERROR, error);
+        } else {
+          LOG.error("Failed to stream a response: " + error.getMessage(), error);
+        }
       } finally {
         if (ctx.channel().isActive()) {
           ctx.close();
@@ -282,6 +297,18 @@ public class NettyRestHandlerContainer extends ChannelDuplexHandler implements C
       int status = context.getStatus();
 
       response.setStatus(HttpResponseStatus.valueOf(status));
+
+      // A resource can ask to stream a response of unknown length by setting "Transfer-Encoding: chunked".
+      // Then, the headers are sent immediately and the entity is written in chunks instead of a single buffer.
+      if (contentLength < 0 && HttpHeaders.isTransferEncodingChunked(response)) {
+        HttpResponse headResponse = new DefaultHttpResponse(response.getProtocolVersion(), response.getStatus());
+        headResponse.headers().set(nettyHeaders);
+        response.release();
+        ctx.write(headResponse);
+
+        chunkedOutput = new NettyChunkedOutputStream(ctx, NettyChunkedOutputStream.DEFAULT_CHUNK_SIZE);
+        return chunkedOutput;
+      }
       return new ByteBufOutputStream(response.content());
     }
 
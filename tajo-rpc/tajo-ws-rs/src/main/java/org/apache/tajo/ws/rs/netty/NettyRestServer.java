@@ -19,6 +19,10 @@
 package org.apache.tajo.ws.rs.netty;
 
 import io.netty.channel.ChannelHandler;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutorGroup;
+
 import java.net.InetSocketAddress;
 
 import org.apache.tajo.rpc.NettyServerBase;
@@ -30,6 +34,8 @@ public class NettyRestServer extends NettyServerBase {
   
   private ChannelHandler handler;
   private int workerCount;
+  /** It runs JAX-RS resources, so that they can block on writing responses without blocking I/O threads. */
+  private EventExecutorGroup handlerExecutor;
 
   public NettyRestServer(InetSocketAddress address, int workerCount) {
     this("NettyRestService", address, workerCount);
@@ -60,8 +66,21 @@ public class NettyRestServer extends NettyServerBase {
       throw new IllegalStateException("ChannelHandler is null.");
     }
     
-    super.init(new NettyRestChannelInitializer(handler), workerCount);
+    handlerExecutor = new DefaultEventExecutorGroup(workerCount, new DefaultThreadFactory(serviceName + "-Handler"));
+    super.init(new NettyRestChannelInitializer(handler, handlerExecutor), workerCount);
     super.start();
   }
 
+  @Override
+  public void shutdown(boolean waitUntilThreadsStop) {
+    super.shutdown(waitUntilThreadsStop);
+
+    if (handlerExecutor != null) {
+      handlerExecutor.shutdownGracefully();
+      if (waitUntilThreadsStop) {
+        handlerExecutor.terminationFuture().awaitUninterruptibly();
+      }
+    }
+  }
+
 }
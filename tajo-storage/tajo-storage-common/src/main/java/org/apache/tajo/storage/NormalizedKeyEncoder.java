@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.UnsignedBytes;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SortSpec;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.exception.UnsupportedException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * It encodes the sort keys of a tuple into a normalized key, which is a byte array. Comparing two normalized keys
+ * in unsigned lexicographical order gives the same result as {@link BaseTupleComparator} with the same sort keys,
+ * so that sort and merge operators can compare tuples with a single memcmp-style comparison.
+ *
+ * Each sort key is encoded as follows:
+ * <ul>
+ *   <li>A marker byte which places a null value first or last, as {@link BaseTupleComparator} does.</li>
+ *   <li>Fixed-width numbers in big-endian order, with sign bits flipped so that negative numbers come first.</li>
+ *   <li>Variable-length bytes with 0x00 escaped as 0x00 0xFF and terminated by 0x00 0x00.</li>
+ *   <li>All value bytes are inverted for a descending key.</li>
+ * </ul>
+ */
+public class NormalizedKeyEncoder {
+  public static final Comparator<byte[]> COMPARATOR = UnsignedBytes.lexicographicalComparator();
+
+  private static final byte NULL_FIRST = 0x00;
+  private static final byte NOT_NULL = 0x01;
+  private static final byte NULL_LAST = 0x02;
+
+  private static final int INITIAL_BUFFER_SIZE = 64;
+
+  private final Type [] types;
+  private final int [] keyIds;
+  private final boolean [] asc;
+  private final byte [] nullMarkers;
+
+  private byte [] buffer = new byte[INITIAL_BUFFER_SIZE];
+  private int position;
+
+  /**
+   * @param schema The schema of input tuples
+   * @param sortKeys The description of sort keys
+   */
+  public NormalizedKeyEncoder(Schema schema, SortSpec [] sortKeys) {
+    Preconditions.checkArgument(sortKeys.length > 0, "At least one sort key must be specified.");
+    Preconditions.checkArgument(isEncodable(sortKeys), "Some of sort keys cannot be normalized.");
+
+    this.types = new Type[sortKeys.length];
+    this.keyIds = new int[sortKeys.length];
+    this.asc = new boolean[sortKeys.length];
+    this.nullMarkers = new byte[sortKeys.length];
+    for (int i = 0; i < sortKeys.length; i++) {
+      if (sortKeys[i].getSortKey().hasQualifier()) {
+        keyIds[i] = schema.getColumnId(sortKeys[i].getSortKey().getQualifiedName());
+      } else {
+        keyIds[i] = schema.getColumnIdByName(sortKeys[i].getSortKey().getSimpleName());
+      }
+      types[i] = sortKeys[i].getSortKey().getDataType().getType();
+      asc[i] = sortKeys[i].isAscending();
+
+      // the same null ordering as BaseTupleComparator
+      boolean nullFirst = sortKeys[i].isNullFirst();
+      nullMarkers[i] = (nullFirst && asc[i]) || (!nullFirst && !asc[i]) ? NULL_FIRST : NULL_LAST;
+    }
+  }
+
+  public static boolean isEncodable(SortSpec [] sortKeys) {
+    for (SortSpec sortKey : sortKeys) {
+      if (!isEncodable(sortKey.getSortKey().getDataType().getType())) {
+        return false;
+      }
+    }
+    return sortKeys.length > 0;
+  }
+
+  public static boolean isEncodable(Type type) {
+    switch (type) {
+    case BOOLEAN:
+    case INT1:
+    case INT2:
+    case INT4:
+    case INT8:
+    case FLOAT4:
+    case FLOAT8:
+    case DATE:
+    case TIME:
+    case TIMESTAMP:
+    case INET4:
+    case TEXT:
+    case CHAR:
+    case BLOB:
+      return true;
+    default:
+      return false;
+    }
+  }
+
+  /**
+   * Compare two normalized keys in unsigned lexicographical order.
+   */
+  public static int compare(byte [] key1, byte [] key2) {
+    return COMPARATOR.compare(key1, key2);
+  }
+
+  /**
+   * Encode the sort keys of a tuple.
+   *
+   * @param tuple The tuple whose schema is given to this encoder
+   * @return A new normalized key
+   */
+  public byte [] encode(Tuple tuple) {
+    position = 0;
+
+    for (int i = 0; i < keyIds.length; i++) {
+      int keyId = keyIds[i];
+      if (tuple.isNull(keyId)) {
+        ensureSize(1);
+        buffer[position++] = nullMarkers[i];
+        continue;
+      }
+
+      ensureSize(1);
+      buffer[position++] = NOT_NULL;
+      int start = position;
+
+      switch (types[i]) {
+      case BOOLEAN:
+        ensureSize(1);
+        buffer[position++] = (byte) (tuple.getBool(keyId) ? 1 : 0);
+        break;
+      case INT1:
+      case INT2:
+        writeShort((short) (tuple.getInt2(keyId) ^ Short.MIN_VALUE));
+        break;
+      case INT4:
+      case DATE:
+        writeInt(tuple.getInt4(keyId) ^ Integer.MIN_VALUE);
+        break;
+      case INET4: // IPv4 addresses are compared as unsigned numbers
+        writeInt(tuple.getInt4(keyId));
+        break;
+      case INT8:
+      case TIME:
+      case TIMESTAMP:
+        writeLong(tuple.getInt8(keyId) ^ Long.MIN_VALUE);
+        break;
+      case FLOAT4: {
+        float val = tuple.getFloat4(keyId);
+        // -0.0 and 0.0 are equal in FLOAT4 datums
+        int bits = Float.floatToIntBits(val == 0.0f ? 0.0f : val);
+        writeInt(bits ^ ((bits >> 31) | Integer.MIN_VALUE));
+        break;
+      }
+      case FLOAT8: {
+        double val = tuple.getFloat8(keyId);
+        long bits = Double.doubleToLongBits(val == 0.0d ? 0.0d : val);
+        writeLong(bits ^ ((bits >> 63) | Long.MIN_VALUE));
+        break;
+      }
+      case TEXT:
+      case CHAR:
+        writeBytes(tuple.getBytes(keyId), (byte) 0);
+        break;
+      case BLOB: // BLOB datums are compared as signed bytes
+        writeBytes(tuple.getBytes(keyId), (byte) 0x80);
+        break;
+      default:
+        throw new UnsupportedException("Cannot normalize a sort key of " + types[i].name());
+      }
+
+      if (!asc[i]) {
+        for (int j = start; j < position; j++) {
+          buffer[j] = (byte) ~buffer[j];
+        }
+      }
+    }
+
+    return Arrays.copyOf(buffer, position);
+  }
+
+  private void ensureSize(int size) {
+    if (position + size > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + size));
+    }
+  }
+
+  private void writeShort(short val) {
+    ensureSize(2);
+    buffer[position++] = (byte) (val >>> 8);
+    buffer[position++] = (byte) val;
+  }
+
+  private void writeInt(int val) {
+    ensureSize(4);
+    buffer[position++] = (byte) (val >>> 24);
+    buffer[position++] = (byte) (val >>> 16);
+    buffer[position++] = (byte) (val >>> 8);
+    buffer[position++] = (byte) val;
+  }
+
+  private void writeLong(long val) {
+    writeInt((int) (val >>> 32));
+    writeInt((int) val);
+  }
+
+  /**
+   * Write escaped bytes and a terminator. Each byte is XORed with the mask before it is escaped.
+   */
+  private void writeBytes(byte [] bytes, byte mask) {
+    ensureSize(bytes.length * 2 + 2); // in the worst case, all bytes are escaped
+    for (byte b : bytes) {
+      b ^= mask;
+      if (b == 0) {
+        buffer[position++] = 0;
+        buffer[position++] = (byte) 0xFF;
+      } else {
+        buffer[position++] = b;
+      }
+    }
+    buffer[position++] = 0;
+    buffer[position++] = 0;
+  }
+}
@@ -105,7 +105,7 @@ public class OffHeapRowBlock extends OffHeapMemory implements Deallocatable {
    * @param size Size to add
    */
   public void ensureSize(int size) {
-    if (remain() - size < 0) {
+    while (remain() - size < 0) {
       if (!limitSpec.canIncrease(memorySize)) {
         throw new RuntimeException("Cannot increase RowBlock anymore.");
       }
@@ -86,6 +86,9 @@ public abstract class OffHeapRowWriter implements RowWriter {
   }
 
   public boolean startRow() {
+    curOffset = 0;
+    // the header is written by endRow(), so its space must be reserved before any field
+    ensureSize(headerSize);
     curOffset = headerSize;
     curFieldIdx = 0;
     return true;
@@ -154,13 +154,17 @@ public abstract class UnSafeTuple implements Tuple {
     case INT4:
       return DatumFactory.createInt4(getInt4(fieldId));
     case INT8:
-      return DatumFactory.createInt8(getInt4(fieldId));
+      return DatumFactory.createInt8(getInt8(fieldId));
     case FLOAT4:
       return DatumFactory.createFloat4(getFloat4(fieldId));
     case FLOAT8:
       return DatumFactory.createFloat8(getFloat8(fieldId));
     case TEXT:
       return DatumFactory.createText(getText(fieldId));
+    case CHAR:
+      return DatumFactory.createChar(getBytes(fieldId));
+    case BLOB:
+      return DatumFactory.createBlob(getBytes(fieldId));
     case TIMESTAMP:
       return DatumFactory.createTimestamp(getInt8(fieldId));
     case DATE:
@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SortSpec;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestNormalizedKeyEncoder {
+  private static final int NUM_TUPLES = 300;
+
+  private static Schema createSchema() {
+    Schema schema = new Schema();
+    schema.addColumn("col1", Type.INT4);
+    schema.addColumn("col2", Type.INT8);
+    schema.addColumn("col3", Type.FLOAT8);
+    schema.addColumn("col4", Type.TEXT);
+    schema.addColumn("col5", Type.BOOLEAN);
+    schema.addColumn("col6", Type.FLOAT4);
+    schema.addColumn("col7", Type.INT2);
+    schema.addColumn("col8", Type.BLOB);
+    return schema;
+  }
+
+  private static Datum randomDatum(Random rnd, Type type) {
+    if (rnd.nextInt(8) == 0) {
+      return NullDatum.get();
+    }
+    switch (type) {
+    case INT4:
+      return DatumFactory.createInt4(rnd.nextBoolean() ? rnd.nextInt(5) - 2 : rnd.nextInt());
+    case INT8:
+      return DatumFactory.createInt8(rnd.nextBoolean() ? rnd.nextInt(5) - 2 : rnd.nextLong());
+    case FLOAT8:
+      return DatumFactory.createFloat8(rnd.nextBoolean() ? rnd.nextInt(3) - 1 : rnd.nextGaussian() * 1000);
+    case FLOAT4:
+      return DatumFactory.createFloat4(rnd.nextBoolean() ? -0.0f : (float) rnd.nextGaussian());
+    case INT2:
+      return DatumFactory.createInt2((short) (rnd.nextInt(7) - 3));
+    case BOOLEAN:
+      return DatumFactory.createBool(rnd.nextBoolean());
+    case TEXT: {
+      // short strings with zero bytes and non-ascii characters to check escaping and prefixes
+      char [] candidates = {'a', 'b', '\u0000', 'é', '가'};
+      StringBuilder sb = new StringBuilder();
+      int len = rnd.nextInt(4);
+      for (int i = 0; i < len; i++) {
+        sb.append(candidates[rnd.nextInt(candidates.length)]);
+      }
+      return DatumFactory.createText(sb.toString());
+    }
+    case BLOB: {
+      byte [] bytes = new byte[rnd.nextInt(3)];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = (byte) (rnd.nextInt(5) - 2);
+      }
+      bytes = bytes.length > 0 && rnd.nextBoolean() ? new byte[] {(byte) 0x80, bytes[0]} : bytes;
+      return DatumFactory.createBlob(bytes);
+    }
+    default:
+      throw new IllegalArgumentException(type.name());
+    }
+  }
+
+  private static List<Tuple> createTuples(Schema schema, long seed) {
+    Random rnd = new Random(seed);
+    List<Tuple> tuples = new ArrayList<Tuple>();
+    for (int i = 0; i < NUM_TUPLES; i++) {
+      Tuple tuple = new VTuple(schema.size());
+      for (int j = 0; j < schema.size(); j++) {
+        tuple.put(j, randomDatum(rnd, schema.getColumn(j).getDataType().getType()));
+      }
+      tuples.add(tuple);
+    }
+    return tuples;
+  }
+
+  private static void assertSameOrder(Schema schema, SortSpec [] sortSpecs, List<Tuple> tuples) {
+    BaseTupleComparator comparator = new BaseTupleComparator(schema, sortSpecs);
+    NormalizedKeyEncoder encoder = new NormalizedKeyEncoder(schema, sortSpecs);
+
+    byte [][] keys = new byte[tuples.size()][];
+    for (int i = 0; i < tuples.size(); i++) {
+      keys[i] = encoder.encode(tuples.get(i));
+    }
+
+    for (int i = 0; i < tuples.size(); i++) {
+      for (int j = 0; j < tuples.size(); j++) {
+        int expected = Integer.signum(comparator.compare(tuples.get(i), tuples.get(j)));
+        int actual = Integer.signum(NormalizedKeyEncoder.compare(keys[i], keys[j]));
+        assertEquals(tuples.get(i) + " vs " + tuples.get(j), expected, actual);
+      }
+    }
+  }
+
+  @Test
+  public final void testSingleKeys() {
+    Schema schema = createSchema();
+    List<Tuple> tuples = createTuples(schema, 1);
+
+    for (int i = 0; i < schema.size(); i++) {
+      for (boolean asc : new boolean[] {true, false}) {
+        for (boolean nullFirst : new boolean[] {true, false}) {
+          SortSpec [] sortSpecs = {new SortSpec(schema.getColumn(i), asc, nullFirst)};
+          assertSameOrder(schema, sortSpecs, tuples);
+        }
+      }
+    }
+  }
+
+  @Test
+  public final void testMultipleKeys() {
+    Schema schema = createSchema();
+    List<Tuple> tuples = createTuples(schema, 2);
+
+    SortSpec [] sortSpecs = {
+        new SortSpec(schema.getColumn("col5"), true, false),
+        new SortSpec(schema.getColumn("col4"), false, false),
+        new SortSpec(schema.getColumn("col7"), false, true),
+        new SortSpec(schema.getColumn("col1"), true, true)
+    };
+    assertSameOrder(schema, sortSpecs, tuples);
+  }
+
+  @Test
+  public final void testEncodable() {
+    Schema schema = createSchema();
+    schema.addColumn("col9", Type.INTERVAL);
+
+    assertTrue(NormalizedKeyEncoder.isEncodable(new SortSpec[] {new SortSpec(schema.getColumn("col4"))}));
+    assertFalse(NormalizedKeyEncoder.isEncodable(new SortSpec[] {
+        new SortSpec(schema.getColumn("col4")), new SortSpec(schema.getColumn("col9"))}));
+    assertFalse(NormalizedKeyEncoder.isEncodable(new SortSpec[0]));
+  }
+}
@@ -36,12 +36,14 @@ import org.apache.tajo.datum.ProtobufDatumFactory;
 import org.apache.tajo.storage.fragment.Fragment;
 import org.apache.tajo.unit.StorageUnit;
 import org.apache.tajo.util.BitArray;
+import org.apache.tajo.util.UnsafeUtil;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 
 public class RawFile {
@@ -49,6 +51,43 @@ public class RawFile {
   public static final String READ_BUFFER_SIZE = "tajo.storage.raw.io.read-buffer.bytes";
   public static final String WRITE_BUFFER_SIZE = "tajo.storage.raw.io.write-buffer.bytes";
   public static final int DEFAULT_BUFFER_SIZE = 128 * StorageUnit.KB;
+  /** If it is enabled, RawFileScanner maps a file into memory, and returns tuples which are views over records. */
+  public static final String MMAP_ENABLED = "tajo.storage.raw.io.mmap.enabled";
+  public static final boolean DEFAULT_MMAP_ENABLED = true;
+  /**
+   * Files smaller than this size are read through a buffer, because mapping a small file costs more than reading
+   * it. It keeps small shuffle files, which are read only once, off the mmap path.
+   */
+  public static final String MMAP_MIN_BYTES = "tajo.storage.raw.io.mmap.min-bytes";
+  public static final int DEFAULT_MMAP_MIN_BYTES = StorageUnit.MB;
+
+  /**
+   * A memory-mapped region of a file, which is shared by a scanner and the tuples it returns. The scanner unmaps
+   * it on close instead of waiting for GC, and tuples cannot read it after that. A scanner and its tuples are
+   * used by a single thread.
+   */
+  static class MappedRegion {
+    private MappedByteBuffer buffer;
+
+    MappedRegion(MappedByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    ByteBuffer buffer() {
+      if (buffer == null) {
+        throw new IllegalStateException("The mapped region is already unmapped because its scanner is closed");
+      }
+      return buffer;
+    }
+
+    void unmap() {
+      if (buffer != null) {
+        MappedByteBuffer unmapped = buffer;
+        buffer = null;
+        UnsafeUtil.free(unmapped);
+      }
+    }
+  }
 
   public static class RawFileScanner extends FileScanner implements SeekableScanner {
     private FileChannel channel;
@@ -70,6 +109,13 @@ public class RawFile {
     private long filePosition;
     private boolean forceFillBuffer;
 
+    /** the mapped region from the start of the fragment to the end of the file. It is null if mmap is disabled. */
+    private MappedByteBuffer mapped;
+    /** the mapped region shared with returned tuples */
+    private MappedRegion region;
+    /** the position of the next record in the mapped region */
+    private int mappedPos;
+
     public RawFileScanner(Configuration conf, Schema schema, TableMeta meta, Fragment fragment) throws IOException {
       super(conf, schema, meta, fragment);
     }
@@ -95,8 +141,17 @@ public class RawFile {
             + ", fragment length :" + fragment.getLength());
       }
 
-      buf = BufferPool.directBuffer(conf.getInt(READ_BUFFER_SIZE, DEFAULT_BUFFER_SIZE));
-      buffer = buf.nioBuffer(0, buf.capacity());
+      long mappedLength = channel.size() - startOffset;
+      if (conf.getBoolean(MMAP_ENABLED, DEFAULT_MMAP_ENABLED) && mappedLength <= Integer.MAX_VALUE
+          && mappedLength >= conf.getInt(MMAP_MIN_BYTES, DEFAULT_MMAP_MIN_BYTES)) {
+        // records starting in this fragment may end beyond the fragment, so it maps the region up to the file end.
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, startOffset, mappedLength);
+        region = new MappedRegion(mapped);
+        mappedPos = 0;
+      } else {
+        buf = BufferPool.directBuffer(conf.getInt(READ_BUFFER_SIZE, DEFAULT_BUFFER_SIZE));
+        buffer = buf.nioBuffer(0, buf.capacity());
+      }
 
       columnTypes = new DataType[schema.size()];
       for (int i = 0; i < schema.size(); i++) {
@@ -118,12 +173,26 @@ public class RawFile {
 
     @Override
     public long getNextOffset() throws IOException {
+      if (mapped != null) {
+        return startOffset + mappedPos;
+      }
       return filePosition - (forceFillBuffer ? 0 : buffer.remaining());
     }
 
     @Override
     public void seek(long offset) throws IOException {
       eos = false;
+
+      if (mapped != null) {
+        if(offset < startOffset || offset > startOffset + fragment.getLength()){
+          throw new IndexOutOfBoundsException(String.format("range(%d, %d), offset: %d",
+              startOffset, startOffset + fragment.getLength(), offset));
+        }
+        mappedPos = (int) (offset - startOffset);
+        filePosition = offset;
+        return;
+      }
+
       filePosition = channel.position();
 
       // do not fill the buffer if the offset is already included in the buffer.
@@ -240,10 +309,40 @@ public class RawFile {
       throw new IOException("Invalid Variable int64");
     }
 
+    /**
+     * Returns a view over the next record in the mapped region without decoding any field.
+     */
+    private Tuple nextMapped() {
+      if (mappedPos + headerSize > mapped.limit()) {
+        eos = true;
+        return null;
+      }
+
+      int recordSize = mapped.getInt(mappedPos);
+      int nullFlagSize = mapped.getShort(mappedPos + RECORD_SIZE);
+      int nullFlagOffset = mappedPos + RECORD_SIZE + 2;
+      Tuple tuple = new RawFileTuple(region, columnTypes, nullFlagOffset, nullFlagSize,
+          nullFlagOffset + nullFlagSize);
+
+      mappedPos += recordSize;
+      filePosition = startOffset + mappedPos;
+      totalReadBytes += recordSize;
+      recordCount++;
+
+      if (filePosition >= endOffset) {
+        eos = true;
+      }
+      return tuple;
+    }
+
     @Override
     public Tuple next() throws IOException {
       if(eos) return null;
 
+      if (mapped != null) {
+        return nextMapped();
+      }
+
       if (forceFillBuffer || buffer.remaining() < headerSize) {
         if (!fillBuffer()) {
           return null;
@@ -394,6 +493,13 @@ public class RawFile {
 
     @Override
     public void reset() throws IOException {
+      if (mapped != null) {
+        mappedPos = 0;
+        filePosition = fragment.getStartKey();
+        eos = false;
+        return;
+      }
+
       // reset the buffer
       buffer.clear();
       forceFillBuffer = true;
@@ -404,6 +510,13 @@ public class RawFile {
 
     @Override
     public void close() throws IOException {
+      // Unmap the region now rather than when it is garbage-collected. Tuples returned before become invalid.
+      mapped = null;
+      if (region != null) {
+        region.unmap();
+        region = null;
+      }
+
       if(buf != null){
         buffer.clear();
         buffer = null;
@@ -0,0 +1,483 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A tuple which is a view over a record of a memory-mapped RawFile.
+ *
+ * The field offsets of a record are computed when a field is accessed first, and each field is decoded
+ * only when it is accessed. Primitive getters decode values without creating datums. The mapped region is
+ * unmapped when the scanner is closed, so a tuple kept after that must be copied or cloned before.
+ */
+public class RawFileTuple implements Tuple, Cloneable {
+  private static final int NOT_COMPUTED = -2;
+  private static final int NULL_FIELD = -1;
+
+  private RawFile.MappedRegion region;
+  private final DataType[] types;
+  private final int nullFlagOffset;
+  private final int nullFlagLength;
+  private final int contentOffset;
+
+  /** the offsets of fields in the buffer, which are computed lazily */
+  private int[] fieldOffsets;
+  /** decoded or overwritten values */
+  private Datum[] values;
+  private long offset;
+
+  /**
+   * @param region Mapped region
+   * @param types Data types of all fields
+   * @param nullFlagOffset Offset of null flags in the buffer
+   * @param nullFlagLength Length of null flags
+   * @param contentOffset Offset of the first field in the buffer
+   */
+  public RawFileTuple(RawFile.MappedRegion region, DataType[] types, int nullFlagOffset, int nullFlagLength,
+                      int contentOffset) {
+    this.region = region;
+    this.types = types;
+    this.nullFlagOffset = nullFlagOffset;
+    this.nullFlagLength = nullFlagLength;
+    this.contentOffset = contentOffset;
+  }
+
+  @Override
+  public int size() {
+    return types.length;
+  }
+
+  @Override
+  public boolean contains(int fieldid) {
+    return true;
+  }
+
+  /**
+   * @throws IllegalStateException if the scanner is closed and the region is unmapped
+   */
+  private ByteBuffer buffer() {
+    return region.buffer();
+  }
+
+  private boolean isMaterialized(int fieldId) {
+    return values != null && values[fieldId] != null;
+  }
+
+  private boolean isNullField(int fieldId) {
+    if (types[fieldId].getType() == Type.NULL_TYPE) {
+      return true;
+    }
+    int byteIdx = fieldId / 8;
+    return byteIdx < nullFlagLength && ((buffer().get(nullFlagOffset + byteIdx) >>> (7 - fieldId % 8)) & 1) == 1;
+  }
+
+  @Override
+  public boolean isNull(int fieldid) {
+    if (isMaterialized(fieldid) || region == null) {
+      return get(fieldid) == null || get(fieldid).isNull();
+    }
+    return isNullField(fieldid);
+  }
+
+  @Override
+  public boolean isNotNull(int fieldid) {
+    return !isNull(fieldid);
+  }
+
+  /**
+   * Detaches this tuple from the mapped region. All fields become empty.
+   */
+  @Override
+  public void clear() {
+    region = null;
+    fieldOffsets = null;
+    values = new Datum[types.length];
+  }
+
+  //////////////////////////////////////////////////////
+  // Setter
+  //////////////////////////////////////////////////////
+  private Datum[] values() {
+    if (values == null) {
+      values = new Datum[types.length];
+    }
+    return values;
+  }
+
+  @Override
+  public void put(int fieldId, Datum value) {
+    values()[fieldId] = value;
+  }
+
+  @Override
+  public void put(int fieldId, Datum[] values) {
+    for (int i = fieldId, j = 0; j < values.length; i++, j++) {
+      values()[i] = values[j];
+    }
+  }
+
+  @Override
+  public void put(int fieldId, Tuple tuple) {
+    for (int i = fieldId, j = 0; j < tuple.size(); i++, j++) {
+      values()[i] = tuple.get(j);
+    }
+  }
+
+  @Override
+  public void put(Datum[] values) {
+    System.arraycopy(values, 0, values(), 0, size());
+  }
+
+  //////////////////////////////////////////////////////
+  // Getter
+  //////////////////////////////////////////////////////
+  @Override
+  public Datum get(int fieldId) {
+    if (isMaterialized(fieldId) || region == null) {
+      return values == null ? null : values[fieldId];
+    }
+    Datum datum = decode(fieldId);
+    values()[fieldId] = datum;
+    return datum;
+  }
+
+  @Override
+  public void setOffset(long offset) {
+    this.offset = offset;
+  }
+
+  @Override
+  public long getOffset() {
+    return offset;
+  }
+
+  /**
+   * @return the offset of a field in the buffer, or -1 if the field is null
+   */
+  private int fieldOffset(int fieldId) {
+    if (fieldOffsets == null) {
+      computeFieldOffsets();
+    }
+    return fieldOffsets[fieldId];
+  }
+
+  private void computeFieldOffsets() {
+    ByteBuffer buffer = buffer();
+    fieldOffsets = new int[types.length];
+    int pos = contentOffset;
+    for (int i = 0; i < types.length; i++) {
+      if (isNullField(i)) {
+        fieldOffsets[i] = NULL_FIELD;
+        continue;
+      }
+
+      fieldOffsets[i] = pos;
+      switch (types[i].getType()) {
+        case BOOLEAN:
+        case BIT:
+          pos += 1;
+          break;
+        case INT2:
+          pos += 2;
+          break;
+        case INT4:
+        case INT8:
+          while (buffer.get(pos++) < 0) {
+            // skip a varint
+          }
+          break;
+        case FLOAT4:
+        case INET4:
+        case DATE:
+          pos += 4;
+          break;
+        case FLOAT8:
+        case TIME:
+        case TIMESTAMP:
+          pos += 8;
+          break;
+        case CHAR:
+        case TEXT:
+        case BLOB:
+        case PROTOBUF: {
+          int len = readRawVarint32(buffer, pos);
+          pos += computeRawVarint32Size(len) + len;
+          break;
+        }
+        default:
+          fieldOffsets[i] = NOT_COMPUTED;
+      }
+    }
+  }
+
+  private Datum decode(int fieldId) {
+    int pos = fieldOffset(fieldId);
+    if (pos == NULL_FIELD) {
+      return NullDatum.get();
+    }
+
+    DataType type = types[fieldId];
+    switch (type.getType()) {
+      case BOOLEAN:
+        return DatumFactory.createBool(buffer().get(pos));
+      case BIT:
+        return DatumFactory.createBit(buffer().get(pos));
+      case CHAR:
+        return DatumFactory.createChar(readBytes(pos));
+      case INT2:
+        return DatumFactory.createInt2(buffer().getShort(pos));
+      case INT4:
+        return DatumFactory.createInt4(RawFile.RawFileScanner.decodeZigZag32(readRawVarint32(buffer(), pos)));
+      case INT8:
+        return DatumFactory.createInt8(RawFile.RawFileScanner.decodeZigZag64(readRawVarint64(buffer(), pos)));
+      case FLOAT4:
+        return DatumFactory.createFloat4(buffer().getFloat(pos));
+      case FLOAT8:
+        return DatumFactory.createFloat8(buffer().getDouble(pos));
+      case TEXT:
+        return DatumFactory.createText(readBytes(pos));
+      case BLOB:
+        return DatumFactory.createBlob(readBytes(pos));
+      case PROTOBUF: {
+        ProtobufDatumFactory factory = ProtobufDatumFactory.get(type);
+        Message.Builder builder = factory.newBuilder();
+        try {
+          builder.mergeFrom(readBytes(pos));
+        } catch (InvalidProtocolBufferException e) {
+          throw new RuntimeException(e);
+        }
+        return factory.createDatum(builder.build());
+      }
+      case INET4: {
+        byte[] ipv4Bytes = new byte[4];
+        copyBytes(pos, ipv4Bytes);
+        return DatumFactory.createInet4(ipv4Bytes);
+      }
+      case DATE: {
+        int val = buffer().getInt(pos);
+        if (val < Integer.MIN_VALUE + 1) {
+          return NullDatum.get();
+        }
+        return DatumFactory.createFromInt4(type, val);
+      }
+      case TIME:
+      case TIMESTAMP: {
+        long val = buffer().getLong(pos);
+        if (val < Long.MIN_VALUE + 1) {
+          return NullDatum.get();
+        }
+        return DatumFactory.createFromInt8(type, val);
+      }
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * @return True if a field can be read from the buffer without creating a datum
+   */
+  private boolean isDirect(int fieldId, Type type) {
+    return !isMaterialized(fieldId) && region != null && types[fieldId].getType() == type
+        && fieldOffset(fieldId) != NULL_FIELD;
+  }
+
+  private byte[] readBytes(int pos) {
+    int len = readRawVarint32(buffer(), pos);
+    byte[] bytes = new byte[len];
+    copyBytes(pos + computeRawVarint32Size(len), bytes);
+    return bytes;
+  }
+
+  private void copyBytes(int pos, byte[] dst) {
+    ByteBuffer view = buffer().duplicate();
+    view.position(pos);
+    view.get(dst);
+  }
+
+  @Override
+  public boolean getBool(int fieldId) {
+    return get(fieldId).asBool();
+  }
+
+  @Override
+  public byte getByte(int fieldId) {
+    return get(fieldId).asByte();
+  }
+
+  @Override
+  public char getChar(int fieldId) {
+    return get(fieldId).asChar();
+  }
+
+  @Override
+  public byte[] getBytes(int fieldId) {
+    Type type = types[fieldId].getType();
+    if ((type == Type.TEXT || type == Type.BLOB) && isDirect(fieldId, type)) {
+      return readBytes(fieldOffset(fieldId));
+    }
+    return get(fieldId).asByteArray();
+  }
+
+  @Override
+  public short getInt2(int fieldId) {
+    if (isDirect(fieldId, Type.INT2)) {
+      return buffer().getShort(fieldOffset(fieldId));
+    }
+    return get(fieldId).asInt2();
+  }
+
+  @Override
+  public int getInt4(int fieldId) {
+    if (isDirect(fieldId, Type.INT4)) {
+      return RawFile.RawFileScanner.decodeZigZag32(readRawVarint32(buffer(), fieldOffset(fieldId)));
+    }
+    return get(fieldId).asInt4();
+  }
+
+  @Override
+  public long getInt8(int fieldId) {
+    if (isDirect(fieldId, Type.INT8)) {
+      return RawFile.RawFileScanner.decodeZigZag64(readRawVarint64(buffer(), fieldOffset(fieldId)));
+    }
+    return get(fieldId).asInt8();
+  }
+
+  @Override
+  public float getFloat4(int fieldId) {
+    if (isDirect(fieldId, Type.FLOAT4)) {
+      return buffer().getFloat(fieldOffset(fieldId));
+    }
+    return get(fieldId).asFloat4();
+  }
+
+  @Override
+  public double getFloat8(int fieldId) {
+    if (isDirect(fieldId, Type.FLOAT8)) {
+      return buffer().getDouble(fieldOffset(fieldId));
+    }
+    return get(fieldId).asFloat8();
+  }
+
+  @Override
+  public String getText(int fieldId) {
+    if (isDirect(fieldId, Type.TEXT)) {
+      return new String(readBytes(fieldOffset(fieldId)), TextDatum.DEFAULT_CHARSET);
+    }
+    return get(fieldId).asChars();
+  }
+
+  @Override
+  public Datum getProtobufDatum(int fieldId) {
+    return get(fieldId);
+  }
+
+  @Override
+  public Datum getInterval(int fieldId) {
+    return get(fieldId);
+  }
+
+  @Override
+  public char[] getUnicodeChars(int fieldId) {
+    return get(fieldId).asUnicodeChars();
+  }
+
+  @Override
+  public Tuple clone() throws CloneNotSupportedException {
+    RawFileTuple tuple = (RawFileTuple) super.clone();
+    // a clone does not refer to the mapped region, so it remains valid after the scanner is closed
+    tuple.values = getValues().clone();
+    tuple.region = null;
+    tuple.fieldOffsets = null;
+    return tuple;
+  }
+
+  /**
+   * Decodes all fields, and returns the internal array of values.
+   */
+  @Override
+  public Datum[] getValues() {
+    Datum[] datums = values();
+    if (region != null) {
+      for (int i = 0; i < datums.length; i++) {
+        if (datums[i] == null) {
+          datums[i] = decode(i);
+        }
+      }
+    }
+    return datums;
+  }
+
+  @Override
+  public String toString() {
+    return VTuple.toDisplayString(getValues());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(getValues());
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof Tuple) {
+      Tuple other = (Tuple) obj;
+      return Arrays.equals(getValues(), other.getValues());
+    }
+    return false;
+  }
+
+  static int readRawVarint32(ByteBuffer buffer, int pos) {
+    int result = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      byte b = buffer.get(pos++);
+      result |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    // discard upper 32 bits
+    while (buffer.get(pos++) < 0) {
+    }
+    return result;
+  }
+
+  static long readRawVarint64(ByteBuffer buffer, int pos) {
+    long result = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = buffer.get(pos++);
+      result |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+    throw new IllegalStateException("Invalid Variable int64");
+  }
+
+  private static int computeRawVarint32Size(int value) {
+    return RawFile.RawFileAppender.computeRawVarint32Size(value);
+  }
+}
@@ -0,0 +1,260 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.avro;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import org.apache.avro.Schema;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.ResolvingDecoder;
+import org.apache.avro.util.Utf8;
+import org.apache.tajo.common.TajoDataTypes;
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.datum.*;
+import org.apache.tajo.storage.Tuple;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DatumReader which decodes Avro records directly into a Tuple.
+ *
+ * The file (writer) schema is resolved against the reader schema of the table through a {@link ResolvingDecoder},
+ * so that type promotions, default values and aliases of the reader schema are applied as in Avro's generic reader.
+ * Only projected fields are kept in the reader schema used for the resolution, and the other fields are skipped
+ * at the decoder level. No intermediate record, boxed value, or Utf8 instance is created for each row; buffers
+ * for strings and bytes are reused across rows. Projected fields which neither exist in the writer schema nor
+ * have a default value are read as nulls.
+ */
+class AvroTupleReader implements DatumReader<Tuple> {
+  private final Schema readerSchema;
+  private final org.apache.tajo.catalog.Schema tajoSchema;
+  private final boolean [] projected;
+
+  private ResolvingDecoder resolver;
+  /** the reader plan for each field of the resolved reader schema */
+  private FieldReader [] fieldReaders;
+  /** projected column indexes which cannot be resolved from the writer schema */
+  private int [] missingColumns;
+
+  private Utf8 stringBuffer = new Utf8();
+  private ByteBuffer bytesBuffer;
+
+  /**
+   * @param readerSchema Avro schema of the table, whose fields correspond to the columns of the table by position
+   * @param tajoSchema Tajo schema of the table
+   * @param projectionMap Column indexes to be read
+   */
+  AvroTupleReader(Schema readerSchema, org.apache.tajo.catalog.Schema tajoSchema, int [] projectionMap) {
+    this.readerSchema = readerSchema;
+    this.tajoSchema = tajoSchema;
+    this.projected = new boolean[tajoSchema.size()];
+    for (int columnIndex : projectionMap) {
+      projected[columnIndex] = true;
+    }
+    setSchema(readerSchema);
+  }
+
+  @Override
+  public void setSchema(Schema writerSchema) {
+    List<Schema.Field> resolvedFields = new ArrayList<Schema.Field>();
+    List<FieldReader> readers = new ArrayList<FieldReader>();
+    int missingNum = 0;
+    int [] missing = new int[projected.length];
+
+    for (Schema.Field readerField : readerSchema.getFields()) {
+      int columnIndex = readerField.pos();
+      if (columnIndex >= projected.length || !projected[columnIndex]) {
+        continue;
+      }
+
+      if (existsIn(writerSchema, readerField) || readerField.defaultValue() != null) {
+        Schema.Field resolvedField = new Schema.Field(readerField.name(), readerField.schema(), readerField.doc(),
+            readerField.defaultValue());
+        for (String alias : readerField.aliases()) {
+          resolvedField.addAlias(alias);
+        }
+        resolvedFields.add(resolvedField);
+        readers.add(new FieldReader(columnIndex, tajoSchema.getColumn(columnIndex).getDataType()));
+      } else {
+        missing[missingNum++] = columnIndex;
+      }
+    }
+
+    Schema resolvedSchema = Schema.createRecord(readerSchema.getName(), readerSchema.getDoc(),
+        readerSchema.getNamespace(), readerSchema.isError());
+    for (String alias : readerSchema.getAliases()) {
+      resolvedSchema.addAlias(alias);
+    }
+    resolvedSchema.setFields(resolvedFields);
+
+    try {
+      resolver = DecoderFactory.get().resolvingDecoder(writerSchema, resolvedSchema, null);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    fieldReaders = readers.toArray(new FieldReader[readers.size()]);
+    missingColumns = Arrays.copyOf(missing, missingNum);
+  }
+
+  private static boolean existsIn(Schema writerSchema, Schema.Field readerField) {
+    if (writerSchema.getField(readerField.name()) != null) {
+      return true;
+    }
+    for (String alias : readerField.aliases()) {
+      if (writerSchema.getField(alias) != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Tuple read(Tuple reuse, Decoder in) throws IOException {
+    resolver.configure(in);
+    for (Schema.Field field : resolver.readFieldOrder()) {
+      FieldReader fieldReader = fieldReaders[field.pos()];
+      reuse.put(fieldReader.columnIndex, read(field.schema(), fieldReader.dataType, resolver));
+    }
+    resolver.drain();
+
+    for (int columnIndex : missingColumns) {
+      reuse.put(columnIndex, NullDatum.get());
+    }
+    return reuse;
+  }
+
+  private Datum read(Schema schema, DataType dataType, Decoder in) throws IOException {
+    switch (schema.getType()) {
+      case NULL:
+        in.readNull();
+        return NullDatum.get();
+      case BOOLEAN:
+        return DatumFactory.createBool(in.readBoolean());
+      case INT:
+        return convertInt(in.readInt(), dataType.getType());
+      case LONG:
+        return convertLong(in.readLong(), dataType.getType());
+      case FLOAT:
+        return convertDouble(in.readFloat(), dataType.getType());
+      case DOUBLE:
+        return convertDouble(in.readDouble(), dataType.getType());
+      case BYTES:
+        bytesBuffer = in.readBytes(bytesBuffer);
+        byte [] bytes = new byte[bytesBuffer.remaining()];
+        bytesBuffer.get(bytes);
+        return convertBytes(bytes, dataType);
+      case STRING:
+        stringBuffer = in.readString(stringBuffer);
+        return convertString(Arrays.copyOf(stringBuffer.getBytes(), stringBuffer.getByteLength()), dataType.getType());
+      case FIXED:
+        byte [] fixed = new byte[schema.getFixedSize()];
+        in.readFixed(fixed);
+        return new BlobDatum(fixed);
+      case UNION:
+        return read(schema.getTypes().get(in.readIndex()), dataType, in);
+      case RECORD:
+        throw new RuntimeException("Avro RECORD not supported.");
+      case ENUM:
+        throw new RuntimeException("Avro ENUM not supported.");
+      case MAP:
+        throw new RuntimeException("Avro MAP not supported.");
+      case ARRAY:
+        throw new RuntimeException("Avro ARRAY not supported.");
+      default:
+        throw new RuntimeException("Unknown type.");
+    }
+  }
+
+  private static Datum convertInt(int intValue, TajoDataTypes.Type tajoType) {
+    switch (tajoType) {
+      case BIT:
+        return DatumFactory.createBit((byte)(intValue & 0xff));
+      case INT2:
+        return DatumFactory.createInt2((short)intValue);
+      case INT8:
+        return DatumFactory.createInt8(intValue);
+      default:
+        return DatumFactory.createInt4(intValue);
+    }
+  }
+
+  private static Datum convertLong(long longValue, TajoDataTypes.Type tajoType) {
+    switch (tajoType) {
+      case INT2:
+        return DatumFactory.createInt2((short)longValue);
+      case INT4:
+        return DatumFactory.createInt4((int)longValue);
+      default:
+        return DatumFactory.createInt8(longValue);
+    }
+  }
+
+  private static Datum convertDouble(double doubleValue, TajoDataTypes.Type tajoType) {
+    switch (tajoType) {
+      case FLOAT4:
+        return DatumFactory.createFloat4((float)doubleValue);
+      default:
+        return DatumFactory.createFloat8(doubleValue);
+    }
+  }
+
+  private static Datum convertBytes(byte [] bytes, DataType dataType) {
+    switch (dataType.getType()) {
+      case INET4:
+        return DatumFactory.createInet4(bytes);
+      case PROTOBUF:
+        try {
+          ProtobufDatumFactory factory =
+              ProtobufDatumFactory.get(dataType.getCode());
+          Message.Builder builder = factory.newBuilder();
+          builder.mergeFrom(bytes);
+          return factory.createDatum(builder);
+        } catch (InvalidProtocolBufferException e) {
+          throw new RuntimeException(e);
+        }
+      default:
+        return new BlobDatum(bytes);
+    }
+  }
+
+  private static Datum convertString(byte [] bytes, TajoDataTypes.Type tajoType) {
+    switch (tajoType) {
+      case CHAR:
+        return DatumFactory.createChar(bytes);
+      default:
+        return DatumFactory.createText(bytes);
+    }
+  }
+
+  private static class FieldReader {
+    final int columnIndex;
+    final DataType dataType;
+
+    FieldReader(int columnIndex, DataType dataType) {
+      this.columnIndex = columnIndex;
+      this.dataType = dataType;
+    }
+  }
+}
@@ -20,15 +20,13 @@ package org.apache.tajo.storage.json;
 
 
 import io.netty.buffer.ByteBuf;
-import net.minidev.json.JSONObject;
-import net.minidev.json.parser.JSONParser;
-import net.minidev.json.parser.ParseException;
 import org.apache.commons.net.util.Base64;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.SchemaUtil;
 import org.apache.tajo.catalog.TableMeta;
 import org.apache.tajo.common.TajoDataTypes.Type;
 import org.apache.tajo.common.exception.NotImplementedException;
+import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.datum.TextDatum;
@@ -37,11 +35,36 @@ import org.apache.tajo.storage.text.TextLineDeserializer;
 import org.apache.tajo.storage.text.TextLineParsingError;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.text.ParseException;
+import java.util.Arrays;
 
+/**
+ * Deserializes a JSON object per line.
+ *
+ * A line is tokenized directly on the line buffer instead of being parsed into a JSON DOM. Only the values of
+ * target columns are decoded and converted into datums. The values of other fields, including nested objects
+ * and arrays, are skipped without being materialized. Once all target columns are read, the rest of the line
+ * is not tokenized, and only the closing brace of the object is checked.
+ */
 public class JsonLineDeserializer extends TextLineDeserializer {
-  private JSONParser parser;
+  private static final Charset ASCII = Charset.forName("US-ASCII");
+  private static final byte [] TRUE_BYTES = "true".getBytes(ASCII);
+  private static final byte [] FALSE_BYTES = "false".getBytes(ASCII);
+  private static final byte [] NULL_BYTES = "null".getBytes(ASCII);
+
   private Type[] types;
-  private String[] columnNames;
+  private FieldNameTable targetFields;
+  private boolean[] filled;
+
+  // a reused buffer keeping a decoded field name or value
+  private byte[] scratch = new byte[128];
+  private int scratchLen;
+
+  // the line being tokenized
+  private ByteBuf line;
+  private int pos;
+  private int limit;
 
   public JsonLineDeserializer(Schema schema, TableMeta meta, int[] targetColumnIndexes) {
     super(schema, meta, targetColumnIndexes);
@@ -50,159 +73,459 @@ public class JsonLineDeserializer extends TextLineDeserializer {
   @Override
   public void init() {
     types = SchemaUtil.toTypes(schema);
-    columnNames = SchemaUtil.toSimpleNames(schema);
+    String [] columnNames = SchemaUtil.toSimpleNames(schema);
 
-    parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE | JSONParser.IGNORE_CONTROL_CHAR);
+    targetFields = new FieldNameTable(targetColumnIndexes.length);
+    for (int actualIdx : targetColumnIndexes) {
+      targetFields.add(columnNames[actualIdx].getBytes(TextDatum.DEFAULT_CHARSET), actualIdx);
+    }
+    filled = new boolean[schema.size()];
   }
 
   @Override
   public void deserialize(ByteBuf buf, Tuple output) throws IOException, TextLineParsingError {
-    byte[] line = new byte[buf.readableBytes()];
-    buf.readBytes(line);
+    if (targetColumnIndexes.length == 0) {
+      return;
+    }
+
+    line = buf;
+    pos = buf.readerIndex();
+    limit = buf.writerIndex();
+
+    for (int actualIdx : targetColumnIndexes) {
+      filled[actualIdx] = false;
+    }
 
-    JSONObject object;
     try {
-      object = (JSONObject) parser.parse(line);
+      readObject(output);
     } catch (ParseException pe) {
-      throw new TextLineParsingError(new String(line, TextDatum.DEFAULT_CHARSET), pe);
-    } catch (ArrayIndexOutOfBoundsException ae) {
-      // truncated value
-      throw new TextLineParsingError(new String(line, TextDatum.DEFAULT_CHARSET), ae);
+      throw new TextLineParsingError(buf.toString(buf.readerIndex(), buf.readableBytes(), TextDatum.DEFAULT_CHARSET), pe);
+    } catch (NotImplementedException nie) {
+      throw nie;
+    } catch (RuntimeException re) {
+      // malformed values, such as a non-numeric value of a numeric column
+      throw new TextLineParsingError(buf.toString(buf.readerIndex(), buf.readableBytes(), TextDatum.DEFAULT_CHARSET), re);
+    } finally {
+      line = null;
     }
 
-    for (int i = 0; i < targetColumnIndexes.length; i++) {
-      int actualIdx = targetColumnIndexes[i];
-      String fieldName = columnNames[actualIdx];
-
-      if (!object.containsKey(fieldName)) {
+    for (int actualIdx : targetColumnIndexes) {
+      if (!filled[actualIdx]) {
         output.put(actualIdx, NullDatum.get());
-        continue;
       }
+    }
+  }
 
-      switch (types[actualIdx]) {
-        case BOOLEAN:
-          String boolStr = object.getAsString(fieldName);
-          if (boolStr != null) {
-            output.put(actualIdx, DatumFactory.createBool(boolStr.equals("true")));
-          } else {
-            output.put(actualIdx, NullDatum.get());
-          }
-          break;
-        case CHAR:
-          String charStr = object.getAsString(fieldName);
-          if (charStr != null) {
-            output.put(actualIdx, DatumFactory.createChar(charStr));
-          } else {
-            output.put(actualIdx, NullDatum.get());
-          }
-          break;
-        case INT1:
-        case INT2:
-          Number int2Num = object.getAsNumber(fieldName);
-          if (int2Num != null) {
-            output.put(actualIdx, DatumFactory.createInt2(int2Num.shortValue()));
-          } else {
-            output.put(actualIdx, NullDatum.get());
-          }
-          break;
-        case INT4:
-          Number int4Num = object.getAsNumber(fieldName);
-          if (int4Num != null) {
-            output.put(actualIdx, DatumFactory.createInt4(int4Num.intValue()));
-          } else {
-            output.put(actualIdx, NullDatum.get());
-          }
-          break;
-        case INT8:
-          Number int8Num = object.getAsNumber(fieldName);
-          if (int8Num != null) {
-            output.put(actualIdx, DatumFactory.createInt8(int8Num.longValue()));
-          } else {
-            output.put(actualIdx, NullDatum.get());
-          }
-          break;
-        case FLOAT4:
-          Number float4Num = object.getAsNumber(fieldName);
-          if (float4Num != null) {
-            output.put(actualIdx, DatumFactory.createFloat4(float4Num.floatValue()));
-          } else {
-            output.put(actualIdx, NullDatum.get());
-          }
-          break;
-        case FLOAT8:
-          Number float8Num = object.getAsNumber(fieldName);
-          if (float8Num != null) {
-            output.put(actualIdx, DatumFactory.createFloat8(float8Num.doubleValue()));
-          } else {
-            output.put(actualIdx, NullDatum.get());
-          }
-          break;
-        case TEXT:
-          String textStr = object.getAsString(fieldName);
-          if (textStr != null) {
-            output.put(actualIdx, DatumFactory.createText(textStr));
-          } else {
-            output.put(actualIdx, NullDatum.get());
-          }
-          break;
-        case TIMESTAMP:
-          String timestampStr = object.getAsString(fieldName);
-          if (timestampStr != null) {
-            output.put(actualIdx, DatumFactory.createTimestamp(timestampStr));
-          } else {
-            output.put(actualIdx, NullDatum.get());
-          }
-          break;
-        case TIME:
-          String timeStr = object.getAsString(fieldName);
-          if (timeStr != null) {
-            output.put(actualIdx, DatumFactory.createTime(timeStr));
-          } else {
-            output.put(actualIdx, NullDatum.get());
-          }
-          break;
-        case DATE:
-          String dateStr = object.getAsString(fieldName);
-          if (dateStr != null) {
-            output.put(actualIdx, DatumFactory.createDate(dateStr));
-          } else {
-            output.put(actualIdx, NullDatum.get());
+  private void readObject(Tuple output) throws ParseException {
+    int remainTargets = targetColumnIndexes.length;
+
+    skipWhitespaces();
+    expect('{');
+    skipWhitespaces();
+
+    if (peek() == '}') {
+      pos++;
+    } else {
+      while (true) {
+        readString();
+        int actualIdx = targetFields.get(scratch, scratchLen);
+
+        skipWhitespaces();
+        expect(':');
+        skipWhitespaces();
+
+        if (actualIdx < 0) {
+          skipValue();
+        } else {
+          output.put(actualIdx, readValue(actualIdx));
+          if (!filled[actualIdx]) {
+            filled[actualIdx] = true;
+            remainTargets--;
           }
-          break;
-        case BIT:
-        case BINARY:
-        case VARBINARY:
-        case BLOB: {
-          Object jsonObject = object.getAsString(fieldName);
-
-          if (jsonObject == null) {
-            output.put(actualIdx, NullDatum.get());
-            break;
+
+          // all target columns are read, so the remain fields do not need to be tokenized.
+          if (remainTargets == 0) {
+            expectLastClosingBrace();
+            return;
           }
+        }
 
-          output.put(actualIdx, DatumFactory.createBlob(Base64.decodeBase64((String) jsonObject)));
+        skipWhitespaces();
+        byte c = next();
+        if (c == '}') {
           break;
+        } else if (c != ',') {
+          throw unexpected(c, pos - 1);
         }
-        case INET4:
-          String inetStr = object.getAsString(fieldName);
-          if (inetStr != null) {
-            output.put(actualIdx, DatumFactory.createInet4(inetStr));
-          } else {
-            output.put(actualIdx, NullDatum.get());
-          }
+        skipWhitespaces();
+      }
+    }
+
+    skipWhitespaces();
+    if (pos < limit) {
+      throw unexpected(line.getByte(pos), pos);
+    }
+  }
+
+  private Datum readValue(int actualIdx) throws ParseException {
+    byte c = peek();
+    if (c == '"') {
+      readString();
+    } else if (c == 'n') {
+      expectLiteral(NULL_BYTES);
+      return NullDatum.get();
+    } else {
+      // A number, a boolean literal, or a nested value is converted from its raw text.
+      int start = pos;
+      skipValue();
+      copyToScratch(start, pos);
+    }
+    return convert(actualIdx);
+  }
+
+  private Datum convert(int actualIdx) {
+    switch (types[actualIdx]) {
+      case BOOLEAN:
+        return DatumFactory.createBool(scratchEquals(TRUE_BYTES));
+      case CHAR:
+        return DatumFactory.createChar(Arrays.copyOf(scratch, scratchLen));
+      case INT1:
+      case INT2:
+        return DatumFactory.createInt2((short) parseLong());
+      case INT4:
+        return DatumFactory.createInt4((int) parseLong());
+      case INT8:
+        return DatumFactory.createInt8(parseLong());
+      case FLOAT4:
+        return DatumFactory.createFloat4((float) parseDouble());
+      case FLOAT8:
+        return DatumFactory.createFloat8(parseDouble());
+      case TEXT:
+        return DatumFactory.createText(Arrays.copyOf(scratch, scratchLen));
+      case TIMESTAMP:
+        return DatumFactory.createTimestamp(scratchToString());
+      case TIME:
+        return DatumFactory.createTime(scratchToString());
+      case DATE:
+        return DatumFactory.createDate(scratchToString());
+      case BIT:
+      case BINARY:
+      case VARBINARY:
+      case BLOB:
+        return DatumFactory.createBlob(Base64.decodeBase64(Arrays.copyOf(scratch, scratchLen)));
+      case INET4:
+        return DatumFactory.createInet4(scratchToString());
+      case NULL_TYPE:
+        return NullDatum.get();
+      default:
+        throw new NotImplementedException(types[actualIdx].name() + " is not supported.");
+    }
+  }
+
+  private long parseLong() {
+    boolean negative = scratchLen > 0 && scratch[0] == '-';
+    int i = negative ? 1 : 0;
+
+    // fast path for integers which cannot overflow
+    if (scratchLen > i && scratchLen - i < 19) {
+      long value = 0;
+      for (; i < scratchLen; i++) {
+        int digit = scratch[i] - '0';
+        if (digit < 0 || digit > 9) {
           break;
+        }
+        value = value * 10 + digit;
+      }
+      if (i == scratchLen) {
+        return negative ? -value : value;
+      }
+    }
+
+    // decimals, exponents, or long integers
+    return (long) parseDouble();
+  }
+
+  private double parseDouble() {
+    return Double.parseDouble(new String(scratch, 0, scratchLen, ASCII));
+  }
+
+  private String scratchToString() {
+    return new String(scratch, 0, scratchLen, TextDatum.DEFAULT_CHARSET);
+  }
+
+  private boolean scratchEquals(byte [] bytes) {
+    if (scratchLen != bytes.length) {
+      return false;
+    }
+    for (int i = 0; i < scratchLen; i++) {
+      if (scratch[i] != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
 
-        case NULL_TYPE:
-          output.put(actualIdx, NullDatum.get());
+  /**
+   * Skips a value without decoding it. The characters of a nested value are only checked for balanced brackets.
+   */
+  private void skipValue() throws ParseException {
+    byte c = peek();
+    if (c == '"') {
+      pos++;
+      skipStringBody();
+    } else if (c == '{' || c == '[') {
+      int depth = 0;
+      do {
+        c = next();
+        if (c == '"') {
+          skipStringBody();
+        } else if (c == '{' || c == '[') {
+          depth++;
+        } else if (c == '}' || c == ']') {
+          depth--;
+        }
+      } while (depth > 0);
+    } else {
+      // a number or a literal
+      int start = pos;
+      while (pos < limit) {
+        c = line.getByte(pos);
+        if (c == ',' || c == '}' || c == ']' || isWhitespace(c)) {
           break;
+        }
+        pos++;
+      }
+      if (pos == start) {
+        throw unexpected(c, pos);
+      }
+    }
+  }
+
+  private void skipStringBody() throws ParseException {
+    byte c;
+    while ((c = next()) != '"') {
+      if (c == '\\') {
+        next();
+      }
+    }
+  }
+
+  /**
+   * Reads a quoted string, and keeps its decoded bytes in the scratch buffer.
+   */
+  private void readString() throws ParseException {
+    expect('"');
+    scratchLen = 0;
 
-        default:
-          throw new NotImplementedException(types[actualIdx].name() + " is not supported.");
+    byte c;
+    while ((c = next()) != '"') {
+      if (c == '\\') {
+        readEscape();
+      } else {
+        appendScratch(c);
       }
     }
   }
 
+  private void readEscape() throws ParseException {
+    byte c = next();
+    switch (c) {
+      case '"':
+      case '\\':
+      case '/':
+        appendScratch(c);
+        break;
+      case 'b':
+        appendScratch((byte) '\b');
+        break;
+      case 'f':
+        appendScratch((byte) '\f');
+        break;
+      case 'n':
+        appendScratch((byte) '\n');
+        break;
+      case 'r':
+        appendScratch((byte) '\r');
+        break;
+      case 't':
+        appendScratch((byte) '\t');
+        break;
+      case 'u':
+        int codePoint = readHex4();
+        if (Character.isHighSurrogate((char) codePoint) && pos + 1 < limit
+            && line.getByte(pos) == '\\' && line.getByte(pos + 1) == 'u') {
+          pos += 2;
+          int low = readHex4();
+          codePoint = Character.toCodePoint((char) codePoint, (char) low);
+        }
+        appendCodePoint(codePoint);
+        break;
+      default:
+        throw unexpected(c, pos - 1);
+    }
+  }
+
+  private int readHex4() throws ParseException {
+    int value = 0;
+    for (int i = 0; i < 4; i++) {
+      byte c = next();
+      int digit = Character.digit(c, 16);
+      if (digit < 0) {
+        throw unexpected(c, pos - 1);
+      }
+      value = (value << 4) | digit;
+    }
+    return value;
+  }
+
+  private void appendCodePoint(int codePoint) {
+    if (codePoint < 0x80) {
+      appendScratch((byte) codePoint);
+    } else if (codePoint < 0x800) {
+      appendScratch((byte) (0xC0 | (codePoint >> 6)));
+      appendScratch((byte) (0x80 | (codePoint & 0x3F)));
+    } else if (codePoint < 0x10000) {
+      appendScratch((byte) (0xE0 | (codePoint >> 12)));
+      appendScratch((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+      appendScratch((byte) (0x80 | (codePoint & 0x3F)));
+    } else {
+      appendScratch((byte) (0xF0 | (codePoint >> 18)));
+      appendScratch((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+      appendScratch((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+      appendScratch((byte) (0x80 | (codePoint & 0x3F)));
+    }
+  }
+
+  private void appendScratch(byte b) {
+    if (scratchLen == scratch.length) {
+      scratch = Arrays.copyOf(scratch, scratch.length * 2);
+    }
+    scratch[scratchLen++] = b;
+  }
+
+  private void copyToScratch(int start, int end) {
+    int length = end - start;
+    if (scratch.length < length) {
+      scratch = new byte[Math.max(length, scratch.length * 2)];
+    }
+    line.getBytes(start, scratch, 0, length);
+    scratchLen = length;
+  }
+
+  private void expectLiteral(byte [] literal) throws ParseException {
+    for (byte b : literal) {
+      expect(b);
+    }
+  }
+
+  private void expectLastClosingBrace() throws ParseException {
+    int last = limit - 1;
+    while (last >= pos && isWhitespace(line.getByte(last))) {
+      last--;
+    }
+    if (last < pos || line.getByte(last) != '}') {
+      throw new ParseException("The JSON object is not closed", last < pos ? limit : last);
+    }
+  }
+
+  private void expect(int expected) throws ParseException {
+    byte c = next();
+    if (c != expected) {
+      throw unexpected(c, pos - 1);
+    }
+  }
+
+  private byte peek() throws ParseException {
+    if (pos >= limit) {
+      throw new ParseException("Unexpected end of line", pos);
+    }
+    return line.getByte(pos);
+  }
+
+  private byte next() throws ParseException {
+    if (pos >= limit) {
+      throw new ParseException("Unexpected end of line", pos);
+    }
+    return line.getByte(pos++);
+  }
+
+  private void skipWhitespaces() {
+    while (pos < limit && isWhitespace(line.getByte(pos))) {
+      pos++;
+    }
+  }
+
+  private static boolean isWhitespace(byte c) {
+    return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+  }
+
+  private ParseException unexpected(byte c, int position) {
+    return new ParseException("Unexpected character '" + (char) c + "' at " + (position - line.readerIndex()),
+        position - line.readerIndex());
+  }
+
   @Override
   public void release() {
   }
+
+  /**
+   * An open addressing hash table which maps the UTF-8 bytes of field names to column indexes.
+   * Looking up a field name does not allocate any object.
+   */
+  private static class FieldNameTable {
+    private final byte [][] names;
+    private final int [] columnIds;
+    private final int mask;
+
+    FieldNameTable(int expectedSize) {
+      int capacity = Integer.highestOneBit(Math.max(expectedSize, 1) * 4 - 1) << 1;
+      names = new byte[capacity][];
+      columnIds = new int[capacity];
+      mask = capacity - 1;
+    }
+
+    void add(byte [] name, int columnId) {
+      int slot = hash(name, name.length) & mask;
+      while (names[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      names[slot] = name;
+      columnIds[slot] = columnId;
+    }
+
+    /**
+     * @return the column index of a given name, or -1 if there is no such a target column
+     */
+    int get(byte [] name, int length) {
+      int slot = hash(name, length) & mask;
+      byte [] candidate;
+      while ((candidate = names[slot]) != null) {
+        if (equals(candidate, name, length)) {
+          return columnIds[slot];
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    private static int hash(byte [] bytes, int length) {
+      int h = 1;
+      for (int i = 0; i < length; i++) {
+        h = 31 * h + bytes[i];
+      }
+      return h ^ (h >>> 16);
+    }
+
+    private static boolean equals(byte [] name, byte [] bytes, int length) {
+      if (name.length != length) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (name[i] != bytes[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
 }
@@ -0,0 +1,233 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.text;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.tajo.storage.InputChannel;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * BgzfInputChannel decompresses a BGZF file block by block.
+ *
+ * BGZF (blocked gzip) is a series of gzip members, each of which keeps its compressed size in the 'BC' extra
+ * subfield and holds at most 64KB of uncompressed data. It is a valid gzip file, but unlike a plain gzip file,
+ * the start of each block can be located from any offset, so a BGZF file can be split.
+ *
+ * This channel reads the blocks which start within [start, end) of a fragment, and it continues to read
+ * the following blocks if a caller requires. {@link #getSplitBoundary()} returns the uncompressed offset of
+ * the first block beyond the fragment, so that a line reader can stop at the same boundary
+ * as uncompressed text files do.
+ */
+public class BgzfInputChannel extends InputChannel {
+  private static final int HEADER_SIZE = 18;
+  private static final int MAX_BLOCK_SIZE = 64 * 1024;
+  private static final int TRAILER_SIZE = 8;
+  private static final int SCAN_BUFFER_SIZE = 2 * MAX_BLOCK_SIZE;
+
+  private final FSDataInputStream in;
+  private final long end;
+  private final Inflater inflater = new Inflater(true);
+  private final byte[] compressed = new byte[MAX_BLOCK_SIZE];
+  private final ByteBuffer uncompressed = ByteBuffer.allocate(MAX_BLOCK_SIZE);
+
+  /** the compressed offset of the next block */
+  private volatile long blockPos;
+  /** the number of uncompressed bytes produced by this channel */
+  private long uncompressedBytes;
+  private volatile long splitBoundary = Long.MAX_VALUE;
+  private boolean eof;
+
+  /**
+   * @param in an input stream positioned at the start of a block
+   * @param end the end offset of the fragment
+   */
+  public BgzfInputChannel(FSDataInputStream in, long end) throws IOException {
+    this.in = in;
+    this.end = end;
+    this.blockPos = in.getPos();
+    this.uncompressed.limit(0);
+  }
+
+  /**
+   * @return the number of uncompressed bytes which precede the first block starting at or beyond
+   * the end of the fragment. If such a block has not been read yet, Long.MAX_VALUE is returned.
+   */
+  public long getSplitBoundary() {
+    return splitBoundary;
+  }
+
+  /**
+   * @return the compressed offset of the block to be read next
+   */
+  public long getCompressedPosition() {
+    return blockPos;
+  }
+
+  @Override
+  public int read(ByteBuffer dst) throws IOException {
+    while (!uncompressed.hasRemaining()) {
+      if (eof || !readBlock()) {
+        eof = true;
+        return -1;
+      }
+    }
+
+    int length = Math.min(dst.remaining(), uncompressed.remaining());
+    int limit = uncompressed.limit();
+    uncompressed.limit(uncompressed.position() + length);
+    dst.put(uncompressed);
+    uncompressed.limit(limit);
+    return length;
+  }
+
+  private boolean readBlock() throws IOException {
+    byte[] header = compressed;
+    int read = readFully(in, header, HEADER_SIZE);
+    if (read == 0) {
+      return false;
+    }
+    if (read < HEADER_SIZE || !isBlockHeader(header, 0)) {
+      throw new IOException("Invalid BGZF block header at " + blockPos);
+    }
+
+    if (blockPos >= end && splitBoundary == Long.MAX_VALUE) {
+      splitBoundary = uncompressedBytes;
+    }
+
+    int blockSize = getBlockSize(header, 0);
+    int remain = blockSize - HEADER_SIZE;
+    if (remain < TRAILER_SIZE) {
+      throw new IOException("Invalid BGZF block size " + blockSize + " at " + blockPos);
+    }
+    try {
+      in.readFully(compressed, HEADER_SIZE, remain);
+    } catch (EOFException e) {
+      throw new IOException("Truncated BGZF block at " + blockPos, e);
+    }
+    blockPos += blockSize;
+
+    inflater.reset();
+    inflater.setInput(compressed, HEADER_SIZE, remain - TRAILER_SIZE);
+    uncompressed.clear();
+    try {
+      int inflated = inflater.inflate(uncompressed.array(), 0, uncompressed.capacity());
+      uncompressed.limit(inflated);
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupted BGZF block at " + (blockPos - blockSize), e);
+    }
+    uncompressedBytes += uncompressed.limit();
+    return true;
+  }
+
+  @Override
+  protected void implCloseChannel() throws IOException {
+    inflater.end();
+    IOUtils.cleanup(null, in);
+  }
+
+  /**
+   * @return the number of read bytes, which is less than len only if the end of stream is reached
+   */
+  private static int readFully(FSDataInputStream in, byte[] buf, int len) throws IOException {
+    int off = 0;
+    while (off < len) {
+      int n = in.read(buf, off, len - off);
+      if (n < 0) {
+        break;
+      }
+      off += n;
+    }
+    return off;
+  }
+
+  /**
+   * Checks if the given bytes are a header of a BGZF block, which has only one 'BC' extra subfield.
+   */
+  static boolean isBlockHeader(byte[] b, int off) {
+    return (b[off] & 0xff) == 0x1f && (b[off + 1] & 0xff) == 0x8b && b[off + 2] == 8 && b[off + 3] == 4
+        && b[off + 10] == 6 && b[off + 11] == 0 && b[off + 12] == 'B' && b[off + 13] == 'C'
+        && b[off + 14] == 2 && b[off + 15] == 0;
+  }
+
+  static int getBlockSize(byte[] b, int off) {
+    return ((b[off + 16] & 0xff) | ((b[off + 17] & 0xff) << 8)) + 1;
+  }
+
+  /**
+   * Checks if a file is a BGZF file by reading the header of its first block.
+   */
+  public static boolean isBgzf(FileSystem fs, Path path) throws IOException {
+    FSDataInputStream in = fs.open(path);
+    try {
+      byte[] header = new byte[HEADER_SIZE];
+      return readFully(in, header, HEADER_SIZE) == HEADER_SIZE && isBlockHeader(header, 0);
+    } finally {
+      IOUtils.cleanup(null, in);
+    }
+  }
+
+  /**
+   * Finds the offset of the first block which starts at or after a given offset.
+   * A candidate header is accepted only if it is followed by another block header or the end of the file.
+   *
+   * @return the offset of the block, or the file length if there is no such a block
+   */
+  public static long findNextBlock(FSDataInputStream in, long offset, long fileLength) throws IOException {
+    if (offset == 0) {
+      return 0;
+    }
+
+    byte[] buf = new byte[SCAN_BUFFER_SIZE + HEADER_SIZE];
+    byte[] next = new byte[HEADER_SIZE];
+    long pos = offset;
+    while (pos < fileLength) {
+      int length = (int) Math.min(buf.length, fileLength - pos);
+      in.readFully(pos, buf, 0, length);
+
+      for (int i = 0; i + HEADER_SIZE <= length; i++) {
+        if (isBlockHeader(buf, i)) {
+          long candidate = pos + i;
+          long nextBlock = candidate + getBlockSize(buf, i);
+          if (nextBlock == fileLength) {
+            return candidate;
+          } else if (nextBlock + HEADER_SIZE <= fileLength) {
+            in.readFully(nextBlock, next, 0, HEADER_SIZE);
+            if (isBlockHeader(next, 0)) {
+              return candidate;
+            }
+          }
+        }
+      }
+
+      if (length < buf.length) {
+        break;
+      }
+      pos += length - HEADER_SIZE + 1;
+    }
+    return fileLength;
+  }
+}
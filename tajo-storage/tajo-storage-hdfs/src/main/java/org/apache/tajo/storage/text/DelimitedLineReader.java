@@ -25,10 +25,12 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.IOUtils;
 import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.apache.hadoop.io.compress.Decompressor;
+import org.apache.hadoop.io.compress.GzipCodec;
 import org.apache.hadoop.io.compress.SplittableCompressionCodec;
 import org.apache.tajo.common.exception.NotImplementedException;
 import org.apache.tajo.conf.TajoConf;
@@ -59,6 +61,11 @@ public class DelimitedLineReader implements Closeable {
   private FileFragment fragment;
   private Configuration conf;
   private int bufferSize;
+  /** the number of chunks to be decompressed ahead in a background thread. 0 means no read-ahead. */
+  private int readAheadChunks;
+  /** if the file is a BGZF file, it is not null after init() */
+  private BgzfInputChannel bgzfChannel;
+  private Boolean bgzf;
 
   public DelimitedLineReader(Configuration conf, final FileFragment fragment) throws IOException {
     this(conf, fragment, 128 * StorageUnit.KB);
@@ -70,6 +77,8 @@ public class DelimitedLineReader implements Closeable {
     this.factory = new CompressionCodecFactory(conf);
     this.codec = factory.getCodec(fragment.getPath());
     this.bufferSize = bufferSize;
+    this.readAheadChunks = conf.getInt(DelimitedTextFile.DECOMPRESSION_READ_AHEAD_CHUNKS,
+        DelimitedTextFile.DEFAULT_DECOMPRESSION_READ_AHEAD_CHUNKS);
     if (this.codec instanceof SplittableCompressionCodec) {
       // bzip2 does not support multi-thread model
       throw new NotImplementedException(this.getClass() + " does not support " + this.codec.getDefaultExtension());
@@ -88,14 +97,23 @@ public class DelimitedLineReader implements Closeable {
     pos = startOffset = fragment.getStartKey();
     end = startOffset + fragment.getLength();
 
-    if (codec != null) {
+    if (codec != null && isBgzf()) {
+      fis = fs.open(fragment.getPath());
+      long fileLength = fs.getFileStatus(fragment.getPath()).getLen();
+      fis.seek(BgzfInputChannel.findNextBlock(fis, startOffset, fileLength));
+
+      bgzfChannel = new BgzfInputChannel(fis, end);
+      is = fis;
+      lineReader = new ByteBufLineReader(readAhead(bgzfChannel), BufferPool.directBuffer(bufferSize));
+
+    } else if (codec != null) {
       fis = fs.open(fragment.getPath());
 
       decompressor = CodecPool.getDecompressor(codec);
       is = new DataInputStream(codec.createInputStream(fis, decompressor));
 
       ByteBuf buf = BufferPool.directBuffer(bufferSize);
-      lineReader = new ByteBufLineReader(new ByteBufInputChannel(is), buf);
+      lineReader = new ByteBufLineReader(readAhead(new ByteBufInputChannel(is)), buf);
     } else {
       if (fs instanceof LocalFileSystem) {
         File file;
@@ -125,6 +143,39 @@ public class DelimitedLineReader implements Closeable {
     eof = false;
   }
 
+  /**
+   * Wraps a channel of decompressed data so that decompression runs in a background thread.
+   */
+  private InputChannel readAhead(InputChannel channel) {
+    if (readAheadChunks > 0) {
+      return new ReadAheadInputChannel(channel, bufferSize, readAheadChunks);
+    } else {
+      return channel;
+    }
+  }
+
+  /**
+   * @return True if the file is compressed in BGZF, which can be split in block boundaries.
+   */
+  public boolean isBgzf() throws IOException {
+    if (bgzf == null) {
+      if (codec instanceof GzipCodec) {
+        Path path = fragment.getPath();
+        bgzf = BgzfInputChannel.isBgzf(path.getFileSystem(conf), path);
+      } else {
+        bgzf = false;
+      }
+    }
+    return bgzf;
+  }
+
+  /**
+   * @return True if the file can be read in multiple fragments.
+   */
+  public boolean isSplittable() throws IOException {
+    return !isCompressed() || isBgzf();
+  }
+
   public void seek(long offset) throws IOException {
     if (isCompressed()) throw new UnsupportedException();
 
@@ -135,7 +186,9 @@ public class DelimitedLineReader implements Closeable {
 
   public long getCompressedPosition() throws IOException {
     long retVal;
-    if (isCompressed()) {
+    if (bgzfChannel != null) {
+      retVal = bgzfChannel.getCompressedPosition();
+    } else if (isCompressed()) {
       retVal = fis.getPos();
     } else {
       retVal = pos;
@@ -168,6 +221,9 @@ public class DelimitedLineReader implements Closeable {
 
     if (!isCompressed() && getCompressedPosition() > end) {
       eof = true;
+    } else if (bgzfChannel != null && getReadBytes() > bgzfChannel.getSplitBoundary()) {
+      // the line starting at the first block beyond this fragment has been read.
+      eof = true;
     }
     return buf;
   }
@@ -184,6 +240,7 @@ public class DelimitedLineReader implements Closeable {
       is = null;
       fis = null;
       lineReader = null;
+      bgzfChannel = null;
     } finally {
       if (decompressor != null) {
         CodecPool.returnDecompressor(decompressor);
@@ -59,6 +59,9 @@ public class DelimitedTextFile {
   public static final String READ_BUFFER_SIZE = "tajo.storage.text.io.read-buffer.bytes";
   public static final String WRITE_BUFFER_SIZE = "tajo.storage.text.io.write-buffer.bytes";
   public static final int DEFAULT_BUFFER_SIZE = 128 * StorageUnit.KB;
+  /** the number of read buffers which are decompressed ahead in a background thread. 0 disables read-ahead. */
+  public static final String DECOMPRESSION_READ_AHEAD_CHUNKS = "tajo.storage.text.io.decompression.read-ahead.chunks";
+  public static final int DEFAULT_DECOMPRESSION_READ_AHEAD_CHUNKS = 4;
 
   private static final Log LOG = LogFactory.getLog(DelimitedTextFile.class);
 
@@ -291,9 +294,7 @@ public class DelimitedTextFile {
         throws IOException {
       super(conf, schema, meta, fragment);
       reader = new DelimitedLineReader(conf, this.fragment, conf.getInt(READ_BUFFER_SIZE, 128 * StorageUnit.KB));
-      if (!reader.isCompressed()) {
-        splittable = true;
-      }
+      splittable = reader.isSplittable();
 
       startOffset = this.fragment.getStartKey();
       endOffset = startOffset + fragment.getLength();
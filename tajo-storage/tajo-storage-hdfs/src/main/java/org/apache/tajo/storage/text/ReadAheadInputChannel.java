@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.text;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.tajo.storage.InputChannel;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * ReadAheadInputChannel reads a source channel in a background thread.
+ *
+ * It is used to decouple decompression from line splitting and parsing. The background thread decompresses
+ * a source channel into a bounded number of chunks, while the caller thread consumes the filled chunks.
+ * The chunks are recycled, so no buffer is allocated after the channel is created.
+ */
+public class ReadAheadInputChannel extends InputChannel {
+  private static final Log LOG = LogFactory.getLog(ReadAheadInputChannel.class);
+
+  private final ReadableByteChannel source;
+  private final BlockingQueue<ByteBuffer> filled;
+  private final BlockingQueue<ByteBuffer> free;
+  private final Thread reader;
+
+  /** a marker chunk which means the end of the source channel */
+  private static final ByteBuffer EOS = ByteBuffer.allocate(0);
+
+  private ByteBuffer current;
+  private boolean eos;
+  private volatile IOException error;
+
+  /**
+   * @param source Source channel
+   * @param chunkSize Size of each chunk
+   * @param chunkNum The maximum number of chunks which can be read ahead
+   */
+  public ReadAheadInputChannel(ReadableByteChannel source, int chunkSize, int chunkNum) {
+    this.source = source;
+    this.filled = new ArrayBlockingQueue<ByteBuffer>(chunkNum + 1);
+    this.free = new ArrayBlockingQueue<ByteBuffer>(chunkNum);
+    for (int i = 0; i < chunkNum; i++) {
+      free.add(ByteBuffer.allocate(chunkSize));
+    }
+
+    this.reader = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        readAhead();
+      }
+    }, "ReadAhead-" + source.getClass().getSimpleName());
+    this.reader.setDaemon(true);
+    this.reader.start();
+  }
+
+  private void readAhead() {
+    try {
+      while (true) {
+        ByteBuffer chunk = free.take();
+        chunk.clear();
+
+        int read = 0;
+        while (chunk.hasRemaining() && (read = source.read(chunk)) >= 0) {
+          // fill a whole chunk unless the end of stream is reached
+        }
+        chunk.flip();
+
+        if (chunk.hasRemaining()) {
+          filled.put(chunk);
+        }
+        if (read < 0) {
+          break;
+        }
+      }
+    } catch (InterruptedException e) {
+      // closed by the consumer
+      return;
+    } catch (IOException e) {
+      error = e;
+    } catch (Throwable t) {
+      error = new IOException(t);
+    }
+
+    try {
+      filled.put(EOS);
+    } catch (InterruptedException e) {
+      // closed by the consumer
+    }
+  }
+
+  @Override
+  public int read(ByteBuffer dst) throws IOException {
+    if (eos) {
+      return -1;
+    }
+
+    if (current == null) {
+      try {
+        current = filled.take();
+      } catch (InterruptedException e) {
+        throw new InterruptedIOException("Interrupted while waiting for read-ahead data");
+      }
+
+      if (current == EOS) {
+        eos = true;
+        current = null;
+        if (error != null) {
+          throw error;
+        }
+        return -1;
+      }
+    }
+
+    int length = Math.min(dst.remaining(), current.remaining());
+    int limit = current.limit();
+    current.limit(current.position() + length);
+    dst.put(current);
+    current.limit(limit);
+
+    if (!current.hasRemaining()) {
+      free.add(current);
+      current = null;
+    }
+    return length;
+  }
+
+  @Override
+  protected void implCloseChannel() throws IOException {
+    reader.interrupt();
+    try {
+      reader.join();
+    } catch (InterruptedException e) {
+      LOG.warn("Interrupted while closing " + reader.getName());
+    }
+    IOUtils.cleanup(LOG, source);
+  }
+}
@@ -25,6 +25,7 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.IOUtils;
 import org.apache.hadoop.io.compress.DeflateCodec;
+import org.apache.hadoop.io.compress.GzipCodec;
 import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableMeta;
@@ -34,6 +35,7 @@ import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.NullDatum;
 import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.storage.text.BgzfInputChannel;
 import org.apache.tajo.storage.text.ByteBufLineReader;
 import org.apache.tajo.storage.text.DelimitedLineReader;
 import org.apache.tajo.storage.text.DelimitedTextFile;
@@ -46,6 +48,8 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 
 import static org.junit.Assert.*;
 
@@ -326,4 +330,86 @@ public class TestLineReader {
     assertEquals(status.getLen(), totalRead);
     assertEquals(status.getLen(), reader.readBytes());
   }
+
+  @Test
+  public void testBgzfSplits() throws IOException {
+    TajoConf conf = new TajoConf();
+    Path testDir = CommonTestingUtil.getTestDir(TEST_PATH);
+    FileSystem fs = testDir.getFileSystem(conf);
+
+    int lineNum = 20000;
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < lineNum; i++) {
+      sb.append(i).append("|emiya muljomdao\n");
+    }
+    byte[] text = sb.toString().getBytes(Charset.forName("UTF-8"));
+
+    // blocks are not aligned with lines
+    Path tablePath = new Path(testDir, "testBgzfSplits" + new GzipCodec().getDefaultExtension());
+    FSDataOutputStream out = fs.create(tablePath, true);
+    for (int offset = 0; offset < text.length; offset += 10000) {
+      writeBgzfBlock(out, text, offset, Math.min(10000, text.length - offset));
+    }
+    writeBgzfBlock(out, text, 0, 0); // EOF marker
+    out.close();
+
+    long fileLength = fs.getFileStatus(tablePath).getLen();
+    assertTrue(BgzfInputChannel.isBgzf(fs, tablePath));
+
+    int splitNum = 7;
+    long splitSize = fileLength / splitNum + 1;
+    boolean[] read = new boolean[lineNum];
+    int readNum = 0;
+
+    for (long start = 0; start < fileLength; start += splitSize) {
+      FileFragment fragment = new FileFragment("table", tablePath, start, Math.min(splitSize, fileLength - start));
+      DelimitedLineReader reader = new DelimitedLineReader(conf, fragment);
+      assertTrue(reader.isSplittable());
+      reader.init();
+
+      if (start > 0) {
+        reader.readLine(); // skip first line
+      }
+
+      while (reader.isReadable()) {
+        ByteBuf buf = reader.readLine();
+        if (buf == null) break;
+
+        String line = buf.toString(Charset.forName("UTF-8"));
+        int id = Integer.parseInt(line.substring(0, line.indexOf('|')));
+        assertFalse("line " + id + " is read twice", read[id]);
+        read[id] = true;
+        readNum++;
+      }
+      reader.close();
+    }
+
+    assertEquals(lineNum, readNum);
+  }
+
+  private static void writeBgzfBlock(FSDataOutputStream out, byte[] data, int offset, int length) throws IOException {
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    deflater.setInput(data, offset, length);
+    deflater.finish();
+    byte[] compressed = new byte[length + 1024];
+    int compressedLength = deflater.deflate(compressed);
+    deflater.end();
+
+    CRC32 crc = new CRC32();
+    crc.update(data, offset, length);
+
+    int blockSize = 18 + compressedLength + 8;
+    out.write(new byte[] {0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0,
+        (byte) ((blockSize - 1) & 0xff), (byte) ((blockSize - 1) >> 8)});
+    out.write(compressed, 0, compressedLength);
+    writeIntLE(out, (int) crc.getValue());
+    writeIntLE(out, length);
+  }
+
+  private static void writeIntLE(FSDataOutputStream out, int value) throws IOException {
+    out.write(value & 0xff);
+    out.write((value >> 8) & 0xff);
+    out.write((value >> 16) & 0xff);
+    out.write((value >> 24) & 0xff);
+  }
 }
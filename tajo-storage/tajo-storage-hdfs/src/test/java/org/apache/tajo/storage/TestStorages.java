@@ -49,12 +49,14 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 @RunWith(Parameterized.class)
 public class TestStorages {
@@ -952,4 +954,90 @@ public class TestStorages {
       StorageManager.clearCache();
     }
   }
+
+  @Test
+  public void testRawFileMemoryMapped() throws IOException, CloneNotSupportedException {
+    if (storeType != StoreType.RAW) {
+      return;
+    }
+
+    StorageManager.clearCache();
+    conf.setInt(RawFile.MMAP_MIN_BYTES, 0);
+    try {
+      Schema schema = new Schema();
+      schema.addColumn("col1", Type.INT4);
+      schema.addColumn("col2", Type.INT8);
+      schema.addColumn("col3", Type.FLOAT8);
+      schema.addColumn("col4", Type.TEXT);
+      schema.addColumn("col5", Type.DATE);
+
+      TableMeta meta = CatalogUtil.newTableMeta(storeType);
+      Path tablePath = new Path(testDir, "testRawFileMemoryMapped.data");
+      FileStorageManager sm = (FileStorageManager) StorageManager.getFileStorageManager(conf);
+      Appender appender = sm.getAppender(meta, schema, tablePath);
+      appender.init();
+
+      int tupleNum = 1000;
+      for (int i = 0; i < tupleNum; i++) {
+        Tuple tuple = new VTuple(schema.size());
+        tuple.put(0, DatumFactory.createInt4(i - 500));
+        tuple.put(1, i % 3 == 0 ? NullDatum.get() : DatumFactory.createInt8((long) i * Integer.MAX_VALUE));
+        tuple.put(2, DatumFactory.createFloat8(i / 3.0d));
+        tuple.put(3, i % 5 == 0 ? NullDatum.get() : DatumFactory.createText("text" + i));
+        tuple.put(4, DatumFactory.createDate(2015, 1, i % 28 + 1));
+        appender.addTuple(tuple);
+      }
+      appender.close();
+
+      FileStatus status = fs.getFileStatus(tablePath);
+      FileFragment fragment = new FileFragment("table", tablePath, 0, status.getLen());
+      SeekableScanner scanner = (SeekableScanner) sm.getScanner(meta, schema, fragment);
+      scanner.init();
+
+      List<Tuple> retrieved = new ArrayList<Tuple>();
+      long offsetOf500th = 0;
+      Tuple tuple;
+      Tuple last = null;
+      while ((tuple = scanner.next()) != null) {
+        assertTrue(tuple instanceof RawFileTuple);
+        retrieved.add(tuple.clone());
+        last = tuple;
+        if (retrieved.size() == 500) {
+          offsetOf500th = scanner.getNextOffset();
+        }
+      }
+      assertEquals(tupleNum, retrieved.size());
+
+      scanner.seek(offsetOf500th);
+      assertEquals(DatumFactory.createInt4(0), scanner.next().get(0));
+      scanner.close();
+
+      // the mapping is released on close, so only cloned tuples remain valid
+      try {
+        last.getInt4(0);
+        fail("A tuple must not read the unmapped region");
+      } catch (IllegalStateException e) {
+        // expected
+      }
+      for (int i = 0; i < tupleNum; i++) {
+        tuple = retrieved.get(i);
+        assertEquals(i - 500, tuple.getInt4(0));
+        if (i % 3 == 0) {
+          assertTrue(tuple.isNull(1));
+        } else {
+          assertEquals((long) i * Integer.MAX_VALUE, tuple.getInt8(1));
+        }
+        assertEquals(i / 3.0d, tuple.getFloat8(2), 0.0d);
+        if (i % 5 == 0) {
+          assertEquals(NullDatum.get(), tuple.get(3));
+        } else {
+          assertEquals("text" + i, tuple.getText(3));
+        }
+        assertEquals(DatumFactory.createDate(2015, 1, i % 28 + 1), tuple.get(4));
+      }
+    } finally {
+      conf.setInt(RawFile.MMAP_MIN_BYTES, RawFile.DEFAULT_MMAP_MIN_BYTES);
+      StorageManager.clearCache();
+    }
+  }
 }
@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.avro;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link org.apache.tajo.storage.avro.AvroTupleReader}.
+ */
+public class TestAvroTupleReader {
+  private static final String WRITER_SCHEMA = "{\"type\": \"record\", \"name\": \"event\", \"fields\": [" +
+      "{\"name\": \"id\", \"type\": \"long\"}," +
+      "{\"name\": \"tags\", \"type\": {\"type\": \"array\", \"items\": \"string\"}}," +
+      "{\"name\": \"props\", \"type\": {\"type\": \"map\", \"values\": \"int\"}}," +
+      "{\"name\": \"name\", \"type\": [\"null\", \"string\"]}," +
+      "{\"name\": \"nested\", \"type\": {\"type\": \"record\", \"name\": \"inner\", \"fields\": [" +
+      "  {\"name\": \"a\", \"type\": \"bytes\"}]}}," +
+      "{\"name\": \"score\", \"type\": \"double\"}]}";
+
+  private static final String READER_SCHEMA = "{\"type\": \"record\", \"name\": \"event\", \"fields\": [" +
+      "{\"name\": \"id\", \"type\": \"long\"}," +
+      "{\"name\": \"name\", \"type\": [\"null\", \"string\"]}," +
+      "{\"name\": \"score\", \"type\": \"double\"}," +
+      "{\"name\": \"missing\", \"type\": [\"null\", \"int\"]}]}";
+
+  @Test
+  public void testReadProjectedFields() throws Exception {
+    Schema writerSchema = new Schema.Parser().parse(WRITER_SCHEMA);
+    Schema readerSchema = new Schema.Parser().parse(READER_SCHEMA);
+
+    org.apache.tajo.catalog.Schema tajoSchema = new org.apache.tajo.catalog.Schema();
+    tajoSchema.addColumn("id", Type.INT8);
+    tajoSchema.addColumn("name", Type.TEXT);
+    tajoSchema.addColumn("score", Type.FLOAT8);
+    tajoSchema.addColumn("missing", Type.INT4);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    GenericDatumWriter<GenericRecord> writer = new GenericDatumWriter<GenericRecord>(writerSchema);
+    for (int i = 0; i < 3; i++) {
+      writer.write(createRecord(writerSchema, i), encoder);
+    }
+    encoder.flush();
+
+    AvroTupleReader reader = new AvroTupleReader(readerSchema, tajoSchema, new int[] {1, 2, 3});
+    reader.setSchema(writerSchema);
+
+    BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(out.toByteArray(), null);
+    for (int i = 0; i < 3; i++) {
+      Tuple tuple = reader.read(new VTuple(tajoSchema.size()), decoder);
+
+      assertNull(tuple.get(0));
+      if (i % 2 == 0) {
+        assertEquals(DatumFactory.createText("name" + i), tuple.get(1));
+      } else {
+        assertEquals(NullDatum.get(), tuple.get(1));
+      }
+      assertEquals(DatumFactory.createFloat8(i * 1.5d), tuple.get(2));
+      assertEquals(NullDatum.get(), tuple.get(3));
+    }
+    assertTrue(decoder.isEnd());
+  }
+
+  private static final String OLD_WRITER_SCHEMA = "{\"type\": \"record\", \"name\": \"event\", \"fields\": [" +
+      "{\"name\": \"id\", \"type\": \"int\"}," +
+      "{\"name\": \"name\", \"type\": \"string\"}," +
+      "{\"name\": \"score\", \"type\": \"float\"}," +
+      "{\"name\": \"clicks\", \"type\": \"long\"}]}";
+
+  private static final String EVOLVED_READER_SCHEMA = "{\"type\": \"record\", \"name\": \"event\", \"fields\": [" +
+      "{\"name\": \"id\", \"type\": \"long\"}," +
+      "{\"name\": \"title\", \"type\": \"string\", \"aliases\": [\"name\"]}," +
+      "{\"name\": \"score\", \"type\": \"double\"}," +
+      "{\"name\": \"clicks\", \"type\": \"long\"}," +
+      "{\"name\": \"version\", \"type\": \"int\", \"default\": 1}," +
+      "{\"name\": \"comment\", \"type\": [\"null\", \"string\"]}]}";
+
+  @Test
+  public void testReadWithOlderWriterSchema() throws Exception {
+    Schema writerSchema = new Schema.Parser().parse(OLD_WRITER_SCHEMA);
+    Schema readerSchema = new Schema.Parser().parse(EVOLVED_READER_SCHEMA);
+
+    org.apache.tajo.catalog.Schema tajoSchema = new org.apache.tajo.catalog.Schema();
+    tajoSchema.addColumn("id", Type.INT8);
+    tajoSchema.addColumn("title", Type.TEXT);
+    tajoSchema.addColumn("score", Type.FLOAT8);
+    tajoSchema.addColumn("clicks", Type.INT4);
+    tajoSchema.addColumn("version", Type.INT4);
+    tajoSchema.addColumn("comment", Type.TEXT);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    GenericDatumWriter<GenericRecord> writer = new GenericDatumWriter<GenericRecord>(writerSchema);
+    for (int i = 0; i < 3; i++) {
+      GenericRecord record = new GenericData.Record(writerSchema);
+      record.put("id", i);
+      record.put("name", "name" + i);
+      record.put("score", i * 0.5f);
+      record.put("clicks", (long) i * 10);
+      writer.write(record, encoder);
+    }
+    encoder.flush();
+
+    AvroTupleReader reader = new AvroTupleReader(readerSchema, tajoSchema, new int[] {0, 1, 2, 3, 4, 5});
+    reader.setSchema(writerSchema);
+
+    BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(out.toByteArray(), null);
+    for (int i = 0; i < 3; i++) {
+      Tuple tuple = reader.read(new VTuple(tajoSchema.size()), decoder);
+
+      // int is promoted to long, and float is promoted to double
+      assertEquals(DatumFactory.createInt8(i), tuple.get(0));
+      // a renamed field is resolved by its alias
+      assertEquals(DatumFactory.createText("name" + i), tuple.get(1));
+      assertEquals(DatumFactory.createFloat8(i * 0.5d), tuple.get(2));
+      // a value is converted to the type of its column
+      assertEquals(DatumFactory.createInt4(i * 10), tuple.get(3));
+      // a new field is read as its default value
+      assertEquals(DatumFactory.createInt4(1), tuple.get(4));
+      // a new field without a default value is read as null
+      assertEquals(NullDatum.get(), tuple.get(5));
+    }
+    assertTrue(decoder.isEnd());
+  }
+
+  private static GenericRecord createRecord(Schema schema, int i) {
+    GenericRecord record = new GenericData.Record(schema);
+    record.put("id", (long) i);
+    record.put("tags", Arrays.asList("tag" + i, "tajo"));
+    Map<String, Integer> props = new HashMap<String, Integer>();
+    props.put("key" + i, i);
+    record.put("props", props);
+    record.put("name", i % 2 == 0 ? "name" + i : null);
+    GenericRecord nested = new GenericData.Record(schema.getField("nested").schema());
+    nested.put("a", ByteBuffer.wrap(new byte[] {1, 2, 3}));
+    record.put("nested", nested);
+    record.put("score", i * 1.5d);
+    return record;
+  }
+}
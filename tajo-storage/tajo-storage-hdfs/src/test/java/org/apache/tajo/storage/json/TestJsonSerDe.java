@@ -18,6 +18,8 @@
 
 package org.apache.tajo.storage.json;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -30,11 +32,13 @@ import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.datum.TextDatum;
 import org.apache.tajo.storage.Scanner;
 import org.apache.tajo.storage.StorageManager;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
 import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.storage.text.TextLineParsingError;
 import org.junit.Test;
 
 import java.io.IOException;
@@ -98,4 +102,59 @@ public class TestJsonSerDe {
 
     assertEquals(baseTuple, tuple);
   }
+
+  @Test
+  public void testProjectionWithNestedFields() throws Exception {
+    TableMeta meta = CatalogUtil.newTableMeta(CatalogProtos.StoreType.JSON);
+    JsonLineDeserializer deserializer = new JsonLineDeserializer(schema, meta, new int[] {3, 7});
+    deserializer.init();
+
+    String line = "{\"nested\": {\"col4\": 1, \"arr\": [1, {\"s\": \"}]\\\"\"}]}, " +
+        "\"col8\": \"tajo\\n\\u00e9\", \"col4\": -59, \"col5\": \"unread\"}";
+    Tuple tuple = new VTuple(schema.size());
+    deserialize(deserializer, line, tuple);
+
+    assertEquals(DatumFactory.createInt4(-59), tuple.get(3));
+    assertEquals(DatumFactory.createText("tajo\n\u00e9"), tuple.get(7));
+    assertNull(tuple.get(4));
+
+    // missing fields become nulls
+    tuple = new VTuple(schema.size());
+    deserialize(deserializer, "{\"col4\": 1}", tuple);
+    assertEquals(DatumFactory.createInt4(1), tuple.get(3));
+    assertEquals(NullDatum.get(), tuple.get(7));
+  }
+
+  @Test
+  public void testMalformedLines() throws Exception {
+    TableMeta meta = CatalogUtil.newTableMeta(CatalogProtos.StoreType.JSON);
+    JsonLineDeserializer deserializer = new JsonLineDeserializer(schema, meta, new int[] {3});
+    deserializer.init();
+
+    String [] lines = new String[] {
+        "{\"col4\": 59",                  // not closed
+        "{\"other\": [1, 2",              // truncated value
+        "{\"col4\": abc}",                // not a number
+        "{\"other\": 1} {\"col4\": 59}"    // trailing characters
+    };
+
+    for (String line : lines) {
+      try {
+        deserialize(deserializer, line, new VTuple(schema.size()));
+        fail("Parsing error is expected: " + line);
+      } catch (TextLineParsingError e) {
+        // expected
+      }
+    }
+  }
+
+  private static void deserialize(JsonLineDeserializer deserializer, String line, Tuple output)
+      throws IOException, TextLineParsingError {
+    ByteBuf buf = Unpooled.wrappedBuffer(line.getBytes(TextDatum.DEFAULT_CHARSET));
+    try {
+      deserializer.deserialize(buf, output);
+    } finally {
+      buf.release();
+    }
+  }
 }